@@ -0,0 +1,133 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.benchmarks.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.publication.AuthorListFormat;
+import fr.utbm.ciad.labmanager.data.publication.Authorship;
+import fr.utbm.ciad.labmanager.data.publication.AuthorshipComparator;
+import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.data.publication.type.JournalPaper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Benchmark of the export of the author lists of the publications, as done by the BibTeX exporter
+ * and the publication grids. The {@code legacy} benchmark reproduces the sort of the authorships that
+ * was done at each call to {@link Publication#getAuthors()}. The exporters read the authors of each
+ * publication several times; the benchmarks read them {@link #READS_PER_EXPORT} times.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublicationAuthorsBenchmark {
+
+	private static final int READS_PER_EXPORT = 3;
+
+	private static final AuthorListFormat FORMAT = authors -> {
+		final var authorNames = new StringBuilder();
+		for (final var person : authors) {
+			if (authorNames.length() > 0) {
+				authorNames.append(" and "); //$NON-NLS-1$
+			}
+			authorNames.append(person.getLastName()).append(", ").append(person.getFirstName()); //$NON-NLS-1$
+		}
+		return authorNames.toString();
+	};
+
+	/** Number of publications.
+	 */
+	@Param({"10000"})
+	public int publications;
+
+	/** Number of authors per publication.
+	 */
+	@Param({"8"})
+	public int authors;
+
+	private List<Publication> data;
+
+	/** Build the publications with authorships that are added in reverse rank order.
+	 */
+	@Setup
+	public void setUp() {
+		this.data = new ArrayList<>(this.publications);
+		for (var i = 0; i < this.publications; ++i) {
+			final var publication = new JournalPaper();
+			publication.setId(i + 1);
+			for (var j = this.authors - 1; j >= 0; --j) {
+				final var person = new Person();
+				person.setId(i * this.authors + j + 1);
+				person.setFirstName("First" + j); //$NON-NLS-1$
+				person.setLastName("Last" + i); //$NON-NLS-1$
+				publication.addAuthorship(new Authorship(publication, person, j));
+			}
+			this.data.add(publication);
+		}
+	}
+
+	/** Export of the author lists with the sort of the authorships at each read.
+	 *
+	 * @param blackhole the consumer of the results.
+	 */
+	@Benchmark
+	public void legacy(Blackhole blackhole) {
+		for (final var publication : this.data) {
+			for (var i = 0; i < READS_PER_EXPORT; ++i) {
+				final var sorted = publication.getAuthorshipsRaw().stream().sorted(AuthorshipComparator.DEFAULT).collect(Collectors.toList());
+				final var persons = sorted.stream().map(it -> it.getPerson()).collect(Collectors.toList());
+				blackhole.consume(FORMAT.format(persons));
+			}
+		}
+	}
+
+	/** Export of the author lists with the cached views of the publications.
+	 *
+	 * @param blackhole the consumer of the results.
+	 */
+	@Benchmark
+	public void cached(Blackhole blackhole) {
+		for (final var publication : this.data) {
+			for (var i = 0; i < READS_PER_EXPORT; ++i) {
+				blackhole.consume(publication.getFormattedAuthors(FORMAT));
+			}
+		}
+	}
+
+}
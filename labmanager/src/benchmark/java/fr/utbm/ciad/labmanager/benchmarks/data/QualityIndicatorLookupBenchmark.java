@@ -0,0 +1,131 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.benchmarks.data;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import fr.utbm.ciad.labmanager.data.journal.Journal;
+import fr.utbm.ciad.labmanager.data.journal.JournalQualityAnnualIndicators;
+import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
+import org.arakhne.afc.util.IntegerList;
+import org.arakhne.afc.util.ListUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Benchmark of the search of the latest journal quartile that is known before a given year.
+ * The {@code legacy} benchmark reproduces the search that was done before the index of the
+ * quality indicators by year, i.e., a copy of the years into an {@link IntegerList} followed
+ * by a floor search. Run with {@code -prof gc} in order to observe the allocation rate.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QualityIndicatorLookupBenchmark {
+
+	private static final int FIRST_YEAR = 2000;
+
+	private static final QuartileRanking[] QUARTILES = {
+		QuartileRanking.Q1, QuartileRanking.Q2, QuartileRanking.Q3, QuartileRanking.Q4,
+	};
+
+	/** Number of years with quality indicators for the journal.
+	 */
+	@Param({"5", "25"})
+	public int years;
+
+	private Journal journal;
+
+	private int[] queries;
+
+	/** Build the journal with indicators for one year on two, in order to force the search of a previous year.
+	 */
+	@Setup
+	public void setUp() {
+		this.journal = new Journal();
+		final var indicators = new TreeMap<Integer, JournalQualityAnnualIndicators>();
+		for (var i = 0; i < this.years; ++i) {
+			final var year = FIRST_YEAR + i * 2;
+			indicators.put(Integer.valueOf(year), new JournalQualityAnnualIndicators(year,
+					QUARTILES[i % QUARTILES.length], QUARTILES[(i + 1) % QUARTILES.length], 1f + i));
+		}
+		this.journal.setQualityIndicators(indicators);
+		this.queries = new int[this.years * 2 + 2];
+		for (var i = 0; i < this.queries.length; ++i) {
+			this.queries[i] = FIRST_YEAR - 1 + i;
+		}
+	}
+
+	private static JournalQualityAnnualIndicators legacyFloor(Map<Integer, JournalQualityAnnualIndicators> allIndicators,
+			int year, Predicate<JournalQualityAnnualIndicators> selector) {
+		final var ids = new IntegerList(allIndicators.keySet());
+		final var start = ListUtil.floorIndex(ids, (a, b) -> Integer.compare(a.intValue(), b.intValue()), Integer.valueOf(year));
+		for (var i = start; i >= 0; --i) {
+			final var indicators = allIndicators.get(ids.get(i));
+			if (indicators != null && selector.test(indicators)) {
+				return indicators;
+			}
+		}
+		return null;
+	}
+
+	/** Search of the Scimago quartiles with the previous implementation.
+	 *
+	 * @param blackhole the consumer of the results.
+	 */
+	@Benchmark
+	public void legacy(Blackhole blackhole) {
+		// The map is obtained once, outside the search, as the previous implementation did
+		final var allIndicators = this.journal.getQualityIndicators();
+		for (final var year : this.queries) {
+			final var indicators = legacyFloor(allIndicators, year, it -> it.getScimagoQIndex() != null);
+			blackhole.consume(indicators == null ? QuartileRanking.NR : indicators.getScimagoQIndex());
+		}
+	}
+
+	/** Search of the Scimago quartiles with the index of the quality indicators by year.
+	 *
+	 * @param blackhole the consumer of the results.
+	 */
+	@Benchmark
+	public void indexed(Blackhole blackhole) {
+		for (final var year : this.queries) {
+			blackhole.consume(this.journal.getScimagoQIndexByYear(year));
+		}
+	}
+
+}
@@ -0,0 +1,206 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.benchmarks.io;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import fr.utbm.ciad.labmanager.data.publication.type.JournalPaper;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonPropertyAccessors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Benchmark of the reading and writing of the properties of the publications by the JSON exporter and importer.
+ * The dataset is made of synthetic journal papers. The {@code legacy} benchmarks reproduce the reflective
+ * search of the getter and setter functions that was done for each object before the cache of the accessors,
+ * followed by a call to {@link Method#invoke(Object, Object...)}. The scores are given per publication.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonPropertyAccessorBenchmark {
+
+	private static final int PUBLICATIONS = 50000;
+
+	private JournalPaper[] papers;
+
+	private Map<Set<String>, Object> values;
+
+	/** Build the synthetic publications and the raw values to import.
+	 */
+	@Setup
+	public void setUp() {
+		this.papers = new JournalPaper[PUBLICATIONS];
+		for (var i = 0; i < PUBLICATIONS; ++i) {
+			final var paper = new JournalPaper();
+			paper.setTitle("Title of the paper " + i); //$NON-NLS-1$
+			paper.setDOI("10.1000/" + i); //$NON-NLS-1$
+			paper.setVolume(Integer.toString(i % 100));
+			paper.setNumber(Integer.toString(i % 12));
+			paper.setPages(i + "--" + (i + 10)); //$NON-NLS-1$
+			paper.setPublicationYear(2000 + i % 25);
+			this.papers[i] = paper;
+		}
+		this.values = new LinkedHashMap<>();
+		this.values.put(new TreeSet<>(Set.of("settitle")), "Imported title"); //$NON-NLS-1$ //$NON-NLS-2$
+		this.values.put(new TreeSet<>(Set.of("setdoi")), "10.1000/imported"); //$NON-NLS-1$ //$NON-NLS-2$
+		this.values.put(new TreeSet<>(Set.of("setvolume")), "12"); //$NON-NLS-1$ //$NON-NLS-2$
+		this.values.put(new TreeSet<>(Set.of("setnumber")), "3"); //$NON-NLS-1$ //$NON-NLS-2$
+		this.values.put(new TreeSet<>(Set.of("setpages")), "1--10"); //$NON-NLS-1$ //$NON-NLS-2$
+		this.values.put(new TreeSet<>(Set.of("setpublicationyear")), Integer.valueOf(2024)); //$NON-NLS-1$
+	}
+
+	private static Map<String, Method> legacyFindGetterMethods(Class<?> source) {
+		final var setters = new TreeSet<String>();
+		final var getters = new HashMap<String, Method>();
+		for (final var meth : source.getMethods()) {
+			final var name = meth.getName().toLowerCase();
+			if (meth.getParameterCount() == 1
+					&& (meth.getParameterTypes()[0].isPrimitive()
+							|| Number.class.equals(meth.getParameterTypes()[0])
+							|| String.class.equals(meth.getParameterTypes()[0])
+							|| Boolean.class.equals(meth.getParameterTypes()[0]))
+					&& name.startsWith("set")) { //$NON-NLS-1$
+				setters.add(meth.getName().substring(3).toLowerCase());
+			} else if (meth.getParameterCount() == 0
+					&& (meth.getReturnType().isPrimitive()
+							|| meth.getReturnType().isEnum()
+							|| Number.class.isAssignableFrom(meth.getReturnType())
+							|| String.class.isAssignableFrom(meth.getReturnType())
+							|| Boolean.class.isAssignableFrom(meth.getReturnType())
+							|| LocalDate.class.isAssignableFrom(meth.getReturnType())
+							|| Character.class.isAssignableFrom(meth.getReturnType()))) {
+				if (name.startsWith("is")) { //$NON-NLS-1$
+					getters.put(name.substring(2), meth);
+				} else if (name.startsWith("get")) { //$NON-NLS-1$
+					getters.put(name.substring(3), meth);
+				}
+			}
+		}
+		getters.remove("id"); //$NON-NLS-1$
+		getters.keySet().retainAll(setters);
+		return getters;
+	}
+
+	private static Method legacyFindSetterMethod(Class<?> type, Set<String> names, Object value) {
+		final var valueType = value.getClass();
+		final var methods = Arrays.asList(type.getMethods()).parallelStream().filter(it -> {
+			if (it.getParameterCount() == 1 && (names.contains(it.getName().toLowerCase()))) {
+				return it.getParameterTypes()[0].isAssignableFrom(valueType);
+			}
+			return false;
+		}).collect(Collectors.toSet());
+		return methods.size() == 1 ? methods.iterator().next() : null;
+	}
+
+	/** Read the properties of the publications with the previous reflective implementation.
+	 *
+	 * @param blackhole the consumer of the results.
+	 * @throws Exception if a getter cannot be invoked.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(PUBLICATIONS)
+	public void legacyExport(Blackhole blackhole) throws Exception {
+		for (final var paper : this.papers) {
+			for (final var getter : legacyFindGetterMethods(paper.getClass()).values()) {
+				blackhole.consume(getter.invoke(paper));
+			}
+		}
+	}
+
+	/** Read the properties of the publications with the cached accessors.
+	 *
+	 * @param blackhole the consumer of the results.
+	 * @throws Exception if a getter cannot be invoked.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(PUBLICATIONS)
+	public void cachedExport(Blackhole blackhole) throws Exception {
+		for (final var paper : this.papers) {
+			for (final var getter : JsonPropertyAccessors.getGetters(paper.getClass()).values()) {
+				blackhole.consume(getter.get(paper));
+			}
+		}
+	}
+
+	/** Create publications and write their properties with the previous reflective implementation.
+	 *
+	 * @param blackhole the consumer of the results.
+	 * @throws Exception if a setter cannot be invoked.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(PUBLICATIONS)
+	public void legacyImport(Blackhole blackhole) throws Exception {
+		for (var i = 0; i < PUBLICATIONS; ++i) {
+			final var paper = new JournalPaper();
+			for (final var entry : this.values.entrySet()) {
+				final var setter = legacyFindSetterMethod(JournalPaper.class, entry.getKey(), entry.getValue());
+				if (setter != null) {
+					setter.invoke(paper, entry.getValue());
+				}
+			}
+			blackhole.consume(paper);
+		}
+	}
+
+	/** Create publications and write their properties with the cached accessors.
+	 *
+	 * @param blackhole the consumer of the results.
+	 * @throws Exception if a setter cannot be invoked.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(PUBLICATIONS)
+	public void cachedImport(Blackhole blackhole) throws Exception {
+		for (var i = 0; i < PUBLICATIONS; ++i) {
+			final var paper = new JournalPaper();
+			for (final var entry : this.values.entrySet()) {
+				final var setter = JsonPropertyAccessors.findSetter(JournalPaper.class, entry.getKey(), entry.getValue().getClass());
+				if (setter != null) {
+					setter.set(paper, entry.getValue());
+				}
+			}
+			blackhole.consume(paper);
+		}
+	}
+
+}
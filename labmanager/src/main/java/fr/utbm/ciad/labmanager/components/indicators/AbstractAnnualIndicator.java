@@ -26,7 +26,6 @@ import java.util.function.Function;
 
 import com.google.common.util.concurrent.AtomicDouble;
 import fr.utbm.ciad.labmanager.configuration.Constants;
-import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import org.springframework.context.support.MessageSourceAccessor;
 
 /** Abstract implementation of a computed value that indicates a key element for an organization.
@@ -84,8 +83,8 @@ public abstract class AbstractAnnualIndicator extends AbstractIndicator implemen
 	}
 
 	@Override
-	protected Number computeValue(ResearchOrganization organization) {
-		final var values = getValuesPerYear(organization, getReferenceStartYear(), getReferenceEndYear());
+	protected Number computeValue(IndicatorSnapshot snapshot) {
+		final var values = getValuesPerYear(snapshot, getReferenceStartYear(), getReferenceEndYear());
 		return mergeValues(values);
 	}
 
@@ -22,8 +22,6 @@ package fr.utbm.ciad.labmanager.components.indicators;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Locale;
-import java.util.Map;
-import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -31,7 +29,6 @@ import java.util.stream.Stream;
 import com.google.common.base.Strings;
 import fr.utbm.ciad.labmanager.components.AbstractComponent;
 import fr.utbm.ciad.labmanager.configuration.Constants;
-import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.context.support.MessageSourceAccessor;
 
@@ -47,9 +44,7 @@ public abstract class AbstractIndicator extends AbstractComponent implements Ind
 
 	private String key;
 	
-	private final Map<Long, Number> values = new TreeMap<>();
-
-	private String details;
+	private volatile String details;
 
 	/** Constructor.
 	 *
@@ -62,7 +57,7 @@ public abstract class AbstractIndicator extends AbstractComponent implements Ind
 
 	@Override
 	public void clear() {
-		this.values.clear();
+		this.details = null;
 	}
 
 	@Override
@@ -148,22 +143,20 @@ public abstract class AbstractIndicator extends AbstractComponent implements Ind
 	}
 
 	@Override
-	public Number getNumericValue(ResearchOrganization organization) {
-		final var value = this.values.computeIfAbsent(Long.valueOf(organization.getId()), it -> {
-			getLogger().info("Computing indicator value for " + getKey()); //$NON-NLS-1$
-			final var v = computeValue(organization);
-			getLogger().info(getKey() + " = " + v); //$NON-NLS-1$
-			return v;
-		});
+	public Number getNumericValue(IndicatorSnapshot snapshot) {
+		// The values are buffered by the cache of the indicator values, not by the indicator itself
+		getLogger().info("Computing indicator value for " + getKey()); //$NON-NLS-1$
+		final var value = computeValue(snapshot);
+		getLogger().info(getKey() + " = " + value); //$NON-NLS-1$
 		return value;
 	}
 
 	/** Compute the numeric value of the indicator.
 	 * 
-	 * @param organization the organization for which the indicator should be computed.
+	 * @param snapshot the data of the organization for which the indicator should be computed.
 	 * @return the numeric value.
 	 */
-	protected abstract Number computeValue(ResearchOrganization organization);
+	protected abstract Number computeValue(IndicatorSnapshot snapshot);
 
 	/** Replies the start date of the reference period if the duration of this period corresponds to the argument.
 	 * This function provides the January 1 of the X years before today.
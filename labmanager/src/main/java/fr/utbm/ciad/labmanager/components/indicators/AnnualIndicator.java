@@ -22,8 +22,6 @@ package fr.utbm.ciad.labmanager.components.indicators;
 import java.time.LocalDate;
 import java.util.Map;
 
-import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
-
 /** A computed value that indicates a key element per year for an organization.
  * 
  * @author $Author: sgalland$
@@ -78,22 +76,22 @@ public interface AnnualIndicator extends Indicator {
 
 	/** Replies the values for the given time window.
 	 *
-	 * @param organization the organization for which indicators should be computed.
+	 * @param snapshot the data of the organization for which indicators should be computed.
 	 * @param startYear the first year to consider.
 	 * @param endYear the last year to consider.
 	 * @return the values per year.
 	 */
-	Map<Integer, Number> getValuesPerYear(ResearchOrganization organization, int startYear, int endYear);
+	Map<Integer, Number> getValuesPerYear(IndicatorSnapshot snapshot, int startYear, int endYear);
 
 	/** Replies the values for the given time window.
 	 *
-	 * @param organization the organization for which indicators should be computed.
+	 * @param snapshot the data of the organization for which indicators should be computed.
 	 * @param startYear the first year to consider.
 	 * @param endYear the last year to consider.
 	 * @return the values per year.
 	 */
-	default Map<Integer, Number> getValuesPerYear(ResearchOrganization organization) {
-		return getValuesPerYear(organization, getReferenceStartYear(), getReferenceEndYear());
+	default Map<Integer, Number> getValuesPerYear(IndicatorSnapshot snapshot) {
+		return getValuesPerYear(snapshot, getReferenceStartYear(), getReferenceEndYear());
 	}
 
 }
@@ -20,9 +20,10 @@
 package fr.utbm.ciad.labmanager.components.indicators;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.Locale;
+import java.util.Set;
 
-import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.utils.Unit;
 
 /** A computed value that indicates a key element for an organization.
@@ -86,10 +87,20 @@ public interface Indicator {
 	/** Replies the value of the indicator in the form of a number. The unit of the replied value is
 	 * provided by {@link #getValueUnit()}.
 	 *
-	 * @param organization the organization for which the indicator should be computed.
+	 * @param snapshot the data of the organization for which the indicator should be computed.
 	 * @return the number value, or {@code null} if the indicator does not compute a numeric value.
 	 * @see #getValueUnit()
 	 */
-	Number getNumericValue(ResearchOrganization organization);
+	Number getNumericValue(IndicatorSnapshot snapshot);
+
+	/** Replies the types of data on which the value of the indicator depends.
+	 * By default, the indicator depends on all the types of data.
+	 *
+	 * @return the types of data.
+	 * @since 4.1
+	 */
+	default Set<IndicatorDependency> getDependencies() {
+		return EnumSet.allOf(IndicatorDependency.class);
+	}
 
 }
@@ -0,0 +1,50 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.indicators;
+
+/** Type of data on which the value of an indicator depends.
+ * When the data of a given type is changed in the database, the values of the indicators that depend on it
+ * must be computed again.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+public enum IndicatorDependency {
+
+	/** The memberships of the persons, and the hierarchy of the organizations.
+	 */
+	MEMBERSHIPS,
+
+	/** The publications and their authors.
+	 */
+	PUBLICATIONS,
+
+	/** The projects and their budgets.
+	 */
+	PROJECTS,
+
+	/** The rankings of the journals.
+	 */
+	JOURNAL_RANKINGS;
+
+}
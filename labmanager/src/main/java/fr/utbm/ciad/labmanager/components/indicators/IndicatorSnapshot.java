@@ -0,0 +1,154 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.indicators;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import fr.utbm.ciad.labmanager.data.member.Membership;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.data.project.Project;
+import fr.utbm.ciad.labmanager.data.publication.type.ConferencePaper;
+import fr.utbm.ciad.labmanager.data.publication.type.JournalPaper;
+
+/** Immutable view of the data of an organization that is needed for computing the indicators
+ * over a reference period. The snapshot is loaded once and shared by all the indicators that are
+ * evaluated for the organization. All the associations that are used by the indicators are loaded
+ * into the snapshot, in order to be read from any thread without accessing to the database.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+public final class IndicatorSnapshot {
+
+	private final ResearchOrganization organization;
+
+	private final int startYear;
+
+	private final int endYear;
+
+	private final Set<Person> members;
+
+	private final List<Membership> directOrganizationMemberships;
+
+	private final Set<JournalPaper> journalPapers;
+
+	private final Set<ConferencePaper> conferencePapers;
+
+	private final List<Project> projects;
+
+	/** Constructor.
+	 *
+	 * @param organization the organization for which the indicators are computed.
+	 * @param startYear the first year of the reference period.
+	 * @param endYear the last year of the reference period.
+	 * @param members the members of the organization and its suborganizations.
+	 * @param directOrganizationMemberships the memberships that have the organization as direct organization.
+	 * @param journalPapers the journal papers of the members that are published in the reference period. The authorships
+	 *     are filtered with the active memberships.
+	 * @param conferencePapers the conference papers of the members that are published in the reference period.
+	 * @param projects the projects of the organization.
+	 */
+	public IndicatorSnapshot(ResearchOrganization organization, int startYear, int endYear,
+			Collection<Person> members, Collection<Membership> directOrganizationMemberships,
+			Collection<JournalPaper> journalPapers, Collection<ConferencePaper> conferencePapers,
+			Collection<Project> projects) {
+		this.organization = organization;
+		this.startYear = startYear;
+		this.endYear = endYear;
+		this.members = Collections.unmodifiableSet(Set.copyOf(members));
+		this.directOrganizationMemberships = List.copyOf(directOrganizationMemberships);
+		this.journalPapers = Collections.unmodifiableSet(Set.copyOf(journalPapers));
+		this.conferencePapers = Collections.unmodifiableSet(Set.copyOf(conferencePapers));
+		this.projects = List.copyOf(projects);
+	}
+
+	/** Replies the organization for which the indicators are computed.
+	 *
+	 * @return the organization.
+	 */
+	public ResearchOrganization getOrganization() {
+		return this.organization;
+	}
+
+	/** Replies the first year of the reference period.
+	 *
+	 * @return the start year.
+	 */
+	public int getStartYear() {
+		return this.startYear;
+	}
+
+	/** Replies the last year of the reference period.
+	 *
+	 * @return the end year.
+	 */
+	public int getEndYear() {
+		return this.endYear;
+	}
+
+	/** Replies the members of the organization and its suborganizations.
+	 *
+	 * @return the members.
+	 */
+	public Set<Person> getMembers() {
+		return this.members;
+	}
+
+	/** Replies the memberships that have the organization as direct organization.
+	 *
+	 * @return the memberships.
+	 */
+	public List<Membership> getDirectOrganizationMemberships() {
+		return this.directOrganizationMemberships;
+	}
+
+	/** Replies the journal papers of the members that are published in the reference period.
+	 * The authorships are filtered with the active memberships of the authors.
+	 *
+	 * @return the journal papers.
+	 */
+	public Set<JournalPaper> getJournalPapers() {
+		return this.journalPapers;
+	}
+
+	/** Replies the conference papers of the members that are published in the reference period.
+	 *
+	 * @return the conference papers.
+	 */
+	public Set<ConferencePaper> getConferencePapers() {
+		return this.conferencePapers;
+	}
+
+	/** Replies the projects of the organization.
+	 *
+	 * @return the projects.
+	 */
+	public List<Project> getProjects() {
+		return this.projects;
+	}
+
+}
@@ -19,12 +19,15 @@
 
 package fr.utbm.ciad.labmanager.components.indicators.members.count;
 
+import java.util.EnumSet;
 import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import fr.utbm.ciad.labmanager.components.indicators.AbstractInstantIndicator;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorDependency;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorSnapshot;
 import fr.utbm.ciad.labmanager.configuration.Constants;
-import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.utils.Unit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -63,8 +66,13 @@ public class ActiveMemberCountIndicator extends AbstractInstantIndicator {
 	}
 
 	@Override
-	protected Number computeValue(ResearchOrganization organization) {
-		final var members = organization.getDirectOrganizationMemberships().parallelStream().filter(
+	public Set<IndicatorDependency> getDependencies() {
+		return EnumSet.of(IndicatorDependency.MEMBERSHIPS);
+	}
+
+	@Override
+	protected Number computeValue(IndicatorSnapshot snapshot) {
+		final var members = snapshot.getDirectOrganizationMemberships().parallelStream().filter(
 				it -> it.isActive() && !it.getMemberStatus().isExternalPosition()).collect(Collectors.toList());
 		final var nb = members.size();
 		setComputationDetails(members, it -> it.getPerson().getFullNameWithLastNameFirst());
@@ -19,15 +19,18 @@
 
 package fr.utbm.ciad.labmanager.components.indicators.members.count;
 
+import java.util.EnumSet;
 import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import fr.utbm.ciad.labmanager.components.indicators.AbstractInstantIndicator;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorDependency;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorSnapshot;
 import fr.utbm.ciad.labmanager.components.indicators.members.fte.PermanentResearcherFteIndicator;
 import fr.utbm.ciad.labmanager.configuration.Constants;
 import fr.utbm.ciad.labmanager.data.member.MemberStatus;
 import fr.utbm.ciad.labmanager.data.member.Membership;
-import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.utils.Unit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -68,8 +71,13 @@ public class PermanentResearcherCountIndicator extends AbstractInstantIndicator
 	}
 
 	@Override
-	protected Number computeValue(ResearchOrganization organization) {
-		final var researchers = organization.getDirectOrganizationMemberships()
+	public Set<IndicatorDependency> getDependencies() {
+		return EnumSet.of(IndicatorDependency.MEMBERSHIPS);
+	}
+
+	@Override
+	protected Number computeValue(IndicatorSnapshot snapshot) {
+		final var researchers = snapshot.getDirectOrganizationMemberships()
 				.parallelStream()
 				.filter(PermanentResearcherCountIndicator::isPermanentResearcher)
 				.collect(Collectors.toList());
@@ -19,13 +19,16 @@
 
 package fr.utbm.ciad.labmanager.components.indicators.members.count;
 
+import java.util.EnumSet;
 import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import fr.utbm.ciad.labmanager.components.indicators.AbstractInstantIndicator;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorDependency;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorSnapshot;
 import fr.utbm.ciad.labmanager.configuration.Constants;
 import fr.utbm.ciad.labmanager.data.member.MemberStatus;
-import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.utils.Unit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -64,8 +67,13 @@ public class PhdStudentCountIndicator extends AbstractInstantIndicator {
 	}
 
 	@Override
-	protected Number computeValue(ResearchOrganization organization) {
-		final var students = organization.getDirectOrganizationMemberships().parallelStream().filter(
+	public Set<IndicatorDependency> getDependencies() {
+		return EnumSet.of(IndicatorDependency.MEMBERSHIPS);
+	}
+
+	@Override
+	protected Number computeValue(IndicatorSnapshot snapshot) {
+		final var students = snapshot.getDirectOrganizationMemberships().parallelStream().filter(
 				it -> it.isActive() && it.getMemberStatus() == MemberStatus.PHD_STUDENT)
 				.collect(Collectors.toList());
 		final var nb = students.size();
@@ -19,13 +19,16 @@
 
 package fr.utbm.ciad.labmanager.components.indicators.members.count;
 
+import java.util.EnumSet;
 import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import fr.utbm.ciad.labmanager.components.indicators.AbstractInstantIndicator;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorDependency;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorSnapshot;
 import fr.utbm.ciad.labmanager.configuration.Constants;
 import fr.utbm.ciad.labmanager.data.member.MemberStatus;
-import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.utils.Unit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -64,8 +67,13 @@ public class PostdocCountIndicator extends AbstractInstantIndicator {
 	}
 
 	@Override
-	protected Number computeValue(ResearchOrganization organization) {
-		final var postdocs = organization.getDirectOrganizationMemberships().parallelStream().filter(
+	public Set<IndicatorDependency> getDependencies() {
+		return EnumSet.of(IndicatorDependency.MEMBERSHIPS);
+	}
+
+	@Override
+	protected Number computeValue(IndicatorSnapshot snapshot) {
+		final var postdocs = snapshot.getDirectOrganizationMemberships().parallelStream().filter(
 				it -> it.isActive() && it.getMemberStatus() == MemberStatus.POSTDOC)
 				.collect(Collectors.toList());
 		final var nb = postdocs.size();
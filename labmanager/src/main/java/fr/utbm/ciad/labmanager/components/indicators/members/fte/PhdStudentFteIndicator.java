@@ -20,15 +20,18 @@
 package fr.utbm.ciad.labmanager.components.indicators.members.fte;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import fr.utbm.ciad.labmanager.components.indicators.AbstractAnnualIndicator;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorDependency;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorSnapshot;
 import fr.utbm.ciad.labmanager.configuration.Constants;
 import fr.utbm.ciad.labmanager.data.member.MemberStatus;
 import fr.utbm.ciad.labmanager.data.member.Membership;
-import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.utils.Unit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -82,11 +85,16 @@ public class PhdStudentFteIndicator extends AbstractAnnualIndicator {
 	}
 
 	@Override
-	public Map<Integer, Number> getValuesPerYear(ResearchOrganization organization, int startYear, int endYear) {
+	public Set<IndicatorDependency> getDependencies() {
+		return EnumSet.of(IndicatorDependency.MEMBERSHIPS);
+	}
+
+	@Override
+	public Map<Integer, Number> getValuesPerYear(IndicatorSnapshot snapshot, int startYear, int endYear) {
 		final var startDate = LocalDate.of(startYear, 1, 1);
 		final var endDate = LocalDate.of(endYear, 12, 31);
 		final var values = new ConcurrentHashMap<Integer, Number>();
-		organization.getDirectOrganizationMemberships()
+		snapshot.getDirectOrganizationMemberships()
 			.parallelStream()
 			.filter(it -> isPhdStudent(it, startDate, endDate))
 			.forEach(it -> {
@@ -24,7 +24,6 @@ import java.util.Locale;
 import fr.utbm.ciad.labmanager.configuration.Constants;
 import fr.utbm.ciad.labmanager.data.project.Project;
 import fr.utbm.ciad.labmanager.data.project.ProjectCategory;
-import fr.utbm.ciad.labmanager.services.project.ProjectService;
 import fr.utbm.ciad.labmanager.utils.Unit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -45,13 +44,11 @@ public class AcademicProjectBudgetIndicator extends AbstractProjectBudgetIndicat
 	 *
 	 * @param messages the provider of messages.
 	 * @param constants the accessor to the constants.
-	 * @param projectService the service for accessing the projects.
 	 */
 	public AcademicProjectBudgetIndicator(
 			@Autowired MessageSourceAccessor messages,
-			@Autowired Constants constants,
-			@Autowired ProjectService projectService) {
-		super(messages, constants, projectService);
+			@Autowired Constants constants) {
+		super(messages, constants);
 	}
 
 	@Override
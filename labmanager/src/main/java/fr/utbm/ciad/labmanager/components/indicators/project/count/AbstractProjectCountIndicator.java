@@ -19,15 +19,17 @@
 
 package fr.utbm.ciad.labmanager.components.indicators.project.count;
 
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import fr.utbm.ciad.labmanager.components.indicators.AbstractAnnualIndicator;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorDependency;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorSnapshot;
 import fr.utbm.ciad.labmanager.configuration.Constants;
-import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.data.project.Project;
-import fr.utbm.ciad.labmanager.services.project.ProjectService;
 import org.springframework.context.support.MessageSourceAccessor;
 
 /** Count the number of projects for an organization.
@@ -40,19 +42,15 @@ import org.springframework.context.support.MessageSourceAccessor;
  */
 public abstract class AbstractProjectCountIndicator extends AbstractAnnualIndicator {
 
-	private ProjectService projectService;
-
 	/** Constructor.
 	 *
 	 * @param messages the provider of messages.
 	 * @param constants the accessor to the constants.
-	 * @param projectService the service for accessing the projects.
 	 */
 	public AbstractProjectCountIndicator(
 			MessageSourceAccessor messages,
-			Constants constants,
-			ProjectService projectService) {
-		this(messages, constants, AbstractAnnualIndicator::sum, projectService);
+			Constants constants) {
+		this(messages, constants, AbstractAnnualIndicator::sum);
 	}
 
 	/** Constructor.
@@ -61,20 +59,22 @@ public abstract class AbstractProjectCountIndicator extends AbstractAnnualIndica
 	 * @param constants the accessor to the constants.
 	 * @param mergingFunction the function that should be used for merging the annual values.
 	 *      If it is {@code null}, the {@link #sum(Map)} is used.
-	 * @param projectService the service for accessing the projects.
 	 */
 	public AbstractProjectCountIndicator(
 			MessageSourceAccessor messages,
 			Constants constants,
-			Function<Map<Integer, Number>, Number> mergingFunction,
-			ProjectService projectService) {
+			Function<Map<Integer, Number>, Number> mergingFunction) {
 		super(messages, constants, mergingFunction);
-		this.projectService = projectService;
 	}
 
 	@Override
-	public Map<Integer, Number> getValuesPerYear(ResearchOrganization organization, int startYear, int endYear) {
-		final var projects = this.projectService.getProjectsByOrganizationId(organization.getId());
+	public Set<IndicatorDependency> getDependencies() {
+		return EnumSet.of(IndicatorDependency.PROJECTS);
+	}
+
+	@Override
+	public Map<Integer, Number> getValuesPerYear(IndicatorSnapshot snapshot, int startYear, int endYear) {
+		final var projects = snapshot.getProjects();
 		//
 		var stream = filterByYearWindow(projects, it -> Integer.valueOf(it.getStartYear()));
 		stream = stream.filter(it -> isCountableProject(it));
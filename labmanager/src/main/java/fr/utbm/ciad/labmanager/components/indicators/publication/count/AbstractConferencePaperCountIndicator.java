@@ -16,17 +16,19 @@
 
 package fr.utbm.ciad.labmanager.components.indicators.publication.count;
 
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import fr.utbm.ciad.labmanager.components.indicators.AbstractAnnualIndicator;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorDependency;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorSnapshot;
 import fr.utbm.ciad.labmanager.configuration.Constants;
-import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.data.publication.PublicationType;
 import fr.utbm.ciad.labmanager.data.publication.type.ConferencePaper;
-import fr.utbm.ciad.labmanager.services.publication.type.ConferencePaperService;
 import org.springframework.context.support.MessageSourceAccessor;
 
 /** Count the number of conference papers for an organization.
@@ -39,7 +41,6 @@ import org.springframework.context.support.MessageSourceAccessor;
  */
 public abstract class AbstractConferencePaperCountIndicator extends AbstractAnnualIndicator {
 
-	private ConferencePaperService conferencePaperService;
 
 	private final Predicate<? super ConferencePaper> filter;
 
@@ -47,15 +48,13 @@ public abstract class AbstractConferencePaperCountIndicator extends AbstractAnnu
 	 *
 	 * @param messages the provider of messages.
 	 * @param constants the accessor to the constants.
-	 * @param conferencePaperService the service for accessing the conference papers.
 	 * @param filter the filter to apply on the paper collection.
 	 */
 	public AbstractConferencePaperCountIndicator(
 			MessageSourceAccessor messages,
 			Constants constants,
-			ConferencePaperService conferencePaperService,
 			Predicate<? super ConferencePaper> filter) {
-		this(messages, constants, AbstractAnnualIndicator::sum, conferencePaperService, filter);
+		this(messages, constants, AbstractAnnualIndicator::sum, filter);
 	}
 
 	/** Constructor.
@@ -64,23 +63,25 @@ public abstract class AbstractConferencePaperCountIndicator extends AbstractAnnu
 	 * @param constants the accessor to the constants.
 	 * @param mergingFunction the function that should be used for merging the annual values.
 	 *      If it is {@code null}, the {@link #sum(Map)} is used.
-	 * @param conferencePaperService the service for accessing the conference papers.
 	 * @param filter the filter to apply on the paper collection.
 	 */
 	public AbstractConferencePaperCountIndicator(
 			MessageSourceAccessor messages,
 			Constants constants,
 			Function<Map<Integer, Number>, Number> mergingFunction,
-			ConferencePaperService conferencePaperService,
 			Predicate<? super ConferencePaper> filter) {
 		super(messages, constants, mergingFunction);
-		this.conferencePaperService = conferencePaperService;
 		this.filter = filter;
 	}
 
 	@Override
-	public Map<Integer, Number> getValuesPerYear(ResearchOrganization organization, int startYear, int endYear) {
-		final var papers = this.conferencePaperService.getConferencePapersByOrganizationId(organization.getId(), true);
+	public Set<IndicatorDependency> getDependencies() {
+		return EnumSet.of(IndicatorDependency.MEMBERSHIPS, IndicatorDependency.PUBLICATIONS);
+	}
+
+	@Override
+	public Map<Integer, Number> getValuesPerYear(IndicatorSnapshot snapshot, int startYear, int endYear) {
+		final var papers = snapshot.getConferencePapers();
 		//
 		var stream = filterByYearWindow(papers, it -> Integer.valueOf(it.getPublicationYear()))
 				.filter(it -> {
@@ -16,16 +16,18 @@
 
 package fr.utbm.ciad.labmanager.components.indicators.publication.count;
 
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import fr.utbm.ciad.labmanager.components.indicators.AbstractAnnualIndicator;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorDependency;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorSnapshot;
 import fr.utbm.ciad.labmanager.configuration.Constants;
-import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.data.publication.type.JournalPaper;
-import fr.utbm.ciad.labmanager.services.publication.type.JournalPaperService;
 import fr.utbm.ciad.labmanager.utils.ranking.JournalRankingSystem;
 import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -40,7 +42,6 @@ import org.springframework.context.support.MessageSourceAccessor;
  */
 public abstract class AbstractRankedJournalPaperCountIndicator extends AbstractAnnualIndicator {
 
-	private JournalPaperService journalPaperService;
 
 	private final Predicate<? super JournalPaper> filter;
 
@@ -48,15 +49,13 @@ public abstract class AbstractRankedJournalPaperCountIndicator extends AbstractA
 	 *
 	 * @param messages the provider of messages.
 	 * @param constants the accessor to the constants.
-	 * @param journalPaperService the service for accessing the journal papers.
 	 * @param filter the filter to be used for the publications.
 	 */
 	public AbstractRankedJournalPaperCountIndicator(
 			MessageSourceAccessor messages,
 			Constants constants,
-			JournalPaperService journalPaperService,
 			Predicate<? super JournalPaper> filter) {
-		this(messages, constants, AbstractAnnualIndicator::sum, journalPaperService, filter);
+		this(messages, constants, AbstractAnnualIndicator::sum, filter);
 	}
 
 	/** Constructor.
@@ -65,17 +64,14 @@ public abstract class AbstractRankedJournalPaperCountIndicator extends AbstractA
 	 * @param constants the accessor to the constants.
 	 * @param mergingFunction the function that should be used for merging the annual values.
 	 *      If it is {@code null}, the {@link #sum(Map)} is used.
-	 * @param journalPaperService the service for accessing the journal papers.
 	 * @param filter the filter to be used for the publications.
 	 */
 	public AbstractRankedJournalPaperCountIndicator(
 			MessageSourceAccessor messages,
 			Constants constants,
 			Function<Map<Integer, Number>, Number> mergingFunction,
-			JournalPaperService journalPaperService,
 			Predicate<? super JournalPaper> filter) {
 		super(messages, constants, mergingFunction);
-		this.journalPaperService = journalPaperService;
 		this.filter = filter;
 		
 	}
@@ -87,8 +83,13 @@ public abstract class AbstractRankedJournalPaperCountIndicator extends AbstractA
 	public abstract JournalRankingSystem getJournalRankingSystem();
 
 	@Override
-	public Map<Integer, Number> getValuesPerYear(ResearchOrganization organization, int startYear, int endYear) {
-		final var papers = this.journalPaperService.getJournalPapersByOrganizationId(organization.getId(), true, true);
+	public Set<IndicatorDependency> getDependencies() {
+		return EnumSet.of(IndicatorDependency.MEMBERSHIPS, IndicatorDependency.PUBLICATIONS, IndicatorDependency.JOURNAL_RANKINGS);
+	}
+
+	@Override
+	public Map<Integer, Number> getValuesPerYear(IndicatorSnapshot snapshot, int startYear, int endYear) {
+		final var papers = snapshot.getJournalPapers();
 		//
 		var stream = filterByYearWindow(papers, it -> Integer.valueOf(it.getPublicationYear()));
 		switch (getJournalRankingSystem()) {
@@ -19,7 +19,6 @@ package fr.utbm.ciad.labmanager.components.indicators.publication.count;
 import java.util.Locale;
 
 import fr.utbm.ciad.labmanager.configuration.Constants;
-import fr.utbm.ciad.labmanager.services.publication.type.ConferencePaperService;
 import fr.utbm.ciad.labmanager.utils.Unit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -40,13 +39,11 @@ public class ConferencePaperCountIndicator extends AbstractConferencePaperCountI
 	 *
 	 * @param messages the provider of messages.
 	 * @param constants the accessor to the constants.
-	 * @param conferencePaperService the service for accessing the conference papers.
 	 */
 	public ConferencePaperCountIndicator(
 			@Autowired MessageSourceAccessor messages,
-			@Autowired Constants constants,
-			@Autowired ConferencePaperService conferencePaperService) {
-		super(messages, constants, conferencePaperService, null);
+			@Autowired Constants constants) {
+		super(messages, constants, null);
 	}
 
 	@Override
@@ -20,7 +20,6 @@ import java.util.Locale;
 
 import fr.utbm.ciad.labmanager.configuration.Constants;
 import fr.utbm.ciad.labmanager.data.EntityUtils;
-import fr.utbm.ciad.labmanager.services.publication.type.ConferencePaperService;
 import fr.utbm.ciad.labmanager.utils.Unit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -41,13 +40,11 @@ public class PostdocConferencePaperCountIndicator extends AbstractConferencePape
 	 *
 	 * @param messages the provider of messages.
 	 * @param constants the accessor to the constants.
-	 * @param conferencePaperService the service for accessing the conference papers.
 	 */
 	public PostdocConferencePaperCountIndicator(
 			@Autowired MessageSourceAccessor messages,
-			@Autowired Constants constants,
-			@Autowired ConferencePaperService conferencePaperService) {
-		super(messages, constants, conferencePaperService, it -> EntityUtils.hasPostdocAuthor(it));
+			@Autowired Constants constants) {
+		super(messages, constants, it -> EntityUtils.hasPostdocAuthor(it));
 	}
 
 	@Override
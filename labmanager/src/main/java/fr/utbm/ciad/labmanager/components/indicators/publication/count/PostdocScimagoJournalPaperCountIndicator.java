@@ -20,7 +20,6 @@ import java.util.Locale;
 
 import fr.utbm.ciad.labmanager.configuration.Constants;
 import fr.utbm.ciad.labmanager.data.EntityUtils;
-import fr.utbm.ciad.labmanager.services.publication.type.JournalPaperService;
 import fr.utbm.ciad.labmanager.utils.Unit;
 import fr.utbm.ciad.labmanager.utils.ranking.JournalRankingSystem;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,13 +41,11 @@ public class PostdocScimagoJournalPaperCountIndicator extends AbstractRankedJour
 	 *
 	 * @param messages the provider of messages.
 	 * @param constants the accessor to the constants.
-	 * @param journalPaperService the service for accessing the journal papers.
 	 */
 	public PostdocScimagoJournalPaperCountIndicator(
 			@Autowired MessageSourceAccessor messages,
-			@Autowired Constants constants,
-			@Autowired JournalPaperService journalPaperService) {
-		super(messages, constants, journalPaperService, it -> EntityUtils.hasPostdocAuthor(it));
+			@Autowired Constants constants) {
+		super(messages, constants, it -> EntityUtils.hasPostdocAuthor(it));
 	}
 
 	@Override
@@ -16,14 +16,16 @@
 
 package fr.utbm.ciad.labmanager.components.indicators.publication.count;
 
+import java.util.EnumSet;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import fr.utbm.ciad.labmanager.components.indicators.AbstractAnnualIndicator;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorDependency;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorSnapshot;
 import fr.utbm.ciad.labmanager.configuration.Constants;
-import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
-import fr.utbm.ciad.labmanager.services.publication.type.JournalPaperService;
 import fr.utbm.ciad.labmanager.utils.Unit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -40,25 +42,25 @@ import org.springframework.stereotype.Component;
 @Component
 public class UnrankedJournalPaperCountIndicator extends AbstractAnnualIndicator {
 
-	private JournalPaperService journalPaperService;
-
 	/** Constructor.
 	 *
 	 * @param messages the provider of messages.
 	 * @param constants the accessor to the constants.
-	 * @param journalPaperService the service for accessing the journal papers.
 	 */
 	public UnrankedJournalPaperCountIndicator(
 			@Autowired MessageSourceAccessor messages,
-			@Autowired Constants constants,
-			@Autowired JournalPaperService journalPaperService) {
+			@Autowired Constants constants) {
 		super(messages, constants, AbstractAnnualIndicator::sum);
-		this.journalPaperService = journalPaperService;
 	}
 
 	@Override
-	public Map<Integer, Number> getValuesPerYear(ResearchOrganization organization, int startYear, int endYear) {
-		final var papers = this.journalPaperService.getJournalPapersByOrganizationId(organization.getId(), true, true);
+	public Set<IndicatorDependency> getDependencies() {
+		return EnumSet.of(IndicatorDependency.MEMBERSHIPS, IndicatorDependency.PUBLICATIONS, IndicatorDependency.JOURNAL_RANKINGS);
+	}
+
+	@Override
+	public Map<Integer, Number> getValuesPerYear(IndicatorSnapshot snapshot, int startYear, int endYear) {
+		final var papers = snapshot.getJournalPapers();
 		//
 		final Map<Integer, Number> rankedPapers = filterByYearWindow(papers, it -> Integer.valueOf(it.getPublicationYear()))
 				.filter(it -> !it.isRanked())
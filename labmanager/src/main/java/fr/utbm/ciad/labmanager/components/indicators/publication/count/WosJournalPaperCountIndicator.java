@@ -19,7 +19,6 @@ package fr.utbm.ciad.labmanager.components.indicators.publication.count;
 import java.util.Locale;
 
 import fr.utbm.ciad.labmanager.configuration.Constants;
-import fr.utbm.ciad.labmanager.services.publication.type.JournalPaperService;
 import fr.utbm.ciad.labmanager.utils.Unit;
 import fr.utbm.ciad.labmanager.utils.ranking.JournalRankingSystem;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,13 +40,11 @@ public class WosJournalPaperCountIndicator extends AbstractRankedJournalPaperCou
 	 *
 	 * @param messages the provider of messages.
 	 * @param constants the accessor to the constants.
-	 * @param journalPaperService the service for accessing the journal papers.
 	 */
 	public WosJournalPaperCountIndicator(
 			@Autowired MessageSourceAccessor messages,
-			@Autowired Constants constants,
-			@Autowired JournalPaperService journalPaperService) {
-		super(messages, constants, journalPaperService, null);
+			@Autowired Constants constants) {
+		super(messages, constants, null);
 	}
 
 	@Override
@@ -16,15 +16,18 @@
 
 package fr.utbm.ciad.labmanager.components.indicators.publication.fte;
 
+import java.util.EnumSet;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import fr.utbm.ciad.labmanager.components.indicators.AbstractAnnualIndicator;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorDependency;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorSnapshot;
 import fr.utbm.ciad.labmanager.components.indicators.members.fte.PhdStudentFteIndicator;
 import fr.utbm.ciad.labmanager.components.indicators.publication.count.PhdConferencePaperCountIndicator;
 import fr.utbm.ciad.labmanager.configuration.Constants;
-import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.utils.Unit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -63,9 +66,16 @@ public class ConferencePaperPhdRatioIndicator extends AbstractAnnualIndicator {
 	}
 
 	@Override
-	public Map<Integer, Number> getValuesPerYear(ResearchOrganization organization, int startYear, int endYear) {
-		final var rankedPapers = this.paperCount.getValuesPerYear(organization, startYear, endYear);
-		final var ftes = this.fteIndicator.getValuesPerYear(organization, startYear, endYear);
+	public Set<IndicatorDependency> getDependencies() {
+		final var dependencies = EnumSet.copyOf(this.paperCount.getDependencies());
+		dependencies.addAll(this.fteIndicator.getDependencies());
+		return dependencies;
+	}
+
+	@Override
+	public Map<Integer, Number> getValuesPerYear(IndicatorSnapshot snapshot, int startYear, int endYear) {
+		final var rankedPapers = this.paperCount.getValuesPerYear(snapshot, startYear, endYear);
+		final var ftes = this.fteIndicator.getValuesPerYear(snapshot, startYear, endYear);
 		final Map<Integer, Number> ratios = rankedPapers.entrySet().parallelStream().collect(Collectors.toConcurrentMap(
 			Map.Entry::getKey,
 			it -> {
@@ -19,17 +19,52 @@
 
 package fr.utbm.ciad.labmanager.components.security;
 
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 import com.google.common.base.Strings;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.spring.security.AuthenticationContext;
+import fr.utbm.ciad.labmanager.data.member.Person;
 import fr.utbm.ciad.labmanager.data.user.User;
 import fr.utbm.ciad.labmanager.data.user.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 /** Connected application user.
+ *
+ * <p>The user that is resolved from the database is cached in the Vaadin session, with the person that is linked to it.
+ * The cached user is discarded when the login of the authenticated user changes, when the user logs out,
+ * and when this user or its person is created, changed or deleted in the database. The cached user is shared
+ * by the views of the session; it must not be changed. The editors must work on a copy that is loaded from the database.
+ *
+ * <p>The invalidations of the users and persons are kept until a global invalidation discards all the cached users.
+ * When too many invalidations are kept, a global invalidation is forced.
+ *
+ * <p>The numbers of hits and misses of the cache are published as the metric {@value #CACHE_METRIC}, and the number of
+ * kept invalidations as the metric {@value #INVALIDATION_METRIC}.
  * 
  * @author $Author: sgalland$
  * @version $Name$ $Revision$ $Date$
@@ -38,13 +73,45 @@ import org.springframework.transaction.annotation.Transactional;
  * @since 4.0
  */
 @Component
-public class AuthenticatedUser {
+public class AuthenticatedUser implements MeterBinder {
+
+	/** Name of the metric for the numbers of hits and misses of the cache of users.
+	 *
+	 * @since 4.1
+	 */
+	public static final String CACHE_METRIC = "labmanager.authenticated.user.cache"; //$NON-NLS-1$
+
+	/** Name of the metric for the number of the invalidations of users and persons that are kept.
+	 *
+	 * @since 4.1
+	 */
+	public static final String INVALIDATION_METRIC = "labmanager.authenticated.user.invalidations"; //$NON-NLS-1$
+
+	/** Maximum number of invalidations of users and persons that are kept before a global invalidation is forced.
+	 */
+	private static final int MAX_INVALIDATIONS = 1024;
+
+	private static final String CACHE_ATTRIBUTE = AuthenticatedUser.class.getName() + ".cachedUser"; //$NON-NLS-1$
 
 	private final UserRepository userRepository;
 
 	private final AuthenticationContext authenticationContext;
 
-	/** Constructor.
+	private final AtomicLong clock = new AtomicLong();
+
+	private volatile long globalInvalidation;
+
+	private final AtomicLong cacheHits = new AtomicLong();
+
+	private final AtomicLong cacheMisses = new AtomicLong();
+
+	private final Map<String, Long> loginInvalidations = new ConcurrentHashMap<>();
+
+	private final Map<Long, Long> userInvalidations = new ConcurrentHashMap<>();
+
+	private final Map<Long, Long> personInvalidations = new ConcurrentHashMap<>();
+
+	/** Constructor. The cached users are not invalidated when the users are changed in the database.
 	 *
 	 * @param authenticationContext the context of authentication of the application.
 	 * @param userRepository the repository to have access to the application users.
@@ -54,7 +121,27 @@ public class AuthenticatedUser {
 		this.authenticationContext = authenticationContext;
 	}
 
+	/** Constructor. The cached users are invalidated when the users or the persons are changed through the given session factory.
+	 *
+	 * @param authenticationContext the context of authentication of the application.
+	 * @param userRepository the repository to have access to the application users.
+	 * @param sessionFactory the factory of JPA sessions.
+	 * @since 4.1
+	 */
+	@Autowired
+	public AuthenticatedUser(AuthenticationContext authenticationContext, UserRepository userRepository, SessionFactory sessionFactory) {
+		this(authenticationContext, userRepository);
+		final var registry = sessionFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry().getService(EventListenerRegistry.class);
+		if (registry != null) {
+			final var listener = new ChangeListener();
+			registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+			registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+			registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+		}
+	}
+
 	/** Replies the authenticated user.
+	 * The user is read from the cache of the current Vaadin session if it is still valid.
 	 *
 	 * @return the user.
 	 */
@@ -62,15 +149,152 @@ public class AuthenticatedUser {
 	public Optional<User> get() {
 		final var auth = this.authenticationContext.getAuthenticatedUser(UserDetails.class);
 		if (auth.isPresent()) {
-			final var user = this.userRepository.findByLogin(auth.get().getUsername());
+			final var login = auth.get().getUsername();
+			final var session = VaadinSession.getCurrent();
+			// The attributes of the Vaadin session must be accessed by the thread that owns the session lock
+			final var cacheable = session != null && session.hasLock();
+			if (cacheable && session.getAttribute(CACHE_ATTRIBUTE) instanceof CachedUser cached
+					&& Objects.equals(cached.login(), login) && isValid(cached)) {
+				this.cacheHits.incrementAndGet();
+				return Optional.ofNullable(cached.user());
+			}
+			this.cacheMisses.incrementAndGet();
+			// The stamp is taken before reading the user in order to discard it if it is changed during the reading
+			final var stamp = this.clock.get();
+			final var user = this.userRepository.findByLogin(login);
+			if (cacheable) {
+				final var userId = user.map(it -> Long.valueOf(it.getId())).orElse(null);
+				final var personId = user.map(it -> it.getPerson()).map(it -> Long.valueOf(it.getId())).orElse(null);
+				session.setAttribute(CACHE_ATTRIBUTE, new CachedUser(login, user.orElse(null), userId, personId, stamp));
+			}
 			return user;
 		}
 		return Optional.empty();
 	}
 
+	/** Replies the person that is linked to the authenticated user.
+	 *
+	 * @return the person.
+	 * @since 4.1
+	 */
+	public Optional<Person> getPerson() {
+		return get().map(it -> it.getPerson());
+	}
+
+	private static boolean isInvalidatedAfter(Map<Long, Long> invalidations, Long key, long stamp) {
+		if (key != null) {
+			final var invalidation = invalidations.get(key);
+			return invalidation != null && invalidation.longValue() > stamp;
+		}
+		return false;
+	}
+
+	private boolean isValid(CachedUser cached) {
+		final var stamp = cached.stamp();
+		if (this.globalInvalidation > stamp) {
+			return false;
+		}
+		final var loginInvalidation = this.loginInvalidations.get(cached.login());
+		if (loginInvalidation != null && loginInvalidation.longValue() > stamp) {
+			return false;
+		}
+		return !isInvalidatedAfter(this.userInvalidations, cached.userId(), stamp)
+				&& !isInvalidatedAfter(this.personInvalidations, cached.personId(), stamp);
+	}
+
+	/** Discard the users that are cached in the Vaadin sessions. The users will be read from the database at the next call to {@link #get()}.
+	 *
+	 * @since 4.1
+	 */
+	public void invalidate() {
+		final var stamp = this.clock.incrementAndGet();
+		this.globalInvalidation = stamp;
+		// The invalidations that are older than the global invalidation are not needed anymore
+		final Predicate<Long> isOlder = it -> it.longValue() <= stamp;
+		this.loginInvalidations.values().removeIf(isOlder);
+		this.userInvalidations.values().removeIf(isOlder);
+		this.personInvalidations.values().removeIf(isOlder);
+	}
+
+	private void pruneInvalidations() {
+		if (getInvalidationCount() > MAX_INVALIDATIONS) {
+			invalidate();
+		}
+	}
+
+	/** Replies the number of invalidations of users and persons that are kept for discarding the cached users.
+	 *
+	 * @return the number of invalidations.
+	 * @since 4.1
+	 */
+	public int getInvalidationCount() {
+		return this.loginInvalidations.size() + this.userInvalidations.size() + this.personInvalidations.size();
+	}
+
+	/** Replies the number of calls to {@link #get()} that were answered with the user in the cache of the Vaadin session.
+	 *
+	 * @return the number of cache hits.
+	 * @since 4.1
+	 */
+	public long getCacheHitCount() {
+		return this.cacheHits.get();
+	}
+
+	/** Replies the number of calls to {@link #get()} that have read the user from the database.
+	 *
+	 * @return the number of cache misses.
+	 * @since 4.1
+	 */
+	public long getCacheMissCount() {
+		return this.cacheMisses.get();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder(CACHE_METRIC, this, AuthenticatedUser::getCacheHitCount)
+			.tag("result", "hit") //$NON-NLS-1$ //$NON-NLS-2$
+			.description("Number of authenticated users that were found in the Vaadin sessions") //$NON-NLS-1$
+			.register(registry);
+		FunctionCounter.builder(CACHE_METRIC, this, AuthenticatedUser::getCacheMissCount)
+			.tag("result", "miss") //$NON-NLS-1$ //$NON-NLS-2$
+			.description("Number of authenticated users that were read from the database") //$NON-NLS-1$
+			.register(registry);
+		Gauge.builder(INVALIDATION_METRIC, this, AuthenticatedUser::getInvalidationCount)
+			.description("Number of invalidations of users and persons that are kept") //$NON-NLS-1$
+			.register(registry);
+	}
+
+	/** Discard the cached users that have the given login or identifier. The other cached users are kept.
+	 *
+	 * @param user the changed user.
+	 * @since 4.1
+	 */
+	public void invalidateUser(User user) {
+		final var stamp = Long.valueOf(this.clock.incrementAndGet());
+		if (user.getLogin() != null) {
+			this.loginInvalidations.put(user.getLogin(), stamp);
+		}
+		this.userInvalidations.put(Long.valueOf(user.getId()), stamp);
+		pruneInvalidations();
+	}
+
+	/** Discard the cached users that are linked to the person with the given identifier. The other cached users are kept.
+	 *
+	 * @param personId the identifier of the changed person.
+	 * @since 4.1
+	 */
+	public void invalidatePerson(long personId) {
+		this.personInvalidations.put(Long.valueOf(personId), Long.valueOf(this.clock.incrementAndGet()));
+		pruneInvalidations();
+	}
+
 	/** Log out the user.
 	 */
 	public void logout() {
+		final var session = VaadinSession.getCurrent();
+		if (session != null && session.hasLock()) {
+			session.setAttribute(CACHE_ATTRIBUTE, null);
+		}
 		this.authenticationContext.logout();
 	}
 
@@ -89,4 +313,86 @@ public class AuthenticatedUser {
 		return ""; //$NON-NLS-1$
 	}
 
+	/** User that is cached in a Vaadin session.
+	 *
+	 * @param login the login that was used for reading the user.
+	 * @param user the user, or {@code null} if there is no user with the login.
+	 * @param userId the identifier of the user, or {@code null} if there is no user with the login.
+	 * @param personId the identifier of the person of the user, or {@code null} if there is no person.
+	 * @param stamp the value of the invalidation clock before the user was read.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private record CachedUser(String login, User user, Long userId, Long personId, long stamp) implements Serializable {
+		//
+	}
+
+	/** Listener on the changes of the users and the persons in the database.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private class ChangeListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+		private static final long serialVersionUID = 4286450375126981337L;
+
+		ChangeListener() {
+			//
+		}
+
+		private static boolean isUserData(Class<?> type) {
+			return User.class.isAssignableFrom(type) || Person.class.isAssignableFrom(type);
+		}
+
+		private void onChange(Object entity) {
+			if (entity instanceof User user) {
+				invalidateUser(user);
+			} else if (entity instanceof Person person) {
+				invalidatePerson(person.getId());
+			}
+		}
+
+		@Override
+		public boolean requiresPostCommitHandling(EntityPersister persister) {
+			return isUserData(persister.getMappedClass());
+		}
+
+		@Override
+		public void onPostInsert(PostInsertEvent event) {
+			onChange(event.getEntity());
+		}
+
+		@Override
+		public void onPostInsertCommitFailed(PostInsertEvent event) {
+			//
+		}
+
+		@Override
+		public void onPostUpdate(PostUpdateEvent event) {
+			onChange(event.getEntity());
+		}
+
+		@Override
+		public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+			//
+		}
+
+		@Override
+		public void onPostDelete(PostDeleteEvent event) {
+			onChange(event.getEntity());
+		}
+
+		@Override
+		public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+			//
+		}
+
+	}
+
 }
@@ -41,6 +41,8 @@ import org.springframework.stereotype.Component;
  *
  * <p>It is searching for a file with the name {@code data.json} or {@code data.zip} inside the folder
  * that is specified by the configuration variable {@code labmanager.init.data-source}.
+ *
+ * <p>The publications are imported by chunks of {@code labmanager.init.bulk-chunk-size} publications per transaction.
  * 
  * @author $Author: sgalland$
  * @version $Name$ $Revision$ $Date$
@@ -63,22 +65,28 @@ public class JsonDatabaseInitializer implements ApplicationRunner {
 
 	private final boolean enabled;
 
+	private final int bulkChunkSize;
+
 	/** Constructor.
 	 * 
 	 * @param jsonImporter the importer of JSON.
 	 * @param zipImporter the importer of ZIP.
 	 * @param dataSourceFolder the folder in the local file system in which the data source file could be located.
 	 * @param enabled from configuration file, indicates if the data import is enabled or not.
+	 * @param bulkChunkSize from configuration file, the number of publications that are saved within the same transaction
+	 *     during the initialization of the database.
 	 */
 	public JsonDatabaseInitializer(
 			@Autowired JsonToDatabaseImporter jsonImporter,
 			@Autowired ZipToDatabaseImporter zipImporter,
 			@Value("${labmanager.init.data-source}") String dataSourceFolder,
-			@Value("${labmanager.init.enable}") boolean enabled) {
+			@Value("${labmanager.init.enable}") boolean enabled,
+			@Value("${labmanager.init.bulk-chunk-size:" + JsonToDatabaseImporter.DEFAULT_BULK_CHUNK_SIZE + "}") int bulkChunkSize) {
 		this.jsonImporter = jsonImporter;
 		this.zipImporter = zipImporter;
 		this.dataSourceFolder = dataSourceFolder;
 		this.enabled = enabled;
+		this.bulkChunkSize = bulkChunkSize;
 	}
 
 	/** Replies the logger of this service.
@@ -214,10 +222,10 @@ public class JsonDatabaseInitializer implements ApplicationRunner {
 	protected Importer detectImporter(URL url) {
 		assert url != null;
 		if (FileSystem.hasExtension(url, ".zip")) { //$NON-NLS-1$
-			return it -> this.zipImporter.importArchiveFileToDatabase(it);
+			return it -> this.zipImporter.importArchiveFileToDatabase(it, this.bulkChunkSize);
 		}
 		if (FileSystem.hasExtension(url, ".json")) { //$NON-NLS-1$
-			return it -> this.jsonImporter.importDataFileToDatabase(it);
+			return it -> this.jsonImporter.importDataFileToDatabase(it, this.bulkChunkSize);
 		}
 		return null;
 	}
@@ -0,0 +1,57 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.data;
+
+import java.util.List;
+
+/** Names of the regions of the Hibernate second-level cache.
+ * Only the read-mostly reference entities are put in the second-level cache.
+ * The bounds of each region, i.e., maximum number of entries and time-to-live, are defined
+ * in the {@code hibernate-caches.conf} resource. A region that is not defined in this resource
+ * is refused at startup.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+public final class EntityCacheRegions {
+
+	/** Region for the journals, the conferences, the organizations, their addresses and the scientific axes,
+	 * and for the collections of organizations and addresses.
+	 */
+	public static final String REFERENCES = "labmanager-references"; //$NON-NLS-1$
+
+	/** Region for the annual quality indicators of the journals and conferences, and for the collections
+	 * of these indicators. This region should be flushed after a bulk update of the rankings that is not
+	 * done through the JPA entities.
+	 */
+	public static final String RANKINGS = "labmanager-rankings"; //$NON-NLS-1$
+
+	/** All the regions that are defined by the application.
+	 */
+	public static final List<String> ALL = List.of(REFERENCES, RANKINGS);
+
+	private EntityCacheRegions() {
+		//
+	}
+
+}
@@ -0,0 +1,186 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Session;
+
+/** Declarative description of the lazy-loaded associations that must be loaded together with a list of entities.
+ * A path is a dot-separated list of attribute names from the root entity type, e.g., {@code participants.person}.
+ *
+ * <p>The plan is applied after the loading of the entities, e.g., after the query of a page of a grid.
+ * The associations are loaded by secondary queries that are selecting the entities by their identifiers and that
+ * are joining-fetching the associations. Because the entities are already attached to the session, the associations
+ * of these entities are initialized by these queries. All the single-valued associations are fetched by a single query,
+ * and each collection is fetched by its own query in order to avoid the Cartesian products between collections.
+ * In this way, the number of queries depends on the plan only, not on the number of entities.
+ *
+ * @param <T> the type of the root entities.
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+public final class FetchPlan<T extends IdentifiableEntity> implements Serializable {
+
+	private static final long serialVersionUID = -4236702869152283460L;
+
+	/** Maximum number of identifiers that are put in a single {@code IN} clause.
+	 */
+	private static final int ID_BATCH_SIZE = 1000;
+
+	private static final String ROOT_ALIAS = "e"; //$NON-NLS-1$
+
+	private final Class<T> type;
+
+	private final List<String> paths;
+
+	private FetchPlan(Class<T> type, List<String> paths) {
+		this.type = type;
+		this.paths = Collections.unmodifiableList(paths);
+	}
+
+	/** Create a fetch plan.
+	 *
+	 * @param <T> the type of the root entities.
+	 * @param type the type of the root entities.
+	 * @param paths the paths to the associations to fetch.
+	 * @return the fetch plan.
+	 */
+	public static <T extends IdentifiableEntity> FetchPlan<T> of(Class<T> type, String... paths) {
+		assert type != null;
+		return new FetchPlan<>(type, new ArrayList<>(Arrays.asList(paths)));
+	}
+
+	/** Create a fetch plan that contains the paths of this plan and the given paths.
+	 *
+	 * @param paths the paths to the associations to fetch.
+	 * @return the new fetch plan.
+	 */
+	public FetchPlan<T> with(String... paths) {
+		final var newPaths = new ArrayList<>(this.paths);
+		newPaths.addAll(Arrays.asList(paths));
+		return new FetchPlan<>(this.type, newPaths);
+	}
+
+	/** Replies the type of the root entities.
+	 *
+	 * @return the type.
+	 */
+	public Class<T> getType() {
+		return this.type;
+	}
+
+	/** Replies the paths to the associations to fetch.
+	 *
+	 * @return the paths.
+	 */
+	public List<String> getPaths() {
+		return this.paths;
+	}
+
+	/** Load the associations of the given entities. The entities must be attached to the given session.
+	 *
+	 * @param session the session to which the entities are attached.
+	 * @param entities the entities to initialize.
+	 */
+	public void apply(Session session, Collection<? extends T> entities) {
+		if (this.paths.isEmpty() || entities == null || entities.isEmpty()) {
+			return;
+		}
+		final var entityType = session.getEntityManagerFactory().getMetamodel().entity(this.type);
+		// Group the paths: single-valued associations together, each collection alone
+		final var singleValuedPaths = new ArrayList<String>();
+		final var collectionPaths = new LinkedHashMap<String, List<String>>();
+		for (final var path : this.paths) {
+			final var root = getRootAttribute(path);
+			if (entityType.getAttribute(root).isCollection()) {
+				collectionPaths.computeIfAbsent(root, it -> new ArrayList<>()).add(path);
+			} else {
+				singleValuedPaths.add(path);
+			}
+		}
+		final var queries = new ArrayList<String>(collectionPaths.size() + 1);
+		if (!singleValuedPaths.isEmpty()) {
+			queries.add(buildQuery(entityType.getName(), singleValuedPaths));
+		}
+		for (final var group : collectionPaths.values()) {
+			queries.add(buildQuery(entityType.getName(), group));
+		}
+		//
+		final var ids = new ArrayList<Long>(entities.size());
+		for (final var entity : entities) {
+			ids.add(Long.valueOf(entity.getId()));
+		}
+		for (var start = 0; start < ids.size(); start += ID_BATCH_SIZE) {
+			final var batch = ids.subList(start, Math.min(ids.size(), start + ID_BATCH_SIZE));
+			for (final var query : queries) {
+				// The result is ignored because the fetched entities are already attached to the session
+				session.createSelectionQuery(query, this.type).setParameterList("ids", batch).getResultList(); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private static String getRootAttribute(String path) {
+		final var index = path.indexOf('.');
+		return index < 0 ? path : path.substring(0, index);
+	}
+
+	private static String buildQuery(String entityName, List<String> paths) {
+		final var query = new StringBuilder();
+		query.append("SELECT DISTINCT ").append(ROOT_ALIAS).append(" FROM ").append(entityName).append(" ").append(ROOT_ALIAS); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		// Aliases of the joined paths, for sharing the joins between the paths with the same prefix
+		final Map<String, String> aliases = new LinkedHashMap<>();
+		for (final var path : paths) {
+			var parentAlias = ROOT_ALIAS;
+			var prefix = new StringBuilder();
+			for (final var attribute : path.split("\\.")) { //$NON-NLS-1$
+				if (prefix.length() > 0) {
+					prefix.append('.');
+				}
+				prefix.append(attribute);
+				var alias = aliases.get(prefix.toString());
+				if (alias == null) {
+					alias = "j" + aliases.size(); //$NON-NLS-1$
+					aliases.put(prefix.toString(), alias);
+					query.append(" LEFT JOIN FETCH ").append(parentAlias).append('.').append(attribute).append(' ').append(alias); //$NON-NLS-1$
+				}
+				parentAlias = alias;
+			}
+		}
+		query.append(" WHERE ").append(ROOT_ALIAS).append(".id IN (:ids)"); //$NON-NLS-1$ //$NON-NLS-2$
+		return query.toString();
+	}
+
+	@Override
+	public String toString() {
+		return this.type.getSimpleName() + this.paths;
+	}
+
+}
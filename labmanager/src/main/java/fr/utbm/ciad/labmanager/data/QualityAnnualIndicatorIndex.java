@@ -0,0 +1,120 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.data;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/** Index of the annual quality indicators of an entity by year.
+ * For each ranking system, represented by a selector of the indicators, the index contains the latest
+ * indicators that are fitting the selector and with a reference year lower or equal to each of the known years.
+ * The search of the indicators for a given year is a binary search in a sorted array of primitive integers.
+ * It does not allocate memory.
+ *
+ * <p>The index is not updated when the indicators of the entity are changed. It must be rebuilt.
+ *
+ * @param <T> the type of the quality indicators.
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+public final class QualityAnnualIndicatorIndex<T extends QualityAnnualIndicators> {
+
+	private final int[] years;
+
+	private final Object[][] resolvedIndicators;
+
+	private QualityAnnualIndicatorIndex(int[] years, Object[][] resolvedIndicators) {
+		this.years = years;
+		this.resolvedIndicators = resolvedIndicators;
+	}
+
+	/** Build the index for the given indicators.
+	 *
+	 * @param <T> the type of the quality indicators.
+	 * @param indicators the indicators per reference year. The map may be not sorted.
+	 * @param selectors the selectors of the indicators, one for each ranking system. The index of a selector
+	 *     in this list is the identifier of the ranking system that must be passed to {@link #floor(int, int)}.
+	 * @return the index.
+	 */
+	public static <T extends QualityAnnualIndicators> QualityAnnualIndicatorIndex<T> build(Map<Integer, T> indicators,
+			List<? extends Predicate<? super T>> selectors) {
+		assert selectors != null;
+		if (indicators == null || indicators.isEmpty()) {
+			return new QualityAnnualIndicatorIndex<>(new int[0], new Object[selectors.size()][0]);
+		}
+		final var years = new int[indicators.size()];
+		var n = 0;
+		for (final var year : indicators.keySet()) {
+			if (year != null) {
+				years[n++] = year.intValue();
+			}
+		}
+		final var sortedYears = Arrays.copyOf(years, n);
+		Arrays.sort(sortedYears);
+		final var resolved = new Object[selectors.size()][sortedYears.length];
+		for (var s = 0; s < resolved.length; ++s) {
+			final var selector = selectors.get(s);
+			final var line = resolved[s];
+			T last = null;
+			for (var i = 0; i < sortedYears.length; ++i) {
+				final var current = indicators.get(Integer.valueOf(sortedYears[i]));
+				if (current != null && selector.test(current)) {
+					last = current;
+				}
+				line[i] = last;
+			}
+		}
+		return new QualityAnnualIndicatorIndex<>(sortedYears, resolved);
+	}
+
+	/** Replies the latest indicators that are fitting the selector of the given ranking system and with a
+	 * reference year lower or equal to the given year.
+	 *
+	 * @param rankingSystem the index of the selector of the ranking system that was passed to {@link #build(Map, List)}.
+	 * @param year the year to search for.
+	 * @return the indicators, or {@code null} if none is known.
+	 */
+	@SuppressWarnings("unchecked")
+	public T floor(int rankingSystem, int year) {
+		var index = Arrays.binarySearch(this.years, year);
+		if (index < 0) {
+			// The insertion point is after the greatest year that is lower than the given one
+			index = -index - 2;
+			if (index < 0) {
+				return null;
+			}
+		}
+		return (T) this.resolvedIndicators[rankingSystem][index];
+	}
+
+	/** Replies the number of years in this index.
+	 *
+	 * @return the number of years.
+	 */
+	public int size() {
+		return this.years.length;
+	}
+
+}
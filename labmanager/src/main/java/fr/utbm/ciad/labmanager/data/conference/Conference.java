@@ -25,16 +25,18 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.google.common.base.Strings;
 import fr.utbm.ciad.labmanager.data.AttributeProvider;
+import fr.utbm.ciad.labmanager.data.EntityCacheRegions;
 import fr.utbm.ciad.labmanager.data.EntityUtils;
 import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
+import fr.utbm.ciad.labmanager.data.QualityAnnualIndicatorIndex;
 import fr.utbm.ciad.labmanager.data.publication.AbstractConferenceBasedPublication;
 import fr.utbm.ciad.labmanager.utils.HashCodeUtils;
 import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
 import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
 import fr.utbm.ciad.labmanager.views.components.addons.wizard.AbstractContextData;
 import jakarta.persistence.*;
-import org.arakhne.afc.util.IntegerList;
-import org.arakhne.afc.util.ListUtil;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.context.support.MessageSourceAccessor;
 
 import java.io.IOException;
@@ -57,11 +59,18 @@ import java.util.function.Predicate;
  * @since 3.6
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.REFERENCES)
 @Table(name = "Conferences")
 public class Conference extends AbstractContextData implements Serializable, JsonSerializable, AttributeProvider, IdentifiableEntity {
 
 	private static final long serialVersionUID = -2286554831898694393L;
 
+	private static final int CORE_RANKING = 0;
+
+	private static final List<Predicate<ConferenceQualityAnnualIndicators>> RANKING_SELECTORS = Collections.singletonList(
+			it -> it.getCoreIndex() != null);
+
 	/** Identifier of the journal in the database.
 	 * 
 	 * <p>Using this instead of {@link GenerationType#IDENTITY} allows for JOINED or TABLE_PER_CLASS inheritance types to work.
@@ -128,8 +137,14 @@ public class Conference extends AbstractContextData implements Serializable, Jso
 			@JoinColumn(name = "indicators_id", referencedColumnName = "id")
 	})
 	@MapKey(name = "referenceYear")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.RANKINGS)
 	private Map<Integer, ConferenceQualityAnnualIndicators> qualityIndicators;
 
+	/** Index of the quality indicators by year, that is built on demand.
+	 */
+	@Transient
+	private transient QualityAnnualIndicatorIndex<ConferenceQualityAnnualIndicators> qualityIndicatorIndex;
+
 	/** Reference to the super conference.
 	 */
 	@ManyToOne(fetch = FetchType.LAZY)
@@ -439,6 +454,8 @@ public class Conference extends AbstractContextData implements Serializable, Jso
 	}
 
 	/** Replies the quality indicators of the conference.
+	 * Because the replied map may be changed by the caller, the index of the indicators by year
+	 * is rebuilt at the next search of a ranking.
 	 *
 	 * @return the indicators.
 	 */
@@ -446,9 +463,23 @@ public class Conference extends AbstractContextData implements Serializable, Jso
 		if (this.qualityIndicators == null) {
 			this.qualityIndicators = new TreeMap<>();
 		}
+		this.qualityIndicatorIndex = null;
 		return this.qualityIndicators;
 	}
 
+	/** Replies the index of the quality indicators by year. The index is built if it is not yet built.
+	 *
+	 * @return the index.
+	 */
+	private QualityAnnualIndicatorIndex<ConferenceQualityAnnualIndicators> getQualityIndicatorIndex() {
+		var index = this.qualityIndicatorIndex;
+		if (index == null) {
+			index = QualityAnnualIndicatorIndex.build(this.qualityIndicators, RANKING_SELECTORS);
+			this.qualityIndicatorIndex = index;
+		}
+		return index;
+	}
+
 	/** Change the quality indicators of the conference.
 	 *
 	 * @param indicators the indicators.
@@ -463,6 +494,7 @@ public class Conference extends AbstractContextData implements Serializable, Jso
 		if (indicators != null && !indicators.isEmpty()) {
 			this.qualityIndicators.putAll(indicators);
 		}
+		this.qualityIndicatorIndex = null;
 	}
 
 	/** Replies the quality indicators of the conference for the given year.
@@ -486,18 +518,21 @@ public class Conference extends AbstractContextData implements Serializable, Jso
 	 * @return the indicators or {@code null} if none were defined.
 	 */
 	public final ConferenceQualityAnnualIndicators getQualityIndicatorsFor(int year, Predicate<ConferenceQualityAnnualIndicators> selector) {
-		final var allIndicators = getQualityIndicators();
-		if (allIndicators != null) {
-			final var ids = new IntegerList(allIndicators.keySet());
-			final var start = ListUtil.floorIndex(ids, (a, b) -> Integer.compare(a.intValue(), b.intValue()), Integer.valueOf(year));
-			for (var i = start; i >= 0; --i) {
-				final var indicators = allIndicators.get(ids.get(i));
-				if (indicators != null && selector.test(indicators)) {
-					return indicators;
+		ConferenceQualityAnnualIndicators best = null;
+		var bestYear = Integer.MIN_VALUE;
+		if (this.qualityIndicators != null) {
+			for (final var entry : this.qualityIndicators.entrySet()) {
+				final var entryYear = entry.getKey().intValue();
+				if (entryYear <= year && entryYear >= bestYear) {
+					final var indicators = entry.getValue();
+					if (indicators != null && selector.test(indicators)) {
+						best = indicators;
+						bestYear = entryYear;
+					}
 				}
 			}
 		}
-		return null;
+		return best;
 	}
 
 	/** Replies if the conference has quality indicators for the given year.
@@ -517,7 +552,7 @@ public class Conference extends AbstractContextData implements Serializable, Jso
 	 * @return the index of the conference for the given year, never {@code null}.
 	 */
 	public CoreRanking getCoreIndexByYear(int year) {
-		final var indicators = getQualityIndicatorsFor(year, it -> it.getCoreIndex() != null);
+		final var indicators = getQualityIndicatorIndex().floor(CORE_RANKING, year);
 		if (indicators != null) {
 			final var ranking = indicators.getCoreIndex();
 			if (ranking != null) {
@@ -544,6 +579,7 @@ public class Conference extends AbstractContextData implements Serializable, Jso
 			}
 			this.qualityIndicators.put(Integer.valueOf(year), indicators);
 		}
+		this.qualityIndicatorIndex = null;
 		return indicators;
 	}
 
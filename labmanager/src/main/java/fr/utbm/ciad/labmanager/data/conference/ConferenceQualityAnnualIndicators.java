@@ -22,10 +22,13 @@ package fr.utbm.ciad.labmanager.data.conference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.base.Strings;
 import fr.utbm.ciad.labmanager.data.AttributeProvider;
+import fr.utbm.ciad.labmanager.data.EntityCacheRegions;
 import fr.utbm.ciad.labmanager.data.QualityAnnualIndicators;
 import fr.utbm.ciad.labmanager.utils.HashCodeUtils;
 import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
 import org.springframework.context.support.MessageSourceAccessor;
 
@@ -44,6 +47,8 @@ import java.util.Locale;
  * @since 3.6
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.RANKINGS)
 @Table(name = "ConferenceAnnualIndicators")
 public class ConferenceQualityAnnualIndicators implements QualityAnnualIndicators, AttributeProvider {
 
@@ -20,7 +20,6 @@
 package fr.utbm.ciad.labmanager.data.indicator;
 
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonSerializable;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
@@ -34,8 +33,6 @@ import org.springframework.context.support.MessageSourceAccessor;
 
 import java.io.IOException;
 import java.io.Serializable;
-import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 /** Table for storing the global indicators to show up.
@@ -65,15 +62,6 @@ public class GlobalIndicators implements Serializable, JsonSerializable, Attribu
 	@Lob
 	private String visibleIndicatorKeys;
 
-	@Column
-	private LocalDate cacheDate;
-
-	@Column(length =  EntityUtils.LARGE_TEXT_SIZE)
-	private String cache;
-
-	@Transient
-	private Map<String, Number> cacheBuffer;
-
 	/** List of visible indicators. This list contains the indicators' keys. Order of keys is important.
 	 * Because the DB backend does not ensure the order of a ElementCollection of type list
 	 * (for example Derby ensure the order of the list elements, byt MySQL does not), it is
@@ -186,83 +174,6 @@ public class GlobalIndicators implements Serializable, JsonSerializable, Attribu
 		return this.visibleIndicatorList;
 	}
 
-	/** Replies the max age of the cached values.
-	 *
-	 * @return the max age of the currently cached values.
-	 * @since 3.2
-	 */
-	public int getCacheAge() {
-		if (this.cacheDate == null) {
-			return Integer.MAX_VALUE;
-		}
-		return (int) ChronoUnit.DAYS.between(this.cacheDate, LocalDate.now());
-	}
-
-	/** Reset the value cache and replies an empty map.
-	 * 
-	 * @since 3.2
-	 */
-	public void resetCachedValues() {
-		this.cacheDate = null;
-		this.cache = null;
-		this.cacheBuffer = null;
-	}
-
-	/** Replies the cached values in the context of the provided organization.
-	 *
-	 * @return the cache content.
-	 * @since 3.2
-	 */
-	public Map<String, Number> getCachedValues() {
-		ensureCacheBuffer();
-		return Collections.unmodifiableMap(this.cacheBuffer);
-	}
-
-	/** Force the value of the cache in the context of the provided organization.
-	 * 
-	 * @param key the name of the indicator to be set.
-	 * @param value the new value for the indicator.
-	 * @since 3.2
-	 */
-	public void setCachedValues(String key, Number value) {
-		ensureCacheBuffer();
-		this.cacheBuffer.put(key, value);
-		if (this.cacheDate == null) {
-			this.cacheDate = LocalDate.now();
-		}
-		saveCacheBuffer();
-	}
-
-	@SuppressWarnings("unchecked")
-	private void ensureCacheBuffer() {
-		if (this.cacheBuffer == null) {
-			final var mapper = JsonUtils.createMapper();
-			if (!Strings.isNullOrEmpty(this.cache)) {
-				try {
-					this.cacheBuffer = mapper.readValue(this.cache, Map.class);
-				} catch (JsonProcessingException ex) {
-					throw new RuntimeException(ex);
-				}
-			}
-		}
-		if (this.cacheBuffer == null) {
-			this.cacheBuffer = new HashMap<>();
-		}
-	}
-
-	private void saveCacheBuffer() {
-		if (this.cacheBuffer == null) {
-			this.cache = null;
-		} else {
-			final var mapper = JsonUtils.createMapper();
-			try {
-				this.cache = mapper.writeValueAsString(this.cacheBuffer);
-			} catch (JsonProcessingException ex) {
-				throw new RuntimeException(ex);
-			}
-		}
-	}
-
 	@Override
 	public String toString() {
 		return new StringBuilder(getClass().getName()).append("@ID=").append(getId()).toString(); //$NON-NLS-1$
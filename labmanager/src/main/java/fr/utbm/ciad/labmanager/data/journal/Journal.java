@@ -25,16 +25,18 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.google.common.base.Strings;
 import fr.utbm.ciad.labmanager.data.AttributeProvider;
+import fr.utbm.ciad.labmanager.data.EntityCacheRegions;
 import fr.utbm.ciad.labmanager.data.EntityUtils;
 import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
+import fr.utbm.ciad.labmanager.data.QualityAnnualIndicatorIndex;
 import fr.utbm.ciad.labmanager.data.publication.AbstractJournalBasedPublication;
 import fr.utbm.ciad.labmanager.utils.HashCodeUtils;
 import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
 import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
 import fr.utbm.ciad.labmanager.views.components.addons.wizard.AbstractContextData;
 import jakarta.persistence.*;
-import org.arakhne.afc.util.IntegerList;
-import org.arakhne.afc.util.ListUtil;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.context.support.MessageSourceAccessor;
 
 import java.io.IOException;
@@ -54,11 +56,24 @@ import java.util.function.Predicate;
  * @mavenartifactid $ArtifactId$
  */
 @Entity
-@Table(name = "Journals")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.REFERENCES)
+@Table(name = "Journals", indexes = @Index(name = "journals_name_index", columnList = "journalName"))
 public class Journal extends AbstractContextData implements Serializable, JsonSerializable, AttributeProvider, IdentifiableEntity {
 
 	private static final long serialVersionUID = -2046765660549008074L;
 
+	private static final int SCIMAGO_RANKING = 0;
+
+	private static final int WOS_RANKING = 1;
+
+	private static final int IMPACT_FACTOR_RANKING = 2;
+
+	private static final List<Predicate<JournalQualityAnnualIndicators>> RANKING_SELECTORS = Arrays.asList(
+			it -> it.getScimagoQIndex() != null,
+			it -> it.getWosQIndex() != null,
+			it -> it.getImpactFactor() > 0f);
+
 	/** Identifier of the journal in the database.
 	 * 
 	 * <p>Using this instead of {@link GenerationType#IDENTITY} allows for JOINED or TABLE_PER_CLASS inheritance types to work.
@@ -145,8 +160,14 @@ public class Journal extends AbstractContextData implements Serializable, JsonSe
 			@JoinColumn(name = "indicators_id", referencedColumnName = "id")
 	})
 	@MapKey(name = "referenceYear")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.RANKINGS)
 	private Map<Integer, JournalQualityAnnualIndicators> qualityIndicators;
 
+	/** Index of the quality indicators by year, that is built on demand.
+	 */
+	@Transient
+	private transient QualityAnnualIndicatorIndex<JournalQualityAnnualIndicators> qualityIndicatorIndex;
+
 	/** Construct an empty journal.
 	 */
 	public Journal() {
@@ -489,6 +510,8 @@ public class Journal extends AbstractContextData implements Serializable, JsonSe
 	}
 
 	/** Replies the quality indicators of the journal.
+	 * Because the replied map may be changed by the caller, the index of the indicators by year
+	 * is rebuilt at the next search of a ranking.
 	 *
 	 * @return the indicators.
 	 * @since 2.0
@@ -497,9 +520,23 @@ public class Journal extends AbstractContextData implements Serializable, JsonSe
 		if (this.qualityIndicators == null) {
 			this.qualityIndicators = new TreeMap<>();
 		}
+		this.qualityIndicatorIndex = null;
 		return this.qualityIndicators;
 	}
 
+	/** Replies the index of the quality indicators by year. The index is built if it is not yet built.
+	 *
+	 * @return the index.
+	 */
+	private QualityAnnualIndicatorIndex<JournalQualityAnnualIndicators> getQualityIndicatorIndex() {
+		var index = this.qualityIndicatorIndex;
+		if (index == null) {
+			index = QualityAnnualIndicatorIndex.build(this.qualityIndicators, RANKING_SELECTORS);
+			this.qualityIndicatorIndex = index;
+		}
+		return index;
+	}
+
 	/** Change the quality indicators of the journal.
 	 *
 	 * @param indicators the indicators.
@@ -514,6 +551,7 @@ public class Journal extends AbstractContextData implements Serializable, JsonSe
 		if (indicators != null && !indicators.isEmpty()) {
 			this.qualityIndicators.putAll(indicators);
 		}
+		this.qualityIndicatorIndex = null;
 	}
 
 	/** Replies the quality indicators of the journal for the given year.
@@ -540,18 +578,21 @@ public class Journal extends AbstractContextData implements Serializable, JsonSe
 	 * @since 2.0
 	 */
 	public final JournalQualityAnnualIndicators getQualityIndicatorsFor(int year, Predicate<JournalQualityAnnualIndicators> selector) {
-		final var allIndicators = getQualityIndicators();
-		if (allIndicators != null) {
-			final var ids = new IntegerList(allIndicators.keySet());
-			final var start = ListUtil.floorIndex(ids, (a, b) -> Integer.compare(a.intValue(), b.intValue()), Integer.valueOf(year));
-			for (var i = start; i >= 0; --i) {
-				final var indicators = allIndicators.get(ids.get(i));
-				if (indicators != null && selector.test(indicators)) {
-					return indicators;
+		JournalQualityAnnualIndicators best = null;
+		var bestYear = Integer.MIN_VALUE;
+		if (this.qualityIndicators != null) {
+			for (final var entry : this.qualityIndicators.entrySet()) {
+				final var entryYear = entry.getKey().intValue();
+				if (entryYear <= year && entryYear >= bestYear) {
+					final var indicators = entry.getValue();
+					if (indicators != null && selector.test(indicators)) {
+						best = indicators;
+						bestYear = entryYear;
+					}
 				}
 			}
 		}
-		return null;
+		return best;
 	}
 
 	/** Replies if the journal has quality indicators for the given year.
@@ -571,7 +612,7 @@ public class Journal extends AbstractContextData implements Serializable, JsonSe
 	 * @return the Q-Index of the journal for the given year, never {@code null}.
 	 */
 	public QuartileRanking getScimagoQIndexByYear(int year) {
-		final var indicators = getQualityIndicatorsFor(year, it -> it.getScimagoQIndex() != null);
+		final var indicators = getQualityIndicatorIndex().floor(SCIMAGO_RANKING, year);
 		if (indicators != null) {
 			final var ranking = indicators.getScimagoQIndex();
 			if (ranking != null) {
@@ -598,6 +639,7 @@ public class Journal extends AbstractContextData implements Serializable, JsonSe
 			}
 			this.qualityIndicators.put(Integer.valueOf(year), indicators);
 		}
+		this.qualityIndicatorIndex = null;
 		return indicators;
 	}
 
@@ -621,7 +663,7 @@ public class Journal extends AbstractContextData implements Serializable, JsonSe
 	 * @return the Q-Index of the journal for the given year, never {@code null}.
 	 */
 	public QuartileRanking getWosQIndexByYear(int year) {
-		final var indicators = getQualityIndicatorsFor(year, it -> it.getWosQIndex() != null);
+		final var indicators = getQualityIndicatorIndex().floor(WOS_RANKING, year);
 		if (indicators != null) {
 			var ranking = indicators.getWosQIndex();
 			if (ranking != null) {
@@ -648,6 +690,7 @@ public class Journal extends AbstractContextData implements Serializable, JsonSe
 			}
 			this.qualityIndicators.put(Integer.valueOf(year), indicators);
 		}
+		this.qualityIndicatorIndex = null;
 		return indicators;
 	}
 
@@ -670,7 +713,7 @@ public class Journal extends AbstractContextData implements Serializable, JsonSe
 	 * @return the IF of the journal for the given year, or {@code 0} if not defined.
 	 */
 	public float getImpactFactorByYear(int year) {
-		final var indicators = getQualityIndicatorsFor(year, it -> it.getImpactFactor() > 0f);
+		final var indicators = getQualityIndicatorIndex().floor(IMPACT_FACTOR_RANKING, year);
 		if (indicators != null) {
 			return indicators.getImpactFactor();
 		}
@@ -695,6 +738,7 @@ public class Journal extends AbstractContextData implements Serializable, JsonSe
 			}
 			this.qualityIndicators.put(Integer.valueOf(year), indicators);
 		}
+		this.qualityIndicatorIndex = null;
 		return indicators;
 	}
 
@@ -21,7 +21,9 @@ package fr.utbm.ciad.labmanager.data.journal;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -49,4 +51,13 @@ public interface JournalRepository extends JpaRepository<Journal, Long>, JpaSpec
 	 */
 	Optional<Journal> findByJournalName(String name);
 
+	/** Replies the identifiers, the names and the publishers of all the journals, in the order of their identifiers.
+	 * This projection avoids the loading of the journal entities when comparing the names of journals.
+	 *
+	 * @return the rows of identifier, name and publisher.
+	 * @since 4.1
+	 */
+	@Query("SELECT j.id, j.journalName, j.publisher FROM Journal j ORDER BY j.id")
+	List<Object[]> findAllIdentifiersNamesAndPublishers();
+
 }
@@ -48,7 +48,7 @@ import java.util.*;
  * @mavenartifactid $ArtifactId$
  */
 @Entity
-@Table(name = "Memberships")
+@Table(name = "Memberships", indexes = @Index(name = "memberships_period_index", columnList = "memberSinceWhen, memberToWhen"))
 public class Membership implements Serializable, AttributeProvider, Comparable<Membership>, IdentifiableEntity {
 
 	private static final long serialVersionUID = 297499358606685801L;
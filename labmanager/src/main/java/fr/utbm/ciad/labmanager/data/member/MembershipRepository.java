@@ -25,7 +25,9 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -78,6 +80,18 @@ public interface MembershipRepository extends JpaRepository<Membership, Long>, J
 	 */
 	List<Membership> findDistinctByResearchOrganizationId(long organizationId);
 
+	/** Replies the memberships that are active in the given window of dates.
+	 * The semantic is the same as {@link Membership#isActiveIn(LocalDate, LocalDate)}.
+	 *
+	 * @param windowStart the start date of the window, inclusive.
+	 * @param windowEnd the end date of the window, inclusive.
+	 * @return the list of memberships.
+	 * @since 4.1
+	 */
+	@Query("SELECT m FROM Membership m WHERE (m.memberSinceWhen IS NULL OR m.memberSinceWhen <= :windowEnd) "
+			+ "AND (m.memberToWhen IS NULL OR m.memberToWhen >= :windowStart)")
+	List<Membership> findAllActiveIn(@Param("windowStart") LocalDate windowStart, @Param("windowEnd") LocalDate windowEnd);
+
 	/** Replies the persons that have memberships fitting the given filter.
 	 *
 	 * @param pageable the tool for building query pages.
@@ -27,6 +27,7 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -89,6 +90,14 @@ public interface PersonRepository extends JpaRepository<Person, Long>, JpaSpecif
 	 */
 	Set<Person> findDistinctByMembershipsResearchOrganizationId(long id);
 
+	/** Replies the persons in the organizations with the given identifiers.
+	 *
+	 * @param ids the identifiers of the organizations.
+	 * @return the persons.
+	 * @since 4.1
+	 */
+	Set<Person> findDistinctByMembershipsResearchOrganizationIdIn(Collection<Long> ids);
+
 	/** Replies the persons who authored the publication with the given identifier.
 	 *
 	 * @param id the identifier of the publication.
@@ -110,27 +119,58 @@ public interface PersonRepository extends JpaRepository<Person, Long>, JpaSpecif
 	@Query("SELECT p FROM Person p JOIN p.memberships m WHERE LOWER(m.researchOrganization.acronym) LIKE LOWER(CONCAT('%', :organization, '%'))")
 	Page<Person> findAll(String organization, Pageable pageable);
 
+	/** Replies the persons with the given identifiers.
+	 *
+	 * @param ids the identifiers of the persons.
+	 * @param pageable the manager of pages.
+	 * @return the persons.
+	 * @since 4.1
+	 */
+	Page<Person> findAllByIdIn(Collection<Long> ids, Pageable pageable);
+
+	/** Replies the persons with the given identifiers and who are members of an organization with the given acronym.
+	 *
+	 * @param ids the identifiers of the persons.
+	 * @param organization the text that must be contained in the acronym of the organization.
+	 * @param pageable the manager of pages.
+	 * @return the persons.
+	 * @since 4.1
+	 */
+	@Query("SELECT DISTINCT p FROM Person p JOIN p.memberships m WHERE p.id IN :ids AND LOWER(m.researchOrganization.acronym) LIKE LOWER(CONCAT('%', :organization, '%'))")
+	Page<Person> findAllByIdIn(Collection<Long> ids, String organization, Pageable pageable);
+
+	/** Count the persons with the given identifiers and who are members of an organization with the given acronym.
+	 *
+	 * @param ids the identifiers of the persons.
+	 * @param organization the text that must be contained in the acronym of the organization.
+	 * @return the number of persons.
+	 * @since 4.1
+	 */
+	@Query("SELECT count(DISTINCT p) FROM Person p JOIN p.memberships m WHERE p.id IN :ids AND LOWER(m.researchOrganization.acronym) LIKE LOWER(CONCAT('%', :organization, '%'))")
+	long countByIdIn(Collection<Long> ids, String organization);
+
 	@Query("SELECT p FROM Person p WHERE LOWER(p.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR LOWER(p.lastName) LIKE LOWER(CONCAT('%', :name, '%'))")
 	Page<Person> findByName(String name, Pageable pageable);
-	@Query("SELECT p FROM Person p JOIN p.memberships m WHERE LOWER(p.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR LOWER(p.lastName) LIKE LOWER(CONCAT('%', :name, '%')) AND LOWER(m.researchOrganization.acronym) LIKE LOWER(CONCAT('%', :organization, '%'))")
+
+	@Query("SELECT DISTINCT p FROM Person p JOIN p.memberships m WHERE (LOWER(p.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR LOWER(p.lastName) LIKE LOWER(CONCAT('%', :name, '%'))) AND LOWER(m.researchOrganization.acronym) LIKE LOWER(CONCAT('%', :organization, '%'))")
 	Page<Person> findByName(String name, String organization, Pageable pageable);
 
 	@Query("SELECT count(p) FROM Person p WHERE LOWER(p.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR LOWER(p.lastName) LIKE LOWER(CONCAT('%', :name, '%'))")
 	long countFindByName(String name);
 
-	@Query("SELECT count(p) FROM Person p JOIN p.memberships m WHERE LOWER(p.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR LOWER(p.lastName) LIKE LOWER(CONCAT('%', :name, '%'))  AND LOWER(m.researchOrganization.acronym) LIKE LOWER(CONCAT('%', :organization, '%'))")
+	@Query("SELECT count(DISTINCT p) FROM Person p JOIN p.memberships m WHERE (LOWER(p.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR LOWER(p.lastName) LIKE LOWER(CONCAT('%', :name, '%'))) AND LOWER(m.researchOrganization.acronym) LIKE LOWER(CONCAT('%', :organization, '%'))")
 	long countFindByName(String name, String organization);
 
 	@Query("SELECT p FROM Person p WHERE LOWER(p.orcid) LIKE LOWER(CONCAT('%', :orcid, '%'))")
 	Page<Person> findByOrcid(String orcid, Pageable pageable);
 
-	@Query("SELECT p FROM Person p JOIN p.memberships m WHERE LOWER(p.orcid) LIKE LOWER(CONCAT('%', :orcid, '%')) AND LOWER(m.researchOrganization.acronym) LIKE LOWER(CONCAT('%', :organization, '%'))")
+	@Query("SELECT DISTINCT p FROM Person p JOIN p.memberships m WHERE LOWER(p.orcid) LIKE LOWER(CONCAT('%', :orcid, '%')) AND LOWER(m.researchOrganization.acronym) LIKE LOWER(CONCAT('%', :organization, '%'))")
 	Page<Person> findByOrcid(String orcid, String organization, Pageable pageable);
 
-	@Query("SELECT count(p) FROM Person p WHERE LOWER(p.orcid) ILIKE LOWER(CONCAT('%', :orcid, '%'))")
+	@Query("SELECT count(p) FROM Person p WHERE LOWER(p.orcid) LIKE LOWER(CONCAT('%', :orcid, '%'))")
 	long countFindByOrcid(String orcid);
 
-	@Query("SELECT count(p) FROM Person p JOIN p.memberships m WHERE LOWER(p.orcid) ILIKE LOWER(CONCAT('%', :orcid, '%')) AND LOWER(m.researchOrganization.acronym) LIKE LOWER(CONCAT('%', :organization, '%'))")
+	@Query("SELECT count(DISTINCT p) FROM Person p JOIN p.memberships m WHERE LOWER(p.orcid) LIKE LOWER(CONCAT('%', :orcid, '%')) AND LOWER(m.researchOrganization.acronym) LIKE LOWER(CONCAT('%', :organization, '%'))")
 	long countFindByOrcid(String orcid, String organization);
 
 	@Query("SELECT p FROM Person p JOIN p.memberships m WHERE LOWER(m.researchOrganization.acronym) LIKE LOWER(CONCAT('%', :orgName, '%'))")
@@ -144,4 +184,15 @@ public interface PersonRepository extends JpaRepository<Person, Long>, JpaSpecif
 
 	@Query("SELECT count(p) FROM Person p JOIN p.memberships m WHERE LOWER(m.researchOrganization.acronym) LIKE LOWER(CONCAT('%', :orgName, '%')) AND LOWER(m.researchOrganization.acronym) LIKE LOWER(CONCAT('%', :organization, '%'))")
 	long countFindByOrganization(String orgName, String organization);
+
+	/** Replies the identifiers and the names of all the persons, without loading the persons.
+	 * Each element of the replied list is an array with the identifier at index {@code 0}, the first name
+	 * at index {@code 1} and the last name at index {@code 2}.
+	 *
+	 * @return the identifiers and names.
+	 * @since 4.1
+	 */
+	@Query("SELECT p.id, p.firstName, p.lastName FROM Person p")
+	List<Object[]> findAllIdentifiersAndNames();
+
 }
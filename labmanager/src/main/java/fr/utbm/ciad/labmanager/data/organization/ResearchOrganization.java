@@ -25,6 +25,7 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.google.common.base.Strings;
 import fr.utbm.ciad.labmanager.data.AttributeProvider;
+import fr.utbm.ciad.labmanager.data.EntityCacheRegions;
 import fr.utbm.ciad.labmanager.data.EntityUtils;
 import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
 import fr.utbm.ciad.labmanager.data.assostructure.AssociatedStructure;
@@ -37,6 +38,8 @@ import fr.utbm.ciad.labmanager.utils.country.CountryCode;
 import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
 import fr.utbm.ciad.labmanager.views.components.addons.wizard.AbstractContextData;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.context.support.MessageSourceAccessor;
 
 import java.io.IOException;
@@ -54,6 +57,8 @@ import java.util.*;
  * @mavenartifactid $ArtifactId$
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.REFERENCES)
 @Table(name = "ResearchOrgs")
 public class ResearchOrganization extends AbstractContextData implements Serializable, JsonSerializable, Comparable<ResearchOrganization>, AttributeProvider, IdentifiableEntity {
 
@@ -135,16 +140,19 @@ public class ResearchOrganization extends AbstractContextData implements Seriali
         joinColumns = { @JoinColumn(name = "superorganization_id") }, 
         inverseJoinColumns = { @JoinColumn(name = "suborganization_id") }
     )
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.REFERENCES)
 	private Set<ResearchOrganization> subOrganizations;
 
 	/** Reference to the super organizations.
 	 */
 	@ManyToMany(mappedBy = "subOrganizations", fetch = FetchType.EAGER)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.REFERENCES)
 	private Set<ResearchOrganization> superOrganizations;
 
 	/** References to the postal addresses of the organization.
 	 */
 	@OneToMany(fetch = FetchType.LAZY)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.REFERENCES)
 	private Set<OrganizationAddress> addresses = new HashSet<>();
 
 	/** Name of the logo of the project if it has one.
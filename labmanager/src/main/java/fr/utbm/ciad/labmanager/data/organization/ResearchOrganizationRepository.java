@@ -26,6 +26,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 /** JPA Repository for the research organizations.
@@ -70,5 +71,23 @@ public interface ResearchOrganizationRepository extends JpaRepository<ResearchOr
 	 */
 	@Query("SELECT DISTINCT o FROM ResearchOrganization o WHERE ?1 MEMBER OF o.subOrganizations ")
 	public Page<ResearchOrganization> findSuperOrganizations(ResearchOrganization organization, Pageable pageable, Specification<ResearchOrganization> filter);
+
+	/** Replies the identifiers of all the research organizations.
+	 *
+	 * @return the identifiers.
+	 * @since 4.1
+	 */
+	@Query("SELECT o.id FROM ResearchOrganization o")
+	List<Long> findAllIdentifiers();
+
+	/** Replies the links between the research organizations and their direct suborganizations.
+	 * Each link is an array with the identifier of the super organization at index {@code 0} and the identifier
+	 * of the suborganization at index {@code 1}.
+	 *
+	 * @return the links.
+	 * @since 4.1
+	 */
+	@Query("SELECT o.id, s.id FROM ResearchOrganization o JOIN o.subOrganizations s")
+	List<Object[]> findAllSubOrganizationLinks();
 	
 }
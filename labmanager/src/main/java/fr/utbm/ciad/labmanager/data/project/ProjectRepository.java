@@ -48,6 +48,17 @@ public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpec
 	@Query("SELECT DISTINCT p FROM Project p WHERE p.coordinator.id = :id OR p.localOrganization.id = :id OR p.superOrganization.id = :id")
 	List<Project> findDistinctOrganizationProjects(@Param("id") Long id);
 
+	/** Replies all the projects that match the different organization identifiers, with their budgets.
+	 * The identifier is compared to, the coordinator, the local organization,
+	 * or the super organization.
+	 *
+	 * @param id the identifier for the organization.
+	 * @return the list of projects.
+	 * @since 4.1
+	 */
+	@Query("SELECT DISTINCT p FROM Project p LEFT JOIN FETCH p.budgets WHERE p.coordinator.id = :id OR p.localOrganization.id = :id OR p.superOrganization.id = :id")
+	List<Project> findDistinctOrganizationProjectsWithBudgets(@Param("id") Long id);
+
 	/** Replies all the projects that match the organization identifier, the confidential
 	 * flag and the project status.
 	 * The identifier is compared to, the coordinator, the local organization,
@@ -0,0 +1,45 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.data.publication;
+
+import java.util.List;
+
+import fr.utbm.ciad.labmanager.data.member.Person;
+
+/** Format of a list of authors into a single string.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ * @see Publication#getFormattedAuthors(AuthorListFormat)
+ */
+@FunctionalInterface
+public interface AuthorListFormat {
+
+	/** Format the given list of authors.
+	 *
+	 * @param authors the ordered list of authors.
+	 * @return the formatted list of authors, never {@code null}.
+	 */
+	String format(List<Person> authors);
+
+}
@@ -23,14 +23,18 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializable;
@@ -53,11 +57,13 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import jakarta.transaction.Transactional;
@@ -75,7 +81,7 @@ import org.springframework.context.support.MessageSourceAccessor;
  * @see "https://thorben-janssen.com/complete-guide-inheritance-strategies-jpa-hibernate/"
  */
 @Entity
-@Table(name = "Publications")
+@Table(name = "Publications", indexes = @Index(name = "publications_year_index", columnList = "publicationYear"))
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "Publication_Type")
 public abstract class Publication extends AbstractContextData implements Production, JsonSerializable, Comparable<Publication>, AttributeProvider {
@@ -187,7 +193,8 @@ public abstract class Publication extends AbstractContextData implements Product
 	/** Authorships specify the authors of the publication and their position in the list of authors.
 	 */
 	@OneToMany(mappedBy = "publication", fetch = FetchType.LAZY)
-	private Set<Authorship> authorships = new HashSet<>();
+	@OrderBy("authorRank ASC")
+	private Set<Authorship> authorships = new LinkedHashSet<>();
 
 	/** Indicates if the publication was validated by an authority.
 	 */
@@ -207,6 +214,29 @@ public abstract class Publication extends AbstractContextData implements Product
 	@Transient
 	private String preferredStringId = null;
 
+	/** Cache of the authorships sorted by rank. It is validated against {@link #authorshipStates}
+	 * because the set of authorships may be changed through {@link #getAuthorshipsRaw()}.
+	 *
+	 * @since 4.1
+	 */
+	@Transient
+	private transient List<Authorship> sortedAuthorships = null;
+
+	/** Cache of the authors in the order of {@link #sortedAuthorships}.
+	 *
+	 * @since 4.1
+	 */
+	@Transient
+	private transient List<Person> sortedAuthors = null;
+
+	/** States of the authorships at the time {@link #sortedAuthorships} was computed.
+	 *
+	 * @since 4.1
+	 */
+	@Transient
+	private transient Map<Authorship, AuthorshipState> authorshipStates = null;
+
+
 
 	/** Constructor by copy.
 	 *
@@ -414,10 +444,58 @@ public abstract class Publication extends AbstractContextData implements Product
 		serialize(generator, serializers);
 	}
 
+	/** {@inheritDoc}
+	 *
+	 * <p>The sorted list is cached until the set of authorships, the ranks or the persons of
+	 * the authorships are changed.
+	 *
+	 * @return the unmodifiable list of the authorships, sorted by rank.
+	 */
 	@Override
 	public List<Authorship> getAuthorships() {
-		final List<Authorship> sortedList = this.authorships.stream().sorted(AuthorshipComparator.DEFAULT).collect(Collectors.toList());
-		return sortedList;
+		if (this.sortedAuthorships == null || !isAuthorshipCacheValid()) {
+			final var sortedList = new ArrayList<>(this.authorships);
+			sortedList.sort(AuthorshipComparator.DEFAULT);
+			final var states = new IdentityHashMap<Authorship, AuthorshipState>(sortedList.size());
+			final var authors = new ArrayList<Person>(sortedList.size());
+			for (final var authorship : sortedList) {
+				states.put(authorship, new AuthorshipState(authorship.getAuthorRank(), authorship.getPerson()));
+				authors.add(authorship.getPerson());
+			}
+			this.authorshipStates = states;
+			this.sortedAuthorships = Collections.unmodifiableList(sortedList);
+			this.sortedAuthors = Collections.unmodifiableList(authors);
+		}
+		return this.sortedAuthorships;
+	}
+
+	/** Replies if the cached list of authorships corresponds to the current authorships.
+	 * The test is linear in the number of authorships and does not sort them.
+	 *
+	 * @return {@code true} if the cache could be used.
+	 */
+	private boolean isAuthorshipCacheValid() {
+		final var states = this.authorshipStates;
+		if (states == null || states.size() != this.authorships.size()) {
+			return false;
+		}
+		for (final var authorship : this.authorships) {
+			final var state = states.get(authorship);
+			if (state == null || state.rank() != authorship.getAuthorRank() || state.person() != authorship.getPerson()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Invalidate the cached lists of authorships and authors.
+	 *
+	 * @since 4.1
+	 */
+	protected void invalidateAuthorships() {
+		this.sortedAuthorships = null;
+		this.sortedAuthors = null;
+		this.authorshipStates = null;
 	}
 
 	/** Replies the reference to the storage area without any change or filtering.
@@ -436,12 +514,13 @@ public abstract class Publication extends AbstractContextData implements Product
 	 */
 	public void setAuthorships(Set<Authorship> authorships) {
 		this.authorships = authorships;
+		invalidateAuthorships();
 	}
 
 	/** Replies the ordered list of authors.
 	 * The authors are replied in the order provided in the paper.
 	 *
-	 * @return the list of authors.
+	 * @return the list of authors. If the temporary authors are not set, the list is unmodifiable.
 	 * @see #getTemporaryAuthors()
 	 */
 	@Override
@@ -449,7 +528,22 @@ public abstract class Publication extends AbstractContextData implements Product
 		if (this.temporaryAuthors != null) {
 			return this.temporaryAuthors;
 		}
-		return getAuthorships().stream().map(it -> it.getPerson()).collect(Collectors.toList());
+		// Ensure that the cache is up-to-date
+		getAuthorships();
+		return this.sortedAuthors;
+	}
+
+	/** Replies the ordered list of authors formatted as a single string.
+	 * The string is not cached because the names of the authors may change without any change
+	 * of the authorships; only the ordered list of authors is cached.
+	 *
+	 * @param format the format of the list of authors.
+	 * @return the formatted list of authors.
+	 * @see #getAuthors()
+	 * @since 4.1
+	 */
+	public String getFormattedAuthors(AuthorListFormat format) {
+		return format.format(getAuthors());
 	}
 
 	/** Change the ordered list of authors that is stored into a temporary memory space.
@@ -476,6 +570,7 @@ public abstract class Publication extends AbstractContextData implements Product
 	@Transactional
 	public void addAuthorship(Authorship authorship) {
 		this.authorships.add(authorship);
+		invalidateAuthorships();
 	}
 
 	/** Delete the given authorship.
@@ -485,6 +580,7 @@ public abstract class Publication extends AbstractContextData implements Product
 	@Transactional
 	public void deleteAuthorship(Authorship authorship) {
 		this.authorships.remove(authorship);
+		invalidateAuthorships();
 	}
 
 	@Override
@@ -1115,4 +1211,18 @@ public abstract class Publication extends AbstractContextData implements Product
 		return new StringBuilder(getClass().getName()).append("@ID=").append(getId()).toString(); //$NON-NLS-1$
 	}
 
+	/** State of an authorship that has an impact on the order of the authors.
+	 *
+	 * @param rank the rank of the author.
+	 * @param person the author.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private record AuthorshipState(int rank, Person person) {
+		//
+	}
+
 }
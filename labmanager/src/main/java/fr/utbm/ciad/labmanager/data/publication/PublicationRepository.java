@@ -96,6 +96,25 @@ public interface PublicationRepository extends JpaRepository<Publication, Long>,
 	 */
 	List<Publication> findAllByPublicationYear(Integer year);
 
+	/** Replies the publications that were published between the two given years, with their authorships.
+	 *
+	 * @param startYear the first year of the range, inclusive.
+	 * @param endYear the last year of the range, inclusive.
+	 * @return the publications in the range of years.
+	 * @since 4.1
+	 */
+	@Query("SELECT DISTINCT p FROM Publication p LEFT JOIN FETCH p.authorships WHERE p.publicationYear BETWEEN :startYear AND :endYear")
+	List<Publication> findAllByPublicationYearBetween(@Param("startYear") int startYear, @Param("endYear") int endYear);
+
+	/** Replies the publications that are attached to the conference with the given identifier.
+	 *
+	 * @param conferenceId the identifier of the conference.
+	 * @return the publications of the conference.
+	 * @since 4.1
+	 */
+	@Query("SELECT p FROM AbstractConferenceBasedPublication p WHERE p.conference.id = :conferenceId")
+	List<AbstractConferenceBasedPublication> findAllByConferenceId(@Param("conferenceId") long conferenceId);
+
 	/** Replies the count of publications for the given type and year.
 	 *
 	 * @param type the type of the publication.
@@ -105,9 +124,41 @@ public interface PublicationRepository extends JpaRepository<Publication, Long>,
 	@Query("SELECT COUNT(p) AS publicationCount FROM Publication p WHERE p.type = :type AND p.publicationYear = :year")
 	Integer countPublicationsForTypeAndYear(@Param("type") PublicationType type, @Param("year") Integer year);
 
+	/** Replies the numbers of publications for each type and each year.
+	 * Each element of the replied list is an array with the publication type at index {@code 0},
+	 * the publication year at index {@code 1} and the number of publications at index {@code 2}.
+	 *
+	 * @return the numbers of publications.
+	 * @since 4.1
+	 */
+	@Query("SELECT p.type, p.publicationYear, COUNT(p) FROM Publication p GROUP BY p.type, p.publicationYear")
+	List<Object[]> countPublicationsGroupedByTypeAndYear();
+
+	/** Replies the numbers of publications for each type and each year that have at least one author
+	 * who is or was member of one of the given organizations.
+	 * Each element of the replied list is an array with the publication type at index {@code 0},
+	 * the publication year at index {@code 1} and the number of publications at index {@code 2}.
+	 *
+	 * @param organizations the identifiers of the organizations.
+	 * @return the numbers of publications.
+	 * @since 4.1
+	 */
+	@Query("SELECT p.type, p.publicationYear, COUNT(DISTINCT p.id) FROM Publication p JOIN p.authorships a JOIN a.person.memberships m "
+			+ "WHERE m.researchOrganization.id IN :organizations GROUP BY p.type, p.publicationYear")
+	List<Object[]> countPublicationsGroupedByTypeAndYearForOrganizations(@Param("organizations") Collection<Long> organizations);
+
 
 	@NotNull
 	@Modifying
 	@Query("SELECT p FROM Publication p LEFT JOIN FETCH p.authorships")
 	List<Publication> findAll();
+
+	/** Replies the identifiers and the titles of all the publications, without loading the publications.
+	 * Each element of the replied list is an array with the identifier at index {@code 0} and the title at index {@code 1}.
+	 *
+	 * @return the pairs of identifiers and titles.
+	 * @since 4.1
+	 */
+	@Query("SELECT p.id, p.title FROM Publication p")
+	List<Object[]> findAllIdentifiersAndTitles();
 }
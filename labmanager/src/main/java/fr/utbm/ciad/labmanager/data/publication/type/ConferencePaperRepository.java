@@ -23,6 +23,8 @@ import java.util.Set;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /** JPA Repository for conference and workshop papers.
  * 
@@ -41,5 +43,20 @@ public interface ConferencePaperRepository extends JpaRepository<ConferencePaper
 	 */
 	Set<ConferencePaper> findAllByAuthorshipsPersonIdIn(Set<Long> personIds);
 
+	/** Replies the conference papers for the persons with the given identifiers that are published in the given period.
+	 * The authorships, the authors and their memberships are loaded with the papers.
+	 *
+	 * @param personIds the list of identifiers of the authors.
+	 * @param startYear the first year of the period.
+	 * @param endYear the last year of the period.
+	 * @return the list of conference papers.
+	 * @since 4.1
+	 */
+	@Query("SELECT DISTINCT p FROM ConferencePaper p LEFT JOIN FETCH p.authorships a LEFT JOIN FETCH a.person ap LEFT JOIN FETCH ap.memberships "
+			+ "WHERE p.publicationYear BETWEEN :startYear AND :endYear "
+			+ "AND EXISTS (SELECT a2 FROM Authorship a2 WHERE a2.publication = p AND a2.person.id IN :personIds)")
+	Set<ConferencePaper> findAllWithAuthorsByAuthorshipsPersonIdInAndPublicationYearBetween(@Param("personIds") Set<Long> personIds,
+			@Param("startYear") int startYear, @Param("endYear") int endYear);
+
 }
 
@@ -19,11 +19,15 @@
 
 package fr.utbm.ciad.labmanager.data.publication.type;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
+import fr.utbm.ciad.labmanager.data.journal.Journal;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /** JPA Repository for journal papers.
  * 
@@ -49,5 +53,29 @@ public interface JournalPaperRepository extends JpaRepository<JournalPaper, Long
 	 */
 	Set<JournalPaper> findAllByAuthorshipsPersonIdIn(Set<Long> personIds);
 
+	/** Replies the journal papers for the persons with the given identifiers that are published in the given period.
+	 * The journals, the authorships, the authors and their memberships are loaded with the papers.
+	 *
+	 * @param personIds the list of identifiers of the authors.
+	 * @param startYear the first year of the period.
+	 * @param endYear the last year of the period.
+	 * @return the list of publications.
+	 * @since 4.1
+	 */
+	@Query("SELECT DISTINCT p FROM JournalPaper p LEFT JOIN FETCH p.journal LEFT JOIN FETCH p.authorships a LEFT JOIN FETCH a.person ap LEFT JOIN FETCH ap.memberships "
+			+ "WHERE p.publicationYear BETWEEN :startYear AND :endYear "
+			+ "AND EXISTS (SELECT a2 FROM Authorship a2 WHERE a2.publication = p AND a2.person.id IN :personIds)")
+	Set<JournalPaper> findAllWithAuthorsByAuthorshipsPersonIdInAndPublicationYearBetween(@Param("personIds") Set<Long> personIds,
+			@Param("startYear") int startYear, @Param("endYear") int endYear);
+
+	/** Replies the journals of the given papers with their quality indicators.
+	 *
+	 * @param paperIds the identifiers of the journal papers.
+	 * @return the journals.
+	 * @since 4.1
+	 */
+	@Query("SELECT DISTINCT j FROM JournalPaper p JOIN p.journal j LEFT JOIN FETCH j.qualityIndicators WHERE p.id IN :paperIds")
+	List<Journal> findDistinctJournalsWithQualityIndicatorsByIdIn(@Param("paperIds") Collection<Long> paperIds);
+
 }
 
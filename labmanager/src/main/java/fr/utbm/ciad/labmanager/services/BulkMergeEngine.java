@@ -0,0 +1,608 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorDependency;
+import fr.utbm.ciad.labmanager.components.security.AuthenticatedUser;
+import fr.utbm.ciad.labmanager.configuration.Constants;
+import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
+import fr.utbm.ciad.labmanager.data.assostructure.AssociatedStructure;
+import fr.utbm.ciad.labmanager.data.assostructure.AssociatedStructureHolder;
+import fr.utbm.ciad.labmanager.data.invitation.PersonInvitation;
+import fr.utbm.ciad.labmanager.data.jury.JuryMembership;
+import fr.utbm.ciad.labmanager.data.member.Membership;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.data.project.Project;
+import fr.utbm.ciad.labmanager.data.project.ProjectMember;
+import fr.utbm.ciad.labmanager.data.publication.Authorship;
+import fr.utbm.ciad.labmanager.data.supervision.Supervisor;
+import fr.utbm.ciad.labmanager.data.teaching.TeachingActivity;
+import fr.utbm.ciad.labmanager.services.indicator.IndicatorValueCache;
+import fr.utbm.ciad.labmanager.services.member.PersonService;
+import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationHierarchy;
+import fr.utbm.ciad.labmanager.services.publication.PublicationService;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
+import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.stereotype.Service;
+
+/** Engine for merging groups of duplicate entities by rewriting the references to the duplicates.
+ * Each merge group is composed of a target entity and the source entities that must be replaced by the target.
+ * The foreign keys are rewritten with set-based JPQL {@code UPDATE} statements, and therefore the entities
+ * that are referencing the sources are not loaded into memory. Only the owners of many-to-many relations
+ * are loaded because their join tables are not reachable by JPQL updates.
+ * The cost of a merge is proportional to the number of affected rows, not to the sizes of the tables.
+ *
+ * <p>The merge groups are validated before any change in the database: the target and source entities must exist,
+ * an entity cannot be the source of several groups, and the target of a group cannot be the source of another group.
+ * Each merge group is run in its own transaction, in which the references are rewritten and the source entities are deleted.
+ *
+ * <p>Because the JPQL updates are not notified to the listeners of the entity changes, the in-memory caches
+ * that depend on the merged entities are explicitly invalidated after the commit of each group.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@Service
+public class BulkMergeEngine extends AbstractService {
+
+	/** Maximum number of identifiers that are put in a single {@code IN} clause.
+	 */
+	private static final int UPDATE_BATCH_SIZE = 1000;
+
+	private static final String AUTHORSHIP_RELATION = "Authorship.person"; //$NON-NLS-1$
+
+	private static final String PROMOTER_RELATION = "JuryMembership.promoters"; //$NON-NLS-1$
+
+	private static final String PARTNER_RELATION = "Project.otherPartners"; //$NON-NLS-1$
+
+	private static final List<ForeignKey> PERSON_FOREIGN_KEYS = List.of(
+			new ForeignKey(Membership.class, "person"), //$NON-NLS-1$
+			new ForeignKey(JuryMembership.class, "person"), //$NON-NLS-1$
+			new ForeignKey(JuryMembership.class, "candidate"), //$NON-NLS-1$
+			new ForeignKey(Supervisor.class, "supervisor"), //$NON-NLS-1$
+			new ForeignKey(PersonInvitation.class, "guest"), //$NON-NLS-1$
+			new ForeignKey(PersonInvitation.class, "inviter"), //$NON-NLS-1$
+			new ForeignKey(ProjectMember.class, "person"), //$NON-NLS-1$
+			new ForeignKey(AssociatedStructureHolder.class, "person"), //$NON-NLS-1$
+			new ForeignKey(TeachingActivity.class, "person")); //$NON-NLS-1$
+
+	private static final List<ForeignKey> ORGANIZATION_FOREIGN_KEYS = List.of(
+			new ForeignKey(Membership.class, "researchOrganization"), //$NON-NLS-1$
+			new ForeignKey(Membership.class, "superResearchOrganization"), //$NON-NLS-1$
+			new ForeignKey(Project.class, "coordinator"), //$NON-NLS-1$
+			new ForeignKey(Project.class, "localOrganization"), //$NON-NLS-1$
+			new ForeignKey(Project.class, "superOrganization"), //$NON-NLS-1$
+			new ForeignKey(Project.class, "learOrganization"), //$NON-NLS-1$
+			new ForeignKey(AssociatedStructure.class, "fundingOrganization"), //$NON-NLS-1$
+			new ForeignKey(AssociatedStructureHolder.class, "organization"), //$NON-NLS-1$
+			new ForeignKey(AssociatedStructureHolder.class, "superOrganization"), //$NON-NLS-1$
+			new ForeignKey(TeachingActivity.class, "university")); //$NON-NLS-1$
+
+	private final SessionFactory sessionFactory;
+
+	private final IndicatorValueCache indicatorCache;
+
+	private final EntityKeywordIndexService keywordIndex;
+
+	private final PersonService personService;
+
+	private final PublicationService publicationService;
+
+	private final ResearchOrganizationHierarchy organizationHierarchy;
+
+	private final AuthenticatedUser authenticatedUser;
+
+	private final DownloadableFileManager fileManager;
+
+	/** Constructor for injector.
+	 * This constructor is defined for being invoked by the IOC injector.
+	 *
+	 * @param indicatorCache the cache of the values of the indicators.
+	 * @param keywordIndex the keyword indexes of the entities.
+	 * @param personService the service for accessing the persons, which maintains the index of the person names.
+	 * @param publicationService the service for accessing the publications, which caches the numbers of publications.
+	 * @param organizationHierarchy the hierarchy of the research organizations.
+	 * @param authenticatedUser the accessor to the authenticated user that is cached in the Vaadin sessions.
+	 * @param fileManager the manager of the uploaded files, e.g., the logos of the organizations.
+	 * @param messages the provider of localized messages.
+	 * @param constants the accessor to the live constants.
+	 * @param sessionFactory the factory of JPA session.
+	 */
+	public BulkMergeEngine(
+			@Autowired IndicatorValueCache indicatorCache,
+			@Autowired EntityKeywordIndexService keywordIndex,
+			@Autowired PersonService personService,
+			@Autowired PublicationService publicationService,
+			@Autowired ResearchOrganizationHierarchy organizationHierarchy,
+			@Autowired AuthenticatedUser authenticatedUser,
+			@Autowired DownloadableFileManager fileManager,
+			@Autowired MessageSourceAccessor messages,
+			@Autowired Constants constants,
+			@Autowired SessionFactory sessionFactory) {
+		super(messages, constants, sessionFactory);
+		this.sessionFactory = sessionFactory;
+		this.indicatorCache = indicatorCache;
+		this.keywordIndex = keywordIndex;
+		this.personService = personService;
+		this.publicationService = publicationService;
+		this.organizationHierarchy = organizationHierarchy;
+		this.authenticatedUser = authenticatedUser;
+		this.fileManager = fileManager;
+	}
+
+	/** Reassign to the target persons the authorships, memberships, jury memberships, supervisions, invitations,
+	 * project participations, associated structure holders and teaching activities of the source persons,
+	 * and delete the source persons.
+	 * An authorship of a source person is not reassigned when the target person is already an author of the
+	 * same publication; it is deleted with the source person, and the ranks of the following authors are decreased.
+	 *
+	 * @param groups the merge groups. Keys are the identifiers of the target persons; values are the identifiers of
+	 *     the source persons to be replaced by the target person.
+	 * @return the numbers of affected rows per relation.
+	 * @throws IllegalArgumentException if a person does not exist, or if the groups are overlapping or chained.
+	 *     In this case, the database is not changed.
+	 * @throws Exception if a merge group cannot be completed. The groups that were merged before the failing
+	 *     group are not rolled back.
+	 */
+	public MergeReport mergePersons(Map<Long, ? extends Collection<Long>> groups) throws Exception {
+		return merge(Person.class, groups, (session, sources, target, report) -> {
+			report.add(AUTHORSHIP_RELATION, reassignAuthorships(session, sources, target));
+			for (final var foreignKey : PERSON_FOREIGN_KEYS) {
+				report.add(foreignKey.getName(), foreignKey.update(session, sources, target));
+			}
+			report.add(PROMOTER_RELATION, reassignCollection(session, JuryMembership.class, "promoters", sources, target, //$NON-NLS-1$
+					JuryMembership::getPromoters, JuryMembership::setPromoters));
+			// The persons that were loaded with the owners of the promoters must not be deleted from a stale state
+			session.flush();
+			session.clear();
+			removeAuthorships(session, sources);
+			return removeEntities(session, Person.class, sources, null);
+		}, this::onPersonsMerged);
+	}
+
+	/** Reassign to the target organizations the memberships, projects, associated structures, teaching activities,
+	 * suborganizations and addresses of the source organizations, and delete the source organizations.
+	 * The super organizations of a source organization become super organizations of the target organization.
+	 *
+	 * @param groups the merge groups. Keys are the identifiers of the target organizations; values are the identifiers of
+	 *     the source organizations to be replaced by the target organization.
+	 * @return the numbers of affected rows per relation.
+	 * @throws IllegalArgumentException if an organization does not exist, or if the groups are overlapping or chained.
+	 *     In this case, the database is not changed.
+	 * @throws Exception if a merge group cannot be completed. The groups that were merged before the failing
+	 *     group are not rolled back.
+	 */
+	public MergeReport mergeOrganizations(Map<Long, ? extends Collection<Long>> groups) throws Exception {
+		return merge(ResearchOrganization.class, groups, (session, sources, target, report) -> {
+			for (final var foreignKey : ORGANIZATION_FOREIGN_KEYS) {
+				report.add(foreignKey.getName(), foreignKey.update(session, sources, target));
+			}
+			report.add(PARTNER_RELATION, reassignCollection(session, Project.class, "otherPartners", sources, target, //$NON-NLS-1$
+					Project::getOtherPartnersRaw, (project, partners) -> project.setOtherPartners(new HashSet<>(partners))));
+			// The organizations are reloaded with the state that results from the JPQL updates
+			session.flush();
+			session.clear();
+			final var newTarget = session.get(ResearchOrganization.class, Long.valueOf(target.getId()));
+			return removeEntities(session, ResearchOrganization.class, sources, source -> moveHierarchyAndAddresses(session, source, newTarget, sources));
+		}, this::onOrganizationsMerged);
+	}
+
+	/** Invalidate the in-memory data that depend on the persons, after the commit of the merge of a group of persons.
+	 */
+	private void onPersonsMerged(Long target, List<Person> removedPersons) {
+		this.indicatorCache.invalidate(EnumSet.of(IndicatorDependency.PUBLICATIONS, IndicatorDependency.MEMBERSHIPS, IndicatorDependency.PROJECTS));
+		this.authenticatedUser.invalidatePerson(target.longValue());
+		for (final var person : removedPersons) {
+			this.keywordIndex.remove(person);
+			this.authenticatedUser.invalidatePerson(person.getId());
+		}
+		this.personService.resetNameIndex();
+		this.publicationService.resetPublicationCountMatrices();
+	}
+
+	/** Invalidate the in-memory data that depend on the organizations, after the commit of the merge of a group of organizations.
+	 */
+	private void onOrganizationsMerged(Long target, List<ResearchOrganization> removedOrganizations) {
+		this.indicatorCache.invalidate(EnumSet.of(IndicatorDependency.MEMBERSHIPS, IndicatorDependency.PROJECTS));
+		for (final var organization : removedOrganizations) {
+			this.keywordIndex.remove(organization);
+			this.fileManager.deleteOrganizationLogo(organization.getId());
+		}
+		this.organizationHierarchy.invalidate();
+		this.publicationService.resetPublicationCountMatrices();
+		this.authenticatedUser.invalidate();
+	}
+
+	private <T extends IdentifiableEntity> MergeReport merge(Class<T> type, Map<Long, ? extends Collection<Long>> groups,
+			GroupMerger<T> merger, BiConsumer<Long, List<T>> onCommit) throws Exception {
+		final var validGroups = validateGroups(type, groups);
+		final var report = new MergeReport();
+		for (final var group : validGroups.entrySet()) {
+			final var targetId = group.getKey();
+			final var sources = group.getValue();
+			getLogger().info("Reassign to " + type.getSimpleName() + " " + targetId + " the elements of " + sources); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			final var groupReport = new MergeReport();
+			final List<T> removedEntities;
+			try (final var session = this.sessionFactory.openSession()) {
+				final var transaction = session.beginTransaction();
+				try {
+					final var target = session.get(type, targetId);
+					if (target == null) {
+						throw new IllegalArgumentException("Target entity not found with identifier: " + targetId); //$NON-NLS-1$
+					}
+					removedEntities = merger.merge(session, sources, target, groupReport);
+					transaction.commit();
+				} catch (Throwable ex) {
+					transaction.rollback();
+					throw ex;
+				}
+			}
+			report.addAll(groupReport, removedEntities.size());
+			onCommit.accept(targetId, removedEntities);
+		}
+		return report;
+	}
+
+	/** Check the merge groups before any change in the database, and remove the targets from the sources.
+	 * The groups without source are ignored.
+	 */
+	private <T extends IdentifiableEntity> Map<Long, Set<Long>> validateGroups(Class<T> type, Map<Long, ? extends Collection<Long>> groups) {
+		assert groups != null;
+		final var validGroups = new LinkedHashMap<Long, Set<Long>>();
+		final var allSources = new HashSet<Long>();
+		for (final var group : groups.entrySet()) {
+			final var targetId = group.getKey();
+			if (targetId == null) {
+				throw new IllegalArgumentException("Target entity identifier is missed"); //$NON-NLS-1$
+			}
+			final var sources = new TreeSet<>(group.getValue());
+			sources.remove(targetId);
+			for (final var source : sources) {
+				if (!allSources.add(source)) {
+					throw new IllegalArgumentException("Source entity is in several merge groups: " + source); //$NON-NLS-1$
+				}
+			}
+			if (!sources.isEmpty()) {
+				validGroups.put(targetId, sources);
+			}
+		}
+		for (final var targetId : validGroups.keySet()) {
+			if (allSources.contains(targetId)) {
+				throw new IllegalArgumentException("Target entity is the source of another merge group: " + targetId); //$NON-NLS-1$
+			}
+		}
+		final var missingEntities = new TreeSet<>(allSources);
+		missingEntities.addAll(validGroups.keySet());
+		if (!missingEntities.isEmpty()) {
+			final var identifiers = new ArrayList<>(missingEntities);
+			try (final var session = this.sessionFactory.openSession()) {
+				for (var start = 0; start < identifiers.size(); start += UPDATE_BATCH_SIZE) {
+					final var batch = identifiers.subList(start, Math.min(identifiers.size(), start + UPDATE_BATCH_SIZE));
+					missingEntities.removeAll(session.createSelectionQuery(
+							"SELECT e.id FROM " + type.getSimpleName() + " e WHERE e.id IN (:ids)", Long.class) //$NON-NLS-1$ //$NON-NLS-2$
+							.setParameterList("ids", batch) //$NON-NLS-1$
+							.getResultList());
+				}
+			}
+			if (!missingEntities.isEmpty()) {
+				throw new IllegalArgumentException(type.getSimpleName() + " not found with identifiers: " + missingEntities); //$NON-NLS-1$
+			}
+		}
+		return validGroups;
+	}
+
+	/** Delete the source entities. The cascading deletions do not remove data because the references to the sources
+	 * were reassigned before.
+	 */
+	private static <T extends IdentifiableEntity> List<T> removeEntities(Session session, Class<T> type, Set<Long> sources, Consumer<T> unlinker) {
+		final var removedEntities = new ArrayList<T>(sources.size());
+		for (final var source : sources) {
+			final var entity = session.get(type, source);
+			if (entity != null) {
+				if (unlinker != null) {
+					unlinker.accept(entity);
+				}
+				session.remove(entity);
+				removedEntities.add(entity);
+			}
+		}
+		return removedEntities;
+	}
+
+	/** Delete the authorships that stay attached to the source persons, i.e., those of the publications for which the
+	 * target person is already an author. The ranks of the following authors of the publications are decreased.
+	 */
+	private static void removeAuthorships(Session session, Set<Long> sources) {
+		final var authorships = session.createSelectionQuery(
+				"SELECT a.id, a.publication.id, a.authorRank FROM Authorship a WHERE a.person.id IN (:sources) " //$NON-NLS-1$
+				+ "ORDER BY a.authorRank DESC", Object[].class) //$NON-NLS-1$
+				.setParameterList("sources", sources) //$NON-NLS-1$
+				.getResultList();
+		// The authorships are removed from the last rank in order to keep the ranks consistent
+		for (final var authorship : authorships) {
+			session.createMutationQuery("DELETE FROM Authorship a WHERE a.id = :id") //$NON-NLS-1$
+					.setParameter("id", authorship[0]) //$NON-NLS-1$
+					.executeUpdate();
+			if (authorship[1] != null) {
+				session.createMutationQuery(
+						"UPDATE Authorship a SET a.authorRank = a.authorRank - 1 WHERE a.publication.id = :publication AND a.authorRank > :rank") //$NON-NLS-1$
+						.setParameter("publication", authorship[1]) //$NON-NLS-1$
+						.setParameter("rank", authorship[2]) //$NON-NLS-1$
+						.executeUpdate();
+			}
+		}
+	}
+
+	/** Move the suborganizations and the addresses of the source organization to the target organization, and replace
+	 * the source organization by the target organization in its super organizations. The source organization is
+	 * unlinked from the other organizations in order to avoid the cascading deletion of its suborganizations.
+	 */
+	private static void moveHierarchyAndAddresses(Session session, ResearchOrganization source, ResearchOrganization target, Set<Long> sources) {
+		for (final var superOrganization : source.getSuperOrganizations()) {
+			superOrganization.getSubOrganizations().remove(source);
+			if (superOrganization.getId() != target.getId() && !sources.contains(Long.valueOf(superOrganization.getId()))) {
+				superOrganization.getSubOrganizations().add(target);
+				target.getSuperOrganizations().add(superOrganization);
+			}
+		}
+		source.getSuperOrganizations().clear();
+		for (final var subOrganization : source.getSubOrganizations()) {
+			subOrganization.getSuperOrganizations().remove(source);
+			if (subOrganization.getId() != target.getId() && !sources.contains(Long.valueOf(subOrganization.getId()))) {
+				target.getSubOrganizations().add(subOrganization);
+				subOrganization.getSuperOrganizations().add(target);
+			}
+		}
+		source.getSubOrganizations().clear();
+		final var addresses = new ArrayList<>(source.getAddresses());
+		source.getAddresses().clear();
+		// An address is linked to a single organization; it must be unlinked before being linked to the target
+		session.flush();
+		target.getAddresses().addAll(addresses);
+	}
+
+	/** Reassign the authorships of the source persons to the target person. At most one authorship per publication is
+	 * reassigned, and only when the target person is not already an author of the publication.
+	 */
+	private static int reassignAuthorships(Session session, Set<Long> sources, Person target) {
+		final var candidates = session.createSelectionQuery(
+				"SELECT a.id, a.publication.id FROM Authorship a WHERE a.person.id IN (:sources) " //$NON-NLS-1$
+				+ "AND NOT EXISTS (SELECT b.id FROM Authorship b WHERE b.publication = a.publication AND b.person.id = :target) " //$NON-NLS-1$
+				+ "ORDER BY a.authorRank", Object[].class) //$NON-NLS-1$
+				.setParameterList("sources", sources) //$NON-NLS-1$
+				.setParameter("target", Long.valueOf(target.getId())) //$NON-NLS-1$
+				.getResultList();
+		final var publications = new HashSet<>();
+		final var authorships = new ArrayList<Long>(candidates.size());
+		for (final var candidate : candidates) {
+			if (publications.add(candidate[1])) {
+				authorships.add((Long) candidate[0]);
+			}
+		}
+		var count = 0;
+		for (var start = 0; start < authorships.size(); start += UPDATE_BATCH_SIZE) {
+			final var batch = authorships.subList(start, Math.min(authorships.size(), start + UPDATE_BATCH_SIZE));
+			count += session.createMutationQuery(
+					"UPDATE " + Authorship.class.getSimpleName() + " a SET a.person = :target WHERE a.id IN (:ids)") //$NON-NLS-1$ //$NON-NLS-2$
+					.setParameter("target", target) //$NON-NLS-1$
+					.setParameterList("ids", batch) //$NON-NLS-1$
+					.executeUpdate();
+		}
+		return count;
+	}
+
+	/** Replace the source entities by the target entity in a many-to-many relation. Only the owners of the relation
+	 * that are referencing at least one source entity are loaded. The target entity is put at the position of the
+	 * first source entity, and it is never put twice into the same collection.
+	 */
+	private static <T, E extends IdentifiableEntity> int reassignCollection(Session session, Class<T> ownerType, String attribute,
+			Set<Long> sources, E target, Function<T, ? extends Collection<E>> getter, BiConsumer<T, List<E>> setter) {
+		final var owners = session.createSelectionQuery(
+				"SELECT DISTINCT o FROM " + ownerType.getSimpleName() + " o JOIN o." + attribute //$NON-NLS-1$ //$NON-NLS-2$
+				+ " e WHERE e.id IN (:sources)", ownerType) //$NON-NLS-1$
+				.setParameterList("sources", sources) //$NON-NLS-1$
+				.getResultList();
+		var count = 0;
+		for (final var owner : owners) {
+			final var elements = getter.apply(owner);
+			var hasTarget = elements.stream().anyMatch(it -> it.getId() == target.getId());
+			final var newElements = new ArrayList<E>(elements.size());
+			for (final var element : elements) {
+				if (sources.contains(Long.valueOf(element.getId()))) {
+					++count;
+					if (!hasTarget) {
+						newElements.add(target);
+						hasTarget = true;
+					}
+				} else {
+					newElements.add(element);
+				}
+			}
+			setter.accept(owner, newElements);
+		}
+		return count;
+	}
+
+	/** Merger of a single group of entities.
+	 *
+	 * @param <T> the type of the merged entities.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	@FunctionalInterface
+	private interface GroupMerger<T> {
+
+		/** Merge the group and delete the source entities.
+		 *
+		 * @param session the session that is attached to the transaction of the group.
+		 * @param sources the identifiers of the source entities.
+		 * @param target the target entity.
+		 * @param report the receiver of the numbers of affected rows.
+		 * @return the deleted source entities.
+		 * @throws Exception if the group cannot be merged.
+		 */
+		List<T> merge(Session session, Set<Long> sources, T target, MergeReport report) throws Exception;
+
+	}
+
+	/** Foreign key that is stored in the table of an entity.
+	 *
+	 * @param entity the type of the entity that contains the foreign key.
+	 * @param attribute the name of the attribute that is mapped to the foreign key.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private record ForeignKey(Class<?> entity, String attribute) {
+
+		String getName() {
+			return this.entity.getSimpleName() + "." + this.attribute; //$NON-NLS-1$
+		}
+
+		int update(Session session, Set<Long> sources, Object target) {
+			return session.createMutationQuery(
+					"UPDATE " + this.entity.getSimpleName() + " e SET e." + this.attribute //$NON-NLS-1$ //$NON-NLS-2$
+					+ " = :target WHERE e." + this.attribute + ".id IN (:sources)") //$NON-NLS-1$ //$NON-NLS-2$
+					.setParameter("target", target) //$NON-NLS-1$
+					.setParameterList("sources", sources) //$NON-NLS-1$
+					.executeUpdate();
+		}
+
+	}
+
+	/** Numbers of rows that were changed by a merge, per relation.
+	 * The relations are named with the name of the entity type and the name of the attribute,
+	 * e.g., {@code Membership.person}.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	public static final class MergeReport {
+
+		private final Map<String, Integer> affectedRows = new LinkedHashMap<>();
+
+		private int mergedGroups;
+
+		private int removedEntities;
+
+		/** Constructor.
+		 */
+		MergeReport() {
+			//
+		}
+
+		private void add(String relation, int rows) {
+			this.affectedRows.merge(relation, Integer.valueOf(rows), Integer::sum);
+		}
+
+		private void addAll(MergeReport report, int removedEntities) {
+			report.affectedRows.forEach(this::add);
+			++this.mergedGroups;
+			this.removedEntities += removedEntities;
+		}
+
+		/** Replies the numbers of affected rows per relation.
+		 *
+		 * @return the numbers of rows. Keys are the names of the relations.
+		 */
+		public Map<String, Integer> getAffectedRows() {
+			return Collections.unmodifiableMap(this.affectedRows);
+		}
+
+		/** Replies the number of affected rows for the given relation.
+		 *
+		 * @param relation the name of the relation, e.g., {@code Membership.person}.
+		 * @return the number of rows.
+		 */
+		public int getAffectedRows(String relation) {
+			final var rows = this.affectedRows.get(relation);
+			return rows == null ? 0 : rows.intValue();
+		}
+
+		/** Replies the total number of affected rows.
+		 *
+		 * @return the number of rows.
+		 */
+		public int getTotalAffectedRows() {
+			return this.affectedRows.values().stream().mapToInt(Integer::intValue).sum();
+		}
+
+		/** Replies the number of merge groups that were merged.
+		 *
+		 * @return the number of groups.
+		 */
+		public int getMergedGroups() {
+			return this.mergedGroups;
+		}
+
+		/** Replies the number of source entities that were deleted.
+		 *
+		 * @return the number of deleted entities.
+		 */
+		public int getRemovedEntities() {
+			return this.removedEntities;
+		}
+
+		/** Replies if at least one row was changed.
+		 *
+		 * @return {@code true} if a row was changed.
+		 */
+		public boolean hasChanged() {
+			return getTotalAffectedRows() > 0;
+		}
+
+		@Override
+		public String toString() {
+			return this.affectedRows.toString();
+		}
+
+	}
+
+}
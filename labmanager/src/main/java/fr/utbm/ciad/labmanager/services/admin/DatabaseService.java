@@ -31,13 +31,12 @@ import fr.utbm.ciad.labmanager.utils.io.json.DatabaseToZipExporter;
 import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
 import jakarta.transaction.Transactional;
 import org.arakhne.afc.progress.Progression;
-import org.arakhne.afc.util.OutputParameter;
 import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.InputStream;
@@ -95,34 +94,34 @@ public class DatabaseService extends AbstractService {
 	}
 
 	/** Export database content to Json.
+	 * The JSON content is streamed into a temporary file, section by section, in order to avoid to have
+	 * the whole database content in memory.
 	 *
 	 * @param locale the locale to be used for obtaining the progression messages.
 	 * @param progression the progression indicator.
 	 * @return the content of the file.
 	 * @throws Exception the export error.
 	 */
+	@SuppressWarnings("resource")
 	@Transactional
 	public InputStream exportJson(Locale locale, Progression progression) throws Exception {
-		progression.setProperties(0, 0, 50, false);
-		final var bytes = new OutputParameter<byte[]>();
-		inSession(session -> {
-			final var mapper = JsonUtils.createMapper();
-			final var obj = this.jsonExporter.exportFromDatabaseToJsonObject(mapper.getNodeFactory(), null, null, locale, progression.subTask(40));
-			if (obj != null) {
-				bytes.set(mapper.writeValueAsBytes(obj));
+		final var tmpFile = File.createTempFile(Constants.INITIALIZATION_BASENAME, Constants.JSON_FILENAME_EXTENSION);
+		final var written = inSessionWithResult(session -> {
+			try (var output = new BufferedOutputStream(new FileOutputStream(tmpFile));
+					var generator = JsonUtils.createMapper().getFactory().createGenerator(output)) {
+				return Boolean.valueOf(this.jsonExporter.exportFromDatabaseToJsonGenerator(generator, locale, progression, null));
 			}
-			progression.increment(5);
 		});
-		if (bytes.isSet()) {
-			final var is = new ByteArrayInputStream(bytes.get());
-			progression.end();
-			return is;
+		if (written != null && written.booleanValue()) {
+			return new AutomaticDeletionFileInputStream(tmpFile);
 		}
-		progression.end();
+		tmpFile.delete();
 		return null;
 	}
 
 	/** Export database content to ZIP.
+	 * The JSON content and the attached files are streamed into a temporary file
+	 * in order to avoid to have the whole database content in memory.
 	 *
 	 * @param locale the locale to be used for obtaining the progression messages.
 	 * @param progression the progression indicator.
@@ -132,12 +131,12 @@ public class DatabaseService extends AbstractService {
 	@SuppressWarnings("resource")
 	@Transactional
 	public InputStream exportZip(Locale locale, Progression progression) throws Exception {
-		final var exporter = inSessionWithResult(session -> {
-			return this.zipExporter.startExportFromDatabase(locale, progression);
-		});
-
 		final var tmpFile = File.createTempFile(Constants.INITIALIZATION_BASENAME, Constants.ZIP_FILENAME_EXTENSION);
-		exporter.exportToZip(new FileOutputStream(tmpFile));
+		inSession(session -> {
+			try (var output = new BufferedOutputStream(new FileOutputStream(tmpFile))) {
+				this.zipExporter.exportFromDatabaseToZip(output, locale, progression);
+			}
+		});
 		return new AutomaticDeletionFileInputStream(tmpFile);
 	}
 
@@ -0,0 +1,235 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.admin;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.cache.Cache;
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import fr.utbm.ciad.labmanager.configuration.Constants;
+import fr.utbm.ciad.labmanager.data.EntityCacheRegions;
+import fr.utbm.ciad.labmanager.services.AbstractService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.stereotype.Service;
+
+/** Service for monitoring and flushing the regions of the second-level cache of the reference entities.
+ * The regions are listed in {@link EntityCacheRegions}. A region must be flushed when the database is
+ * changed outside the JPA entities, e.g., after a bulk update of the rankings with SQL queries;
+ * otherwise, the cached entities are used until their expiration.
+ *
+ * <p>The usage of the regions is read from the statistics of the JCache provider, which are enabled in the
+ * {@code hibernate-caches.conf} resource; the Hibernate statistics are not needed. The usage is also published
+ * as the cache metrics of the actuator, e.g., {@code cache.gets} and {@code cache.size}, with the tag
+ * {@code cacheManager=}{@value #CACHE_MANAGER_TAG}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ * @see EntityCacheRegions
+ */
+@Service
+public class EntityCacheService extends AbstractService implements MeterBinder {
+
+	/** Value of the tag {@code cacheManager} of the metrics of the cache regions.
+	 */
+	public static final String CACHE_MANAGER_TAG = "hibernate"; //$NON-NLS-1$
+
+	private static final String CACHE_MANAGER_TAG_NAME = "cacheManager"; //$NON-NLS-1$
+
+	private final SessionFactory sessionFactory;
+
+	/** Constructor for injector.
+	 * This constructor is defined for being invoked by the IOC injector.
+	 *
+	 * @param messages the provider of localized messages.
+	 * @param constants the accessor to the live constants.
+	 * @param sessionFactory the factory of JPA session.
+	 */
+	public EntityCacheService(
+			@Autowired MessageSourceAccessor messages,
+			@Autowired Constants constants,
+			@Autowired SessionFactory sessionFactory) {
+		super(messages, constants, sessionFactory);
+		this.sessionFactory = sessionFactory;
+	}
+
+	/** Replies the JCache that is storing the given region.
+	 *
+	 * @param region the name of the region.
+	 * @return the cache, or {@code null} if the region is not created, e.g., the second-level cache is disabled.
+	 */
+	protected Cache<Object, Object> getRegionCache(String region) {
+		final var regionFactory = this.sessionFactory.unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory();
+		if (regionFactory instanceof JCacheRegionFactory jcacheFactory && jcacheFactory.getCacheManager() != null) {
+			return jcacheFactory.getCacheManager().getCache(region);
+		}
+		return null;
+	}
+
+	/** Replies the statistics of the given JCache. The statistics are registered by the JCache provider in the platform
+	 * MBean server when they are enabled in the configuration of the cache.
+	 *
+	 * @param cache the cache.
+	 * @return the statistics, or {@code null} if the statistics are disabled for the cache.
+	 */
+	protected CacheStatisticsMXBean getRegionStatistics(Cache<?, ?> cache) {
+		try {
+			final var server = ManagementFactory.getPlatformMBeanServer();
+			// The name of the cache manager is not known; it depends on the URI of the configuration
+			final var names = server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,Cache=" //$NON-NLS-1$
+					+ cache.getName() + ",*"), null); //$NON-NLS-1$
+			if (names.isEmpty()) {
+				return null;
+			}
+			return JMX.newMXBeanProxy(server, names.iterator().next(), CacheStatisticsMXBean.class);
+		} catch (MalformedObjectNameException ex) {
+			return null;
+		}
+	}
+
+	/** Replies the number of elements in the given JCache.
+	 *
+	 * @param cache the cache.
+	 * @return the number of elements, or a negative value if the JCache provider does not provide this number.
+	 */
+	protected static long getRegionSize(Cache<?, ?> cache) {
+		try {
+			return cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+		} catch (IllegalArgumentException ex) {
+			return -1;
+		}
+	}
+
+	/** Replies the usage of the given cache region since the start of the application.
+	 * The usage is read from the statistics of the JCache provider.
+	 *
+	 * @param region the name of the region.
+	 * @return the usage, or {@code null} if the region is unknown or not created, or if the statistics are disabled.
+	 */
+	public CacheRegionUsage getRegionUsage(String region) {
+		if (!EntityCacheRegions.ALL.contains(region)) {
+			return null;
+		}
+		final var cache = getRegionCache(region);
+		if (cache == null) {
+			return null;
+		}
+		final var statistics = getRegionStatistics(cache);
+		if (statistics == null) {
+			return null;
+		}
+		return new CacheRegionUsage(region,
+				statistics.getCacheHits(), statistics.getCacheMisses(), statistics.getCachePuts(),
+				getRegionSize(cache));
+	}
+
+	/** Replies the usages of all the cache regions that are created.
+	 *
+	 * @return the usages per region name.
+	 */
+	public Map<String, CacheRegionUsage> getRegionUsages() {
+		final var usages = new LinkedHashMap<String, CacheRegionUsage>();
+		for (final var region : EntityCacheRegions.ALL) {
+			final var usage = getRegionUsage(region);
+			if (usage != null) {
+				usages.put(region, usage);
+			}
+		}
+		return usages;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		for (final var region : EntityCacheRegions.ALL) {
+			final var cache = getRegionCache(region);
+			if (cache != null) {
+				JCacheMetrics.monitor(registry, cache, CACHE_MANAGER_TAG_NAME, CACHE_MANAGER_TAG);
+				// The JCache statistics do not provide the number of elements
+				Gauge.builder("cache.size", cache, EntityCacheService::getRegionSize) //$NON-NLS-1$
+					.tags("cache", region, CACHE_MANAGER_TAG_NAME, CACHE_MANAGER_TAG) //$NON-NLS-1$
+					.description("The number of entries in this cache") //$NON-NLS-1$
+					.register(registry);
+			}
+		}
+	}
+
+	/** Remove all the entities and collections from the given region.
+	 *
+	 * @param region the name of the region.
+	 * @throws IllegalArgumentException if the region is not one of {@link EntityCacheRegions#ALL}.
+	 */
+	public void evictRegion(String region) {
+		if (!EntityCacheRegions.ALL.contains(region)) {
+			throw new IllegalArgumentException("Unknown cache region: " + region); //$NON-NLS-1$
+		}
+		getLogger().info("Flush the cache region " + region); //$NON-NLS-1$
+		this.sessionFactory.getCache().evictRegion(region);
+	}
+
+	/** Remove all the entities and collections from all the regions of the second-level cache.
+	 */
+	public void evictAllRegions() {
+		getLogger().info("Flush all the cache regions"); //$NON-NLS-1$
+		this.sessionFactory.getCache().evictAllRegions();
+	}
+
+	/** Usage of a cache region.
+	 *
+	 * @param region the name of the region.
+	 * @param hitCount the number of entities or collections that were found in the region.
+	 * @param missCount the number of entities or collections that were searched but not found in the region.
+	 * @param putCount the number of entities or collections that were put in the region.
+	 * @param elementCount the number of elements in the region, or a negative value if the cache provider
+	 *     does not provide this number.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	public record CacheRegionUsage(String region, long hitCount, long missCount, long putCount, long elementCount) {
+
+		/** Replies the ratio of the hits over the searches in the region.
+		 *
+		 * @return the ratio in {@code [0, 1]}.
+		 */
+		public double getHitRatio() {
+			final var total = this.hitCount + this.missCount;
+			return total == 0 ? 0. : (double) this.hitCount / total;
+		}
+
+	}
+
+}
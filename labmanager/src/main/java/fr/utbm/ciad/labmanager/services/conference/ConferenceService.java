@@ -28,6 +28,7 @@ import fr.utbm.ciad.labmanager.data.conference.ConferenceQualityAnnualIndicators
 import fr.utbm.ciad.labmanager.data.conference.ConferenceRepository;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
 import fr.utbm.ciad.labmanager.services.DeletionStatus;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.utils.HasAsynchronousUploadService;
 import fr.utbm.ciad.labmanager.utils.io.coreportal.CorePortal;
 import fr.utbm.ciad.labmanager.utils.io.coreportal.CorePortal.CorePortalConference;
@@ -77,6 +78,8 @@ public class ConferenceService extends AbstractEntityService<Conference> {
 
 	private final ConferenceNameComparator conferenceNameComparator;
 
+	private final EntityKeywordIndexService keywordIndexService;
+
 	/** Constructor for injector.
 	 * This constructor is defined for being invoked by the IOC injector.
 	 *
@@ -84,6 +87,7 @@ public class ConferenceService extends AbstractEntityService<Conference> {
 	 * @param indicatorsRepository the repository for accessing to the quality indicators.
 	 * @param corePortal the accessor to the online CORE portal.
 	 * @param sessionFactory the factory for hibernate session.
+	 * @param keywordIndexService the service for the keyword search of the conferences.
 	 * @param messages the provider of localized messages.
 	 * @param constants the accessor to the live constants.
 	 * @param sessionFactory the Hibernate session factory.
@@ -93,16 +97,30 @@ public class ConferenceService extends AbstractEntityService<Conference> {
 			@Autowired ConferenceQualityAnnualIndicatorsRepository indicatorsRepository,
 			@Autowired CorePortal corePortal,
 			@Autowired ConferenceNameComparator conferenceNameComparator,
+			@Autowired EntityKeywordIndexService keywordIndexService,
 			@Autowired MessageSourceAccessor messages,
 			@Autowired Constants constants,
 			@Autowired SessionFactory sessionFactory) {
 		super(messages, constants, sessionFactory);
+		this.keywordIndexService = keywordIndexService;
 		this.conferenceRepository = conferenceRepository;
 		this.indicatorsRepository = indicatorsRepository;
 		this.corePortal = corePortal;
 		this.conferenceNameComparator = conferenceNameComparator;
 	}
 
+	/** Replies the identifiers of the conferences that contain each of the given keywords in at least one of the given fields.
+	 * The search is done with the in-memory keyword index instead of the database.
+	 *
+	 * @param keywords the keywords to search for, separated by spaces.
+	 * @param fields the names of the fields in which the keywords are searched for, e.g. {@link EntityKeywordIndexService#NAME_FIELD}.
+	 * @return the identifiers of the matching conferences.
+	 * @since 4.1
+	 */
+	public Set<Long> findIdentifiersByKeywords(String keywords, Collection<String> fields) {
+		return this.keywordIndexService.search(Conference.class, keywords, fields);
+	}
+
 	/** Replies all the conferences for the database.
 	 *
 	 * @return the list of conferences.
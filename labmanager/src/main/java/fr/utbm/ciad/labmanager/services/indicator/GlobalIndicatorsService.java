@@ -31,7 +31,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeSet;
@@ -50,19 +51,23 @@ import java.util.stream.Stream;
 @Service
 public class GlobalIndicatorsService extends AbstractService {
 
-	private static final int MAX_CACHE_AGE = 7;
-	
 	private final GlobalIndicatorsRepository indicatorRepository;
 
 	private final List<? extends Indicator> allIndicators;
 
 	private final Map<String, Indicator> allIndicatorsPerKey;
 
+	private final IndicatorEvaluationEngine evaluationEngine;
+
+	private final IndicatorValueCache valueCache;
+
 	/** Constructor for injector.
 	 * This constructor is defined for being invoked by the IOC injector.
 	 *
 	 * @param indicatorRepository the global indicator repository.
 	 * @param allIndicators the list of all the indicators that were install in the app.
+	 * @param evaluationEngine the engine for evaluating the indicators.
+	 * @param valueCache the cache of the values of the indicators.
 	 * @param messages the provider of localized messages.
 	 * @param constants the accessor to the live constants.
 	 * @param sessionFactory the factory of JPA session.
@@ -70,12 +75,16 @@ public class GlobalIndicatorsService extends AbstractService {
 	public GlobalIndicatorsService(
 			@Autowired GlobalIndicatorsRepository indicatorRepository,
 			@Autowired List<? extends Indicator> allIndicators,
+			@Autowired IndicatorEvaluationEngine evaluationEngine,
+			@Autowired IndicatorValueCache valueCache,
 			@Autowired MessageSourceAccessor messages,
 			@Autowired Constants constants,
 			@Autowired SessionFactory sessionFactory) {
 		super(messages, constants, sessionFactory);
 		this.indicatorRepository = indicatorRepository;
 		this.allIndicators = allIndicators;
+		this.evaluationEngine = evaluationEngine;
+		this.valueCache = valueCache;
 		this.allIndicatorsPerKey = this.allIndicators.stream().collect(
 				Collectors.toMap(Indicator::getKey, Function.identity()));
 	}
@@ -180,9 +189,14 @@ public class GlobalIndicatorsService extends AbstractService {
 	 * @return the map from the indicator keys to the values.
 	 */
 	public Map<String, Number> getVisibleIndicatorsValues(ResearchOrganization organization) {
-		return getVisibleIndicatorStream().collect(Collectors.toConcurrentMap(
-				it -> it.getKey(),
-				it -> it.getNumericValue(organization)));
+		final var evaluations = this.evaluationEngine.evaluate(organization, getVisibleIndicators());
+		final var values = new HashMap<String, Number>();
+		for (final var evaluation : evaluations) {
+			if (evaluation.value() != null) {
+				values.put(evaluation.indicator().getKey(), evaluation.value());
+			}
+		}
+		return values;
 	}
 
 	/** Replies the indicators and their associated values of the visibles indicators, without reading the cache.
@@ -194,41 +208,40 @@ public class GlobalIndicatorsService extends AbstractService {
 	 * @return the map from the indicator keys to the values.
 	 */
 	public List<Pair<? extends Indicator, Number>> getVisibleIndicatorsWithValues(ResearchOrganization organization, boolean useCache) {
-		final var gi = getGlobalIndicatorsNeverNull();
+		final var indicators = getVisibleIndicators();
 		if (useCache) {
-			final Map<String, Number> cache;
-			if (gi.getCacheAge() > MAX_CACHE_AGE) {
-				gi.resetCachedValues();
-				cache = Collections.emptyMap();
-			} else {
-				cache = gi.getCachedValues();
+			final var stamp = this.valueCache.getGeneration();
+			final var values = new HashMap<String, Number>();
+			final var missingIndicators = new ArrayList<Indicator>();
+			for (final var indicator : indicators) {
+				final var value = this.valueCache.get(indicator, organization);
+				if (value == null) {
+					missingIndicators.add(indicator);
+				} else {
+					values.put(indicator.getKey(), value);
+				}
+			}
+			if (!missingIndicators.isEmpty()) {
+				final var evaluations = this.evaluationEngine.evaluate(organization, missingIndicators);
+				this.valueCache.putAll(organization, evaluations, stamp);
+				// The computed values are replied even if they are not kept in the cache
+				for (final var evaluation : evaluations) {
+					values.put(evaluation.indicator().getKey(), evaluation.value());
+				}
 			}
-			assert cache != null;
-			return getVisibleIndicatorStream()
-				.map(it -> {
-					var value = cache.get(it.getKey());
-					if (value == null) {
-						value = it.getNumericValue(organization);
-						gi.setCachedValues(it.getKey(), value);
-						this.indicatorRepository.save(gi);
-					}
-					return Pair.of(it, value);
-				})
+			return indicators.stream()
+				.map(it -> Pair.<Indicator, Number>of(it, values.get(it.getKey())))
 				.collect(Collectors.toList());
 		}
-		return getVisibleIndicatorStream()
-				.map(it -> Pair.of(it, it.getNumericValue(organization)))
+		return this.evaluationEngine.evaluate(organization, indicators).stream()
+				.map(it -> Pair.<Indicator, Number>of(it.indicator(), it.value()))
 				.collect(Collectors.toList());
 	}
 
 	/** Clear the cache content.
 	 */
 	public void clearCache() {
-		final var gi = getGlobalIndicatorsOrNull();
-		if (gi != null) {
-			gi.resetCachedValues();
-			this.indicatorRepository.save(gi);
-		}
+		this.valueCache.clear();
 	}
 
 }
@@ -0,0 +1,160 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.indicator;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import fr.utbm.ciad.labmanager.components.AbstractComponent;
+import fr.utbm.ciad.labmanager.components.indicators.Indicator;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorSnapshot;
+import fr.utbm.ciad.labmanager.configuration.Constants;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.stereotype.Component;
+
+/** Engine for evaluating the indicators of an organization.
+ * The data of the organization is loaded once into a {@link IndicatorSnapshot} that covers the reference periods
+ * of all the evaluated indicators. Then, the indicators are evaluated in parallel on this snapshot.
+ * The time spent for evaluating each indicator is reported.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@Component
+public class IndicatorEvaluationEngine extends AbstractComponent {
+
+	private final IndicatorSnapshotFactory snapshotFactory;
+
+	/** Constructor for injector.
+	 * This constructor is defined for being invoked by the IOC injector.
+	 *
+	 * @param snapshotFactory the factory of the snapshots of the organization data.
+	 * @param messages the provider of localized messages.
+	 * @param constants the accessor to the live constants.
+	 */
+	public IndicatorEvaluationEngine(
+			@Autowired IndicatorSnapshotFactory snapshotFactory,
+			@Autowired MessageSourceAccessor messages,
+			@Autowired Constants constants) {
+		super(messages, constants);
+		this.snapshotFactory = snapshotFactory;
+	}
+
+	/** Load the snapshot of the data of the given organization that covers the reference periods of the given indicators.
+	 *
+	 * @param organization the organization for which the indicators must be computed.
+	 * @param indicators the indicators to be computed.
+	 * @return the snapshot.
+	 */
+	public IndicatorSnapshot createSnapshot(ResearchOrganization organization, Collection<? extends Indicator> indicators) {
+		final var now = LocalDate.now().getYear();
+		var startYear = Integer.MAX_VALUE;
+		var endYear = Integer.MIN_VALUE;
+		for (final var indicator : indicators) {
+			final var start = indicator.getReferencePeriodStart();
+			if (start != null) {
+				startYear = Math.min(startYear, start.getYear());
+			}
+			final var end = indicator.getReferencePeriodEnd();
+			if (end != null) {
+				endYear = Math.max(endYear, end.getYear());
+			}
+		}
+		if (startYear == Integer.MAX_VALUE) {
+			startYear = now;
+		}
+		if (endYear == Integer.MIN_VALUE) {
+			endYear = now;
+		}
+		return this.snapshotFactory.createSnapshot(organization, startYear, endYear);
+	}
+
+	/** Evaluate the given indicators for the given organization.
+	 *
+	 * @param organization the organization for which the indicators must be computed.
+	 * @param indicators the indicators to be computed.
+	 * @return the evaluations of the indicators, in the same order as the indicators.
+	 */
+	public List<IndicatorEvaluation> evaluate(ResearchOrganization organization, Collection<? extends Indicator> indicators) {
+		if (indicators.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return evaluate(createSnapshot(organization, indicators), indicators);
+	}
+
+	/** Evaluate the given indicators on the given snapshot of the organization data.
+	 *
+	 * @param snapshot the data of the organization for which the indicators must be computed.
+	 * @param indicators the indicators to be computed.
+	 * @return the evaluations of the indicators, in the same order as the indicators.
+	 */
+	public List<IndicatorEvaluation> evaluate(IndicatorSnapshot snapshot, Collection<? extends Indicator> indicators) {
+		final var futures = new ArrayList<CompletableFuture<IndicatorEvaluation>>(indicators.size());
+		for (final var indicator : indicators) {
+			futures.add(CompletableFuture.supplyAsync(() -> evaluate(snapshot, indicator), ForkJoinPool.commonPool()));
+		}
+		final var evaluations = new ArrayList<IndicatorEvaluation>(futures.size());
+		for (final var future : futures) {
+			evaluations.add(future.join());
+		}
+		return evaluations;
+	}
+
+	private IndicatorEvaluation evaluate(IndicatorSnapshot snapshot, Indicator indicator) {
+		final var start = System.nanoTime();
+		Number value;
+		try {
+			value = indicator.getNumericValue(snapshot);
+		} catch (Throwable ex) {
+			getLogger().warn("Cannot compute indicator " + indicator.getKey() + ": " + ex.getLocalizedMessage(), ex); //$NON-NLS-1$ //$NON-NLS-2$
+			value = null;
+		}
+		final var duration = (System.nanoTime() - start) / 1000000l;
+		getLogger().debug("Indicator " + indicator.getKey() + " evaluated in " + duration + " ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		return new IndicatorEvaluation(indicator, value, duration);
+	}
+
+	/** Result of the evaluation of an indicator.
+	 *
+	 * @param indicator the evaluated indicator.
+	 * @param value the value of the indicator, or {@code null} if it cannot be computed.
+	 * @param duration the time spent for computing the indicator, in milliseconds. This time is almost zero
+	 *     when the value of the indicator was already buffered.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	public record IndicatorEvaluation(Indicator indicator, Number value, long duration) {
+		//
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.indicator;
+
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorSnapshot;
+import fr.utbm.ciad.labmanager.configuration.Constants;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.services.AbstractService;
+import fr.utbm.ciad.labmanager.services.member.MembershipService;
+import fr.utbm.ciad.labmanager.services.project.ProjectService;
+import fr.utbm.ciad.labmanager.services.publication.type.ConferencePaperService;
+import fr.utbm.ciad.labmanager.services.publication.type.JournalPaperService;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Factory of the snapshots of the organization data that are used for computing the indicators.
+ * All the data of a snapshot is loaded within a single transaction, with the associations that are
+ * used by the indicators.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@Service
+public class IndicatorSnapshotFactory extends AbstractService {
+
+	private final MembershipService membershipService;
+
+	private final JournalPaperService journalPaperService;
+
+	private final ConferencePaperService conferencePaperService;
+
+	private final ProjectService projectService;
+
+	/** Constructor for injector.
+	 * This constructor is defined for being invoked by the IOC injector.
+	 *
+	 * @param membershipService the service for accessing the memberships.
+	 * @param journalPaperService the service for accessing the journal papers.
+	 * @param conferencePaperService the service for accessing the conference papers.
+	 * @param projectService the service for accessing the projects.
+	 * @param messages the provider of localized messages.
+	 * @param constants the accessor to the live constants.
+	 * @param sessionFactory the factory of JPA session.
+	 */
+	public IndicatorSnapshotFactory(
+			@Autowired MembershipService membershipService,
+			@Autowired JournalPaperService journalPaperService,
+			@Autowired ConferencePaperService conferencePaperService,
+			@Autowired ProjectService projectService,
+			@Autowired MessageSourceAccessor messages,
+			@Autowired Constants constants,
+			@Autowired SessionFactory sessionFactory) {
+		super(messages, constants, sessionFactory);
+		this.membershipService = membershipService;
+		this.journalPaperService = journalPaperService;
+		this.conferencePaperService = conferencePaperService;
+		this.projectService = projectService;
+	}
+
+	/** Load the snapshot of the data of the given organization for the given reference period.
+	 *
+	 * @param organization the organization for which the indicators must be computed.
+	 * @param startYear the first year of the reference period.
+	 * @param endYear the last year of the reference period.
+	 * @return the snapshot.
+	 */
+	@Transactional(readOnly = true)
+	public IndicatorSnapshot createSnapshot(ResearchOrganization organization, int startYear, int endYear) {
+		final var id = organization.getId();
+		return new IndicatorSnapshot(organization, startYear, endYear,
+				this.membershipService.getMembersOf(id),
+				this.membershipService.getDirectMembershipsOf(id),
+				this.journalPaperService.getJournalPapersByOrganizationId(id, startYear, endYear),
+				this.conferencePaperService.getConferencePapersByOrganizationId(id, startYear, endYear),
+				this.projectService.getProjectsWithBudgetsByOrganizationId(id));
+	}
+
+}
@@ -0,0 +1,483 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.indicator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import fr.utbm.ciad.labmanager.components.AbstractComponent;
+import fr.utbm.ciad.labmanager.components.indicators.Indicator;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorDependency;
+import fr.utbm.ciad.labmanager.configuration.Constants;
+import fr.utbm.ciad.labmanager.data.journal.Journal;
+import fr.utbm.ciad.labmanager.data.journal.JournalQualityAnnualIndicators;
+import fr.utbm.ciad.labmanager.data.member.Membership;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
+import fr.utbm.ciad.labmanager.data.project.Project;
+import fr.utbm.ciad.labmanager.data.project.ProjectBudget;
+import fr.utbm.ciad.labmanager.data.project.ProjectMember;
+import fr.utbm.ciad.labmanager.data.publication.Authorship;
+import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.services.indicator.IndicatorEvaluationEngine.IndicatorEvaluation;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Cache of the values of the indicators. The values are stored for each indicator, organization and reference period.
+ *
+ * <p>The values are invalidated when the data on which they depend (see {@link IndicatorDependency}) are changed in
+ * the database, i.e., the publications, the memberships, the projects and the rankings of the journals.
+ * The invalidated values are computed again in the background after a short delay, in order to merge the changes
+ * that are done in a row into a single computation. The computed values are written into the cache in a single batch.
+ *
+ * <p>The cache has a generation number that is incremented by each invalidation. The values that are put into the
+ * cache are tagged with the generation at which their computation has started; they are discarded if the cache was
+ * invalidated during their computation, because they may be computed from the old data.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@Component
+public class IndicatorValueCache extends AbstractComponent implements AutoCloseable {
+
+	/** Default delay in milliseconds between the invalidation of values and their computation in the background.
+	 */
+	public static final long DEFAULT_RECOMPUTATION_DELAY = 5000l;
+
+	private static final Map<Class<?>, Set<IndicatorDependency>> ENTITY_DEPENDENCIES = Map.of(
+			Publication.class, EnumSet.of(IndicatorDependency.PUBLICATIONS),
+			Authorship.class, EnumSet.of(IndicatorDependency.PUBLICATIONS),
+			Membership.class, EnumSet.of(IndicatorDependency.MEMBERSHIPS),
+			ResearchOrganization.class, EnumSet.of(IndicatorDependency.MEMBERSHIPS),
+			Project.class, EnumSet.of(IndicatorDependency.PROJECTS),
+			ProjectBudget.class, EnumSet.of(IndicatorDependency.PROJECTS),
+			ProjectMember.class, EnumSet.of(IndicatorDependency.PROJECTS),
+			Journal.class, EnumSet.of(IndicatorDependency.JOURNAL_RANKINGS),
+			JournalQualityAnnualIndicators.class, EnumSet.of(IndicatorDependency.JOURNAL_RANKINGS));
+
+	private final Map<String, Indicator> indicators;
+
+	private final IndicatorEvaluationEngine evaluationEngine;
+
+	private final ResearchOrganizationRepository organizationRepository;
+
+	private final long recomputationDelay;
+
+	private final Map<Key, Number> values = new ConcurrentHashMap<>();
+
+	private final Set<Key> staleKeys = ConcurrentHashMap.newKeySet();
+
+	private final AtomicLong generation = new AtomicLong();
+
+	private ScheduledExecutorService executor;
+
+	private ScheduledFuture<?> recomputation;
+
+	private boolean closed;
+
+	/** Constructor. The values are not invalidated automatically when the data are changed in the database.
+	 *
+	 * @param indicators the list of all the indicators that were install in the app.
+	 * @param evaluationEngine the engine for evaluating the indicators.
+	 * @param organizationRepository the repository of the research organizations.
+	 * @param recomputationDelay the delay in milliseconds between the invalidation of values and their computation in the background.
+	 *     If it is negative, the invalidated values are not computed again in the background.
+	 * @param messages the provider of localized messages.
+	 * @param constants the accessor to the live constants.
+	 * @see #invalidate(Set)
+	 */
+	public IndicatorValueCache(
+			List<? extends Indicator> indicators,
+			IndicatorEvaluationEngine evaluationEngine,
+			ResearchOrganizationRepository organizationRepository,
+			long recomputationDelay,
+			MessageSourceAccessor messages,
+			Constants constants) {
+		super(messages, constants);
+		this.indicators = indicators.stream().collect(Collectors.toMap(Indicator::getKey, Function.identity()));
+		this.evaluationEngine = evaluationEngine;
+		this.organizationRepository = organizationRepository;
+		this.recomputationDelay = recomputationDelay;
+	}
+
+	/** Constructor for injector. The values are invalidated when the data are changed through the given session factory.
+	 *
+	 * @param indicators the list of all the indicators that were install in the app.
+	 * @param evaluationEngine the engine for evaluating the indicators.
+	 * @param organizationRepository the repository of the research organizations.
+	 * @param recomputationDelay the delay in milliseconds between the invalidation of values and their computation in the background.
+	 *     If it is negative, the invalidated values are not computed again in the background.
+	 * @param messages the provider of localized messages.
+	 * @param constants the accessor to the live constants.
+	 * @param sessionFactory the factory of JPA sessions.
+	 */
+	@Autowired
+	public IndicatorValueCache(
+			List<? extends Indicator> indicators,
+			IndicatorEvaluationEngine evaluationEngine,
+			ResearchOrganizationRepository organizationRepository,
+			@Value("${labmanager.indicators.recomputation-delay:" + DEFAULT_RECOMPUTATION_DELAY + "}") long recomputationDelay,
+			MessageSourceAccessor messages,
+			Constants constants,
+			SessionFactory sessionFactory) {
+		this(indicators, evaluationEngine, organizationRepository, recomputationDelay, messages, constants);
+		final var registry = sessionFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry().getService(EventListenerRegistry.class);
+		if (registry != null) {
+			final var listener = new ChangeListener();
+			registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+			registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+			registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+			registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+			registry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+			registry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+		}
+	}
+
+	private static Key key(Indicator indicator, ResearchOrganization organization) {
+		final var start = indicator.getReferencePeriodStart();
+		final var end = indicator.getReferencePeriodEnd();
+		return new Key(indicator.getKey(), organization.getId(),
+				start == null ? 0 : start.getYear(), end == null ? 0 : end.getYear());
+	}
+
+	/** Replies the types of data that are changed when the entity of the given type is changed.
+	 *
+	 * @param type the type of the entity.
+	 * @return the types of data, or {@code null} if the indicators do not depend on the entity.
+	 */
+	static Set<IndicatorDependency> getDependenciesForEntity(Class<?> type) {
+		for (final var entry : ENTITY_DEPENDENCIES.entrySet()) {
+			if (entry.getKey().isAssignableFrom(type)) {
+				return entry.getValue();
+			}
+		}
+		return null;
+	}
+
+	/** Replies the cached value of the given indicator for the given organization.
+	 *
+	 * @param indicator the indicator.
+	 * @param organization the organization.
+	 * @return the value, or {@code null} if the value is not in the cache.
+	 */
+	public Number get(Indicator indicator, ResearchOrganization organization) {
+		return this.values.get(key(indicator, organization));
+	}
+
+	/** Replies the current generation of the cache. It must be read before computing the values that are put
+	 * into the cache with {@link #putAll(ResearchOrganization, Collection, long)}.
+	 *
+	 * @return the generation.
+	 */
+	public long getGeneration() {
+		return this.generation.get();
+	}
+
+	/** Put the values of the given evaluations into the cache. The evaluations without value are ignored.
+	 * The values are not kept if the cache was invalidated since the given generation.
+	 *
+	 * @param organization the organization for which the indicators were evaluated.
+	 * @param evaluations the evaluations of the indicators.
+	 * @param generation the generation of the cache at the start of the evaluation, see {@link #getGeneration()}.
+	 * @return {@code true} if the values are kept in the cache, {@code false} if they are discarded.
+	 */
+	public boolean putAll(ResearchOrganization organization, Collection<IndicatorEvaluation> evaluations, long generation) {
+		final var batch = new HashMap<Key, Number>();
+		for (final var evaluation : evaluations) {
+			if (evaluation.value() != null) {
+				batch.put(key(evaluation.indicator(), organization), evaluation.value());
+			}
+		}
+		if (batch.isEmpty()) {
+			return true;
+		}
+		if (this.generation.get() != generation) {
+			return false;
+		}
+		this.values.putAll(batch);
+		// An invalidation that has started after the previous test may have missed the values of the batch.
+		// The invalidations increment the generation before removing the values, so a second test is enough
+		if (this.generation.get() != generation) {
+			for (final var entry : batch.entrySet()) {
+				this.values.remove(entry.getKey(), entry.getValue());
+			}
+			return false;
+		}
+		return true;
+	}
+
+	/** Replies the number of values in the cache.
+	 *
+	 * @return the number of values.
+	 */
+	public int size() {
+		return this.values.size();
+	}
+
+	/** Remove all the values from the cache. The values are not computed again in the background.
+	 */
+	public void clear() {
+		this.generation.incrementAndGet();
+		this.values.clear();
+		this.staleKeys.clear();
+	}
+
+	/** Remove from the cache the values of the indicators that depend on the given types of data.
+	 * The removed values are computed again in the background.
+	 *
+	 * @param dependencies the types of data that were changed.
+	 */
+	public void invalidate(Set<IndicatorDependency> dependencies) {
+		this.generation.incrementAndGet();
+		var changed = false;
+		final var iterator = this.values.keySet().iterator();
+		while (iterator.hasNext()) {
+			final var key = iterator.next();
+			final var indicator = this.indicators.get(key.indicator());
+			if (indicator == null || !Collections.disjoint(indicator.getDependencies(), dependencies)) {
+				iterator.remove();
+				if (indicator != null) {
+					this.staleKeys.add(key);
+					changed = true;
+				}
+			}
+		}
+		if (changed) {
+			scheduleRecomputation();
+		}
+	}
+
+	private synchronized void scheduleRecomputation() {
+		if (this.closed || this.recomputationDelay < 0l) {
+			return;
+		}
+		if (this.executor == null) {
+			this.executor = Executors.newSingleThreadScheduledExecutor(it -> {
+				final var thread = new Thread(it, "labmanager-indicator-cache"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		// The changes that are done in a row are merged into a single computation that is not yet started
+		if (this.recomputation == null || this.recomputation.getDelay(TimeUnit.MILLISECONDS) <= 0l) {
+			this.recomputation = this.executor.schedule(this::recomputeStaleValues, this.recomputationDelay, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/** Compute the values that were invalidated, and put them into the cache.
+	 * The indicators of an organization are evaluated together on a single snapshot of the organization data.
+	 */
+	public void recomputeStaleValues() {
+		final var keysPerOrganization = new HashMap<Long, List<Key>>();
+		final var iterator = this.staleKeys.iterator();
+		while (iterator.hasNext()) {
+			final var key = iterator.next();
+			iterator.remove();
+			keysPerOrganization.computeIfAbsent(Long.valueOf(key.organization()), it -> new ArrayList<>()).add(key);
+		}
+		for (final var entry : keysPerOrganization.entrySet()) {
+			try {
+				final var stamp = getGeneration();
+				final var organization = this.organizationRepository.findById(entry.getKey());
+				if (organization.isPresent()) {
+					final var indicators = new ArrayList<Indicator>();
+					for (final var key : entry.getValue()) {
+						final var indicator = this.indicators.get(key.indicator());
+						// The reference period of the indicator may have changed since the value was computed
+						if (indicator != null && key.equals(key(indicator, organization.get()))) {
+							indicators.add(indicator);
+						}
+					}
+					if (!indicators.isEmpty()) {
+						if (!putAll(organization.get(), this.evaluationEngine.evaluate(organization.get(), indicators), stamp)) {
+							// The data were changed during the computation; the values are computed again later
+							for (final var indicator : indicators) {
+								this.staleKeys.add(key(indicator, organization.get()));
+							}
+							scheduleRecomputation();
+						}
+					}
+				}
+			} catch (Throwable ex) {
+				getLogger().warn("Cannot compute the indicators of the organization " + entry.getKey() + ": " + ex.getLocalizedMessage(), ex); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		this.closed = true;
+		if (this.executor != null) {
+			this.executor.shutdownNow();
+			this.executor = null;
+		}
+	}
+
+	/** Key of a value in the cache.
+	 *
+	 * @param indicator the key of the indicator.
+	 * @param organization the identifier of the organization.
+	 * @param startYear the first year of the reference period of the indicator.
+	 * @param endYear the last year of the reference period of the indicator.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	public record Key(String indicator, long organization, int startYear, int endYear) {
+		//
+	}
+
+	/** Listener on the changes of the data in the database.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private class ChangeListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener,
+			PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+		private static final long serialVersionUID = 2954107744139576522L;
+
+		ChangeListener() {
+			//
+		}
+
+		@Override
+		public boolean requiresPostCommitHandling(EntityPersister persister) {
+			return getDependenciesForEntity(persister.getMappedClass()) != null;
+		}
+
+		private void onEntityChange(Object entity) {
+			if (entity != null) {
+				final var dependencies = getDependenciesForEntity(entity.getClass());
+				if (dependencies != null) {
+					invalidate(dependencies);
+				}
+			}
+		}
+
+		@Override
+		public void onPostInsert(PostInsertEvent event) {
+			onEntityChange(event.getEntity());
+		}
+
+		@Override
+		public void onPostInsertCommitFailed(PostInsertEvent event) {
+			//
+		}
+
+		@Override
+		public void onPostUpdate(PostUpdateEvent event) {
+			onEntityChange(event.getEntity());
+		}
+
+		@Override
+		public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+			//
+		}
+
+		@Override
+		public void onPostDelete(PostDeleteEvent event) {
+			onEntityChange(event.getEntity());
+		}
+
+		@Override
+		public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+			//
+		}
+
+		private void onCollectionChange(AbstractCollectionEvent event) {
+			final var owner = event.getAffectedOwnerOrNull();
+			if (owner != null && getDependenciesForEntity(owner.getClass()) != null) {
+				// The collection events are fired before the commit
+				if (TransactionSynchronizationManager.isSynchronizationActive()) {
+					TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+						@Override
+						public void afterCommit() {
+							onEntityChange(owner);
+						}
+					});
+				} else {
+					onEntityChange(owner);
+				}
+			}
+		}
+
+		@Override
+		public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+			onCollectionChange(event);
+		}
+
+		@Override
+		public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+			onCollectionChange(event);
+		}
+
+		@Override
+		public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+			onCollectionChange(event);
+		}
+
+	}
+
+}
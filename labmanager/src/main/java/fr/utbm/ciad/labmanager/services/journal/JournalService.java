@@ -30,8 +30,10 @@ import fr.utbm.ciad.labmanager.data.journal.JournalRepository;
 import fr.utbm.ciad.labmanager.data.publication.type.JournalPaperRepository;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
 import fr.utbm.ciad.labmanager.services.DeletionStatus;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.utils.HasAsynchronousUploadService;
 import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
+import fr.utbm.ciad.labmanager.utils.io.network.DownloadEngine;
 import fr.utbm.ciad.labmanager.utils.io.network.NetConnection;
 import fr.utbm.ciad.labmanager.utils.io.scimago.ScimagoPlatform;
 import fr.utbm.ciad.labmanager.utils.io.wos.WebOfSciencePlatform;
@@ -71,6 +73,10 @@ import java.util.stream.Collectors;
 public class JournalService extends AbstractEntityService<Journal> {
 
 	private static final String NOT_RANKED_STR = "--"; //$NON-NLS-1$
+
+	private static final String SCIMAGO_HOST = "www.scimagojr.com"; //$NON-NLS-1$
+
+	private static final String WOS_HOST = "wos-journal.info"; //$NON-NLS-1$
 	
 	private final JournalRepository journalRepository;
 
@@ -86,6 +92,10 @@ public class JournalService extends AbstractEntityService<Journal> {
 
 	private final WebOfSciencePlatform wos;
 
+	private final DownloadEngine downloadEngine;
+
+	private final EntityKeywordIndexService keywordIndexService;
+
 	/** Constructor for injector.
 	 * This constructor is defined for being invoked by the IOC injector.
 	 *
@@ -94,7 +104,9 @@ public class JournalService extends AbstractEntityService<Journal> {
 	 * @param publicationRepository the publication repository.
 	 * @param scimago the reference to the tool for accessing to the Scimago platform.
 	 * @param wos the reference to the tool for accessing to the Web-of-Science platform.
+	 * @param downloadEngine the engine for running the downloads from the remote platforms concurrently.
 	 * @param netConnection the tools for accessing the network.
+	 * @param keywordIndexService the service for the keyword search of the journals.
 	 * @param messages the provider of localized messages.
 	 * @param constants the accessor to the live constants.
 	 * @param sessionFactory the Hibernate session factory.
@@ -105,21 +117,37 @@ public class JournalService extends AbstractEntityService<Journal> {
 			@Autowired JournalPaperRepository publicationRepository,
 			@Autowired ScimagoPlatform scimago,
 			@Autowired WebOfSciencePlatform wos,
+			@Autowired DownloadEngine downloadEngine,
 			@Autowired NetConnection netConnection,
 			@Autowired JournalNameAndPublisherComparator journalNameAndPublisherComparator,
+			@Autowired EntityKeywordIndexService keywordIndexService,
 			@Autowired MessageSourceAccessor messages,
 			@Autowired Constants constants,
 			@Autowired SessionFactory sessionFactory) {
 		super(messages, constants, sessionFactory);
+		this.keywordIndexService = keywordIndexService;
 		this.journalRepository = journalRepository;
 		this.indicatorRepository = indicatorRepository;
 		this.publicationRepository = publicationRepository;
 		this.scimago = scimago;
 		this.wos = wos;
+		this.downloadEngine = downloadEngine;
 		this.netConnection = netConnection;
 		this.journalNameAndPublisherComparator = journalNameAndPublisherComparator;
 	}
 
+	/** Replies the identifiers of the journals that contain each of the given keywords in at least one of the given fields.
+	 * The search is done with the in-memory keyword index instead of the database.
+	 *
+	 * @param keywords the keywords to search for, separated by spaces.
+	 * @param fields the names of the fields in which the keywords are searched for, e.g. {@link EntityKeywordIndexService#NAME_FIELD}.
+	 * @return the identifiers of the matching journals.
+	 * @since 4.1
+	 */
+	public Set<Long> findIdentifiersByKeywords(String keywords, Collection<String> fields) {
+		return this.keywordIndexService.search(Journal.class, keywords, fields);
+	}
+
 	/** Replies all the journals for the database.
 	 *
 	 * @return the list of journals.
@@ -287,11 +315,27 @@ public class JournalService extends AbstractEntityService<Journal> {
 		return 0;
 	}
 
+	/** Replies the journal that has a name or a publisher similar to the given ones.
+	 * The journals with exactly the given name are checked first with the index of the journal names.
+	 * Otherwise, the names and publishers of the journals are compared without loading the journal entities;
+	 * only the matching journal is loaded.
+	 *
+	 * @param name the name of the journal.
+	 * @param publisher the name of the publisher.
+	 * @return the similar journal, or {@code null} if none.
+	 */
 	public Journal getJournalBySimilarNameAndSimilarPublisher(String name, String publisher) {
 		if (!Strings.isNullOrEmpty(name) || !Strings.isNullOrEmpty(publisher)) {
-			for (final var journal : this.journalRepository.findAll()) {
-				if (this.journalNameAndPublisherComparator.isSimilar(name, publisher, journal.getJournalName(), journal.getPublisher())) {
-					return journal;
+			if (!Strings.isNullOrEmpty(name)) {
+				for (final var journal : this.journalRepository.findDistinctByJournalName(name)) {
+					if (this.journalNameAndPublisherComparator.isSimilar(name, publisher, journal.getJournalName(), journal.getPublisher())) {
+						return journal;
+					}
+				}
+			}
+			for (final var row : this.journalRepository.findAllIdentifiersNamesAndPublishers()) {
+				if (this.journalNameAndPublisherComparator.isSimilar(name, publisher, (String) row[1], (String) row[2])) {
+					return this.journalRepository.findById((Long) row[0]).orElse(null);
 				}
 			}
 		}
@@ -625,7 +669,7 @@ public class JournalService extends AbstractEntityService<Journal> {
 
 	/** Download the journal indicators for the given reference year for the Scimago platform.
 	 * This function uses the {@link ScimagoPlatform} tool for downloading the CSV file from the Scimago
-	 * website.
+	 * website. The indicators of the different journals are downloaded concurrently by the {@link DownloadEngine}.
 	 *
 	 * @param referenceYear the reference year.
 	 * @param journals the list of journals for which the indicators should be downloaded.
@@ -637,38 +681,36 @@ public class JournalService extends AbstractEntityService<Journal> {
 	@Transactional(readOnly = true)
 	public void downloadJournalIndicatorsFromScimago(int referenceYear, List<Journal> journals, Progression progress, JournalRankingConsumer consumer) throws Exception {
 		final var progress0 = progress == null ? new DefaultProgression() : progress; 
-		progress0.setProperties(0, 0, journals.size() * 2, false);
-		for (final var journal : journals) {
-			progress0.setComment(journal.getJournalName());
-			if (!Strings.isNullOrEmpty(journal.getScimagoId())) {
-				final var scientificField = journal.getScimagoCategory();
-				final var lastScimagoQuartile = journal.getScimagoQIndexByYear(referenceYear);
-				final var rankings = this.scimago.getJournalRanking(referenceYear, journal.getScimagoId(), progress0.subTask(1));
-				progress0.ensureNoSubTask();
-				if (rankings != null) {
-					QuartileRanking q = null;
-					if (!Strings.isNullOrEmpty(scientificField)) {
-						q = rankings.get(scientificField);
+		final var rankedJournals = journals.stream().filter(it -> !Strings.isNullOrEmpty(it.getScimagoId())).toList();
+		this.downloadEngine.download(SCIMAGO_HOST, rankedJournals,
+				journal -> this.scimago.getJournalRanking(referenceYear, journal.getScimagoId(), null),
+				(journal, rankings, error) -> {
+					if (error != null) {
+						throw new IOException("Unable to download the Scimago indicators of: " + journal.getJournalName(), error); //$NON-NLS-1$
 					}
-					if (q == null) {
-						final var availableQuartiles = rankings.entrySet().stream().filter(it -> !ScimagoPlatform.BEST.equals(it.getKey())).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-						consumer.consume(referenceYear, journal.getId(), scientificField, lastScimagoQuartile, availableQuartiles);
+					progress0.setComment(journal.getJournalName());
+					final var scientificField = journal.getScimagoCategory();
+					final var lastScimagoQuartile = journal.getScimagoQIndexByYear(referenceYear);
+					if (rankings != null) {
+						QuartileRanking q = null;
+						if (!Strings.isNullOrEmpty(scientificField)) {
+							q = rankings.get(scientificField);
+						}
+						if (q == null) {
+							final var availableQuartiles = rankings.entrySet().stream().filter(it -> !ScimagoPlatform.BEST.equals(it.getKey())).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+							consumer.consume(referenceYear, journal.getId(), scientificField, lastScimagoQuartile, availableQuartiles);
+						} else {
+							consumer.consume(referenceYear, journal.getId(), scientificField, lastScimagoQuartile, Collections.singletonMap(scientificField, q));
+						}
 					} else {
-						consumer.consume(referenceYear, journal.getId(), scientificField, lastScimagoQuartile, Collections.singletonMap(scientificField, q));
+						consumer.consume(referenceYear, journal.getId(), scientificField, lastScimagoQuartile, Collections.emptyMap());
 					}
-				} else {
-					consumer.consume(referenceYear, journal.getId(), scientificField, lastScimagoQuartile, Collections.emptyMap());
-				}
-				progress0.increment();
-			} else {
-				progress0.subTask(2);
-			}
-		}
-		progress0.end();
+				}, progress0);
 	}
 
 	/** Download the journal indicators for the given reference year for the WoS platform.
 	 * This function uses the {@link WosPlatform} tool for downloading the indicators.
+	 * The indicators of the different journals are downloaded concurrently by the {@link DownloadEngine}.
 	 *
 	 * @param referenceYear the reference year.
 	 * @param journals the list of journals for which the indicators should be downloaded.
@@ -680,36 +722,33 @@ public class JournalService extends AbstractEntityService<Journal> {
 	@Transactional(readOnly = true)
 	public void downloadJournalIndicatorsFromWoS(int referenceYear, List<Journal> journals, Progression progress, JournalRankingConsumer2 consumer) throws Exception {
 		final var progress0 = progress == null ? new DefaultProgression() : progress; 
-		progress0.setProperties(0, 0, journals.size() * 2, false);
-		for (final var journal : journals) {
-			progress0.setComment(journal.getJournalName());
-			if (!Strings.isNullOrEmpty(journal.getWosId())) {
-				final var scientificField = journal.getWosCategory();
-				final var lastWosQuartile = journal.getWosQIndexByYear(referenceYear);
-				final var lastImpactFactor = journal.getImpactFactorByYear(referenceYear);
-				final var rankings = this.wos.getJournalRanking(journal.getWosId(), progress0.subTask(1));
-				progress0.ensureNoSubTask();
-				if (rankings != null) {
-					final var currentImpactFactor = rankings.impactFactor;
-					QuartileRanking q = null;
-					if (!Strings.isNullOrEmpty(journal.getWosCategory())) {
-						q = rankings.quartiles.get(journal.getWosCategory());
+		final var rankedJournals = journals.stream().filter(it -> !Strings.isNullOrEmpty(it.getWosId())).toList();
+		this.downloadEngine.download(WOS_HOST, rankedJournals,
+				journal -> this.wos.getJournalRanking(journal.getWosId(), null),
+				(journal, rankings, error) -> {
+					if (error != null) {
+						throw new IOException("Unable to download the WoS indicators of: " + journal.getJournalName(), error); //$NON-NLS-1$
 					}
-					if (q == null) {
-						final var availableQuartiles = rankings.quartiles.entrySet().stream().filter(it -> !ScimagoPlatform.BEST.equals(it.getKey())).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-						consumer.consume(referenceYear, journal.getId(), scientificField, lastWosQuartile, availableQuartiles, lastImpactFactor, currentImpactFactor);
+					progress0.setComment(journal.getJournalName());
+					final var scientificField = journal.getWosCategory();
+					final var lastWosQuartile = journal.getWosQIndexByYear(referenceYear);
+					final var lastImpactFactor = journal.getImpactFactorByYear(referenceYear);
+					if (rankings != null) {
+						final var currentImpactFactor = rankings.impactFactor;
+						QuartileRanking q = null;
+						if (!Strings.isNullOrEmpty(journal.getWosCategory())) {
+							q = rankings.quartiles.get(journal.getWosCategory());
+						}
+						if (q == null) {
+							final var availableQuartiles = rankings.quartiles.entrySet().stream().filter(it -> !ScimagoPlatform.BEST.equals(it.getKey())).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+							consumer.consume(referenceYear, journal.getId(), scientificField, lastWosQuartile, availableQuartiles, lastImpactFactor, currentImpactFactor);
+						} else {
+							consumer.consume(referenceYear, journal.getId(), scientificField, lastWosQuartile, Collections.singletonMap(scientificField, q), lastImpactFactor, currentImpactFactor);
+						}
 					} else {
-						consumer.consume(referenceYear, journal.getId(), scientificField, lastWosQuartile, Collections.singletonMap(scientificField, q), lastImpactFactor, currentImpactFactor);
+						consumer.consume(referenceYear, journal.getId(), scientificField, lastWosQuartile, Collections.emptyMap(), lastImpactFactor, 0f);
 					}
-				} else {
-					consumer.consume(referenceYear, journal.getId(), scientificField, lastWosQuartile, Collections.emptyMap(), lastImpactFactor, 0f);
-				}
-				progress0.increment();
-			} else {
-				progress0.subTask(2);
-			}
-		}
-		progress0.end();
+				}, progress0);
 	}
 
 	/** Update the journal indicators according to the given inputs.
@@ -20,6 +20,7 @@
 package fr.utbm.ciad.labmanager.services.member;
 import com.vaadin.flow.internal.LocaleUtil;
 import fr.utbm.ciad.labmanager.configuration.Constants;
+import fr.utbm.ciad.labmanager.data.FetchPlan;
 import fr.utbm.ciad.labmanager.data.member.*;
 import fr.utbm.ciad.labmanager.data.organization.OrganizationAddress;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
@@ -27,6 +28,7 @@ import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
 import fr.utbm.ciad.labmanager.data.scientificaxis.ScientificAxis;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
 import fr.utbm.ciad.labmanager.services.DeletionStatus;
+import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationHierarchy;
 import fr.utbm.ciad.labmanager.utils.HasAsynchronousUploadService;
 import fr.utbm.ciad.labmanager.utils.bap.FrenchBap;
 import fr.utbm.ciad.labmanager.utils.cnu.CnuSection;
@@ -70,12 +72,15 @@ public class MembershipService extends AbstractEntityService<Membership> {
 
 	private PersonRepository personRepository;
 
+	private ResearchOrganizationHierarchy organizationHierarchy;
+
 	/** Constructor for injector.
 	 * This constructor is defined for being invoked by the IOC injector.
 	 *
 	 * @param organizationRepository the organization repository.
 	 * @param membershipRepository the membership repository.
 	 * @param personRepository the person repository.
+	 * @param organizationHierarchy the hierarchy of the research organizations.
 	 * @param messages the provider of localized messages.
 	 * @param constants the accessor to the live constants.
 	 * @param sessionFactory the Hibernate session factory.
@@ -84,6 +89,7 @@ public class MembershipService extends AbstractEntityService<Membership> {
 			@Autowired ResearchOrganizationRepository organizationRepository,
 			@Autowired MembershipRepository membershipRepository,
 			@Autowired PersonRepository personRepository,
+			@Autowired ResearchOrganizationHierarchy organizationHierarchy,
 			@Autowired MessageSourceAccessor messages,
 			@Autowired Constants constants,
 			@Autowired SessionFactory sessionFactory) {			
@@ -91,6 +97,16 @@ public class MembershipService extends AbstractEntityService<Membership> {
 		this.organizationRepository = organizationRepository;
 		this.membershipRepository = membershipRepository;
 		this.personRepository = personRepository;
+		this.organizationHierarchy = organizationHierarchy;
+	}
+
+	/** Replies the hierarchy of the research organizations.
+	 *
+	 * @return the hierarchy.
+	 * @since 4.1
+	 */
+	public ResearchOrganizationHierarchy getOrganizationHierarchy() {
+		return this.organizationHierarchy;
 	}
 
 	/** Replies the list of all the memberships.
@@ -208,6 +224,29 @@ public class MembershipService extends AbstractEntityService<Membership> {
 		return persons;
 	}
 
+	/** Replies the list of all the persons with memberships from the database, with the associations that are described by the given fetch plan.
+	 * The associations are loaded by a constant number of queries, whatever the size of the page.
+	 *
+	 * @param pageable the manager of pages.
+	 * @param filter the filter of the memberships.
+	 * @param fetchPlan the associations to load with the persons with memberships. It may be {@code null}.
+	 * @param callback is invoked on each entity in the context of the JPA session, after the application of the fetch plan.
+	 *     It may be {@code null}.
+	 * @return the list of persons with memberships, never {@code null}.
+	 * @since 4.1
+	 */
+	@Transactional
+	public Page<Person> getAllPersonsWithMemberships(Pageable pageable, Specification<Membership> filter, FetchPlan<Person> fetchPlan, Consumer<Person> callback) {
+		final var page = this.membershipRepository.findDistinctPerson(pageable, filter);
+		if (fetchPlan != null) {
+			inSession(session -> fetchPlan.apply(session, page.getContent()));
+		}
+		if (callback != null) {
+			page.forEach(callback);
+		}
+		return page;
+	}
+
 	/** Replies the membership of the given person.
 	 *
 	 * @param personId the identifier of the person.
@@ -566,6 +605,16 @@ public class MembershipService extends AbstractEntityService<Membership> {
 		return this.personRepository.findDistinctByMembershipsResearchOrganizationId(organizationId);
 	}
 
+	/** Replies the memberships that have the organization of the given identifier as direct organization.
+	 *
+	 * @param organizationId the identifier of the organization.
+	 * @return the memberships.
+	 * @since 4.1
+	 */
+	public List<Membership> getDirectMembershipsOf(long organizationId) {
+		return this.membershipRepository.findDistinctByResearchOrganizationId(organizationId);
+	}
+
 	/** Replies the persons in the organization of the given identifier and its suborganizations.
 	 * The function {@link #getDirectMembersOf(long)} provides the members for an organization and not of the associated
 	 * suborganizations.
@@ -575,24 +624,11 @@ public class MembershipService extends AbstractEntityService<Membership> {
 	 * @see #getDirectMembersOf(long)
 	 */
 	public Set<Person> getMembersOf(long organizationId) {
-		final var optOrg = this.organizationRepository.findById(Long.valueOf(organizationId));
-		if (optOrg.isPresent()) {
-			final var organization = optOrg.get();
-
-			final var persons = new HashSet<Person>();
-
-			final var organizationCandidates = new LinkedList<ResearchOrganization>();
-			organizationCandidates.add(organization);
-
-			do {
-				final var currentOrganization = organizationCandidates.removeFirst();
-				persons.addAll(getDirectMembersOf(currentOrganization.getId()));
-				organizationCandidates.addAll(currentOrganization.getSubOrganizations());
-			} while (!organizationCandidates.isEmpty());
-
-			return persons;
+		final var organizations = this.organizationHierarchy.getOrganizationAndSubOrganizationIdentifiers(organizationId);
+		if (organizations.isEmpty()) {
+			return Collections.emptySet();
 		}
-		return Collections.emptySet();
+		return this.personRepository.findDistinctByMembershipsResearchOrganizationIdIn(organizations);
 	}
 
 	/** Replies the persons in the organization of the given name, with the given status.
@@ -640,9 +676,7 @@ public class MembershipService extends AbstractEntityService<Membership> {
 	public List<Membership> getMembershipsOfAge(int maxAge) {
 		final var startDate = LocalDate.of(LocalDate.now().getYear() - maxAge, 1, 1);
 		final var endDate = LocalDate.now();
-		return this.membershipRepository.findAll().parallelStream()
-				.filter(it -> it.isActiveIn(startDate, endDate))
-				.collect(Collectors.toList());
+		return this.membershipRepository.findAllActiveIn(startDate, endDate);
 	}
 
 	/** Replies if the given identifier is the one of a member of an organization.
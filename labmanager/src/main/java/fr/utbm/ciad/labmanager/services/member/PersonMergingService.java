@@ -21,18 +21,14 @@ package fr.utbm.ciad.labmanager.services.member;
 
 import fr.utbm.ciad.labmanager.configuration.Constants;
 import fr.utbm.ciad.labmanager.data.EntityUtils;
-import fr.utbm.ciad.labmanager.data.assostructure.AssociatedStructureHolder;
-import fr.utbm.ciad.labmanager.data.assostructure.AssociatedStructureHolderRepository;
-import fr.utbm.ciad.labmanager.data.member.MembershipRepository;
 import fr.utbm.ciad.labmanager.data.member.Person;
 import fr.utbm.ciad.labmanager.data.member.PersonComparator;
 import fr.utbm.ciad.labmanager.data.member.PersonRepository;
-import fr.utbm.ciad.labmanager.data.project.ProjectMember;
-import fr.utbm.ciad.labmanager.data.project.ProjectMemberRepository;
 import fr.utbm.ciad.labmanager.services.AbstractService;
-import fr.utbm.ciad.labmanager.services.invitation.PersonInvitationService;
-import fr.utbm.ciad.labmanager.services.jury.JuryMembershipService;
-import fr.utbm.ciad.labmanager.services.supervision.SupervisionService;
+import fr.utbm.ciad.labmanager.services.BulkMergeEngine;
+import fr.utbm.ciad.labmanager.services.BulkMergeEngine.MergeReport;
+import fr.utbm.ciad.labmanager.utils.names.NormalizedPersonName;
+import fr.utbm.ciad.labmanager.utils.names.PersonNameBlockingIndex;
 import fr.utbm.ciad.labmanager.utils.names.PersonNameComparator;
 import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,6 +36,8 @@ import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
 
 /** Service for the merging persons.
  * 
@@ -51,23 +49,13 @@ import java.util.*;
 @Service
 public class PersonMergingService extends AbstractService {
 
-	private final PersonRepository personRepository;
-
-	private final PersonService personService;
-
-	private final MembershipService organizationMembershipService;
-
-	private final MembershipRepository organizationMembershipRepository;
-
-	private final JuryMembershipService juryMembershipService;
-
-	private final SupervisionService supervisionService;
-
-	private final PersonInvitationService invitationService;
+	/** Number of persons that are treated by a single parallel task when searching for duplicates.
+	 */
+	private static final int DUPLICATE_BATCH_SIZE = 256;
 
-	private final ProjectMemberRepository projectMemberRepository;
+	private final PersonRepository personRepository;
 
-	private final AssociatedStructureHolderRepository structureHolderRepository;
+	private final BulkMergeEngine mergeEngine;
 
 	private PersonNameComparator nameComparator;
 
@@ -75,14 +63,7 @@ public class PersonMergingService extends AbstractService {
 	 * This constructor is defined for being invoked by the IOC injector.
 	 *
 	 * @param personRepository the person repository.
-	 * @param personService the person service.
-	 * @param organizationMembershipService the service for managing the organization memberships.
-	 * @param organizationMembershipRepository the repository for managing the organization memberships.
-	 * @param juryMembershipService the service for managing the jury memberships.
-	 * @param supervisionService the service for managing the supervisions.
-	 * @param invitationService the service for managing the invitations.
-	 * @param projectMemberRepository the repository for accessing the project members.
-	 * @param structureHolderRepository the repository for accessing the structure holders.
+	 * @param mergeEngine the engine for rewriting the references to the merged persons.
 	 * @param nameComparator the comparator of person names.
 	 * @param messages the provider of localized messages.
 	 * @param constants the accessor to the live constants.
@@ -90,34 +71,25 @@ public class PersonMergingService extends AbstractService {
 	 */
 	public PersonMergingService(
 			@Autowired PersonRepository personRepository,
-			@Autowired PersonService personService,
-			@Autowired MembershipService organizationMembershipService,
-			@Autowired MembershipRepository organizationMembershipRepository,
-			@Autowired JuryMembershipService juryMembershipService,
-			@Autowired SupervisionService supervisionService,
-			@Autowired PersonInvitationService invitationService,
-			@Autowired ProjectMemberRepository projectMemberRepository,
-			@Autowired AssociatedStructureHolderRepository structureHolderRepository,
+			@Autowired BulkMergeEngine mergeEngine,
 			@Autowired PersonNameComparator nameComparator,
 			@Autowired MessageSourceAccessor messages,
 			@Autowired Constants constants,
 			@Autowired SessionFactory sessionFactory) {
 		super(messages, constants, sessionFactory);
 		this.personRepository = personRepository;
-		this.personService = personService;
-		this.organizationMembershipService = organizationMembershipService;
-		this.organizationMembershipRepository = organizationMembershipRepository;
-		this.juryMembershipService = juryMembershipService;
-		this.supervisionService = supervisionService;
-		this.invitationService = invitationService;
-		this.projectMemberRepository = projectMemberRepository;
-		this.structureHolderRepository = structureHolderRepository;
+		this.mergeEngine = mergeEngine;
 		this.nameComparator = nameComparator;
 	}
 
 	/** Replies the duplicate person names.
 	 * The replied list contains groups of persons who have similar names.
 	 *
+	 * <p>The names of the persons are normalized once, and put into a {@link PersonNameBlockingIndex} that
+	 * provides for each person the candidates that are sharing at least one block (normalized name or n-gram) with it.
+	 * The name comparator is invoked only on these candidates. The comparisons are run in parallel on batches of persons,
+	 * and the callback is notified, from the calling thread, each time a batch is terminated.
+	 *
 	 * @param comparator comparator of persons that is used for sorting the groups of duplicates. If it is {@code null},
 	 *      a {@link PersonComparator} is used.
 	 * @param callback the callback invoked during the building.
@@ -128,9 +100,7 @@ public class PersonMergingService extends AbstractService {
 		// Each list represents a group of authors that could be duplicate
 		final var matchingAuthors = new ArrayList<Set<Person>>();
 
-		// Copy the list of authors into another list in order to enable its
-		// modification during the function's process
-		final var authorsList = new ArrayList<>(this.personRepository.findAll());
+		final var authorsList = this.personRepository.findAll();
 
 		final Comparator<? super Person> theComparator = comparator == null ? EntityUtils.getPreferredPersonComparator() : comparator;
 
@@ -139,38 +109,82 @@ public class PersonMergingService extends AbstractService {
 		if (callback != null) {
 			callback.onDuplicate(0, 0, total);
 		}
-		var duplicateCount = 0;
-		
-		for (var i = 0; i < authorsList.size() - 1; ++i) {
-			final var referencePerson = authorsList.get(i);
-
-			final var currentMatching = new TreeSet<Person>(theComparator);
-			currentMatching.add(referencePerson);
 
-			final ListIterator<Person> iterator2 = authorsList.listIterator(i + 1);
-			while (iterator2.hasNext()) {
-				final var otherPerson = iterator2.next();
-				if (this.nameComparator.isSimilar(
-						referencePerson.getFirstName(), referencePerson.getLastName(),
-						otherPerson.getFirstName(), otherPerson.getLastName())) {
-					currentMatching.add(otherPerson);
-					++duplicateCount;
-					// Consume the other person to avoid to be treated twice times
-					iterator2.remove();
+		// Normalize the names only once
+		final var names = new ArrayList<NormalizedPersonName>(total);
+		for (final var person : authorsList) {
+			names.add(this.nameComparator.normalize(person.getFirstName(), person.getLastName()));
+		}
+		final var index = new PersonNameBlockingIndex(names, this.nameComparator.getSimilarityLevel());
+
+		// Search for the similar names in parallel
+		final var similarNames = new int[total][];
+		final var executor = new ExecutorCompletionService<Integer>(ForkJoinPool.commonPool());
+		var batchCount = 0;
+		for (var start = 0; start < total; start += DUPLICATE_BATCH_SIZE) {
+			final var batchStart = start;
+			final var batchEnd = Math.min(total, start + DUPLICATE_BATCH_SIZE);
+			executor.submit(() -> {
+				var count = 0;
+				for (var i = batchStart; i < batchEnd; ++i) {
+					similarNames[i] = findSimilarNames(index, i);
+					count += similarNames[i].length;
 				}
-			}
-			if (currentMatching.size() > 1) {
-				matchingAuthors.add(currentMatching);
-			}
+				return Integer.valueOf(count);
+			});
+			++batchCount;
+		}
+		var processed = 0;
+		var similarityCount = 0;
+		for (var i = 0; i < batchCount; ++i) {
+			similarityCount += executor.take().get().intValue();
+			processed = Math.min(total, processed + DUPLICATE_BATCH_SIZE);
 			// Notify the callback
 			if (callback != null) {
-				callback.onDuplicate(i, duplicateCount, total);
+				callback.onDuplicate(processed, similarityCount, total);
 			}
 		}
 
+		// Build the groups of duplicates. A person that is already inside a group is not considered anymore.
+		final var consumed = new boolean[total];
+		var duplicateCount = 0;
+		for (var i = 0; i < total; ++i) {
+			if (!consumed[i] && similarNames[i].length > 0) {
+				final var currentMatching = new TreeSet<Person>(theComparator);
+				currentMatching.add(authorsList.get(i));
+				for (final var j : similarNames[i]) {
+					if (!consumed[j]) {
+						currentMatching.add(authorsList.get(j));
+						consumed[j] = true;
+						++duplicateCount;
+					}
+				}
+				if (currentMatching.size() > 1) {
+					matchingAuthors.add(currentMatching);
+				}
+			}
+		}
+		// Notify the callback
+		if (callback != null) {
+			callback.onDuplicate(total, duplicateCount, total);
+		}
+
 		return matchingAuthors;
 	}
 
+	/** Replies the positions of the names that are similar to the name at the given position, and located after it in the index.
+	 *
+	 * @param index the index of the names.
+	 * @param position the position of the reference name.
+	 * @return the positions of the similar names.
+	 */
+	private int[] findSimilarNames(PersonNameBlockingIndex index, int position) {
+		final var reference = index.get(position);
+		return Arrays.stream(index.getCandidatesAfter(position))
+				.filter(it -> this.nameComparator.isSimilar(reference, index.get(it)))
+				.toArray();
+	}
+
 	/** Merge the persons and authorships by replacing those with an old author name by those with the new author name.
 	 * This function enables to group the publications that are attached to two different author names
 	 * and select one of the name as the final author name.
@@ -203,6 +217,8 @@ public class PersonMergingService extends AbstractService {
 	/** Merge the persons and authorships by replacing those with an old author name by those with the new author name.
 	 * This function enables to group the publications that are attached to two different author names
 	 * and select one of the name as the final author name.
+	 * The references to the source persons are rewritten and the source persons are removed
+	 * in a single transaction.
 	 *
 	 * @param sources the list of persons to remove and replace by the target person.
 	 * @param target the target person who should replace the source persons.
@@ -211,211 +227,33 @@ public class PersonMergingService extends AbstractService {
 	public void mergePersons(Iterable<Person> sources, Person target) throws Exception {
 		assert target != null;
 		assert sources != null;
-		boolean changed = false;
+		final var sourceIds = new ArrayList<Long>();
 		for (final var source : sources) {
 			if (source.getId() != target.getId()) {
 				getLogger().info("Reassign to " + target.getFullName() + " the elements of " + source.getFullName()); //$NON-NLS-1$ //$NON-NLS-2$
-				var lchange = reassignPublications(source, target);
-				lchange = reassignOrganizationMemberships(source, target) || lchange;
-				lchange = reassignJuryMemberships(source, target) || lchange;
-				lchange = reassignSupervisions(source, target) || lchange;
-				lchange = reassignInvitations(source, target) || lchange;
-				lchange = reassignProjects(source, target) || lchange;
-				lchange = reassignAssociatedStructures(source, target) || lchange;
-				//
-				this.personService.removePerson(source.getId());
-				changed = changed || lchange;
-			}
-		}
-		if (changed) {
-			this.personRepository.save(target);
-		}
-	}
-
-	/** Re-assign the publication attached to the source person to the target person.
-	 * 
-	 * @param sources the person to remove and replace by the target person.
-	 * @param target the target person who should replace the source persons.
-	 * @return {@code true} if publication has changed.
-	 * @throws Exception if the change cannot be completed.
-	 */
-	@SuppressWarnings("static-method")
-	protected boolean reassignPublications(Person source, Person target) throws Exception {
-		final var autPubs = source.getAuthorships();
-		final var iterator = autPubs.iterator();
-		var changed = false;
-		while (iterator.hasNext()) {
-			final var authorship = iterator.next();
-			// Test if the target is co-author. If yes, don't do re-assignment to avoid
-			// the same person multiple times as author.
-			if (!authorship.getPublication().getAuthors().contains(target)) {
-				authorship.setPerson(target);
-				iterator.remove();
-				target.getAuthorships().add(authorship);
-				changed = true;
-			}
-		}
-		return changed;
-	}
-
-	/** Re-assign the organization memberships attached to the source person to the target person.
-	 * 
-	 * @param sources the person to remove and replace by the target person.
-	 * @param target the target person who should replace the source persons.
-	 * @return {@code true} if organization membership has changed.
-	 * @throws Exception if the change cannot be completed.
-	 */
-	protected boolean reassignOrganizationMemberships(Person source, Person target) throws Exception {
-		boolean changed = false;
-		for (final var membership : this.organizationMembershipService.getMembershipsForPerson(source.getId())) {
-			source.getMemberships().remove(membership);
-			membership.setPerson(target);
-			target.getMemberships().add(membership);
-			this.organizationMembershipRepository.save(membership);
-			changed = true;
-		}
-		return changed;
-	}
-
-	/** Re-assign the jury memberships attached to the source person to the target person.
-	 * 
-	 * @param sources the person to remove and replace by the target person.
-	 * @param target the target person who should replace the source persons.
-	 * @return {@code true} if jury membership has changed.
-	 * @throws Exception if the change cannot be completed.
-	 */
-	protected boolean reassignJuryMemberships(Person source, Person target) throws Exception {
-		final var changed = new TreeSet<>(EntityUtils.getPreferredJuryMembershipComparator());
-		for (final var jmembership : this.juryMembershipService.getMembershipsForPerson(source.getId())) {
-			jmembership.setPerson(target);
-			changed.add(jmembership);
-		}
-		for (final var jmembership : this.juryMembershipService.getMembershipsForCandidate(source.getId())) {
-			jmembership.setCandidate(target);
-			changed.add(jmembership);
-		}
-		for (final var jmembership : this.juryMembershipService.getMembershipsForPromoter(source.getId())) {
-			final List<Person> list = new ArrayList<>(jmembership.getPromoters());
-			list.remove(source);
-			list.add(target);
-			jmembership.setPromoters(list);
-			changed.add(jmembership);
-		}
-		if (changed.isEmpty()) {
-			return false;
-		}
-		for (final var mbr : changed) {
-			this.juryMembershipService.save(mbr);
-		}
-		return true;
-	}
-
-	/** Re-assign the supervisions attached to the source person to the target person.
-	 * 
-	 * @param sources the person to remove and replace by the target person.
-	 * @param target the target person who should replace the source persons.
-	 * @return {@code true} if supervision has changed.
-	 * @throws Exception if the change cannot be completed.
-	 */
-	protected boolean reassignSupervisions(Person source, Person target) throws Exception {
-		final var changed = new TreeSet<>(EntityUtils.getPreferredSupervisorComparator());
-		// Do not need to change the supervised person's membership because it is done by reassignJuryMemberships()
-		//
-		for (final var supervision : this.supervisionService.getSupervisionsForSupervisor(source.getId())) {
-			for (final var supervisor : supervision.getSupervisors()) {
-				if (supervisor.getSupervisor().getId() == source.getId()) {
-					supervisor.setSupervisor(target);
-					changed.add(supervisor);
-				}
+				sourceIds.add(Long.valueOf(source.getId()));
 			}
 		}
-		//
-		if (changed.isEmpty()) {
-			return false;
-		}
-		for (final var sup : changed) {
-			this.supervisionService.save(sup);
+		if (!sourceIds.isEmpty()) {
+			this.mergeEngine.mergePersons(Collections.singletonMap(Long.valueOf(target.getId()), sourceIds));
 		}
-		return true;
 	}
 
-	/** Re-assign the invitations attached to the source person to the target person.
-	 * 
-	 * @param sources the person to remove and replace by the target person.
-	 * @param target the target person who should replace the source persons.
-	 * @return {@code true} if invitation has changed.
-	 * @throws Exception if the change cannot be completed.
-	 */
-	protected boolean reassignInvitations(Person source, Person target) throws Exception {
-		final var changed = new TreeSet<>(EntityUtils.getPreferredPersonInvitationComparator());
-		for (final var invitation : this.invitationService.getInvitationsForPerson(source.getId())) {
-			if (invitation.getGuest().getId() == source.getId()) {
-				invitation.setGuest(target);
-				changed.add(invitation);
-			}
-			if (invitation.getInviter().getId() == source.getId()) {
-				invitation.setInviter(target);
-				changed.add(invitation);
-			}
-		}
-		//
-		if (changed.isEmpty()) {
-			return false;
-		}
-		for (final var inv : changed) {
-			this.invitationService.save(inv);
-		}
-		return true;
-	}
-
-	/** Re-assign the project members attached to the source person to the target person.
-	 * 
-	 * @param sources the person to remove and replace by the target person.
-	 * @param target the target person who should replace the source persons.
-	 * @return {@code true} if project has changed.
-	 * @throws Exception if the change cannot be completed.
-	 */
-	protected boolean reassignProjects(Person source, Person target) throws Exception {
-		final var changed = new ArrayList<ProjectMember>();
-		for (final var member : this.projectMemberRepository.findDistinctByPersonId(source.getId())) {
-			if (member.getPerson().getId() == source.getId()) {
-				member.setPerson(target);
-				changed.add(member);
-			}
-		}
-		//
-		if (changed.isEmpty()) {
-			return false;
-		}
-		for (final var mbr : changed) {
-			this.projectMemberRepository.save(mbr);
-		}
-		return true;
-	}
-
-	/** Re-assign the associated structure's holders attached to the source person to the target person.
-	 * 
-	 * @param sources the person to remove and replace by the target person.
-	 * @param target the target person who should replace the source persons.
-	 * @return {@code true} if associated structure has changed.
-	 * @throws Exception if the change cannot be completed.
+	/** Merge the groups of duplicate persons, and remove the source persons.
+	 * The groups are checked before any change in the database. Each group is merged in its own transaction,
+	 * in which the references to the source persons are rewritten with set-based updates instead of saving each
+	 * authorship, membership, jury membership or supervision separately, and the source persons are removed.
+	 *
+	 * @param groups the merge groups. Keys are the identifiers of the target persons; values are the identifiers of
+	 *     the source persons to be replaced by the target person.
+	 * @return the numbers of affected rows per relation.
+	 * @throws IllegalArgumentException if a person does not exist, or if the groups are overlapping or chained,
+	 *     i.e., the target of a group is the source of another group.
+	 * @throws Exception if the merging cannot be completed.
+	 * @since 4.1
 	 */
-	protected boolean reassignAssociatedStructures(Person source, Person target) throws Exception {
-		final var changed = new ArrayList<AssociatedStructureHolder>();
-		for (final var holder : this.structureHolderRepository.findDistinctByPersonId(source.getId())) {
-			if (holder.getPerson().getId() == source.getId()) {
-				holder.setPerson(target);
-				changed.add(holder);
-			}
-		}
-		//
-		if (changed.isEmpty()) {
-			return false;
-		}
-		for (final var holder : changed) {
-			this.structureHolderRepository.save(holder);
-		}
-		return true;
+	public MergeReport mergePersonGroups(Map<Long, ? extends Collection<Long>> groups) throws Exception {
+		return this.mergeEngine.mergePersons(groups);
 	}
 
 	/** Callback that is invoked when building the list of duplicate persons.
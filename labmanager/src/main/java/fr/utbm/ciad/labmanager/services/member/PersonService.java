@@ -31,17 +31,20 @@ import fr.utbm.ciad.labmanager.data.publication.AuthorshipRepository;
 import fr.utbm.ciad.labmanager.data.publication.PublicationRepository;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
 import fr.utbm.ciad.labmanager.services.DeletionStatus;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.utils.HasAsynchronousUploadService;
 import fr.utbm.ciad.labmanager.utils.io.gscholar.GoogleScholarPlatform;
 import fr.utbm.ciad.labmanager.utils.io.gscholar.GoogleScholarPlatform.GoogleScholarPerson;
+import fr.utbm.ciad.labmanager.utils.io.network.DownloadEngine;
+import fr.utbm.ciad.labmanager.utils.io.network.DownloadEngine.DownloadTask;
 import fr.utbm.ciad.labmanager.utils.io.scopus.ScopusPlatform;
 import fr.utbm.ciad.labmanager.utils.io.scopus.ScopusPlatform.ScopusPerson;
 import fr.utbm.ciad.labmanager.utils.io.wos.WebOfSciencePlatform;
 import fr.utbm.ciad.labmanager.utils.io.wos.WebOfSciencePlatform.WebOfSciencePerson;
 import fr.utbm.ciad.labmanager.utils.names.PersonNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.PersonNameIndex;
 import fr.utbm.ciad.labmanager.utils.names.PersonNameParser;
 import fr.utbm.ciad.labmanager.utils.phone.PhoneNumber;
-import org.apache.commons.lang3.mutable.MutableInt;
 import org.arakhne.afc.progress.DefaultProgression;
 import org.arakhne.afc.progress.Progression;
 import org.hibernate.Hibernate;
@@ -60,6 +63,10 @@ import java.io.Serializable;
 import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.regex.Pattern;
 
 /** Service for managing the persons.
@@ -73,6 +80,12 @@ import java.util.regex.Pattern;
 @Service
 public class PersonService extends AbstractEntityService<Person> {
 
+	private static final String WOS_HOST = "www.webofscience.com"; //$NON-NLS-1$
+
+	private static final String SCOPUS_HOST = "www.scopus.com"; //$NON-NLS-1$
+
+	private static final String GSCHOLAR_HOST = "scholar.google.com"; //$NON-NLS-1$
+
 	private PublicationRepository publicationRepository;
 
 	private AuthorshipRepository authorshipRepository;
@@ -87,8 +100,14 @@ public class PersonService extends AbstractEntityService<Person> {
 
 	private WebOfSciencePlatform wosPlatform;
 
+	private DownloadEngine downloadEngine;
+
 	private PersonNameComparator personNameComparator;
 
+	private PersonNameIndex nameIndex;
+
+	private EntityKeywordIndexService keywordIndexService;
+
 	/** Constructor for injector.
 	 * This constructor is defined for being invoked by the IOC injector.
 	 *
@@ -98,6 +117,7 @@ public class PersonService extends AbstractEntityService<Person> {
 	 * @param googlePlatfom the tool for accessing the remote Google Scholar platform.
 	 * @param scopusPlatfom the tool for accessing the remote Scopus platform.
 	 * @param wosPlatfom the tool for accessing the remote WoS platform.
+	 * @param downloadEngine the engine for running the downloads from the remote platforms concurrently.
 	 * @param nameParser the parser of person names.
 	 * @param personNameComparator the comparator of person names.
 	 * @param structureService the service for accessing the associated structures.
@@ -107,6 +127,7 @@ public class PersonService extends AbstractEntityService<Person> {
 	 * @param projectService the service for accessing the projects.
 	 * @param supervisionService the service for accessing the student supervisions.
 	 * @param teachingService the service for accessing the teaching activities.
+	 * @param keywordIndexService the service for the keyword search of the persons.
 	 * @param messages the provider of localized messages.
 	 * @param constants the accessor to the live constants.
 	 * @param sessionFactory the Hibernate session factory.
@@ -118,22 +139,38 @@ public class PersonService extends AbstractEntityService<Person> {
 			@Autowired GoogleScholarPlatform googlePlatfom,
 			@Autowired ScopusPlatform scopusPlatfom,
 			@Autowired WebOfSciencePlatform wosPlatfom,
+			@Autowired DownloadEngine downloadEngine,
 			@Autowired PersonNameParser nameParser,
 			@Autowired PersonNameComparator personNameComparator,
+			@Autowired EntityKeywordIndexService keywordIndexService,
 			@Autowired MessageSourceAccessor messages,
 			@Autowired Constants constants,
 			@Autowired SessionFactory sessionFactory) {
 		super(messages, constants, sessionFactory);
+		this.keywordIndexService = keywordIndexService;
 		this.publicationRepository = publicationRepository;
 		this.authorshipRepository = authorshipRepository;
 		this.personRepository = personRepository;
 		this.googlePlatform = googlePlatfom;
 		this.scopusPlatform = scopusPlatfom;
 		this.wosPlatform = wosPlatfom;
+		this.downloadEngine = downloadEngine;
 		this.nameParser = nameParser;
 		this.personNameComparator = personNameComparator;
 	}
 
+	/** Replies the identifiers of the persons that contain each of the given keywords in at least one of the given fields.
+	 * The search is done with the in-memory keyword index instead of the database.
+	 *
+	 * @param keywords the keywords to search for, separated by spaces.
+	 * @param fields the names of the fields in which the keywords are searched for, e.g. {@link EntityKeywordIndexService#NAME_FIELD}.
+	 * @return the identifiers of the matching persons.
+	 * @since 4.1
+	 */
+	public Set<Long> findIdentifiersByKeywords(String keywords, Collection<String> fields) {
+		return this.keywordIndexService.search(Person.class, keywords, fields);
+	}
+
 	public Long countAllPersons() {
 		return this.personRepository.count();
 	}
@@ -225,32 +262,71 @@ public class PersonService extends AbstractEntityService<Person> {
 		return page;
 	}
 
+	private Page<Person> getPersonsByKeywords(String keywords, String field, String organization, Pageable pageable,
+			Supplier<Page<Person>> likeQuery) {
+		final var ids = findIdentifiersByKeywords(keywords, Collections.singleton(field));
+		if (ids.isEmpty()) {
+			return Page.empty(pageable);
+		}
+		// A too long list of identifiers is slower than the LIKE query
+		if (!EntityKeywordIndexService.isQueryable(ids)) {
+			return likeQuery.get();
+		}
+		if (organization == null) {
+			return this.personRepository.findAllByIdIn(ids, pageable);
+		}
+		return this.personRepository.findAllByIdIn(ids, organization, pageable);
+	}
+
+	private long countPersonsByKeywords(String keywords, String field, String organization, LongSupplier likeQuery) {
+		final var ids = findIdentifiersByKeywords(keywords, Collections.singleton(field));
+		if (ids.isEmpty()) {
+			return 0l;
+		}
+		// The count must be consistent with the query that replies the persons
+		if (!EntityKeywordIndexService.isQueryable(ids)) {
+			return likeQuery.getAsLong();
+		}
+		if (organization == null) {
+			return ids.size();
+		}
+		return this.personRepository.countByIdIn(ids, organization);
+	}
+
 	public Page<Person> getPersonsByName(String name, Pageable pageable) {
-		return this.personRepository.findByName(name, pageable);
+		return getPersonsByKeywords(name, EntityKeywordIndexService.NAME_FIELD, null, pageable,
+				() -> this.personRepository.findByName(name, pageable));
 	}
 	public Page<Person> getPersonsByName(String name, String organization, Pageable pageable) {
-		return this.personRepository.findByName(name, organization, pageable);
+		return getPersonsByKeywords(name, EntityKeywordIndexService.NAME_FIELD, organization, pageable,
+				() -> this.personRepository.findByName(name, organization, pageable));
 	}
 
 	public long countPersonsByName(String name) {
-		return this.personRepository.countFindByName(name);
+		return countPersonsByKeywords(name, EntityKeywordIndexService.NAME_FIELD, null,
+				() -> this.personRepository.countFindByName(name));
 	}
 	public long countPersonsByName(String name, String organization) {
-		return this.personRepository.countFindByName(name, organization);
+		return countPersonsByKeywords(name, EntityKeywordIndexService.NAME_FIELD, organization,
+				() -> this.personRepository.countFindByName(name, organization));
 	}
 
 	public Page<Person> getPersonsByOrcid(String orcid, Pageable pageable) {
-		return this.personRepository.findByOrcid(orcid, pageable);
+		return getPersonsByKeywords(orcid, EntityKeywordIndexService.ORCID_FIELD, null, pageable,
+				() -> this.personRepository.findByOrcid(orcid, pageable));
 	}
 	public Page<Person> getPersonsByOrcid(String orcid, String organization, Pageable pageable) {
-		return this.personRepository.findByOrcid(orcid, organization, pageable);
+		return getPersonsByKeywords(orcid, EntityKeywordIndexService.ORCID_FIELD, organization, pageable,
+				() -> this.personRepository.findByOrcid(orcid, organization, pageable));
 	}
 
 	public long countPersonsByOrcid(String orcid) {
-		return this.personRepository.countFindByOrcid(orcid);
+		return countPersonsByKeywords(orcid, EntityKeywordIndexService.ORCID_FIELD, null,
+				() -> this.personRepository.countFindByOrcid(orcid));
 	}
 	public long countPersonsByOrcid(String orcid, String organization) {
-		return this.personRepository.countFindByOrcid(orcid, organization);
+		return countPersonsByKeywords(orcid, EntityKeywordIndexService.ORCID_FIELD, organization,
+				() -> this.personRepository.countFindByOrcid(orcid, organization));
 	}
 
 	public Page<Person> getPersonsByOrganization(String organization, Pageable pageable) {
@@ -397,11 +473,13 @@ public class PersonService extends AbstractEntityService<Person> {
 		res.setScopusCitations(scopusCitations);
 		res.setValidated(validated);
 		this.personRepository.save(res);
+		indexPersonName(res);
 		return res;
 	}
 
 	/** Download the person indicators from the WoS platform.
 	 * This function uses the {@link WosPlatform} tool for downloading the indicators.
+	 * The indicators of the different persons are downloaded concurrently by the {@link DownloadEngine}.
 	 *
 	 * @param persons the list of persons for who the indicators should be downloaded.
 	 * @param progress the progression monitor.
@@ -411,38 +489,18 @@ public class PersonService extends AbstractEntityService<Person> {
 	 */
 	@Transactional(readOnly = true)
 	public void downloadPersonIndicatorsFromWoS(List<Person> persons, Progression progress, PersonRankingConsumer consumer) {
-		final var progress0 = progress == null ? new DefaultProgression() : progress; 
-		progress0.setProperties(0, 0, persons.size() * 2, false);
-		for (final var person : persons) {
-			progress0.setComment(person.getFullName());
-			final var wosURL = person.getResearcherIdURL();
-			if (wosURL != null) {
-				final var lastHindex = person.getWosHindex();
-				final var lastCitations = person.getWosCitations();
-				WebOfSciencePerson rankings = null;
-				try {
-					rankings = this.wosPlatform.getPersonRanking(wosURL, progress0.subTask(1));
-				} catch (Throwable ex) {
-					rankings = null;
-				}
-				progress0.ensureNoSubTask();
-				if (rankings != null) {
-					final var currentHindex = rankings.hindex;
-					final var currentCitations = rankings.citations;
-					consumer.consume(person.getId(), lastHindex, currentHindex, lastCitations, currentCitations);
-				} else {
-					consumer.consume(person.getId(), lastHindex, 0, lastCitations, 0);
-				}
-				progress0.increment();
-			} else {
-				progress0.subTask(2);
-			}
-		}
-		progress0.end();
+		downloadPersonIndicators(WOS_HOST, persons, progress, consumer,
+				it -> it.getResearcherIdURL() != null,
+				it -> {
+					final WebOfSciencePerson rankings = this.wosPlatform.getPersonRanking(it.getResearcherIdURL(), null);
+					return rankings == null ? null : new int[] {rankings.hindex, rankings.citations};
+				},
+				Person::getWosHindex, Person::getWosCitations);
 	}
 
 	/** Download the person indicators from the Scopus platform.
 	 * This function uses the {@link ScopusPlatform} tool for downloading the indicators.
+	 * The indicators of the different persons are downloaded concurrently by the {@link DownloadEngine}.
 	 *
 	 * @param persons the list of persons for who the indicators should be downloaded.
 	 * @param progress the progression monitor.
@@ -452,38 +510,18 @@ public class PersonService extends AbstractEntityService<Person> {
 	 */
 	@Transactional(readOnly = true)
 	public void downloadPersonIndicatorsFromScopus(List<Person> persons, Progression progress, PersonRankingConsumer consumer) {
-		final var progress0 = progress == null ? new DefaultProgression() : progress; 
-		progress0.setProperties(0, 0, persons.size() * 2, false);
-		for (final var person : persons) {
-			progress0.setComment(person.getFullName());
-			final var scopusId = person.getScopusId();
-			if (!Strings.isNullOrEmpty(scopusId)) {
-				final var lastHindex = person.getScopusHindex();
-				final var lastCitations = person.getScopusCitations();
-				ScopusPerson rankings = null;
-				try {
-					rankings = this.scopusPlatform.getPersonRanking(scopusId, progress0.subTask(1));
-				} catch (Throwable ex) {
-					rankings = null;
-				}
-				progress0.ensureNoSubTask();
-				if (rankings != null) {
-					final var currentHindex = rankings.hindex;
-					final var currentCitations = rankings.citations;
-					consumer.consume(person.getId(), lastHindex, currentHindex, lastCitations, currentCitations);
-				} else {
-					consumer.consume(person.getId(), lastHindex, 0, lastCitations, 0);
-				}
-				progress0.increment();
-			} else {
-				progress0.subTask(2);
-			}
-		}
-		progress0.end();
+		downloadPersonIndicators(SCOPUS_HOST, persons, progress, consumer,
+				it -> !Strings.isNullOrEmpty(it.getScopusId()),
+				it -> {
+					final ScopusPerson rankings = this.scopusPlatform.getPersonRanking(it.getScopusId(), null);
+					return rankings == null ? null : new int[] {rankings.hindex, rankings.citations};
+				},
+				Person::getScopusHindex, Person::getScopusCitations);
 	}
 
 	/** Download the person indicators from the Google Scholar platform.
 	 * This function uses the {@link GoogleScholarPlatform} tool for downloading the indicators.
+	 * The indicators of the different persons are downloaded concurrently by the {@link DownloadEngine}.
 	 *
 	 * @param persons the list of persons for who the indicators should be downloaded.
 	 * @param progress the progression monitor.
@@ -493,34 +531,46 @@ public class PersonService extends AbstractEntityService<Person> {
 	 */
 	@Transactional(readOnly = true)
 	public void downloadPersonIndicatorsFromGoogleScholar(List<Person> persons, Progression progress, PersonRankingConsumer consumer) {
+		downloadPersonIndicators(GSCHOLAR_HOST, persons, progress, consumer,
+				it -> it.getGoogleScholarURL() != null,
+				it -> {
+					final GoogleScholarPerson rankings = this.googlePlatform.getPersonRanking(it.getGoogleScholarURL(), null);
+					return rankings == null ? null : new int[] {rankings.hindex, rankings.citations};
+				},
+				Person::getGoogleScholarHindex, Person::getGoogleScholarCitations);
+	}
+
+	/** Download the person indicators from a remote platform.
+	 * If the indicators of a person cannot be downloaded, the new indicators are equal to {@code 0}.
+	 *
+	 * @param host the name of the remote host, used for limiting the rate of the requests.
+	 * @param persons the list of persons for who the indicators should be downloaded.
+	 * @param progress the progression monitor.
+	 * @param consumer the consumer of the person ranking information.
+	 * @param hasProfile indicates if a person has a profile on the remote platform.
+	 * @param task the download task that replies the H-index and the number of citations for a person.
+	 * @param knownHindex the accessor to the known H-index of a person.
+	 * @param knownCitations the accessor to the known number of citations of a person.
+	 */
+	private void downloadPersonIndicators(String host, List<Person> persons, Progression progress, PersonRankingConsumer consumer,
+			Predicate<Person> hasProfile, DownloadTask<Person, int[]> task,
+			ToIntFunction<Person> knownHindex, ToIntFunction<Person> knownCitations) {
 		final var progress0 = progress == null ? new DefaultProgression() : progress; 
-		progress0.setProperties(0, 0, persons.size() * 2, false);
-		for (final var person : persons) {
-			progress0.setComment(person.getFullName());
-			final var gsURL = person.getGoogleScholarURL();
-			if (gsURL != null) {
-				final var lastHindex = person.getGoogleScholarHindex();
-				final var lastCitations = person.getGoogleScholarCitations();
-				GoogleScholarPerson rankings = null;
-				try {
-					rankings = this.googlePlatform.getPersonRanking(gsURL, progress0.subTask(1));
-				} catch (Throwable ex) {
-					rankings = null;
-				}
-				progress0.ensureNoSubTask();
+		final var profiles = persons.stream().filter(hasProfile).toList();
+		try {
+			this.downloadEngine.download(host, profiles, task, (person, rankings, error) -> {
+				progress0.setComment(person.getFullName());
 				if (rankings != null) {
-					final var currentHindex = rankings.hindex;
-					final var currentCitations = rankings.citations;
-					consumer.consume(person.getId(), lastHindex, currentHindex, lastCitations, currentCitations);
+					consumer.consume(person.getId(), knownHindex.applyAsInt(person), rankings[0], knownCitations.applyAsInt(person), rankings[1]);
 				} else {
-					consumer.consume(person.getId(), lastHindex, 0, lastCitations, 0);
+					consumer.consume(person.getId(), knownHindex.applyAsInt(person), 0, knownCitations.applyAsInt(person), 0);
 				}
-				progress0.increment();
-			} else {
-				progress0.subTask(2);
-			}
+			}, progress0);
+		} catch (RuntimeException ex) {
+			throw ex;
+		} catch (Exception ex) {
+			throw new RuntimeException(ex);
 		}
-		progress0.end();
 	}
 
 	/** Update the persons indicators according to the given inputs.
@@ -647,6 +697,7 @@ public class PersonService extends AbstractEntityService<Person> {
 			person.setScopusCitations(scopusCitations);
 			person.setValidated(validated);
 			this.personRepository.save(person);
+			indexPersonName(person);
 			return person;
 		}
 		return null;
@@ -688,6 +739,7 @@ public class PersonService extends AbstractEntityService<Person> {
 			person.deleteAllAuthorships();
 			this.personRepository.save(person);
 			this.personRepository.deleteById(id);
+			unindexPersonName(identifier);
 			return person;
 		}
 		return null;
@@ -711,10 +763,68 @@ public class PersonService extends AbstractEntityService<Person> {
 		return 0;
 	}
 
+	/** Replies the index of the person names. The index is built from the database at the first call.
+	 *
+	 * @return the index of names.
+	 * @since 4.1
+	 */
+	protected PersonNameIndex getNameIndex() {
+		synchronized (this) {
+			if (this.nameIndex == null) {
+				final var index = new PersonNameIndex(this.personNameComparator);
+				for (final var idAndName : this.personRepository.findAllIdentifiersAndNames()) {
+					index.put(((Number) idAndName[0]).longValue(), (String) idAndName[1], (String) idAndName[2]);
+				}
+				this.nameIndex = index;
+			}
+			return this.nameIndex;
+		}
+	}
+
+	/** Force the index of the person names to be rebuilt from the database at the next search of similar names.
+	 * This function should be invoked when the persons are changed without using this service.
+	 *
+	 * @since 4.1
+	 */
+	public void resetNameIndex() {
+		synchronized (this) {
+			this.nameIndex = null;
+		}
+	}
+
+	/** Update the index of the person names with the name of the given person.
+	 * This function should be invoked when a person is created or renamed without using this service.
+	 * If the index is not built yet, this function does nothing.
+	 *
+	 * @param person the saved person.
+	 * @since 4.1
+	 */
+	public void indexPersonName(Person person) {
+		synchronized (this) {
+			if (this.nameIndex != null && person.getId() != 0l) {
+				this.nameIndex.put(person.getId(), person.getFirstName(), person.getLastName());
+			}
+		}
+	}
+
+	/** Remove the person with the given identifier from the index of the person names.
+	 * If the index is not built yet, this function does nothing.
+	 *
+	 * @param id the identifier of the removed person.
+	 */
+	private void unindexPersonName(long id) {
+		synchronized (this) {
+			if (this.nameIndex != null) {
+				this.nameIndex.remove(id);
+			}
+		}
+	}
+
 	/** Replies the database identifier for the person with a similar name to the givan last name and givan first name.
-	 * If there is multiple persons with similar last name and first name, one is replied.
+	 * If there is multiple persons with similar last name and first name, the most similar one is replied.
 	 * <p>The name matching is based on similarity of names.
 	 * For using a strict equality test on the names, see {@link #getPersonIdByName(String, String)}.
+	 * This function does not access to the database, except for building the index of names at the first call.
 	 *
 	 * @param firstName the first name of the person.
 	 * @param lastName the last name of the person.
@@ -722,15 +832,37 @@ public class PersonService extends AbstractEntityService<Person> {
 	 * @see #getPersonIdByName(String, String)
 	 */
 	public long getPersonIdBySimilarName(String firstName, String lastName) {
-		final var person = getPersonBySimilarName(firstName, lastName);
-		if (person != null) {
-			return person.getId();
+		if (!Strings.isNullOrEmpty(firstName) || !Strings.isNullOrEmpty(lastName)) {
+			return getNameIndex().findMostSimilar(firstName, lastName);
 		}
 		return 0;
 	}
 
+	/** Replies the database identifiers for the persons with similar names to the given names.
+	 * The names are resolved in one pass on the index of the person names, without accessing to the database,
+	 * except for building the index of names at the first call.
+	 *
+	 * @param names the names to search for. Each element is an array with the first name at index {@code 0} and
+	 *     the last name at index {@code 1}.
+	 * @return the identifiers, in the same order as the given names. An identifier is {@code 0} if no person has
+	 *     a name similar to the corresponding searched name.
+	 * @since 4.1
+	 * @see #getPersonIdBySimilarName(String, String)
+	 */
+	public long[] getPersonIdsBySimilarNames(List<String[]> names) {
+		final var result = getNameIndex().findMostSimilar(names);
+		var i = 0;
+		for (final var name : names) {
+			if (Strings.isNullOrEmpty(name[0]) && Strings.isNullOrEmpty(name[1])) {
+				result[i] = 0;
+			}
+			++i;
+		}
+		return result;
+	}
+
 	/** Replies the person with a similar name to the givan last name and givan first name.
-	 * If there is multiple persons with similar last name and first name, one is replied.
+	 * If there is multiple persons with similar last name and first name, the most similar one is replied.
 	 * <p>The name matching is based on similarity of names.
 	 * For using a strict equality test on the names, see {@link #getPersonIdByName(String, String)}.
 	 *
@@ -740,12 +872,9 @@ public class PersonService extends AbstractEntityService<Person> {
 	 * @see #getPersonIdBySimilarName(String, String)
 	 */
 	public Person getPersonBySimilarName(String firstName, String lastName) {
-		if (!Strings.isNullOrEmpty(firstName) || !Strings.isNullOrEmpty(lastName)) {
-			for (final var person : this.personRepository.findAll()) {
-				if (this.personNameComparator.isSimilar(firstName, lastName, person.getFirstName(), person.getLastName())) {
-					return person;
-				}
-			}
+		final var id = getPersonIdBySimilarName(firstName, lastName);
+		if (id != 0) {
+			return this.personRepository.findById(Long.valueOf(id)).orElse(null);
 		}
 		return null;
 	}
@@ -756,6 +885,7 @@ public class PersonService extends AbstractEntityService<Person> {
 	 * list of authors contains a known author, this person is read from the database.
 	 * If the author is unknown, a {@link Person} object is created but not saved into the
 	 * database.
+	 * <p>All the names are resolved before loading the known persons from the database with a single query.
 	 * 
 	 * @param authorText the list of authors to parse.
 	 * @param useNameSimilarity indicates of the member search from their name is based on similar names, if {@code true};
@@ -769,8 +899,7 @@ public class PersonService extends AbstractEntityService<Person> {
 	 * @see #containsAMember(List)
 	 */
 	public List<Person> extractPersonsFrom(String authorText, boolean useNameSimilarity, boolean assignRandomId, boolean ensureAtLeastOneMember) {
-		final var memberCount = new MutableInt();
-		final var persons = new ArrayList<Person>();
+		final var names = new ArrayList<String[]>();
 		this.nameParser.parseNames(authorText, (fn, von, ln, pos) -> {
 			// Build last name
 			final var firstname = new StringBuilder();
@@ -779,37 +908,65 @@ public class PersonService extends AbstractEntityService<Person> {
 				firstname.append(" "); //$NON-NLS-1$
 				firstname.append(von);
 			}
-			//
-			final long id;
-			if (useNameSimilarity) {
-				id = getPersonIdBySimilarName(firstname.toString(), ln);
-			} else {
-				id = getPersonIdByName(firstname.toString(), ln);
-			}
-			Person person = null;
-			if (id != 0) {
-				person = getPersonById(id);
-			}
+			names.add(new String[] {firstname.toString(), ln});
+		});
+		//
+		final long[] ids;
+		if (useNameSimilarity) {
+			ids = getPersonIdsBySimilarNames(names);
+		} else {
+			ids = names.stream().mapToLong(it -> getPersonIdByName(it[0], it[1])).toArray();
+		}
+		final var knownPersons = loadPersons(ids);
+		//
+		var memberCount = 0;
+		final var persons = new ArrayList<Person>(names.size());
+		var i = 0;
+		for (final var name : names) {
+			var person = knownPersons.get(Long.valueOf(ids[i]));
 			if (person == null) {
 				person = new Person();
-				person.setFirstName(firstname.toString());
-				person.setLastName(ln);
+				person.setFirstName(name[0]);
+				person.setLastName(name[1]);
 				if (assignRandomId) {
 					person.setId(generateUUID().intValue());
 				}
 			} else {
-				memberCount.increment();
+				++memberCount;
 			}
 			persons.add(person);
-		});
-		if (ensureAtLeastOneMember && memberCount.intValue() <= 0) {
+			++i;
+		}
+		if (ensureAtLeastOneMember && memberCount <= 0) {
 			throw new IllegalArgumentException("The list of the authors does not contain a member of a known research organization."); //$NON-NLS-1$
 		}
 		return persons;
 	}
 
+	/** Load the persons with the given identifiers with a single query.
+	 *
+	 * @param ids the identifiers of the persons. The identifiers equal to {@code 0} are ignored.
+	 * @return the map from the identifiers to the persons.
+	 */
+	private Map<Long, Person> loadPersons(long[] ids) {
+		final var idSet = new TreeSet<Long>();
+		for (final var id : ids) {
+			if (id != 0) {
+				idSet.add(Long.valueOf(id));
+			}
+		}
+		final var persons = new HashMap<Long, Person>();
+		if (!idSet.isEmpty()) {
+			for (final var person : this.personRepository.findAllById(idSet)) {
+				persons.put(Long.valueOf(person.getId()), person);
+			}
+		}
+		return persons;
+	}
+
 	/** Replies if the given list of authors contains at least one person who is associated to a research organization,
 	 * i.e., with a membership. The name similarity is used for searching the members based on their names.
+	 * <p>All the names are resolved before loading the known persons from the database with a single query.
 	 *
 	 * @param authors the list of authors. It is a list of database identifiers (for known persons) and full name
 	 *     (for unknown persons).
@@ -819,39 +976,44 @@ public class PersonService extends AbstractEntityService<Person> {
 	 */
 	public boolean containsAMember(List<String> authors, boolean useNameSimilarity) {
 		final var idPattern = Pattern.compile("\\d+"); //$NON-NLS-1$
-		try {
-			for (final var author : authors) {
-				if (author != null) {
-					var authorId = 0l;
-					if (idPattern.matcher(author).matches()) {
-						// Numeric value means that the person is known.
-						try {
-							authorId = Integer.parseInt(author);
-						} catch (Throwable ex) {
-							// Silent
-						}
-					}
-					if (authorId == 0) {
-						// The author seems to be not in the database already. Check it based on the name.
-						final var firstName = this.nameParser.parseFirstName(author);
-						final var lastName = this.nameParser.parseLastName(author);
-						if (useNameSimilarity) {
-							authorId = getPersonIdBySimilarName(firstName, lastName);
-						} else {
-							authorId = getPersonIdByName(firstName, lastName);
-						}
-					}
-					if (authorId != 0) {
-						// Check if the given author identifier corresponds to a known person with memberships.
-						final var optPers = this.personRepository.findById(Long.valueOf(authorId));
-						if (optPers.isPresent() && !optPers.get().getMemberships().isEmpty()) {
-							throw new SuccessException();
-						}
+		final var ids = new ArrayList<Long>();
+		final var names = new ArrayList<String[]>();
+		for (final var author : authors) {
+			if (author != null) {
+				var authorId = 0l;
+				if (idPattern.matcher(author).matches()) {
+					// Numeric value means that the person is known.
+					try {
+						authorId = Integer.parseInt(author);
+					} catch (Throwable ex) {
+						// Silent
 					}
 				}
+				if (authorId != 0) {
+					ids.add(Long.valueOf(authorId));
+				} else {
+					// The author seems to be not in the database already. Check it based on the name.
+					names.add(new String[] {this.nameParser.parseFirstName(author), this.nameParser.parseLastName(author)});
+				}
+			}
+		}
+		if (!names.isEmpty()) {
+			final long[] nameIds;
+			if (useNameSimilarity) {
+				nameIds = getPersonIdsBySimilarNames(names);
+			} else {
+				nameIds = names.stream().mapToLong(it -> getPersonIdByName(it[0], it[1])).toArray();
+			}
+			for (final var id : nameIds) {
+				ids.add(Long.valueOf(id));
+			}
+		}
+		// Check if the given author identifiers correspond to known persons with memberships.
+		final var persons = loadPersons(ids.stream().mapToLong(it -> it.longValue()).toArray());
+		for (final var person : persons.values()) {
+			if (!person.getMemberships().isEmpty()) {
+				return true;
 			}
-		} catch (SuccessException ex) {
-			return true;
 		}
 		return false;
 	}
@@ -1088,6 +1250,7 @@ public class PersonService extends AbstractEntityService<Person> {
 		@Override
 		public void save(HasAsynchronousUploadService... components) throws IOException {
 			this.entity = PersonService.this.personRepository.save(this.entity);
+			PersonService.this.indexPersonName(this.entity);
 		}
 
 		@Override
@@ -1154,6 +1317,9 @@ public class PersonService extends AbstractEntityService<Person> {
 		@Override
 		protected void deleteEntities(Collection<Long> identifiers) throws Exception {
 			PersonService.this.personRepository.deleteAllById(identifiers);
+			for (final var id : identifiers) {
+				PersonService.this.unindexPersonName(id.longValue());
+			}
 		}
 
 	}
@@ -1197,23 +1363,6 @@ public class PersonService extends AbstractEntityService<Person> {
 
 	}
 
-	/** Internal exception
-	 * 
-	 * @author $Author: sgalland$
-	 * @version $Name$ $Revision$ $Date$
-	 * @mavengroupid $GroupId$
-	 * @mavenartifactid $ArtifactId$
-	 */
-	private static class SuccessException extends RuntimeException {
-
-		private static final long serialVersionUID = -2814067417193916087L;
-
-		SuccessException() {
-			//
-		}
-
-	}
-
 	/** Consumer of person ranking information with H-index and citations.
 	 * 
 	 * @author $Author: sgalland$
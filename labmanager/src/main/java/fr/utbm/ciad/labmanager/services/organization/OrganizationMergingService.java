@@ -21,14 +21,12 @@ package fr.utbm.ciad.labmanager.services.organization;
 
 import fr.utbm.ciad.labmanager.configuration.Constants;
 import fr.utbm.ciad.labmanager.data.EntityUtils;
-import fr.utbm.ciad.labmanager.data.assostructure.AssociatedStructureHolderRepository;
-import fr.utbm.ciad.labmanager.data.assostructure.AssociatedStructureRepository;
-import fr.utbm.ciad.labmanager.data.member.MembershipRepository;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationComparator;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
-import fr.utbm.ciad.labmanager.data.project.ProjectRepository;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
+import fr.utbm.ciad.labmanager.services.BulkMergeEngine;
+import fr.utbm.ciad.labmanager.services.BulkMergeEngine.MergeReport;
 import fr.utbm.ciad.labmanager.utils.names.OrganizationNameComparator;
 import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,13 +50,7 @@ public class OrganizationMergingService extends AbstractEntityService<ResearchOr
 
 	private final ResearchOrganizationRepository organizationRepository;
 
-	private final MembershipRepository membershipRepository;
-
-	private final ProjectRepository projectRepository;
-
-	private final AssociatedStructureRepository structureRepository;
-
-	private final AssociatedStructureHolderRepository structureHolderRepository;
+	private final BulkMergeEngine mergeEngine;
 
 	private OrganizationNameComparator nameComparator;
 
@@ -67,10 +59,7 @@ public class OrganizationMergingService extends AbstractEntityService<ResearchOr
 	 *
 	 * @param organizationService the organization service.
 	 * @param organizationRepository the organization repository.
-	 * @param membershipRepository the repository of the organization memberships.
-	 * @param projectRepository the repository of the projects.
-	 * @param structureRepository the repository of the associated structures.
-	 * @param structureHolderRepository the repository of the associated structures' holders.
+	 * @param mergeEngine the engine for rewriting the references to the merged organizations.
 	 * @param nameComparator the comparator of organization names.
 	 * @param messages the provider of localized messages.
 	 * @param constants the accessor to the live constants.
@@ -79,10 +68,7 @@ public class OrganizationMergingService extends AbstractEntityService<ResearchOr
 	public OrganizationMergingService(
 			@Autowired ResearchOrganizationService organizationService,
 			@Autowired ResearchOrganizationRepository organizationRepository,
-			@Autowired MembershipRepository membershipRepository,
-			@Autowired ProjectRepository projectRepository,
-			@Autowired AssociatedStructureRepository structureRepository,
-			@Autowired AssociatedStructureHolderRepository structureHolderRepository,
+			@Autowired BulkMergeEngine mergeEngine,
 			@Autowired OrganizationNameComparator nameComparator,
 			@Autowired MessageSourceAccessor messages,
 			@Autowired Constants constants,
@@ -90,10 +76,7 @@ public class OrganizationMergingService extends AbstractEntityService<ResearchOr
 		super(messages, constants, sessionFactory);
 		this.organizationService = organizationService;
 		this.organizationRepository = organizationRepository;
-		this.membershipRepository = membershipRepository;
-		this.projectRepository = projectRepository;
-		this.structureRepository = structureRepository;
-		this.structureHolderRepository = structureHolderRepository;
+		this.mergeEngine = mergeEngine;
 		this.nameComparator = nameComparator;
 	}
 
@@ -181,6 +164,8 @@ public class OrganizationMergingService extends AbstractEntityService<ResearchOr
 	}
 
 	/** Merge the entities by replacing those with an old organization by those with the new organization.
+	 * The references to the source organizations are rewritten and the source organizations are removed
+	 * in a single transaction.
 	 *
 	 * @param sources the list of organizations to remove and replace by the target organization.
 	 * @param target the target organization who should replace the source organizations.
@@ -189,137 +174,32 @@ public class OrganizationMergingService extends AbstractEntityService<ResearchOr
 	public void mergeOrganizations(Iterable<ResearchOrganization> sources, ResearchOrganization target) throws Exception {
 		assert target != null;
 		assert sources != null;
-		var changed = false;
+		final var sourceIds = new ArrayList<Long>();
 		for (final var source : sources) {
 			if (source.getId() != target.getId()) {
 				getLogger().info("Reassign to " + target.getAcronymOrName() + " the elements of " + source.getAcronymOrName()); //$NON-NLS-1$ //$NON-NLS-2$
-				var lchange = reassignOrganizationMemberships(source, target);
-				lchange = reassignProjects(source, target) || lchange;
-				lchange = reassignAssociatedStructures(source, target) || lchange;
-				throw new IllegalStateException();
-				//TODO this.organizationService.removeResearchOrganization(source.getId());
-				//TODO changed = changed || lchange;
-			}
-		}
-		if (changed) {
-			this.organizationRepository.save(target);
-		}
-	}
-
-	/** Re-assign the organization memberships attached to the source organization to the target organization.
-	 * 
-	 * @param sources the organization to remove and replace by the target organization.
-	 * @param target the target organization which should replace the source organizations.
-	 * @return {@code true} if organization membership has changed.
-	 * @throws Exception if the change cannot be completed.
-	 */
-	protected boolean reassignOrganizationMemberships(ResearchOrganization source, ResearchOrganization target) throws Exception {
-		var changed = false;
-		for (final var membership : this.membershipRepository.findDistinctByResearchOrganizationId(source.getId())) {
-			membership.setDirectResearchOrganization(target);
-			this.membershipRepository.save(membership);
-			changed = true;
-		}
-		return changed;
-	}
-
-	/** Re-assign the project organizations attached to the source organization to the target organization.
-	 * 
-	 * @param sources the organization to remove and replace by the target organization.
-	 * @param target the target organization who should replace the source organizations.
-	 * @return {@code true} if project has changed.
-	 * @throws Exception if the change cannot be completed.
-	 */
-	protected boolean reassignProjects(ResearchOrganization source, ResearchOrganization target) throws Exception {
-		final var changed = new TreeSet<>(EntityUtils.getPreferredProjectComparator());
-		
-		final var sourceId = source.getId();
-		
-		for (final var project : this.projectRepository.findAll()) {
-			if (project.getCoordinator() != null && project.getCoordinator().getId() == sourceId) {
-				project.setCoordinator(target);
-				changed.add(project);
-			}
-			if (project.getLocalOrganization() != null && project.getLocalOrganization().getId() == sourceId) {
-				project.setLocalOrganization(target);
-				changed.add(project);
-			}
-			if (project.getSuperOrganization() != null && project.getSuperOrganization().getId() == sourceId) {
-				project.setSuperOrganization(target);
-				changed.add(project);
-			}
-			if (project.getLearOrganization() != null && project.getLearOrganization().getId() == sourceId) {
-				project.setLearOrganization(target);
-				changed.add(project);
-			}
-			final var otherPartners = new TreeSet<>(project.getOtherPartnersRaw());
-			var found = false;
-			final var iterator = otherPartners.iterator();
-			while (iterator.hasNext()) {
-				final var orga = iterator.next();
-				if (orga != null && orga.getId() == sourceId) {
-					found = true;
-					iterator.remove();
-				}
-			}
-			if (found) {
-				otherPartners.add(target);
-				project.setOtherPartners(otherPartners);
-				changed.add(project);
+				sourceIds.add(Long.valueOf(source.getId()));
 			}
 		}
-		//
-		if (changed.isEmpty()) {
-			return false;
+		if (!sourceIds.isEmpty()) {
+			this.mergeEngine.mergeOrganizations(Collections.singletonMap(Long.valueOf(target.getId()), sourceIds));
 		}
-		for (final var project : changed) {
-			this.projectRepository.save(project);
-		}
-		return true;
 	}
 
-	/** Re-assign the associated structure's attached to the source organization to the target organization.
-	 * 
-	 * @param source the organization to remove and replace by the target organization.
-	 * @param target the target organization who should replace the source organizations.
-	 * @return {@code true} if associated structure has changed.
-	 * @throws Exception if the change cannot be completed.
+	/** Merge the groups of duplicate organizations, and remove the source organizations.
+	 * The groups are checked before any change in the database. Each group is merged in its own transaction,
+	 * in which the references to the source organizations are rewritten with set-based updates and
+	 * the source organizations are removed.
+	 *
+	 * @param groups the merge groups. Keys are the identifiers of the target organizations; values are the identifiers of
+	 *     the source organizations to be replaced by the target organization.
+	 * @return the numbers of affected rows per relation.
+	 * @throws IllegalArgumentException if an organization does not exist, or if the groups are overlapping or chained.
+	 * @throws Exception if the merging cannot be completed.
+	 * @since 4.1
 	 */
-	protected boolean reassignAssociatedStructures(ResearchOrganization source, ResearchOrganization target) throws Exception {
-		final var changed = new TreeSet<>(EntityUtils.getPreferredAssociatedStructureComparator());
-		final var sourceId = source.getId();
-		for (final var structure : this.structureRepository.findAll()) {
-			if (structure.getFundingOrganization() != null && structure.getFundingOrganization().getId() == sourceId) {
-				structure.setFundingOrganization(target);
-				changed.add(structure);
-			}
-		}
-		final var structureChanged = !changed.isEmpty();
-		if (structureChanged) {
-			for (final var structure : changed) {
-				this.structureRepository.save(structure);
-			}
-		}
-		//
-		final var changed1 = new TreeSet<>(EntityUtils.getPreferredAssociatedStructureHolderComparator());
-		for (final var holder : this.structureHolderRepository.findAll()) {
-			if (holder.getOrganization() != null && holder.getOrganization().getId() == sourceId) {
-				holder.setOrganization(target);
-				changed1.add(holder);
-			}
-			if (holder.getSuperOrganization() != null && holder.getSuperOrganization().getId() == sourceId) {
-				holder.setSuperOrganization(target);
-				changed1.add(holder);
-			}
-		}
-		final var holderChanged = !changed1.isEmpty();
-		if (holderChanged) {
-			for (final var holder : changed1) {
-				this.structureHolderRepository.save(holder);
-			}
-		}
-		//
-		return structureChanged || holderChanged;
+	public MergeReport mergeOrganizationGroups(Map<Long, ? extends Collection<Long>> groups) throws Exception {
+		return this.mergeEngine.mergeOrganizations(groups);
 	}
 
 	@Override
@@ -0,0 +1,275 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.organization;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Materialized hierarchy of the research organizations.
+ * For each organization, the hierarchy contains the identifiers of the organization itself and of all its
+ * direct and indirect suborganizations. Consequently, the members of an organization and its suborganizations
+ * could be obtained with a single query, and the test of the inclusion of an organization into another is
+ * a probe into a set of identifiers.
+ *
+ * <p>The hierarchy is built on demand from the links between the organizations that are stored in the database.
+ * It is invalidated when an organization is created or deleted, and when the links between the organizations
+ * are changed. The invalidation is done again when the transaction that has changed the organizations is finished
+ * in order to forget a hierarchy that would have been built from the database before the commit.
+ * A hierarchy that is built while it is invalidated is replied to the caller but it is not kept.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@Component
+public class ResearchOrganizationHierarchy {
+
+	private final ResearchOrganizationRepository organizationRepository;
+
+	private final AtomicLong generation = new AtomicLong();
+
+	private volatile Snapshot descendants;
+
+	/** Constructor. The hierarchy is not invalidated automatically when the organizations are changed in the database.
+	 *
+	 * @param organizationRepository the repository of the research organizations.
+	 * @see #invalidate()
+	 */
+	public ResearchOrganizationHierarchy(ResearchOrganizationRepository organizationRepository) {
+		this.organizationRepository = organizationRepository;
+	}
+
+	/** Constructor. The hierarchy is invalidated when the organizations are changed through the given session factory.
+	 *
+	 * @param organizationRepository the repository of the research organizations.
+	 * @param sessionFactory the factory of JPA sessions.
+	 */
+	@Autowired
+	public ResearchOrganizationHierarchy(ResearchOrganizationRepository organizationRepository, SessionFactory sessionFactory) {
+		this(organizationRepository);
+		final var registry = sessionFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry().getService(EventListenerRegistry.class);
+		if (registry != null) {
+			final var listener = new ChangeListener();
+			registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+			registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+			registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+			registry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+			registry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+		}
+	}
+
+	/** Forget the hierarchy. It will be rebuilt from the database at the next request.
+	 */
+	public void invalidate() {
+		this.generation.incrementAndGet();
+		this.descendants = null;
+	}
+
+	/** Replies the hierarchy, and build it if it is not yet built.
+	 *
+	 * @return the identifiers of the organizations and their suborganizations, for each organization.
+	 */
+	protected Map<Long, Set<Long>> getDescendants() {
+		final var stamp = this.generation.get();
+		final var snapshot = this.descendants;
+		// The generation is checked because an older hierarchy may be published after an invalidation
+		if (snapshot != null && snapshot.generation() == stamp) {
+			return snapshot.descendants();
+		}
+		final var map = buildDescendants();
+		if (this.generation.get() == stamp) {
+			this.descendants = new Snapshot(stamp, map);
+		}
+		return map;
+	}
+
+	private Map<Long, Set<Long>> buildDescendants() {
+		final var children = new HashMap<Long, Set<Long>>();
+		for (final var identifier : this.organizationRepository.findAllIdentifiers()) {
+			children.put(identifier, new HashSet<>());
+		}
+		for (final var link : this.organizationRepository.findAllSubOrganizationLinks()) {
+			final var superId = (Long) link[0];
+			final var subId = (Long) link[1];
+			children.computeIfAbsent(superId, it -> new HashSet<>()).add(subId);
+			children.computeIfAbsent(subId, it -> new HashSet<>());
+		}
+		final var map = new HashMap<Long, Set<Long>>();
+		final var candidates = new ArrayDeque<Long>();
+		for (final var identifier : children.keySet()) {
+			// The visited set protects against the cycles in the hierarchy
+			final var visited = new HashSet<Long>();
+			candidates.add(identifier);
+			while (!candidates.isEmpty()) {
+				final var candidate = candidates.removeFirst();
+				if (visited.add(candidate)) {
+					candidates.addAll(children.getOrDefault(candidate, Collections.emptySet()));
+				}
+			}
+			map.put(identifier, Collections.unmodifiableSet(visited));
+		}
+		return Collections.unmodifiableMap(map);
+	}
+
+	/** Replies the identifiers of the given organization and of all its direct and indirect suborganizations.
+	 *
+	 * @param organizationId the identifier of the organization.
+	 * @return the identifiers, or an empty set if the organization is unknown.
+	 */
+	public Set<Long> getOrganizationAndSubOrganizationIdentifiers(long organizationId) {
+		final var identifiers = getDescendants().get(Long.valueOf(organizationId));
+		if (identifiers == null) {
+			return Collections.emptySet();
+		}
+		return identifiers;
+	}
+
+	/** Replies if the first organization is the second organization or one of its direct or indirect suborganizations.
+	 *
+	 * @param organizationId the identifier of the organization to test.
+	 * @param superOrganizationId the identifier of the candidate super organization.
+	 * @return {@code true} if the organization is inside the super organization.
+	 */
+	public boolean isOrganizationOf(long organizationId, long superOrganizationId) {
+		return getOrganizationAndSubOrganizationIdentifiers(superOrganizationId).contains(Long.valueOf(organizationId));
+	}
+
+	/** Hierarchy with the generation of the invalidations from which it was built.
+	 *
+	 * @param generation the generation of the hierarchy.
+	 * @param descendants the identifiers of the organizations and their suborganizations, for each organization.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private record Snapshot(long generation, Map<Long, Set<Long>> descendants) {
+		//
+	}
+
+	/** Listener on the changes of the organizations in the database.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private class ChangeListener implements PostCommitInsertEventListener, PostCommitDeleteEventListener,
+			PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+		private static final long serialVersionUID = -3457810924591305562L;
+
+		ChangeListener() {
+			//
+		}
+
+		@Override
+		public boolean requiresPostCommitHandling(EntityPersister persister) {
+			return ResearchOrganization.class.isAssignableFrom(persister.getMappedClass());
+		}
+
+		@Override
+		public void onPostInsert(PostInsertEvent event) {
+			if (event.getEntity() instanceof ResearchOrganization) {
+				invalidate();
+			}
+		}
+
+		@Override
+		public void onPostInsertCommitFailed(PostInsertEvent event) {
+			//
+		}
+
+		@Override
+		public void onPostDelete(PostDeleteEvent event) {
+			if (event.getEntity() instanceof ResearchOrganization) {
+				invalidate();
+			}
+		}
+
+		@Override
+		public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+			//
+		}
+
+		private void onCollectionChange(AbstractCollectionEvent event) {
+			if (event.getAffectedOwnerOrNull() instanceof ResearchOrganization) {
+				invalidate();
+				if (TransactionSynchronizationManager.isSynchronizationActive()) {
+					TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+						@Override
+						public void afterCompletion(int status) {
+							invalidate();
+						}
+					});
+				}
+			}
+		}
+
+		@Override
+		public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+			onCollectionChange(event);
+		}
+
+		@Override
+		public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+			onCollectionChange(event);
+		}
+
+		@Override
+		public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+			onCollectionChange(event);
+		}
+
+	}
+
+}
@@ -24,6 +24,7 @@ import fr.utbm.ciad.labmanager.configuration.Constants;
 import fr.utbm.ciad.labmanager.data.organization.*;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
 import fr.utbm.ciad.labmanager.services.DeletionStatus;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.utils.country.CountryCode;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
 import fr.utbm.ciad.labmanager.utils.names.OrganizationNameComparator;
@@ -63,12 +64,15 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
 
 	private OrganizationNameComparator organizationComparator;
 
+	private EntityKeywordIndexService keywordIndexService;
+
 	/** Constructor for injector.
 	 * This constructor is defined for being invoked by the IOC injector.
 	 *
 	 * @param addressRepository the address repository.
 	 * @param organizationRepository the organization repository.
 	 * @param fileManager the manager of the uploaded and downloadable files.
+	 * @param keywordIndexService the service for the keyword search of the research organizations.
 	 * @param messages the provider of localized messages.
 	 * @param constants the accessor to the live constants.
 	 * @param sessionFactory the Hibernate session factory.
@@ -78,16 +82,30 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
 			@Autowired ResearchOrganizationRepository organizationRepository,
 			@Autowired DownloadableFileManager fileManager,
 			@Autowired OrganizationNameComparator organizationComparator,
+			@Autowired EntityKeywordIndexService keywordIndexService,
 			@Autowired MessageSourceAccessor messages,
 			@Autowired Constants constants,
 			@Autowired SessionFactory sessionFactory) {			
 		super(messages, constants, sessionFactory);
+		this.keywordIndexService = keywordIndexService;
 		this.addressRepository = addressRepository;
 		this.organizationRepository = organizationRepository;
 		this.fileManager = fileManager;
 		this.organizationComparator = organizationComparator;
 	}
 
+	/** Replies the identifiers of the research organizations that contain each of the given keywords in at least one of the given fields.
+	 * The search is done with the in-memory keyword index instead of the database.
+	 *
+	 * @param keywords the keywords to search for, separated by spaces.
+	 * @param fields the names of the fields in which the keywords are searched for, e.g. {@link EntityKeywordIndexService#NAME_FIELD}.
+	 * @return the identifiers of the matching research organizations.
+	 * @since 4.1
+	 */
+	public Set<Long> findIdentifiersByKeywords(String keywords, Collection<String> fields) {
+		return this.keywordIndexService.search(ResearchOrganization.class, keywords, fields);
+	}
+
 	/** Replies the file manager used by this service.
 	 *
 	 * @return the file manager.
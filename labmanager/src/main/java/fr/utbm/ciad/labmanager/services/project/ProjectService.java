@@ -23,6 +23,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Strings;
 import fr.utbm.ciad.labmanager.configuration.Constants;
+import fr.utbm.ciad.labmanager.data.FetchPlan;
 import fr.utbm.ciad.labmanager.data.member.Membership;
 import fr.utbm.ciad.labmanager.data.member.PersonRepository;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
@@ -32,6 +33,7 @@ import fr.utbm.ciad.labmanager.data.scientificaxis.ScientificAxis;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
 import fr.utbm.ciad.labmanager.services.DeletionStatus;
 import fr.utbm.ciad.labmanager.services.member.MembershipService;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.utils.country.CountryCode;
 import fr.utbm.ciad.labmanager.utils.funding.FundingScheme;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
@@ -91,9 +93,12 @@ public class ProjectService extends AbstractEntityService<Project> {
 
 	private DownloadableFileManager fileManager;
 
+	private EntityKeywordIndexService keywordIndexService;
+
 	/** Constructor for injector.
 	 * This constructor is defined for being invoked by the IOC injector.
 	 *
+	 * @param keywordIndexService the service for the keyword search of the projects.
 	 * @param messages the provider of localized messages.
 	 * @param constants the accessor to the live constants.
 	 * @param sessionFactory the Hibernate session factory.
@@ -111,10 +116,12 @@ public class ProjectService extends AbstractEntityService<Project> {
 			@Autowired PersonRepository personRepository,
 			@Autowired MembershipService membershipService,
 			@Autowired DownloadableFileManager fileManager,
+			@Autowired EntityKeywordIndexService keywordIndexService,
 			@Autowired MessageSourceAccessor messages,
 			@Autowired Constants constants,
 			@Autowired SessionFactory sessionFactory) {
 		super(messages, constants, sessionFactory);
+		this.keywordIndexService = keywordIndexService;
 		this.projectRepository = projectRepository;
 		this.projectMemberRepository = projectMemberRepository;
 		this.organizationRepository = organizationRepository;
@@ -123,6 +130,18 @@ public class ProjectService extends AbstractEntityService<Project> {
 		this.membershipService = membershipService;
 	}
 
+	/** Replies the identifiers of the projects that contain each of the given keywords in at least one of the given fields.
+	 * The search is done with the in-memory keyword index instead of the database.
+	 *
+	 * @param keywords the keywords to search for, separated by spaces.
+	 * @param fields the names of the fields in which the keywords are searched for, e.g. {@link EntityKeywordIndexService#NAME_FIELD}.
+	 * @return the identifiers of the matching projects.
+	 * @since 4.1
+	 */
+	public Set<Long> findIdentifiersByKeywords(String keywords, Collection<String> fields) {
+		return this.keywordIndexService.search(Project.class, keywords, fields);
+	}
+
 	/** Replies the file manager used by this service.
 	 *
 	 * @return the file manager.
@@ -198,6 +217,29 @@ public class ProjectService extends AbstractEntityService<Project> {
 		return page;
 	}
 
+	/** Replies the list of all the projects from the database, with the associations that are described by the given fetch plan.
+	 * The associations are loaded by a constant number of queries, whatever the size of the page.
+	 *
+	 * @param pageable the manager of pages.
+	 * @param filter the filter of projects.
+	 * @param fetchPlan the associations to load with the projects. It may be {@code null}.
+	 * @param callback is invoked on each entity in the context of the JPA session, after the application of the fetch plan.
+	 *     It may be {@code null}.
+	 * @return the list of projects, never {@code null}.
+	 * @since 4.1
+	 */
+	@Transactional
+	public Page<Project> getAllProjects(Pageable pageable, Specification<Project> filter, FetchPlan<Project> fetchPlan, Consumer<Project> callback) {
+		final var page = this.projectRepository.findAll(filter, pageable);
+		if (fetchPlan != null) {
+			inSession(session -> fetchPlan.apply(session, page.getContent()));
+		}
+		if (callback != null) {
+			page.forEach(callback);
+		}
+		return page;
+	}
+
 	/** Replies the list of all the projects from the database.
 	 *
 	 * @param pageable the manager of pages.
@@ -266,6 +308,19 @@ public class ProjectService extends AbstractEntityService<Project> {
 		return this.projectRepository.findDistinctOrganizationProjects(idObj);
 	}
 
+	/** Replies the projects that are associated to the organization as coordinator,
+	 * local organization, super organization or other partners, with their budgets.
+	 * LEAR organization is not considered.
+	 *
+	 * @param organizationId the identifier of he organization.
+	 * @return the list of projects for the organization with the given id.
+	 * @since 4.1
+	 */
+	public List<Project> getProjectsWithBudgetsByOrganizationId(long organizationId) {
+		final var idObj = Long.valueOf(organizationId);
+		return this.projectRepository.findDistinctOrganizationProjectsWithBudgets(idObj);
+	}
+
 	/** Replies the public projects that are associated to the organization as coordinator,
 	 * local organization, super organization or other partners. LEAR organization is not
 	 * considered.
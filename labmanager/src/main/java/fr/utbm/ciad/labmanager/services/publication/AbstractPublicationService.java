@@ -25,11 +25,11 @@ import fr.utbm.ciad.labmanager.data.member.Person;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.data.publication.Publication;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
+import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationHierarchy;
 import org.hibernate.SessionFactory;
 import org.springframework.context.support.MessageSourceAccessor;
 
 import java.time.LocalDate;
-import java.util.LinkedList;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -61,13 +61,15 @@ public abstract class AbstractPublicationService extends AbstractEntityService<P
 	 * @param publications the publications to filter.
 	 * @param organizationId the identifier of the organization for which the publications are accepted.
 	 * @param includeSubOrganizations indicates if the members of the suborganizations are considered.
+	 * @param hierarchy the hierarchy of the research organizations that is used when the suborganizations are considered.
 	 * @return the filtered publications.
 	 */
 	protected static <P extends Publication> Set<P> filterPublicationsWithMemberships(Set<P> publications,
-			long organizationId, boolean includeSubOrganizations) {
+			long organizationId, boolean includeSubOrganizations, ResearchOrganizationHierarchy hierarchy) {
 		final Function<Person, Stream<Membership>> streamBuilder;
 		if (includeSubOrganizations) {
-			streamBuilder = it -> buildStream(it, organizationId);
+			final var organizations = hierarchy.getOrganizationAndSubOrganizationIdentifiers(organizationId);
+			streamBuilder = it -> buildStream(it, organizations);
 		} else {
 			streamBuilder = it -> buildStreamStrict(it, organizationId);
 		}
@@ -75,31 +77,17 @@ public abstract class AbstractPublicationService extends AbstractEntityService<P
 					.collect(Collectors.toUnmodifiableSet());
 	}
 
-	private static boolean isOrganizationOf(Membership membership, long organizationId) {
-		final var candidates = new LinkedList<ResearchOrganization>();
-		candidates.add(membership.getDirectResearchOrganization());
-		while (!candidates.isEmpty()) {
-			final var candidate = candidates.removeFirst();
-			if (candidate.getId() == organizationId) {
-				return true;
-			}
-			candidates.addAll(candidate.getSuperOrganizations());
-		}
-		if (membership.getSuperResearchOrganization() != null) {
-			candidates.add(membership.getSuperResearchOrganization());
-			while (!candidates.isEmpty()) {
-				final var candidate = candidates.removeFirst();
-				if (candidate.getId() == organizationId) {
-					return true;
-				}
-				candidates.addAll(candidate.getSuperOrganizations());
-			}
-		}
-		return false;
+	private static boolean isOrganizationOf(ResearchOrganization organization, Set<Long> organizations) {
+		return organization != null && organizations.contains(Long.valueOf(organization.getId()));
+	}
+
+	private static boolean isOrganizationOf(Membership membership, Set<Long> organizations) {
+		return isOrganizationOf(membership.getDirectResearchOrganization(), organizations)
+				|| isOrganizationOf(membership.getSuperResearchOrganization(), organizations);
 	}
 	
-	private static Stream<Membership> buildStream(Person author, long organizationId) {
-		return author.getMemberships().stream().filter(it -> isOrganizationOf(it, organizationId));
+	private static Stream<Membership> buildStream(Person author, Set<Long> organizations) {
+		return author.getMemberships().stream().filter(it -> isOrganizationOf(it, organizations));
 	}
 	
 	private static Stream<Membership> buildStreamStrict(Person author, long organizationId) {
@@ -0,0 +1,150 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.publication;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import fr.utbm.ciad.labmanager.data.publication.PublicationCategory;
+import fr.utbm.ciad.labmanager.data.publication.PublicationType;
+
+/** Numbers of publications for each publication type and each year.
+ * The matrix is built from the result of a single grouped query on the publications,
+ * and the missing cells are considered as equal to zero.
+ *
+ * <p>Instances of this class are immutable and may be shared between threads and user sessions.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ * @see PublicationService#getPublicationCountMatrix(Set, PublicationCategory)
+ */
+public final class PublicationCountMatrix implements Serializable {
+
+	private static final long serialVersionUID = -6093426413935520414L;
+
+	private final Map<PublicationType, Map<Integer, Integer>> counts;
+
+	/** Constructor.
+	 *
+	 * @param rows the rows replied by the grouped query. Each row is an array with the publication type at index {@code 0},
+	 *     the publication year at index {@code 1} and the number of publications at index {@code 2}.
+	 * @param category the category of publications to keep in the matrix, or {@code null} for keeping all the publications.
+	 */
+	public PublicationCountMatrix(List<Object[]> rows, PublicationCategory category) {
+		final var content = new EnumMap<PublicationType, Map<Integer, Integer>>(PublicationType.class);
+		for (final var row : rows) {
+			final var type = (PublicationType) row[0];
+			if (type != null && (category == null || type.getCategory(true) == category)) {
+				final var year = Integer.valueOf(((Number) row[1]).intValue());
+				final var count = ((Number) row[2]).intValue();
+				content.computeIfAbsent(type, it -> new HashMap<>()).merge(year, Integer.valueOf(count), Integer::sum);
+			}
+		}
+		this.counts = content;
+	}
+
+	private PublicationCountMatrix(Map<PublicationType, Map<Integer, Integer>> counts) {
+		this.counts = counts;
+	}
+
+	/** Replies the matrix that contains only the publications of the given category.
+	 * The cells are shared with this matrix.
+	 *
+	 * @param category the category of publications to keep, or {@code null} for keeping all the publications.
+	 * @return the matrix for the category, or this matrix if the category is {@code null}.
+	 */
+	public PublicationCountMatrix filter(PublicationCategory category) {
+		if (category == null) {
+			return this;
+		}
+		final var content = new EnumMap<PublicationType, Map<Integer, Integer>>(PublicationType.class);
+		for (final var entry : this.counts.entrySet()) {
+			if (entry.getKey().getCategory(true) == category) {
+				content.put(entry.getKey(), entry.getValue());
+			}
+		}
+		return new PublicationCountMatrix(content);
+	}
+
+	/** Replies the publication types that have at least one publication in the matrix.
+	 *
+	 * @return the unmodifiable set of publication types.
+	 */
+	public Set<PublicationType> getTypes() {
+		return Collections.unmodifiableSet(this.counts.keySet());
+	}
+
+	/** Replies the number of publications for the given type and the given year.
+	 *
+	 * @param type the type of publication.
+	 * @param year the year of publication.
+	 * @return the number of publications.
+	 */
+	public int getCount(PublicationType type, int year) {
+		final var years = this.counts.get(type);
+		if (years != null) {
+			final var count = years.get(Integer.valueOf(year));
+			if (count != null) {
+				return count.intValue();
+			}
+		}
+		return 0;
+	}
+
+	/** Replies the number of publications of the given category for the given year.
+	 * The category of each publication type is computed with {@link PublicationType#getCategory(boolean)}
+	 * for ranked publications.
+	 *
+	 * @param category the category of publication.
+	 * @param year the year of publication.
+	 * @return the number of publications.
+	 */
+	public int getCount(PublicationCategory category, int year) {
+		var total = 0;
+		for (final var type : this.counts.keySet()) {
+			if (type.getCategory(true) == category) {
+				total += getCount(type, year);
+			}
+		}
+		return total;
+	}
+
+	/** Replies the number of publications for the given year, whatever their types.
+	 *
+	 * @param year the year of publication.
+	 * @return the number of publications.
+	 */
+	public int getTotal(int year) {
+		var total = 0;
+		for (final var type : this.counts.keySet()) {
+			total += getCount(type, year);
+		}
+		return total;
+	}
+
+}
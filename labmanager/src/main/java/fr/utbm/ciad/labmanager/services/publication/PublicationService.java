@@ -21,8 +21,11 @@ package fr.utbm.ciad.labmanager.services.publication;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Strings;
 import fr.utbm.ciad.labmanager.configuration.Constants;
+import fr.utbm.ciad.labmanager.data.FetchPlan;
 import fr.utbm.ciad.labmanager.data.conference.Conference;
 import fr.utbm.ciad.labmanager.data.conference.ConferenceRepository;
 import fr.utbm.ciad.labmanager.data.journal.Journal;
@@ -35,6 +38,7 @@ import fr.utbm.ciad.labmanager.data.scientificaxis.ScientificAxis;
 import fr.utbm.ciad.labmanager.services.member.MembershipService;
 import fr.utbm.ciad.labmanager.services.member.PersonService;
 import fr.utbm.ciad.labmanager.services.publication.type.*;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.utils.ComposedException;
 import fr.utbm.ciad.labmanager.utils.io.ExporterConfigurator;
 import fr.utbm.ciad.labmanager.utils.io.bibtex.BibTeX;
@@ -47,8 +51,10 @@ import fr.utbm.ciad.labmanager.utils.io.od.OpenDocumentTextPublicationExporter;
 import fr.utbm.ciad.labmanager.utils.io.ris.RIS;
 import fr.utbm.ciad.labmanager.utils.names.PersonNameParser;
 import fr.utbm.ciad.labmanager.utils.names.PublicationNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.PublicationTitleIndex;
 import jakarta.transaction.Transactional;
 import org.apache.commons.lang3.mutable.MutableBoolean;
+import org.apache.commons.lang3.tuple.Pair;
 import org.arakhne.afc.progress.DefaultProgression;
 import org.arakhne.afc.progress.Progression;
 import org.arakhne.afc.vmutil.FileSystem;
@@ -65,9 +71,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collector;
@@ -86,6 +96,20 @@ public class PublicationService extends AbstractPublicationService {
 
 	private static final String MESSAGE_PREFIX = "publicationService."; //$NON-NLS-1$
 
+	/** Duration, in milliseconds, during which the numbers of publications that are replied by
+	 * {@link #getPublicationCountMatrix(Set, PublicationCategory)} are kept in memory.
+	 *
+	 * @since 4.1
+	 */
+	public static final long PUBLICATION_COUNT_CACHE_DURATION = 60000l;
+
+	/** Maximum number of sets of organizations for which the numbers of publications
+	 * that are replied by {@link #getPublicationCountMatrix(Set, PublicationCategory)} are kept in memory.
+	 *
+	 * @since 4.1
+	 */
+	public static final long PUBLICATION_COUNT_CACHE_SIZE = 64l;
+
 	private PublicationRepository publicationRepository;
 
 	private AuthorshipRepository authorshipRepository;
@@ -138,6 +162,15 @@ public class PublicationService extends AbstractPublicationService {
 
 	private PublicationNameComparator titleComparator;
 
+	private PublicationTitleIndex titleIndex;
+
+	private final Cache<Set<Long>, PublicationCountMatrix> publicationCountMatrices = Caffeine.newBuilder()
+			.maximumSize(PUBLICATION_COUNT_CACHE_SIZE)
+			.expireAfterWrite(PUBLICATION_COUNT_CACHE_DURATION, TimeUnit.MILLISECONDS)
+			.build();
+
+	private EntityKeywordIndexService keywordIndexService;
+
 	/** Constructor for injector.
 	 * This constructor is defined for being invoked by the IOC injector.
 	 *
@@ -167,6 +200,7 @@ public class PublicationService extends AbstractPublicationService {
 	 * @param patentService the service for patents.
 	 * @param reportService the service for reports.
 	 * @param thesisService the service for theses.
+	 * @param keywordIndexService the service for the keyword search of the publications.
 	 * @param messages the provider of localized messages.
 	 * @param constants the accessor to the live constants.
 	 * @param sessionFactory the Hibernate session factory.
@@ -197,10 +231,12 @@ public class PublicationService extends AbstractPublicationService {
 			@Autowired PatentService patentService,
 			@Autowired ReportService reportService,
 			@Autowired ThesisService thesisService,
+			@Autowired EntityKeywordIndexService keywordIndexService,
 			@Autowired MessageSourceAccessor messages,
 			@Autowired Constants constants,
 			@Autowired SessionFactory sessionFactory) {			
 		super(messages, constants, sessionFactory);
+		this.keywordIndexService = keywordIndexService;
 		this.publicationRepository = publicationRepository;
 		this.prePublicationFactory = prePublicationFactory;
 		this.authorshipRepository = authorshipRepository;
@@ -229,6 +265,18 @@ public class PublicationService extends AbstractPublicationService {
 		this.thesisService = thesisService;
 	}
 
+	/** Replies the identifiers of the publications that contain each of the given keywords in at least one of the given fields.
+	 * The search is done with the in-memory keyword index instead of the database.
+	 *
+	 * @param keywords the keywords to search for, separated by spaces.
+	 * @param fields the names of the fields in which the keywords are searched for, e.g. {@link EntityKeywordIndexService#NAME_FIELD}.
+	 * @return the identifiers of the matching publications.
+	 * @since 4.1
+	 */
+	public Set<Long> findIdentifiersByKeywords(String keywords, Collection<String> fields) {
+		return this.keywordIndexService.search(Publication.class, keywords, fields);
+	}
+
 	/** Load the components of the given publications in a JPA session. The loaded components are the authors, the quality indicators for journals or conferences.
 	 *
 	 * @param publications the publications to load.
@@ -349,26 +397,37 @@ public class PublicationService extends AbstractPublicationService {
 		return page;
 	}
 
+	/** Replies the list of all the publications from the database, with the associations that are described by the given fetch plan.
+	 * The associations are loaded by a constant number of queries, whatever the size of the page.
+	 *
+	 * @param pageable the manager of pages.
+	 * @param filter the filter of publications.
+	 * @param fetchPlan the associations to load with the publications. It may be {@code null}.
+	 * @param callback is invoked on each entity in the context of the JPA session, after the application of the fetch plan.
+	 *     It may be {@code null}.
+	 * @return the list of publications, never {@code null}.
+	 * @since 4.1
+	 */
+	@Transactional
+	public Page<Publication> getAllPublications(Pageable pageable, Specification<Publication> filter, FetchPlan<Publication> fetchPlan, Consumer<Publication> callback) {
+		final var page = this.publicationRepository.findAll(filter, pageable);
+		if (fetchPlan != null) {
+			inSession(session -> fetchPlan.apply(session, page.getContent()));
+		}
+		if (callback != null) {
+			page.forEach(callback);
+		}
+		return page;
+	}
+
 	/** Replies all the publications that have the given maximum age.
 	 *
 	 * @param maxAge the maximum age of the publications.
 	 * @return the publications.
 	 */
 	public List<Publication> getPublicationsOfAge(int maxAge) {
-		final var startDate = LocalDate.of(LocalDate.now().getYear() - maxAge, 1, 1);
-		final var endDate = LocalDate.now();
-		return this.publicationRepository.findAll().parallelStream()
-				.filter(it -> isActiveIn(it, startDate, endDate))
-				.collect(Collectors.toList());
-	}
-
-	private static boolean isActiveIn(Publication publication, LocalDate windowStart, LocalDate windowEnd) {
-		assert windowStart != null;
-		assert windowEnd != null;
-		final var startYear = windowStart.getYear();
-		final var endYear = windowEnd.getYear();
-		final var year = publication.getPublicationYear();
-		return year >= startYear && year <= endYear;
+		final var currentYear = LocalDate.now().getYear();
+		return this.publicationRepository.findAllByPublicationYearBetween(currentYear - maxAge, currentYear);
 	}
 
 	/** Replies all the publications from the database that are attached to the given person.
@@ -407,7 +466,8 @@ public class PublicationService extends AbstractPublicationService {
 		final var identifiers = members.stream().map(it -> Long.valueOf(it.getId())).collect(Collectors.toUnmodifiableSet());
 		final var publications = this.publicationRepository.findAllByAuthorshipsPersonIdIn(identifiers);
 		if (filterAuthorshipsWithActiveMemberships) {
-			return filterPublicationsWithMemberships(publications, identifier, includeSubOrganizations);
+			return filterPublicationsWithMemberships(publications, identifier, includeSubOrganizations,
+					this.membershipService.getOrganizationHierarchy());
 		}
 		return publications;
 	}
@@ -459,8 +519,63 @@ public class PublicationService extends AbstractPublicationService {
 		return 0;
 	}
 
+	/** Replies the index of the publication titles. The index is built from the database at the first call.
+	 *
+	 * @return the index of titles.
+	 * @since 4.1
+	 */
+	protected PublicationTitleIndex getTitleIndex() {
+		synchronized (this) {
+			if (this.titleIndex == null) {
+				final var index = new PublicationTitleIndex();
+				for (final var idAndTitle : this.publicationRepository.findAllIdentifiersAndTitles()) {
+					index.put(((Number) idAndTitle[0]).longValue(), (String) idAndTitle[1]);
+				}
+				this.titleIndex = index;
+			}
+			return this.titleIndex;
+		}
+	}
+
+	/** Force the index of the publication titles to be rebuilt from the database at the next search of similar titles.
+	 * This function should be invoked when the publications are changed without using this service.
+	 *
+	 * @since 4.1
+	 */
+	public void resetTitleIndex() {
+		synchronized (this) {
+			this.titleIndex = null;
+		}
+	}
+
+	/** Update the index of the publication titles with the title of the given publication.
+	 * If the index is not built yet, this function does nothing.
+	 *
+	 * @param publication the saved publication.
+	 */
+	private void indexTitle(Publication publication) {
+		synchronized (this) {
+			if (this.titleIndex != null) {
+				this.titleIndex.put(publication.getId(), publication.getTitle());
+			}
+		}
+	}
+
+	/** Remove the publication with the given identifier from the index of the publication titles.
+	 * If the index is not built yet, this function does nothing.
+	 *
+	 * @param id the identifier of the removed publication.
+	 */
+	private void unindexTitle(long id) {
+		synchronized (this) {
+			if (this.titleIndex != null) {
+				this.titleIndex.remove(id);
+			}
+		}
+	}
+
 	/** Replies the publication with a similar title to the given title.
-	 * If there is multiple publications with similar titles, the first one is replied.
+	 * If there is multiple publications with similar titles, the most similar one is replied.
 	 * <p>The title matching is based on similarity of titles.
 	 * For using a strict equality test on names, see {@link #getPublicationsByTitle(String)}.
 	 *
@@ -469,33 +584,50 @@ public class PublicationService extends AbstractPublicationService {
 	 */
 	public Publication getPublicationBySimilarTitle(String title) {
 		if (!Strings.isNullOrEmpty(title)) {
-			for (final var publication : this.publicationRepository.findAll()) {
-				if (this.titleComparator.isSimilar(title, publication.getTitle())) {
-					return publication;
+			for (final var id : getTitleIndex().findSimilar(title, this.titleComparator)) {
+				final var publication = this.publicationRepository.findById(id);
+				if (publication.isPresent()) {
+					return publication.get();
 				}
 			}
 		}
 		return null;
 	}
 
+	/** Replies the database identifiers of the publications with a similar title to the given title.
+	 * The identifiers are replied from the most similar title to the less similar title.
+	 * This function does not access to the database, except for building the index of titles at the first call.
+	 *
+	 * @param title the title of the publication.
+	 * @return the identifiers of the publications, or {@code null} if not found.
+	 */
 	public List<Long> getPublicationsIdBySimilarTitle(String title) {
-		var publications = getPublicationsBySimilarTitle(title);
-		if (publications.isEmpty()) {
+		if (Strings.isNullOrEmpty(title)) {
+			return null;
+		}
+		final var ids = getTitleIndex().findSimilar(title, this.titleComparator);
+		if (ids.isEmpty()) {
 			return null;
 		}
-		return publications.stream().map(Publication::getId).collect(Collectors.toList());
+		return ids;
 	}
 
+	/** Replies the publications with a similar title to the given title.
+	 * The publications are replied from the most similar title to the less similar title.
+	 *
+	 * @param title the title of the publication.
+	 * @return the publications.
+	 */
 	public List<Publication> getPublicationsBySimilarTitle(String title) {
-		List<Publication> publications = new ArrayList<>();
-		if (!Strings.isNullOrEmpty(title)) {
-			for (final var publication : this.publicationRepository.findAll()) {
-				if (this.titleComparator.isSimilar(title, publication.getTitle())) {
-					publications.add(publication);
-				}
-			}
+		final var ids = getPublicationsIdBySimilarTitle(title);
+		if (ids == null) {
+			return new ArrayList<>();
 		}
-		return publications;
+		final var publications = new HashMap<Long, Publication>();
+		for (final var publication : this.publicationRepository.findAllById(ids)) {
+			publications.put(Long.valueOf(publication.getId()), publication);
+		}
+		return ids.stream().map(publications::get).filter(it -> it != null).collect(Collectors.toList());
 	}
 
 	/** Replies the publications for the given year.
@@ -550,6 +682,46 @@ public class PublicationService extends AbstractPublicationService {
 		return this.publicationRepository.countPublicationsForTypeAndYear(type,year);
 	}
 
+	/** Replies the numbers of publications for each publication type and each year.
+	 * The numbers are computed with a single grouped query on the database. The matrix is cached for each set
+	 * of organizations, whatever the category, and shared by all the callers, e.g., the charts of the different
+	 * user sessions, during {@link #PUBLICATION_COUNT_CACHE_DURATION}. At most {@link #PUBLICATION_COUNT_CACHE_SIZE}
+	 * sets of organizations are cached.
+	 *
+	 * @param organizations the identifiers of the research organizations for which the publications must be counted.
+	 *     A publication is counted if one of its authors is or was member of one of these organizations. The identifiers
+	 *     of the suborganizations must be provided if their publications must be counted. If this argument is {@code null}
+	 *     or empty, all the publications are counted.
+	 * @param category the category of the publications to be counted, or {@code null} for counting all the publications.
+	 * @return the matrix of the numbers of publications.
+	 * @since 4.1
+	 * @see #resetPublicationCountMatrices()
+	 */
+	public PublicationCountMatrix getPublicationCountMatrix(Set<Long> organizations, PublicationCategory category) {
+		// The grouped query does not depend on the category: the matrix of all the publications is cached
+		// and filtered for the given category
+		final Set<Long> key = organizations == null || organizations.isEmpty() ? Collections.emptySet() : Set.copyOf(organizations);
+		final var matrix = this.publicationCountMatrices.get(key, it -> {
+			final List<Object[]> rows;
+			if (it.isEmpty()) {
+				rows = this.publicationRepository.countPublicationsGroupedByTypeAndYear();
+			} else {
+				rows = this.publicationRepository.countPublicationsGroupedByTypeAndYearForOrganizations(it);
+			}
+			return new PublicationCountMatrix(rows, null);
+		});
+		return matrix.filter(category);
+	}
+
+	/** Forget the cached numbers of publications. The next calls to {@link #getPublicationCountMatrix(Set, PublicationCategory)}
+	 * will query the database.
+	 *
+	 * @since 4.1
+	 */
+	public void resetPublicationCountMatrices() {
+		this.publicationCountMatrices.invalidateAll();
+	}
+
 	/** Replies the publication categories.
 	 *
 	 * @return the list of publication categories.
@@ -654,6 +826,7 @@ public class PublicationService extends AbstractPublicationService {
 			publication.getAuthorshipsRaw().clear();
 			publication.setScientificAxes(null);
 			this.publicationRepository.deleteById(id);
+			unindexTitle(identifier);
 			if (removeAssociatedFiles) {
 				try {
 					this.fileManager.deletePublicationPdfFile(identifier);
@@ -697,6 +870,7 @@ public class PublicationService extends AbstractPublicationService {
 				publication.getAuthorshipsRaw().clear();
 				publication.setScientificAxes(null);
 				this.publicationRepository.deleteById(Long.valueOf(id));
+				unindexTitle(id);
 				if (removeAssociatedFiles) {
 					try {
 						this.fileManager.deletePublicationPdfFile(id);
@@ -740,6 +914,7 @@ public class PublicationService extends AbstractPublicationService {
 				publication.getAuthorshipsRaw().clear();
 				publication.setScientificAxes(null);
 				this.publicationRepository.deleteById(Long.valueOf(id));
+				unindexTitle(id);
 			}
 		}
 	}
@@ -779,6 +954,7 @@ public class PublicationService extends AbstractPublicationService {
 		final var authors = publication.getTemporaryAuthors();
 		publication.setTemporaryAuthors(null);
 		final var newPublication = this.publicationRepository.save(publication);
+		indexTitle(newPublication);
 		if (publication instanceof JournalBasedPublication jpublication) {
 			final var jour = jpublication.getJournal();
 			if (jour != null) {
@@ -992,6 +1168,7 @@ public class PublicationService extends AbstractPublicationService {
 
 					// Add the publication to the database and get the new assigned identifier
 					this.publicationRepository.save(publication);
+					indexTitle(publication);
 					final var publicationId = publication.getId();
 					final var publicationIdObj = Long.valueOf(publicationId);
 
@@ -1032,6 +1209,7 @@ public class PublicationService extends AbstractPublicationService {
 								this.authorshipRepository.deleteById(Long.valueOf(toRemove.getId()));
 							}
 							this.publicationRepository.deleteById(publicationIdObj);
+							unindexTitle(publicationId);
 							throw ex;
 						}
 					}
@@ -1153,6 +1331,98 @@ public class PublicationService extends AbstractPublicationService {
 		return this.json.exportPublicationsAsTreeWithRootKeys(publications, configurator, progression, callback, rootKeys);
 	}
 
+	/**
+	 * Streaming export function for BibTeX. The BibTeX representation of the publications is written into the given stream
+	 * as soon as it is generated, in order to avoid to have the whole exported content in memory.
+	 *
+	 * @param output the stream that receives the BibTeX description of the publications. It is not closed by this function.
+	 * @param publications the array of publications that should be exported.
+	 * @param configurator the configurator of the exporter.
+	 * @param progression the progression indicator to be used.
+	 * @throws Exception if it is impossible to generate the BibTeX for the publications.
+	 * @since 4.1
+	 */
+	public void exportBibTeX(OutputStream output, Collection<? extends Publication> publications, ExporterConfigurator configurator,
+			Progression progression) throws Exception {
+		if (publications != null) {
+			this.bibtex.exportPublications(output, publications, configurator, progression);
+		}
+	}
+
+	/**
+	 * Streaming export function for RIS. The RIS representation of the publications is written into the given stream
+	 * as soon as it is generated, in order to avoid to have the whole exported content in memory.
+	 *
+	 * @param output the stream that receives the RIS description of the publications. It is not closed by this function.
+	 * @param publications the array of publications that should be exported.
+	 * @param configurator the configurator of the exporter.
+	 * @param progression the progression indicator to be used.
+	 * @throws Exception if it is impossible to generate the RIS for the publications.
+	 * @since 4.1
+	 */
+	public void exportRIS(OutputStream output, Collection<? extends Publication> publications, ExporterConfigurator configurator,
+			Progression progression) throws Exception {
+		if (publications != null) {
+			this.ris.exportPublications(output, publications, configurator, progression);
+		}
+	}
+
+	/**
+	 * Streaming export function for HTML. The HTML representation of the publications is written into the given stream
+	 * as soon as it is generated, in order to avoid to have the whole exported content in memory.
+	 *
+	 * @param output the stream that receives the HTML description of the publications. It is not closed by this function.
+	 * @param publications the array of publications that should be exported.
+	 * @param configurator the configurator of the exporter.
+	 * @param progression the progression indicator to be used.
+	 * @throws Exception if it is impossible to generate the HTML for the publications.
+	 * @since 4.1
+	 */
+	public void exportHtml(OutputStream output, Collection<? extends Publication> publications, ExporterConfigurator configurator,
+			Progression progression) throws Exception {
+		if (publications != null) {
+			this.html.exportPublications(output, publications, configurator, progression);
+		}
+	}
+
+	/**
+	 * Streaming export function for Open Document Text. The Open Document Text representation of the publications is written into the given stream
+	 * as soon as it is generated, in order to avoid to have the whole exported content in memory.
+	 *
+	 * @param output the stream that receives the Open Document Text description of the publications. It is not closed by this function.
+	 * @param publications the array of publications that should be exported.
+	 * @param configurator the configurator of the exporter.
+	 * @param progression the progression indicator to be used.
+	 * @throws Exception if it is impossible to generate the Open Document Text for the publications.
+	 * @since 4.1
+	 */
+	public void exportOdt(OutputStream output, Collection<? extends Publication> publications, ExporterConfigurator configurator,
+			Progression progression) throws Exception {
+		if (publications != null) {
+			this.odt.exportPublications(output, publications, configurator, progression);
+		}
+	}
+
+	/**
+	 * Streaming export function for JSON. The JSON representation of each publication is written into the given stream
+	 * as soon as it is generated, in order to avoid to have the whole exported content in memory.
+	 *
+	 * @param output the stream that receives the JSON description of the publications. It is not closed by this function.
+	 * @param publications the array of publications that should be exported.
+	 * @param configurator the configurator of the exporter.
+	 * @param progression the progression indicator to be used.
+	 * @param rootKeys the sequence of keys for building the root of the tree. The exported data is then
+	 *     output into the last created node with the {@code rootKeys}.
+	 * @throws Exception if it is impossible to generate the JSON for the publications.
+	 * @since 4.1
+	 */
+	public void exportJson(OutputStream output, Collection<? extends Publication> publications, ExporterConfigurator configurator,
+			Progression progression, String... rootKeys) throws Exception {
+		if (publications != null) {
+			this.json.exportPublicationsWithRootKeys(output, publications, configurator, progression, rootKeys);
+		}
+	}
+
 	/** Get the journal instance that is corresponding to the identifier from the given map for an attribute with the given name.
 	 * <p>This function generates an exception if the journal is {@code null}.
 	 *
@@ -1853,11 +2123,7 @@ public class PublicationService extends AbstractPublicationService {
 	 * @since 3.6
 	 */
 	public List<ConferenceBasedPublication> getPublicationsForConference(long conferenceId) {
-		return this.publicationRepository.findAll().stream()
-				.filter(it -> it instanceof ConferenceBasedPublication)
-				.map(it -> (ConferenceBasedPublication) it)
-				.filter(it -> it.getConference() != null && it.getConference().getId() == conferenceId)
-				.collect(Collectors.toList());
+		return new ArrayList<>(this.publicationRepository.findAllByConferenceId(conferenceId));
 	}
 
 	/** Replies if the given id corresponds to an author.
@@ -2212,6 +2478,7 @@ public class PublicationService extends AbstractPublicationService {
 	private Publication updateAuthorListAndSave(Publication publication, List<Person> authors) {
 		// Save the publication before changing the authors
 		Publication savedPublication = this.publicationRepository.save(publication);
+		indexTitle(savedPublication);
 
 		// Update the list of authors.
 		Collector<Authorship, ?, Map<Long, Authorship>> col = Collectors.toMap(
@@ -2272,6 +2539,8 @@ public class PublicationService extends AbstractPublicationService {
 	}
 
 	/** Generate the thumbnails for the given publications.
+	 * The thumbnails are generated in parallel. A thumbnail is generated again only if its PDF file
+	 * has changed since its last generation. The thumbnails without PDF file are deleted.
 	 *
 	 * @param publications the list of publications
 	 * @param locale the locale to be used for the progress messages.
@@ -2279,37 +2548,65 @@ public class PublicationService extends AbstractPublicationService {
 	 * @throws IOException if some thumbnail cannot be generated
 	 */
 	public void generateThumbnails(List<Publication> publications, Locale locale, Progression progress) throws IOException {
+		generateThumbnails(publications, locale, false, progress);
+	}
+
+	/** Generate the thumbnails for the given publications.
+	 * The thumbnails are generated in parallel. If the generation is not forced, a thumbnail is generated again only
+	 * if its PDF file has changed since its last generation. The thumbnails without PDF file are deleted.
+	 *
+	 * @param publications the list of publications
+	 * @param locale the locale to be used for the progress messages.
+	 * @param force indicates if the thumbnails must be generated even if they are up-to-date.
+	 * @param progress the progression indicator to be used during the process.
+	 * @throws IOException if some thumbnail cannot be generated
+	 * @since 4.1
+	 */
+	public void generateThumbnails(List<Publication> publications, Locale locale, boolean force, Progression progress) throws IOException {
 		final var progress0 = progress == null ? new DefaultProgression() : progress;
 		final var existingThumbnails = this.fileManager.getThumbailFiles();
 		progress0.setProperties(0, 0, existingThumbnails.totalSize() + publications.size() * 2, false);
 		while (existingThumbnails.hasNext()) {
 			final var thumbnail = existingThumbnails.next();
-			progress0.setComment(getMessage(locale, MESSAGE_PREFIX + "deleteThumbnail", thumbnail.getName())); //$NON-NLS-1$
-			thumbnail.delete();
+			if (!FileSystem.replaceExtension(thumbnail, DownloadableFileManager.PDF_FILE_EXTENSION).exists()) {
+				progress0.setComment(getMessage(locale, MESSAGE_PREFIX + "deleteThumbnail", thumbnail.getName())); //$NON-NLS-1$
+				thumbnail.delete();
+			}
 			progress0.increment();
 		}
+		final var generations = new ArrayList<Pair<Publication, Future<Boolean>>>(publications.size() * 2);
 		for (final var publication : publications) {
-			progress0.setComment(getMessage(locale, MESSAGE_PREFIX + "generateThumbnail", publication.getTitle())); //$NON-NLS-1$
-			final var paperFile = publication.getPathToDownloadablePDF();
-			if (!Strings.isNullOrEmpty(paperFile)) {
-				final var file = FileSystem.convertStringToFile(paperFile);
-				if (file != null) {
-					this.fileManager.regenerateThumbnail(file);
-				}
-			}
-			progress0.increment();
-			final var awardFile = publication.getPathToDownloadableAwardCertificate();
-			if (!Strings.isNullOrEmpty(awardFile)) {
-				final var file = FileSystem.convertStringToFile(awardFile);
-				if (file != null) {
-					this.fileManager.regenerateThumbnail(file);
+			submitThumbnailGeneration(publication, publication.getPathToDownloadablePDF(), force, generations);
+			submitThumbnailGeneration(publication, publication.getPathToDownloadableAwardCertificate(), force, generations);
+		}
+		progress0.increment(publications.size() * 2 - generations.size());
+		for (final var generation : generations) {
+			progress0.setComment(getMessage(locale, MESSAGE_PREFIX + "generateThumbnail", generation.getLeft().getTitle())); //$NON-NLS-1$
+			try {
+				generation.getRight().get();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IOException(ex);
+			} catch (ExecutionException ex) {
+				if (ex.getCause() instanceof IOException ioe) {
+					throw ioe;
 				}
+				throw new IOException(ex.getCause());
 			}
 			progress0.increment();
 		}
 		progress0.end();
 	}
 
+	private void submitThumbnailGeneration(Publication publication, String path, boolean force, List<Pair<Publication, Future<Boolean>>> generations) {
+		if (!Strings.isNullOrEmpty(path)) {
+			final var file = FileSystem.convertStringToFile(path);
+			if (file != null) {
+				generations.add(Pair.of(publication, this.fileManager.submitThumbnailGeneration(file, this.fileManager.toThumbnailFilename(file), force)));
+			}
+		}
+	}
+
 	@Override
 	public EntityEditingContext<Publication> startEditing(Publication publication) {
 		assert publication != null;
@@ -2457,6 +2754,7 @@ public class PublicationService extends AbstractPublicationService {
 
 				// Save the entity
 				PublicationService.this.publicationRepository.deleteById(Long.valueOf(id));
+				PublicationService.this.unindexTitle(id);
 				
 				// Delete file managers
 				final var pubid = publication.getId();
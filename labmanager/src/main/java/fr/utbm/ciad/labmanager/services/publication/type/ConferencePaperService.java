@@ -44,6 +44,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -176,6 +177,24 @@ public class ConferencePaperService extends AbstractPublicationTypeService {
 		return this.repository.findAllByAuthorshipsPersonIdIn(identifiers);
 	}
 
+	/** Replies the conference papers that are attached to a person involved in the given organization or its suborganizations,
+	 * and that are published in the given period. The authors and their memberships are loaded with the papers.
+	 *
+	 * @param identifier the identifier of the organization.
+	 * @param startYear the first year of the period.
+	 * @param endYear the last year of the period.
+	 * @return the publications.
+	 * @since 4.1
+	 */
+	public Set<ConferencePaper> getConferencePapersByOrganizationId(long identifier, int startYear, int endYear) {
+		final var identifiers = this.membershipService.getMembersOf(identifier).stream()
+				.map(it -> Long.valueOf(it.getId())).collect(Collectors.toUnmodifiableSet());
+		if (identifiers.isEmpty()) {
+			return Collections.emptySet();
+		}
+		return this.repository.findAllWithAuthorsByAuthorshipsPersonIdInAndPublicationYearBetween(identifiers, startYear, endYear);
+	}
+
 	/** Create a conference paper.
 	 *
 	 * @param publication the publication to copy.
@@ -44,6 +44,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -185,11 +186,38 @@ public class JournalPaperService extends AbstractPublicationTypeService {
 		final var identifiers = members.stream().map(it -> Long.valueOf(it.getId())).collect(Collectors.toUnmodifiableSet());
 		final var publications = this.repository.findAllByAuthorshipsPersonIdIn(identifiers);
 		if (filterAuthorshipsWithActiveMemberships) {
-			return filterPublicationsWithMemberships(publications, identifier, includeSubOrganizations);
+			return filterPublicationsWithMemberships(publications, identifier, includeSubOrganizations,
+					this.membershipService.getOrganizationHierarchy());
 		}
 		return publications;
 	}
 
+	/** Replies the journal papers that are attached to a person involved in the given organization or its suborganizations,
+	 * and that are published in the given period. The authorships are filtered with the active memberships.
+	 * The journals with their quality indicators, the authors and their memberships are loaded with the papers.
+	 * This function should be invoked within a transaction in order to share the loaded entities.
+	 *
+	 * @param identifier the identifier of the organization.
+	 * @param startYear the first year of the period.
+	 * @param endYear the last year of the period.
+	 * @return the publications.
+	 * @since 4.1
+	 */
+	public Set<JournalPaper> getJournalPapersByOrganizationId(long identifier, int startYear, int endYear) {
+		final var identifiers = this.membershipService.getMembersOf(identifier).stream()
+				.map(it -> Long.valueOf(it.getId())).collect(Collectors.toUnmodifiableSet());
+		if (identifiers.isEmpty()) {
+			return Collections.emptySet();
+		}
+		final var publications = this.repository.findAllWithAuthorsByAuthorshipsPersonIdInAndPublicationYearBetween(identifiers, startYear, endYear);
+		if (!publications.isEmpty()) {
+			// Load the quality indicators of the journals into the current persistence context
+			this.repository.findDistinctJournalsWithQualityIndicatorsByIdIn(
+					publications.stream().map(it -> Long.valueOf(it.getId())).collect(Collectors.toList()));
+		}
+		return filterPublicationsWithMemberships(publications, identifier, true, this.membershipService.getOrganizationHierarchy());
+	}
+
 	/** Create a journal paper.
 	 *
 	 * @param publication the publication to copy.
@@ -0,0 +1,405 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.search;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import fr.utbm.ciad.labmanager.components.AbstractComponent;
+import fr.utbm.ciad.labmanager.configuration.Constants;
+import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
+import fr.utbm.ciad.labmanager.data.conference.Conference;
+import fr.utbm.ciad.labmanager.data.journal.Journal;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.data.project.Project;
+import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.utils.names.EntityKeywordIndex;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.stereotype.Service;
+
+/** Service that maintains the in-memory keyword indexes of the entities that are displayed in the lists of entities,
+ * i.e., the persons, the publications, the journals, the conferences, the research organizations and the projects.
+ * The keyword search in these lists is done with the indexes instead of {@code LIKE} queries on the database.
+ *
+ * <p>The index of a type of entity is built from the database at the first search. It is updated
+ * when the entities of this type are created, changed or deleted in the database. The index is built
+ * outside of any lock on the map of the indexes; it is published only if no entity of its type was changed
+ * during the building, otherwise it is built again.
+ *
+ * <p>A search may match a large part of the entities. The identifiers that are replied by the search are used
+ * in {@code IN} predicates only if their number is not greater than {@link #MAX_QUERY_IDENTIFIERS}; otherwise,
+ * the callers should use their {@code LIKE} queries.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ * @see EntityKeywordIndex
+ */
+@Service
+public class EntityKeywordIndexService extends AbstractComponent {
+
+	/** Name of the field that contains the names or the acronyms of the entities.
+	 */
+	public static final String NAME_FIELD = "name"; //$NON-NLS-1$
+
+	/** Name of the field that contains the ORCID of the persons.
+	 */
+	public static final String ORCID_FIELD = "orcid"; //$NON-NLS-1$
+
+	/** Name of the field that contains the titles of the publications.
+	 */
+	public static final String TITLE_FIELD = "title"; //$NON-NLS-1$
+
+	/** Name of the field that contains the years of the publications.
+	 */
+	public static final String YEAR_FIELD = "year"; //$NON-NLS-1$
+
+	/** Name of the field that contains the publishers of the journals and conferences.
+	 */
+	public static final String PUBLISHER_FIELD = "publisher"; //$NON-NLS-1$
+
+	/** Name of the field that contains the types of the organizations and the projects.
+	 */
+	public static final String TYPE_FIELD = "type"; //$NON-NLS-1$
+
+	/** Name of the field that contains the countries of the organizations.
+	 */
+	public static final String COUNTRY_FIELD = "country"; //$NON-NLS-1$
+
+	/** Name of the field that contains the start dates of the projects.
+	 */
+	public static final String DATE_FIELD = "date"; //$NON-NLS-1$
+
+	/** Name of the field that contains the status of the projects.
+	 */
+	public static final String STATUS_FIELD = "status"; //$NON-NLS-1$
+
+	/** Maximum number of identifiers that are put into an {@code IN} predicate of a query.
+	 * Above this number, the {@code LIKE} predicates should be used because the databases
+	 * limit the number of the parameters of a query, and a long list of identifiers is slower to process.
+	 */
+	public static final int MAX_QUERY_IDENTIFIERS = 1000;
+
+	private static final int MAX_BUILD_ATTEMPTS = 3;
+
+	private static final List<IndexDefinition<?>> DEFINITIONS = List.of(
+			new IndexDefinition<>(Person.class,
+					"SELECT p.id, p.firstName, p.lastName, p.orcid FROM Person p", //$NON-NLS-1$
+					new String[] {NAME_FIELD, NAME_FIELD, ORCID_FIELD},
+					it -> new Object[] {it.getFirstName(), it.getLastName(), it.getORCID()}),
+			new IndexDefinition<>(Publication.class,
+					"SELECT p.id, p.title, p.publicationYear FROM Publication p", //$NON-NLS-1$
+					new String[] {TITLE_FIELD, YEAR_FIELD},
+					it -> new Object[] {it.getTitle(), Integer.valueOf(it.getPublicationYear())}),
+			new IndexDefinition<>(Journal.class,
+					"SELECT j.id, j.journalName, j.publisher FROM Journal j", //$NON-NLS-1$
+					new String[] {NAME_FIELD, PUBLISHER_FIELD},
+					it -> new Object[] {it.getJournalName(), it.getPublisher()}),
+			new IndexDefinition<>(Conference.class,
+					"SELECT c.id, c.acronym, c.name, c.publisher FROM Conference c", //$NON-NLS-1$
+					new String[] {NAME_FIELD, NAME_FIELD, PUBLISHER_FIELD},
+					it -> new Object[] {it.getAcronym(), it.getName(), it.getPublisher()}),
+			new IndexDefinition<>(ResearchOrganization.class,
+					"SELECT o.id, o.acronym, o.name, o.type, o.country FROM ResearchOrganization o", //$NON-NLS-1$
+					new String[] {NAME_FIELD, NAME_FIELD, TYPE_FIELD, COUNTRY_FIELD},
+					it -> new Object[] {it.getAcronym(), it.getName(), it.getType(), it.getCountry()}),
+			new IndexDefinition<>(Project.class,
+					"SELECT p.id, p.acronym, p.scientificTitle, p.startDate, p.activityType, p.contractType, p.status FROM Project p", //$NON-NLS-1$
+					new String[] {NAME_FIELD, NAME_FIELD, DATE_FIELD, TYPE_FIELD, TYPE_FIELD, STATUS_FIELD},
+					it -> new Object[] {it.getAcronym(), it.getScientificTitle(), it.getStartDate(), it.getActivityType(), it.getContractType(), it.getStatus()}));
+
+	private final SessionFactory sessionFactory;
+
+	private final Map<Class<?>, EntityKeywordIndex> indexes = new ConcurrentHashMap<>();
+
+	private final Map<Class<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+
+	private final Map<Class<?>, Object> buildLocks = new ConcurrentHashMap<>();
+
+	/** Constructor for injector.
+	 * This constructor is defined for being invoked by the IOC injector.
+	 *
+	 * @param messages the provider of localized messages.
+	 * @param constants the accessor to the live constants.
+	 * @param sessionFactory the factory of JPA sessions.
+	 */
+	public EntityKeywordIndexService(
+			@Autowired MessageSourceAccessor messages,
+			@Autowired Constants constants,
+			@Autowired SessionFactory sessionFactory) {
+		super(messages, constants);
+		this.sessionFactory = sessionFactory;
+		final var factory = sessionFactory.unwrap(SessionFactoryImplementor.class);
+		final var registry = factory == null ? null : factory.getServiceRegistry().getService(EventListenerRegistry.class);
+		if (registry != null) {
+			final var listener = new ChangeListener();
+			registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+			registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+			registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+		}
+	}
+
+	private static IndexDefinition<?> getDefinition(Class<?> type) {
+		for (final var definition : DEFINITIONS) {
+			if (definition.type().isAssignableFrom(type)) {
+				return definition;
+			}
+		}
+		return null;
+	}
+
+	/** Replies the identifiers of the entities of the given type that contain each of the given keywords in at least one of the given fields.
+	 *
+	 * @param type the type of the entities.
+	 * @param keywords the keywords to search for, separated by spaces.
+	 * @param fields the names of the fields in which the keywords are searched for, e.g. {@link #NAME_FIELD}.
+	 * @return the identifiers of the matching entities, or {@code null} if the entities of the given type are not indexed.
+	 */
+	public Set<Long> search(Class<? extends IdentifiableEntity> type, String keywords, Collection<String> fields) {
+		final var index = getIndex(type);
+		if (index == null) {
+			return null;
+		}
+		return index.search(keywords, fields);
+	}
+
+	/** Replies if the given identifiers could be used in an {@code IN} predicate of a query.
+	 *
+	 * @param identifiers the identifiers that are replied by a search.
+	 * @return {@code true} if the number of identifiers is not greater than {@link #MAX_QUERY_IDENTIFIERS}.
+	 */
+	public static boolean isQueryable(Collection<Long> identifiers) {
+		return identifiers != null && identifiers.size() <= MAX_QUERY_IDENTIFIERS;
+	}
+
+	private AtomicLong getVersion(Class<?> type) {
+		return this.versions.computeIfAbsent(type, it -> new AtomicLong());
+	}
+
+	/** Replies the index for the given type of entities. The index is built from the database at the first call.
+	 *
+	 * @param type the type of the entities.
+	 * @return the index, or {@code null} if the entities of the given type are not indexed.
+	 */
+	protected EntityKeywordIndex getIndex(Class<?> type) {
+		final var definition = getDefinition(type);
+		if (definition == null) {
+			return null;
+		}
+		final var key = definition.type();
+		var index = this.indexes.get(key);
+		if (index != null) {
+			return index;
+		}
+		final var version = getVersion(key);
+		synchronized (this.buildLocks.computeIfAbsent(key, it -> new Object())) {
+			// The index may be built by another thread while this thread was waiting
+			index = this.indexes.get(key);
+			if (index != null) {
+				return index;
+			}
+			for (var i = 0; i < MAX_BUILD_ATTEMPTS; ++i) {
+				final var stamp = version.get();
+				final var builtIndex = buildIndex(definition);
+				// The index is published only if no entity was changed since the start of the building
+				final var publishedIndex = this.indexes.compute(key,
+						(it, current) -> current != null ? current : version.get() == stamp ? builtIndex : null);
+				if (publishedIndex != null) {
+					return publishedIndex;
+				}
+				index = builtIndex;
+			}
+		}
+		// The entities are changed too often. The last built index is used for this search only
+		return index;
+	}
+
+	private EntityKeywordIndex buildIndex(IndexDefinition<?> definition) {
+		final var index = new EntityKeywordIndex();
+		try (final var session = this.sessionFactory.openStatelessSession()) {
+			for (final var row : session.createSelectionQuery(definition.query(), Object[].class).list()) {
+				final var values = new Object[row.length - 1];
+				System.arraycopy(row, 1, values, 0, values.length);
+				index.put(((Number) row[0]).longValue(), definition.toFields(values));
+			}
+		}
+		getLogger().info("Keyword index of " + definition.type().getSimpleName() + " built with " + index.size() + " entities"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		return index;
+	}
+
+	/** Force the indexes to be rebuilt from the database at the next search.
+	 * This function should be invoked when the entities are changed without using JPA, e.g. with native SQL queries.
+	 */
+	public void reset() {
+		for (final var version : this.versions.values()) {
+			version.incrementAndGet();
+		}
+		this.indexes.clear();
+	}
+
+	/** Update the index of the given entity. If the index for the type of the entity is not built yet,
+	 * this function does nothing.
+	 *
+	 * @param entity the created or changed entity.
+	 */
+	public void update(IdentifiableEntity entity) {
+		final var definition = getDefinition(entity.getClass());
+		if (definition != null) {
+			final var fields = definition.toFields(entity);
+			getVersion(definition.type()).incrementAndGet();
+			// The update waits for the publication of an index that is built concurrently
+			this.indexes.computeIfPresent(definition.type(), (it, index) -> {
+				index.put(entity.getId(), fields);
+				return index;
+			});
+		}
+	}
+
+	/** Remove the given entity from the index. If the index for the type of the entity is not built yet,
+	 * this function does nothing.
+	 *
+	 * @param entity the deleted entity.
+	 */
+	public void remove(IdentifiableEntity entity) {
+		final var definition = getDefinition(entity.getClass());
+		if (definition != null) {
+			getVersion(definition.type()).incrementAndGet();
+			this.indexes.computeIfPresent(definition.type(), (it, index) -> {
+				index.remove(entity.getId());
+				return index;
+			});
+		}
+	}
+
+	/** Definition of the index of a type of entity.
+	 *
+	 * @param <T> the type of the entities.
+	 * @param type the type of the entities.
+	 * @param query the HQL query that replies the identifiers of the entities and the values of their indexed fields.
+	 * @param fields the names of the fields in the same order as the values that are replied by the query.
+	 *     If a name appears several times, the values of the field are concatenated.
+	 * @param values the function that replies the values of the indexed fields of an entity in the same order as the query.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private record IndexDefinition<T extends IdentifiableEntity>(Class<T> type, String query, String[] fields, Function<T, Object[]> values) {
+
+		Map<String, String> toFields(Object[] values) {
+			final var result = new HashMap<String, String>();
+			for (var i = 0; i < this.fields.length && i < values.length; ++i) {
+				final var value = values[i];
+				if (value != null) {
+					final var text = value instanceof Enum<?> enumValue ? enumValue.name() : value.toString();
+					result.merge(this.fields[i], text, (a, b) -> a + " " + b); //$NON-NLS-1$
+				}
+			}
+			return result;
+		}
+
+		Map<String, String> toFields(IdentifiableEntity entity) {
+			return toFields(this.values.apply(this.type.cast(entity)));
+		}
+
+	}
+
+	/** Listener on the changes of the indexed entities in the database.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private class ChangeListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+		private static final long serialVersionUID = -3719203945128617365L;
+
+		ChangeListener() {
+			//
+		}
+
+		@Override
+		public boolean requiresPostCommitHandling(EntityPersister persister) {
+			return getDefinition(persister.getMappedClass()) != null;
+		}
+
+		@Override
+		public void onPostInsert(PostInsertEvent event) {
+			if (event.getEntity() instanceof IdentifiableEntity entity) {
+				update(entity);
+			}
+		}
+
+		@Override
+		public void onPostInsertCommitFailed(PostInsertEvent event) {
+			//
+		}
+
+		@Override
+		public void onPostUpdate(PostUpdateEvent event) {
+			if (event.getEntity() instanceof IdentifiableEntity entity) {
+				update(entity);
+			}
+		}
+
+		@Override
+		public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+			//
+		}
+
+		@Override
+		public void onPostDelete(PostDeleteEvent event) {
+			if (event.getEntity() instanceof IdentifiableEntity entity) {
+				remove(entity);
+			}
+		}
+
+		@Override
+		public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+			//
+		}
+
+	}
+
+}
@@ -20,6 +20,7 @@
 package fr.utbm.ciad.labmanager.services.supervision;
 
 import fr.utbm.ciad.labmanager.configuration.Constants;
+import fr.utbm.ciad.labmanager.data.FetchPlan;
 import fr.utbm.ciad.labmanager.data.member.MembershipRepository;
 import fr.utbm.ciad.labmanager.data.supervision.Supervision;
 import fr.utbm.ciad.labmanager.data.supervision.SupervisionRepository;
@@ -167,6 +168,29 @@ public class SupervisionService extends AbstractEntityService<Supervision> {
 		return page;
 	}
 
+	/** Replies the list of all the supervisions from the database, with the associations that are described by the given fetch plan.
+	 * The associations are loaded by a constant number of queries, whatever the size of the page.
+	 *
+	 * @param pageable the manager of pages.
+	 * @param filter the filter of supervisions.
+	 * @param fetchPlan the associations to load with the supervisions. It may be {@code null}.
+	 * @param callback is invoked on each entity in the context of the JPA session, after the application of the fetch plan.
+	 *     It may be {@code null}.
+	 * @return the list of supervisions, never {@code null}.
+	 * @since 4.1
+	 */
+	@Transactional
+	public Page<Supervision> getAllSupervisions(Pageable pageable, Specification<Supervision> filter, FetchPlan<Supervision> fetchPlan, Consumer<Supervision> callback) {
+		final var page = this.supervisionRepository.findAll(filter, pageable);
+		if (fetchPlan != null) {
+			inSession(session -> fetchPlan.apply(session, page.getContent()));
+		}
+		if (callback != null) {
+			page.forEach(callback);
+		}
+		return page;
+	}
+
 	/** Replies all the supervisions associated to the person with the given identifier, when he/she is one of the supervisors.
 	 *
 	 * @param supervisorId the identifier of the supervisor.
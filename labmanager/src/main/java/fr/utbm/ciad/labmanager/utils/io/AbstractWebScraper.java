@@ -20,10 +20,10 @@
 package fr.utbm.ciad.labmanager.utils.io;
 
 import com.google.common.base.Strings;
-import com.microsoft.playwright.BrowserType.LaunchOptions;
 import com.microsoft.playwright.ElementHandle;
 import com.microsoft.playwright.Page;
-import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import org.arakhne.afc.progress.DefaultProgression;
 import org.arakhne.afc.progress.Progression;
 
@@ -45,6 +45,27 @@ public abstract class AbstractWebScraper {
 
 	private static final int TIMEOUT = 30000;
 
+	private final HeadlessBrowserPool browserPool;
+
+	/** Constructor.
+	 *
+	 * @param browserPool the pool of browsers that is used for loading the pages.
+	 * @since 4.1
+	 */
+	protected AbstractWebScraper(HeadlessBrowserPool browserPool) {
+		assert browserPool != null;
+		this.browserPool = browserPool;
+	}
+
+	/** Replies the pool of browsers that is used for loading the pages.
+	 *
+	 * @return the pool of browsers.
+	 * @since 4.1
+	 */
+	public HeadlessBrowserPool getBrowserPool() {
+		return this.browserPool;
+	}
+
 	/** Ensure the definition of a progress bar.
 	 *
 	 * @param progress the original progress bar.
@@ -55,19 +76,19 @@ public abstract class AbstractWebScraper {
 	}
 
 	/** Wait for the loading of the element.
+	 * The waiting is done by the browser, that notifies when the element is attached to the page.
 	 *
 	 * @param loadingPage the page that is loading.
 	 * @param selector the XPath selector for the element.
-	 * @return the loaded element.
+	 * @return the loaded element, or {@code null} if the element was not found before the timeout.
 	 */
 	protected static ElementHandle waitForElement(Page loadingPage, String selector) {
-		var section = loadingPage.querySelector(selector);
-		final var timeout = System.currentTimeMillis() + TIMEOUT;
-		while (section == null && System.currentTimeMillis() < timeout) {
-			Thread.yield();
-			section = loadingPage.querySelector(selector);
+		try {
+			return loadingPage.waitForSelector(selector, new Page.WaitForSelectorOptions()
+					.setState(WaitForSelectorState.ATTACHED).setTimeout(TIMEOUT));
+		} catch (TimeoutError ex) {
+			return null;
 		}
-		return section;
 	}
 
 	/** Read an integer value in the element pointed by the given selector.
@@ -205,6 +226,7 @@ public abstract class AbstractWebScraper {
 	}
 
 	/** Read the content of the page pointed by the given URL.
+	 * The page is loaded by one of the browsers of the {@link #getBrowserPool() pool of browsers}.
 	 *
 	 * @param developer indicates if the browser is launched in developer mode (window visible) or not (window invisible).
 	 * @param url the URL.
@@ -214,35 +236,30 @@ public abstract class AbstractWebScraper {
 	 * @param loadedHandler the handler invoked when the page is loaded.
 	 * @throws Exception if it is impossible to read the page.
 	 */
-	@SuppressWarnings("deprecation")
-	protected static void loadHtmlPage(boolean developer, URL url, Progression progress,
+	protected void loadHtmlPage(boolean developer, URL url, Progression progress,
 			String loadElementSelector, int waitingDuration,
 			HtmlPageExtractor loadedHandler) throws Exception {
 		assert progress != null;
 		progress.setProperties(0, 0, 100, false);
 		try {
 			if (url != null) {
-				try (var playwright = Playwright.create()) {
-					final var browserType = playwright.firefox();
-					final var options = new LaunchOptions();
-					options.setDevtools(developer);
-					try (final var browser = browserType.launch(options)) {
-						try (final var page = browser.newPage()) {
-							progress.setValue(20);
-							final var response = page.navigate(url.toExternalForm());
-							response.finished();
-							progress.setValue(80);
-							if (waitingDuration > 0) {
-								Thread.sleep(waitingDuration);
-							}
-							var section0 = waitForElement(page, loadElementSelector);
-							progress.setValue(95);
-							if (section0 != null) {
-								loadedHandler.apply(page, section0);
-							}
-						}
+				this.browserPool.withPage(developer, page -> {
+					progress.setValue(20);
+					final var response = page.navigate(url.toExternalForm());
+					if (response != null) {
+						response.finished();
 					}
-				}
+					progress.setValue(80);
+					if (waitingDuration > 0) {
+						page.waitForTimeout(waitingDuration);
+					}
+					var section0 = waitForElement(page, loadElementSelector);
+					progress.setValue(95);
+					if (section0 != null) {
+						loadedHandler.apply(page, section0);
+					}
+					return null;
+				});
 			}
 		} finally {
 			progress.end();
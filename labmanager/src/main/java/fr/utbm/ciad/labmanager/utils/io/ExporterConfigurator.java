@@ -19,16 +19,15 @@
 
 package fr.utbm.ciad.labmanager.utils.io;
 
-import fr.utbm.ciad.labmanager.data.member.MemberStatus;
-import fr.utbm.ciad.labmanager.data.member.Membership;
 import fr.utbm.ciad.labmanager.data.member.Person;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.data.publication.PublicationLanguage;
 import fr.utbm.ciad.labmanager.services.journal.JournalService;
 import org.springframework.web.util.UriBuilder;
 
-import java.time.LocalDate;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.function.Predicate;
@@ -49,6 +48,8 @@ public class ExporterConfigurator {
 
 	private final Map<String, Object> queryParameters = new HashMap<>();
 
+	private final Map<Person, MembershipTimeline> membershipTimelines = Collections.synchronizedMap(new IdentityHashMap<>());
+
 	private boolean enableSelectedPersonFormat = true;
 
 	private boolean enableResearcherFormat = true;
@@ -358,6 +359,8 @@ public class ExporterConfigurator {
 	 */
 	public ExporterConfigurator selectOrganization(Predicate<ResearchOrganization> selector) {
 		this.organizationSelector = selector;
+		// The indexes of the memberships depend on the organization selector
+		this.membershipTimelines.clear();
 		return this;
 	}
 
@@ -369,62 +372,35 @@ public class ExporterConfigurator {
 		return this.organizationSelector != null;
 	}
 
-	private static boolean isValidPeriod(Membership membership, int year) {
-		final var start = LocalDate.of(year, 1, 1);
-		final var end = LocalDate.of(year, 12, 31);
-		return membership.isActiveIn(start, end);
-	}
-
-	private static boolean isResearcher(Membership membership) {
-		final var it = membership.getMemberStatus();
-		return it.isResearcher() && it != MemberStatus.POSTDOC && it != MemberStatus.PHD_STUDENT
-				&& it != MemberStatus.ASSOCIATED_MEMBER;
-	}
-
-	private static boolean isPhDStudent(Membership membership) {
-		final var it = membership.getMemberStatus();
-		return it == MemberStatus.PHD_STUDENT;
-	}
-
-	private static boolean isPostdocEngineer(Membership membership) {
-		final var it = membership.getMemberStatus();
-		return it.isTechnicalStaff() || it == MemberStatus.POSTDOC;
-	}
-
-	private static ExportedAuthorStatus max(ExportedAuthorStatus status0, ExportedAuthorStatus status1) {
-		if (status0.ordinal() <= status1.ordinal()) {
-			return status0;
-		}
-		return status1;
+	/** Replies the index of the memberships of the given person, for the current organization selector.
+	 *
+	 * @param person the person.
+	 * @return the index.
+	 * @since 4.1
+	 */
+	protected MembershipTimeline getMembershipTimeline(Person person) {
+		return this.membershipTimelines.computeIfAbsent(person,
+				it -> new MembershipTimeline(it.getMemberships(), this.organizationSelector));
 	}
 
 	/** Replies the status of an exported author. If there is multiple memberships active at the same time,
 	 * the highest membership position is considered. 
 	 * <p>This feature may be ignored in the implementation of the exporter.
+	 * <p>The memberships of the person are indexed at the first call for this person, and the index is
+	 * kept by this configurator until the organization selector is changed. The memberships of the
+	 * person are assumed to not change during the export.
 	 *
 	 * @param person the person to test.
 	 * @param year the current year.
 	 * @return the status, never {@code null}.
+	 * @see MembershipTimeline
 	 */
 	public ExportedAuthorStatus getExportedAuthorStatusFor(Person person, int year) {
 		if (person != null) {
 			if (this.personSelector != null && this.personSelector.test(person)) {
 				return ExportedAuthorStatus.SELECTED_PERSON;
 			}
-			var status = ExportedAuthorStatus.OTHER;
-			for (final var membership : person.getMemberships()) {
-				if (isValidPeriod(membership, year)
-						&& (this.organizationSelector == null || this.organizationSelector.test(membership.getDirectResearchOrganization()))) {
-					if (isResearcher(membership)) {
-						status = max(status, ExportedAuthorStatus.RESEARCHER);
-					} else if (isPhDStudent(membership)) {
-						status = max(status, ExportedAuthorStatus.PHD_STUDENT);
-					} else if (isPostdocEngineer(membership)) {
-						status = max(status, ExportedAuthorStatus.POSTDOC_ENGINEER);
-					}
-				}
-			}
-			return status;
+			return getMembershipTimeline(person).getStatus(year);
 		}
 		return ExportedAuthorStatus.OTHER;
 	}
@@ -0,0 +1,388 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.io;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/** Bounded pool of headless browsers that is shared by the web scrapers.
+ * A browser is launched on demand, and it is reused for loading the next pages. Each page is loaded
+ * inside a new browser context in order to isolate the cookies and the cache of the different loads.
+ * The browsers that are not used during the idle timeout are closed.
+ *
+ * <p>Playwright is not thread-safe: all the calls to a browser must be done from the thread that has created it.
+ * For this reason, each pooled browser is associated to a dedicated thread that runs all the tasks on this browser.
+ *
+ * <p>The configuration variables {@code labmanager.web-scraper.max-browsers} and {@code labmanager.web-scraper.idle-timeout}
+ * define the maximum number of browsers that are launched at the same time and the idle timeout in milliseconds.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@Component
+public class HeadlessBrowserPool implements AutoCloseable {
+
+	/** Default maximum number of browsers that are launched at the same time.
+	 */
+	public static final int DEFAULT_MAX_BROWSERS = 2;
+
+	/** Default duration in milliseconds after which an unused browser is closed.
+	 */
+	public static final long DEFAULT_IDLE_TIMEOUT = 60000l;
+
+	private static final long MIN_REAPING_PERIOD = 1000l;
+
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+	private final int maxBrowsers;
+
+	private final long idleTimeout;
+
+	private final Semaphore permits;
+
+	private final Supplier<Playwright> playwrightFactory;
+
+	private final Deque<PooledBrowser> idleBrowsers = new ArrayDeque<>();
+
+	private int browserCount;
+
+	private ScheduledExecutorService reaper;
+
+	private boolean closed;
+
+	/** Constructor with the default configuration.
+	 */
+	public HeadlessBrowserPool() {
+		this(DEFAULT_MAX_BROWSERS, DEFAULT_IDLE_TIMEOUT);
+	}
+
+	/** Constructor.
+	 *
+	 * @param maxBrowsers the maximum number of browsers that are launched at the same time.
+	 * @param idleTimeout the duration in milliseconds after which an unused browser is closed.
+	 */
+	@Autowired
+	public HeadlessBrowserPool(
+			@Value("${labmanager.web-scraper.max-browsers:" + DEFAULT_MAX_BROWSERS + "}") int maxBrowsers,
+			@Value("${labmanager.web-scraper.idle-timeout:" + DEFAULT_IDLE_TIMEOUT + "}") long idleTimeout) {
+		this(maxBrowsers, idleTimeout, Playwright::create);
+	}
+
+	/** Constructor.
+	 *
+	 * @param maxBrowsers the maximum number of browsers that are launched at the same time.
+	 * @param idleTimeout the duration in milliseconds after which an unused browser is closed.
+	 * @param playwrightFactory the factory of the Playwright instances, one per launched browser.
+	 */
+	public HeadlessBrowserPool(int maxBrowsers, long idleTimeout, Supplier<Playwright> playwrightFactory) {
+		assert playwrightFactory != null;
+		this.maxBrowsers = Math.max(1, maxBrowsers);
+		this.idleTimeout = Math.max(0l, idleTimeout);
+		this.permits = new Semaphore(this.maxBrowsers, true);
+		this.playwrightFactory = playwrightFactory;
+	}
+
+	/** Replies the maximum number of browsers that are launched at the same time.
+	 *
+	 * @return the maximum number of browsers.
+	 */
+	public int getMaxBrowsers() {
+		return this.maxBrowsers;
+	}
+
+	/** Replies the duration after which an unused browser is closed.
+	 *
+	 * @return the idle timeout in milliseconds.
+	 */
+	public long getIdleTimeout() {
+		return this.idleTimeout;
+	}
+
+	/** Replies the number of browsers that are currently launched, used or not.
+	 *
+	 * @return the number of browsers.
+	 */
+	public synchronized int getBrowserCount() {
+		return this.browserCount;
+	}
+
+	/** Open a new page in one of the pooled browsers and run the given callback on it.
+	 * The caller is blocked until a browser is available. The page and its browser context are closed
+	 * when the callback returns.
+	 *
+	 * @param <T> the type of the value replied by the callback.
+	 * @param developer indicates if the browser is launched in developer mode (window visible) or not (window invisible).
+	 * @param callback the code to run on the page. It is run on the thread that is dedicated to the browser.
+	 * @return the value replied by the callback.
+	 * @throws Exception if the page cannot be opened or if the callback has failed.
+	 */
+	public <T> T withPage(boolean developer, PageCallback<T> callback) throws Exception {
+		assert callback != null;
+		this.permits.acquire();
+		try {
+			final var browser = borrow(developer);
+			var reusable = false;
+			try {
+				final var result = browser.run(callback);
+				reusable = true;
+				return result;
+			} finally {
+				release(browser, reusable || browser.isConnected());
+			}
+		} finally {
+			this.permits.release();
+		}
+	}
+
+	private synchronized PooledBrowser borrow(boolean developer) {
+		if (this.closed) {
+			throw new IllegalStateException("The pool of browsers is closed"); //$NON-NLS-1$
+		}
+		final var iterator = this.idleBrowsers.iterator();
+		while (iterator.hasNext()) {
+			final var browser = iterator.next();
+			if (browser.developer == developer) {
+				iterator.remove();
+				return browser;
+			}
+		}
+		// All the busy browsers own a permit, so there is at least one idle browser if the pool is full
+		if (this.browserCount >= this.maxBrowsers) {
+			final var evicted = this.idleBrowsers.pollLast();
+			if (evicted != null) {
+				evicted.dispose();
+				--this.browserCount;
+			}
+		}
+		++this.browserCount;
+		ensureReaper();
+		return new PooledBrowser(developer, this.playwrightFactory);
+	}
+
+	private synchronized void release(PooledBrowser browser, boolean reusable) {
+		if (reusable && !this.closed) {
+			browser.lastUse = System.currentTimeMillis();
+			this.idleBrowsers.addFirst(browser);
+		} else {
+			browser.dispose();
+			--this.browserCount;
+		}
+	}
+
+	private void ensureReaper() {
+		if (this.reaper == null && this.idleTimeout > 0l) {
+			this.reaper = Executors.newSingleThreadScheduledExecutor(it -> {
+				final var thread = new Thread(it, "labmanager-browser-reaper"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			final var period = Math.max(MIN_REAPING_PERIOD, this.idleTimeout / 2);
+			this.reaper.scheduleAtFixedRate(this::closeIdleBrowsers, period, period, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/** Close the browsers that were not used during the idle timeout.
+	 */
+	protected synchronized void closeIdleBrowsers() {
+		final var limit = System.currentTimeMillis() - this.idleTimeout;
+		final var iterator = this.idleBrowsers.iterator();
+		while (iterator.hasNext()) {
+			final var browser = iterator.next();
+			if (browser.lastUse <= limit) {
+				iterator.remove();
+				browser.dispose();
+				--this.browserCount;
+			}
+		}
+	}
+
+	/** Close all the browsers of this pool. The browsers that are in use are closed when their current task is finished.
+	 * After a call to this function, the pool cannot be used anymore.
+	 */
+	@Override
+	public synchronized void close() {
+		this.closed = true;
+		if (this.reaper != null) {
+			this.reaper.shutdownNow();
+			this.reaper = null;
+		}
+		for (final var browser : this.idleBrowsers) {
+			browser.dispose();
+			--this.browserCount;
+		}
+		this.idleBrowsers.clear();
+	}
+
+	/** Callback that is invoked on a page of a pooled browser.
+	 *
+	 * @param <T> the type of the value replied by the callback.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	@FunctionalInterface
+	public interface PageCallback<T> {
+
+		/** Invoked with the opened page.
+		 *
+		 * @param page the page, that is not yet loaded.
+		 * @return the value to reply.
+		 * @throws Exception if the page cannot be processed.
+		 */
+		T apply(Page page) throws Exception;
+
+	}
+
+	/** Browser that is managed by the pool, with its dedicated thread.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private static final class PooledBrowser {
+
+		final boolean developer;
+
+		long lastUse;
+
+		private final ExecutorService executor;
+
+		private Playwright playwright;
+
+		private Browser browser;
+
+		private final Supplier<Playwright> playwrightFactory;
+
+		/** Constructor.
+		 *
+		 * @param developer indicates if the browser is launched in developer mode.
+		 * @param playwrightFactory the factory of the Playwright instance.
+		 */
+		PooledBrowser(boolean developer, Supplier<Playwright> playwrightFactory) {
+			this.developer = developer;
+			this.playwrightFactory = playwrightFactory;
+			this.executor = Executors.newSingleThreadExecutor(it -> {
+				final var thread = new Thread(it, "labmanager-browser-" + THREAD_COUNTER.incrementAndGet()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+
+		/** Run the given callback on a new page of this browser. The browser is launched if it is not yet launched.
+		 *
+		 * @param <T> the type of the value replied by the callback.
+		 * @param callback the callback.
+		 * @return the value replied by the callback.
+		 * @throws Exception if the page cannot be opened or if the callback has failed.
+		 */
+		<T> T run(PageCallback<T> callback) throws Exception {
+			final var future = this.executor.submit(() -> {
+				try (final var context = ensureBrowser().newContext()) {
+					try (final var page = context.newPage()) {
+						return callback.apply(page);
+					}
+				}
+			});
+			try {
+				return future.get();
+			} catch (ExecutionException ex) {
+				if (ex.getCause() instanceof Exception cause) {
+					throw cause;
+				}
+				throw ex;
+			}
+		}
+
+		@SuppressWarnings("deprecation")
+		private Browser ensureBrowser() {
+			if (this.browser == null || !this.browser.isConnected()) {
+				closeBrowser();
+				this.playwright = this.playwrightFactory.get();
+				final var options = new LaunchOptions();
+				options.setDevtools(this.developer);
+				this.browser = this.playwright.firefox().launch(options);
+			}
+			return this.browser;
+		}
+
+		/** Replies if the browser is still connected, or not yet launched.
+		 *
+		 * @return {@code true} if the browser may be reused.
+		 */
+		boolean isConnected() {
+			try {
+				return this.executor.submit(() -> Boolean.valueOf(this.browser == null || this.browser.isConnected())).get().booleanValue();
+			} catch (Throwable ex) {
+				return false;
+			}
+		}
+
+		private void closeBrowser() {
+			if (this.browser != null) {
+				try {
+					this.browser.close();
+				} catch (Throwable ex) {
+					//
+				}
+				this.browser = null;
+			}
+			if (this.playwright != null) {
+				try {
+					this.playwright.close();
+				} catch (Throwable ex) {
+					//
+				}
+				this.playwright = null;
+			}
+		}
+
+		/** Close the browser on its dedicated thread and stop this thread.
+		 */
+		void dispose() {
+			this.executor.execute(this::closeBrowser);
+			this.executor.shutdown();
+		}
+
+	}
+
+}
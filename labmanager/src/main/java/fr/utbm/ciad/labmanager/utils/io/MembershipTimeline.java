@@ -0,0 +1,188 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.io;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import fr.utbm.ciad.labmanager.data.member.MemberStatus;
+import fr.utbm.ciad.labmanager.data.member.Membership;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+
+/** Index of the memberships of a single person along the years, for computing the status of the person
+ * as an exported author.
+ *
+ * <p>The years are split into consecutive segments in which the set of active memberships does not change.
+ * Each segment contains its memberships sorted by decreasing importance of their status, i.e., researcher first,
+ * then PhD student, then postdoc or engineer. The memberships that have none of these status, or that are not
+ * in a selected organization, are not indexed. The segment of a year is found by a binary search; in this way,
+ * the status of the person for a year is computed in {@code O(log n)}. The replied status are memoized.
+ *
+ * <p>This index is thread-safe.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+public final class MembershipTimeline {
+
+	private static final Membership[] NO_MEMBERSHIP = new Membership[0];
+
+	private final int[] segmentStarts;
+
+	private final Membership[][] segmentMemberships;
+
+	private final Map<Integer, ExportedAuthorStatus> statusPerYear = new ConcurrentHashMap<>();
+
+	/** Constructor.
+	 *
+	 * @param memberships the memberships of the person.
+	 * @param organizationSelector the selector of the organizations, or {@code null} for selecting all the organizations.
+	 */
+	public MembershipTimeline(Iterable<Membership> memberships, Predicate<ResearchOrganization> organizationSelector) {
+		final var indexed = new ArrayList<IndexedMembership>();
+		final var starts = new TreeSet<Integer>();
+		if (memberships != null) {
+			for (final var membership : memberships) {
+				final var status = getStatus(membership);
+				if (status != ExportedAuthorStatus.OTHER
+						&& (organizationSelector == null || organizationSelector.test(membership.getDirectResearchOrganization()))) {
+					final var since = membership.getMemberSinceWhen();
+					final var to = membership.getMemberToWhen();
+					final var first = since == null ? Integer.MIN_VALUE : since.getYear();
+					final var last = to == null ? Integer.MAX_VALUE : to.getYear();
+					if (first <= last) {
+						indexed.add(new IndexedMembership(membership, status, first, last));
+						starts.add(Integer.valueOf(first));
+						if (last < Integer.MAX_VALUE) {
+							starts.add(Integer.valueOf(last + 1));
+						}
+					}
+				}
+			}
+		}
+		indexed.sort(Comparator.comparing(IndexedMembership::status));
+		this.segmentStarts = starts.stream().mapToInt(Integer::intValue).toArray();
+		this.segmentMemberships = new Membership[this.segmentStarts.length][];
+		for (var i = 0; i < this.segmentStarts.length; ++i) {
+			final var year = this.segmentStarts[i];
+			final var active = new ArrayList<Membership>();
+			for (final var membership : indexed) {
+				if (membership.first() <= year && year <= membership.last()) {
+					active.add(membership.membership());
+				}
+			}
+			this.segmentMemberships[i] = active.isEmpty() ? NO_MEMBERSHIP : active.toArray(NO_MEMBERSHIP);
+		}
+	}
+
+	/** Replies the status that corresponds to the given membership, without considering its period.
+	 *
+	 * @param membership the membership.
+	 * @return the status, or {@link ExportedAuthorStatus#OTHER} if the membership has no status to be exported.
+	 */
+	static ExportedAuthorStatus getStatus(Membership membership) {
+		final var it = membership.getMemberStatus();
+		if (it == null) {
+			return ExportedAuthorStatus.OTHER;
+		}
+		if (it.isResearcher() && it != MemberStatus.POSTDOC && it != MemberStatus.PHD_STUDENT
+				&& it != MemberStatus.ASSOCIATED_MEMBER) {
+			return ExportedAuthorStatus.RESEARCHER;
+		}
+		if (it == MemberStatus.PHD_STUDENT) {
+			return ExportedAuthorStatus.PHD_STUDENT;
+		}
+		if (it.isTechnicalStaff() || it == MemberStatus.POSTDOC) {
+			return ExportedAuthorStatus.POSTDOC_ENGINEER;
+		}
+		return ExportedAuthorStatus.OTHER;
+	}
+
+	/** Replies the memberships that may be active in the given year, sorted by decreasing importance of their status.
+	 *
+	 * @param year the year.
+	 * @return the memberships.
+	 */
+	List<Membership> getCandidateMemberships(int year) {
+		final var index = findSegment(year);
+		if (index < 0) {
+			return List.of();
+		}
+		return Arrays.asList(this.segmentMemberships[index]);
+	}
+
+	private int findSegment(int year) {
+		final var index = Arrays.binarySearch(this.segmentStarts, year);
+		if (index >= 0) {
+			return index;
+		}
+		// Index of the last segment that starts before the year
+		return -index - 2;
+	}
+
+	/** Replies the status of the person in the given year. If multiple memberships are active at the same time,
+	 * the highest membership position is considered.
+	 *
+	 * @param year the year.
+	 * @return the status, never {@code null}.
+	 */
+	public ExportedAuthorStatus getStatus(int year) {
+		return this.statusPerYear.computeIfAbsent(Integer.valueOf(year), it -> computeStatus(it.intValue()));
+	}
+
+	private ExportedAuthorStatus computeStatus(int year) {
+		final var start = LocalDate.of(year, 1, 1);
+		final var end = LocalDate.of(year, 12, 31);
+		for (final var membership : getCandidateMemberships(year)) {
+			// The candidates are sorted by status; the first active one has the highest status
+			if (membership.isActiveIn(start, end)) {
+				return getStatus(membership);
+			}
+		}
+		return ExportedAuthorStatus.OTHER;
+	}
+
+	/** Membership with its precomputed status and period in years.
+	 *
+	 * @param membership the membership.
+	 * @param status the status associated to the membership.
+	 * @param first the first year of the membership.
+	 * @param last the last year of the membership.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private record IndexedMembership(Membership membership, ExportedAuthorStatus status, int first, int last) {
+		//
+	}
+
+}
@@ -0,0 +1,782 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/** Writer of ZIP archives that prepares the entries of the files in parallel.
+ *
+ * <p>The files that are already compressed, e.g., PDF or JPEG files, are stored without compression
+ * ({@link ZipEntry#STORED}); their CRC is computed in parallel from memory-mapped buffers, and their
+ * content is transfered from the file channels to the archive. The other files are deflated in parallel
+ * into temporary buffers. The entries are assembled sequentially into the archive, in the order of
+ * their submission. The total size of the prepared entries that are kept in memory while waiting for
+ * being written is bounded; the largest deflated files are buffered into temporary files.
+ *
+ * <p>The content that is not a file, e.g., a JSON content, is written as a streamed and deflated
+ * entry with {@link #putNextEntry(String)}.
+ *
+ * <p>The archive is compliant with the ZIP64 format extensions when the sizes or the offsets are
+ * too big for the standard format. It could be read by {@link java.util.zip.ZipInputStream} and
+ * {@link java.util.zip.ZipFile}. As for {@link java.util.zip.ZipOutputStream}, two entries cannot have the same name.
+ *
+ * <p>This writer is not thread-safe; it must be used from a single thread.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+public class ParallelZipWriter implements Closeable {
+
+	/** Extensions of the files that are stored without compression because their content is already compressed.
+	 */
+	public static final Set<String> STORED_FILE_EXTENSIONS = Set.of(
+			"pdf", "jpg", "jpeg", "png", "gif", "webp", "svgz", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+			"zip", "gz", "bz2", "xz", "7z", "rar", "jar", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+			"docx", "xlsx", "pptx", "odt", "ods", "odp", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			"mp3", "mp4", "m4a", "m4v", "mov", "avi", "webm", "ogg"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+
+	private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+
+	private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+
+	private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+
+	private static final int END_SIGNATURE = 0x06054b50;
+
+	private static final int ZIP64_EXTRA_ID = 0x0001;
+
+	private static final int VERSION_STORED = 10;
+
+	private static final int VERSION_DEFLATED = 20;
+
+	private static final int VERSION_ZIP64 = 45;
+
+	private static final int FLAG_DATA_DESCRIPTOR = 1 << 3;
+
+	private static final int FLAG_UTF8 = 1 << 11;
+
+	private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+	private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+	private static final int ZIP64_END_RECORD_SIZE = 44;
+
+	private static final int DOS_MIN_YEAR = 1980;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final long MAPPING_SIZE = 64L * 1024L * 1024L;
+
+	private static final long IN_MEMORY_LIMIT = 16L * 1024L * 1024L;
+
+	private static final long TERMINATION_TIMEOUT = 10L;
+
+	/** Default maximum number of bytes of the prepared entries that are kept in memory while waiting for being written.
+	 */
+	public static final long DEFAULT_MAX_PENDING_BYTES = 64L * 1024L * 1024L;
+
+	private final CountingOutputStream output;
+
+	private final int compressionLevel;
+
+	private final long maxPendingBytes;
+
+	private final long inMemoryLimit;
+
+	private long pendingBytes;
+
+	private final ExecutorService executor;
+
+	private final Deque<PendingFile> pendingFiles = new ArrayDeque<>();
+
+	private final List<CentralEntry> centralEntries = new ArrayList<>();
+
+	private final Set<String> entryNames = new HashSet<>();
+
+	private final Set<File> temporaryFiles = ConcurrentHashMap.newKeySet();
+
+	private EntryOutputStream currentEntry;
+
+	private volatile boolean closed;
+
+	/** Constructor with a number of threads that is equal to the number of processors.
+	 *
+	 * @param output the receiver of the ZIP archive.
+	 */
+	public ParallelZipWriter(OutputStream output) {
+		this(output, Runtime.getRuntime().availableProcessors(), Deflater.DEFAULT_COMPRESSION);
+	}
+
+	/** Constructor.
+	 *
+	 * @param output the receiver of the ZIP archive.
+	 * @param parallelism the number of threads that are preparing the files.
+	 * @param compressionLevel the level of compression of the deflated entries.
+	 */
+	public ParallelZipWriter(OutputStream output, int parallelism, int compressionLevel) {
+		this(output, parallelism, compressionLevel, DEFAULT_MAX_PENDING_BYTES);
+	}
+
+	/** Constructor.
+	 *
+	 * @param output the receiver of the ZIP archive.
+	 * @param parallelism the number of threads that are preparing the files.
+	 * @param compressionLevel the level of compression of the deflated entries.
+	 * @param maxPendingBytes the maximum number of bytes of the prepared entries that are kept in memory while
+	 *     waiting for being written. A deflated file that is bigger than this limit is buffered into a temporary file.
+	 */
+	public ParallelZipWriter(OutputStream output, int parallelism, int compressionLevel, long maxPendingBytes) {
+		assert output != null;
+		assert parallelism > 0;
+		assert maxPendingBytes > 0;
+		this.output = new CountingOutputStream(output);
+		this.compressionLevel = compressionLevel;
+		this.maxPendingBytes = maxPendingBytes;
+		this.inMemoryLimit = Math.min(IN_MEMORY_LIMIT, maxPendingBytes);
+		final var threadCount = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(parallelism, it -> {
+			final var thread = new Thread(it, "labmanager-zip-" + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/** Replies if the given file should be stored without compression.
+	 *
+	 * @param filename the name of the file.
+	 * @return {@code true} if the file is already compressed.
+	 */
+	public static boolean isAlreadyCompressed(String filename) {
+		final var index = filename.lastIndexOf('.');
+		if (index < 0) {
+			return false;
+		}
+		return STORED_FILE_EXTENSIONS.contains(filename.substring(index + 1).toLowerCase(Locale.ROOT));
+	}
+
+	private void ensureOpen() throws IOException {
+		if (this.closed) {
+			throw new IOException("ZIP writer is closed"); //$NON-NLS-1$
+		}
+		if (this.currentEntry != null) {
+			throw new IOException("The streamed entry is not closed: " + this.currentEntry.name); //$NON-NLS-1$
+		}
+	}
+
+	private void ensureNewEntry(String name) throws ZipException {
+		if (!this.entryNames.add(name)) {
+			throw new ZipException("duplicate entry: " + name); //$NON-NLS-1$
+		}
+	}
+
+	/** Add the given file into the archive. The file is prepared in the background, and written
+	 * into the archive after the files that were previously added.
+	 *
+	 * @param name the name of the entry in the archive.
+	 * @param file the file to add.
+	 * @param onWritten the callback that is invoked when the entry is written into the archive. It may be {@code null}.
+	 * @throws ZipException if an entry with the same name was already added.
+	 * @throws IOException if a previous entry cannot be written.
+	 */
+	public void addFile(String name, File file, Runnable onWritten) throws IOException {
+		ensureOpen();
+		ensureNewEntry(name);
+		final var stored = isAlreadyCompressed(file.getName());
+		final var lastModified = file.lastModified();
+		// Upper bound of the memory that is used by the prepared entry. The deflated content may be slightly
+		// bigger than the original content when it cannot be compressed.
+		final var length = file.length();
+		final var memorySize = stored || length > this.inMemoryLimit ? 0L : length + length / 100 + BUFFER_SIZE;
+		// Wait for the oldest entries before starting the preparation of a new entry, for bounding the memory usage
+		while (!this.pendingFiles.isEmpty() && this.pendingBytes + memorySize > this.maxPendingBytes) {
+			writePendingFile(this.pendingFiles.removeFirst());
+		}
+		final var future = this.executor.submit(() -> stored ? prepareStoredFile(file) : prepareDeflatedFile(file));
+		this.pendingFiles.addLast(new PendingFile(name, file, lastModified, memorySize, future, onWritten));
+		this.pendingBytes += memorySize;
+	}
+
+	/** Write all the pending files into the archive.
+	 *
+	 * @throws IOException if a file cannot be written.
+	 */
+	public void flushFiles() throws IOException {
+		while (!this.pendingFiles.isEmpty()) {
+			writePendingFile(this.pendingFiles.removeFirst());
+		}
+		this.output.flush();
+	}
+
+	/** Start a streamed entry that is deflated while it is written. The pending files are written before the new entry.
+	 * The replied stream must be closed before adding another entry.
+	 *
+	 * @param name the name of the entry in the archive.
+	 * @return the stream for writing the content of the entry.
+	 * @throws ZipException if an entry with the same name was already added.
+	 * @throws IOException if the entry cannot be created.
+	 */
+	public OutputStream putNextEntry(String name) throws IOException {
+		ensureOpen();
+		ensureNewEntry(name);
+		flushFiles();
+		final var nameBytes = name.getBytes(StandardCharsets.UTF_8);
+		final var entry = new CentralEntry(nameBytes, ZipEntry.DEFLATED, FLAG_UTF8 | FLAG_DATA_DESCRIPTOR,
+				toDosTime(System.currentTimeMillis()), this.output.getCount());
+		writeLocalHeader(entry, false);
+		this.currentEntry = new EntryOutputStream(name, entry);
+		return this.currentEntry;
+	}
+
+	private Prepared prepareStoredFile(File file) throws IOException {
+		final var crc = new CRC32();
+		final long size;
+		try (final var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			size = channel.size();
+			for (var position = 0L; position < size; position += MAPPING_SIZE) {
+				crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPING_SIZE, size - position)));
+			}
+		}
+		return new Prepared(ZipEntry.STORED, crc.getValue(), size, size, null, null);
+	}
+
+	private Prepared prepareDeflatedFile(File file) throws IOException {
+		final var crc = new CRC32();
+		final var deflater = new Deflater(this.compressionLevel, true);
+		File temporaryFile = null;
+		try (final var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			final var size = channel.size();
+			final OutputStream compressedStream;
+			ByteArrayOutputStream memoryStream = null;
+			if (size > this.inMemoryLimit) {
+				temporaryFile = Files.createTempFile("labmanager-zip", ".tmp").toFile(); //$NON-NLS-1$ //$NON-NLS-2$
+				// The temporary files are registered for being deleted by close() when they are not written
+				this.temporaryFiles.add(temporaryFile);
+				compressedStream = new FileOutputStream(temporaryFile);
+			} else {
+				memoryStream = new ByteArrayOutputStream((int) Math.max(BUFFER_SIZE, size / 2));
+				compressedStream = memoryStream;
+			}
+			long compressedSize = 0;
+			try (compressedStream) {
+				final var buffer = new byte[BUFFER_SIZE];
+				for (var position = 0L; position < size; position += MAPPING_SIZE) {
+					final var input = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPING_SIZE, size - position));
+					crc.update(input.duplicate());
+					deflater.setInput(input);
+					while (!deflater.needsInput()) {
+						compressedSize += deflate(deflater, buffer, compressedStream);
+					}
+				}
+				deflater.finish();
+				while (!deflater.finished()) {
+					compressedSize += deflate(deflater, buffer, compressedStream);
+				}
+			}
+			if (this.closed) {
+				throw new IOException("ZIP writer is closed"); //$NON-NLS-1$
+			}
+			final var data = memoryStream == null ? null : memoryStream.toByteArray();
+			final var prepared = new Prepared(ZipEntry.DEFLATED, crc.getValue(), size, compressedSize, data, temporaryFile);
+			temporaryFile = null;
+			return prepared;
+		} finally {
+			deflater.end();
+			if (temporaryFile != null) {
+				deleteTemporaryFile(temporaryFile);
+			}
+		}
+	}
+
+	private void deleteTemporaryFile(File file) throws IOException {
+		this.temporaryFiles.remove(file);
+		Files.deleteIfExists(file.toPath());
+	}
+
+	private static int deflate(Deflater deflater, byte[] buffer, OutputStream output) throws IOException {
+		final var length = deflater.deflate(buffer);
+		if (length > 0) {
+			output.write(buffer, 0, length);
+		}
+		return length;
+	}
+
+	private void writePendingFile(PendingFile pendingFile) throws IOException {
+		this.pendingBytes -= pendingFile.memorySize;
+		final Prepared prepared;
+		try {
+			prepared = pendingFile.future.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException(ex);
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof IOException ioe) {
+				throw ioe;
+			}
+			throw new IOException(ex.getCause());
+		}
+		try {
+			final var entry = new CentralEntry(pendingFile.name.getBytes(StandardCharsets.UTF_8), prepared.method, FLAG_UTF8,
+					toDosTime(pendingFile.lastModified), this.output.getCount());
+			entry.crc = prepared.crc;
+			entry.size = prepared.size;
+			entry.compressedSize = prepared.compressedSize;
+			writeLocalHeader(entry, entry.size >= ZIP64_MAGIC || entry.compressedSize >= ZIP64_MAGIC);
+			if (prepared.data != null) {
+				this.output.write(prepared.data);
+			} else {
+				final var source = prepared.temporaryFile != null ? prepared.temporaryFile : pendingFile.file;
+				transfer(source, prepared.compressedSize);
+			}
+			this.centralEntries.add(entry);
+		} finally {
+			if (prepared.temporaryFile != null) {
+				deleteTemporaryFile(prepared.temporaryFile);
+			}
+		}
+		if (pendingFile.onWritten != null) {
+			pendingFile.onWritten.run();
+		}
+	}
+
+	private void transfer(File source, long size) throws IOException {
+		this.output.flush();
+		final var target = Channels.newChannel(this.output);
+		try (final var channel = FileChannel.open(source.toPath(), StandardOpenOption.READ)) {
+			var position = 0L;
+			while (position < size) {
+				final var transfered = channel.transferTo(position, size - position, target);
+				if (transfered <= 0) {
+					throw new IOException("Unexpected end of file: " + source.getName()); //$NON-NLS-1$
+				}
+				position += transfered;
+			}
+		}
+	}
+
+	private void writeLocalHeader(CentralEntry entry, boolean zip64) throws IOException {
+		final var buffer = ByteBuffer.allocate(30 + entry.name.length + (zip64 ? 20 : 0)).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(LOCAL_HEADER_SIGNATURE);
+		buffer.putShort((short) (zip64 ? VERSION_ZIP64 : entry.getVersion()));
+		buffer.putShort((short) entry.flags);
+		buffer.putShort((short) entry.method);
+		buffer.putInt((int) entry.dosTime);
+		buffer.putInt((int) entry.crc);
+		if (zip64) {
+			buffer.putInt((int) ZIP64_MAGIC);
+			buffer.putInt((int) ZIP64_MAGIC);
+		} else {
+			buffer.putInt((int) entry.compressedSize);
+			buffer.putInt((int) entry.size);
+		}
+		buffer.putShort((short) entry.name.length);
+		buffer.putShort((short) (zip64 ? 20 : 0));
+		buffer.put(entry.name);
+		if (zip64) {
+			buffer.putShort((short) ZIP64_EXTRA_ID);
+			buffer.putShort((short) 16);
+			buffer.putLong(entry.size);
+			buffer.putLong(entry.compressedSize);
+		}
+		this.output.write(buffer.array());
+	}
+
+	private void writeDataDescriptor(CentralEntry entry) throws IOException {
+		final var zip64 = entry.size >= ZIP64_MAGIC || entry.compressedSize >= ZIP64_MAGIC;
+		final var buffer = ByteBuffer.allocate(zip64 ? 24 : 16).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(DATA_DESCRIPTOR_SIGNATURE);
+		buffer.putInt((int) entry.crc);
+		if (zip64) {
+			buffer.putLong(entry.compressedSize);
+			buffer.putLong(entry.size);
+		} else {
+			buffer.putInt((int) entry.compressedSize);
+			buffer.putInt((int) entry.size);
+		}
+		this.output.write(buffer.array());
+	}
+
+	private void writeCentralDirectory() throws IOException {
+		final var start = this.output.getCount();
+		for (final var entry : this.centralEntries) {
+			final var zip64Size = entry.size >= ZIP64_MAGIC;
+			final var zip64CompressedSize = entry.compressedSize >= ZIP64_MAGIC;
+			final var zip64Offset = entry.offset >= ZIP64_MAGIC;
+			final var extraLength = (zip64Size ? 8 : 0) + (zip64CompressedSize ? 8 : 0) + (zip64Offset ? 8 : 0);
+			final var zip64 = extraLength > 0;
+			final var buffer = ByteBuffer.allocate(46 + entry.name.length + (zip64 ? 4 + extraLength : 0)).order(ByteOrder.LITTLE_ENDIAN);
+			final var version = zip64 ? VERSION_ZIP64 : entry.getVersion();
+			buffer.putInt(CENTRAL_HEADER_SIGNATURE);
+			buffer.putShort((short) version);
+			buffer.putShort((short) version);
+			buffer.putShort((short) entry.flags);
+			buffer.putShort((short) entry.method);
+			buffer.putInt((int) entry.dosTime);
+			buffer.putInt((int) entry.crc);
+			buffer.putInt((int) (zip64CompressedSize ? ZIP64_MAGIC : entry.compressedSize));
+			buffer.putInt((int) (zip64Size ? ZIP64_MAGIC : entry.size));
+			buffer.putShort((short) entry.name.length);
+			buffer.putShort((short) (zip64 ? 4 + extraLength : 0));
+			// Comment length, disk number, internal and external attributes
+			buffer.putShort((short) 0);
+			buffer.putShort((short) 0);
+			buffer.putShort((short) 0);
+			buffer.putInt(0);
+			buffer.putInt((int) (zip64Offset ? ZIP64_MAGIC : entry.offset));
+			buffer.put(entry.name);
+			if (zip64) {
+				buffer.putShort((short) ZIP64_EXTRA_ID);
+				buffer.putShort((short) extraLength);
+				if (zip64Size) {
+					buffer.putLong(entry.size);
+				}
+				if (zip64CompressedSize) {
+					buffer.putLong(entry.compressedSize);
+				}
+				if (zip64Offset) {
+					buffer.putLong(entry.offset);
+				}
+			}
+			this.output.write(buffer.array());
+		}
+		final var end = this.output.getCount();
+		final var count = this.centralEntries.size();
+		final var size = end - start;
+		final var zip64 = count >= ZIP64_MAGIC_COUNT || size >= ZIP64_MAGIC || start >= ZIP64_MAGIC;
+		if (zip64) {
+			final var buffer = ByteBuffer.allocate(56 + 20).order(ByteOrder.LITTLE_ENDIAN);
+			buffer.putInt(ZIP64_END_SIGNATURE);
+			buffer.putLong(ZIP64_END_RECORD_SIZE);
+			buffer.putShort((short) VERSION_ZIP64);
+			buffer.putShort((short) VERSION_ZIP64);
+			buffer.putInt(0);
+			buffer.putInt(0);
+			buffer.putLong(count);
+			buffer.putLong(count);
+			buffer.putLong(size);
+			buffer.putLong(start);
+			buffer.putInt(ZIP64_LOCATOR_SIGNATURE);
+			buffer.putInt(0);
+			buffer.putLong(end);
+			buffer.putInt(1);
+			this.output.write(buffer.array());
+		}
+		final var buffer = ByteBuffer.allocate(22).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(END_SIGNATURE);
+		buffer.putShort((short) 0);
+		buffer.putShort((short) 0);
+		buffer.putShort((short) Math.min(count, ZIP64_MAGIC_COUNT));
+		buffer.putShort((short) Math.min(count, ZIP64_MAGIC_COUNT));
+		buffer.putInt((int) Math.min(size, ZIP64_MAGIC));
+		buffer.putInt((int) Math.min(start, ZIP64_MAGIC));
+		buffer.putShort((short) 0);
+		this.output.write(buffer.array());
+	}
+
+	private static long toDosTime(long time) {
+		final var date = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+		if (date.getYear() < DOS_MIN_YEAR) {
+			return (1 << 21) | (1 << 16);
+		}
+		return ((long) (date.getYear() - DOS_MIN_YEAR) << 25)
+				| ((long) date.getMonthValue() << 21)
+				| ((long) date.getDayOfMonth() << 16)
+				| ((long) date.getHour() << 11)
+				| ((long) date.getMinute() << 5)
+				| ((long) date.getSecond() >> 1);
+	}
+
+	/** Write the pending files and the central directory of the archive, and close the underlying stream.
+	 *
+	 * @throws IOException if the archive cannot be written.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!this.closed) {
+			try {
+				if (this.currentEntry != null) {
+					this.currentEntry.close();
+				}
+				flushFiles();
+				writeCentralDirectory();
+				this.output.flush();
+			} finally {
+				this.closed = true;
+				for (final var pendingFile : this.pendingFiles) {
+					pendingFile.future.cancel(true);
+				}
+				this.pendingFiles.clear();
+				this.executor.shutdownNow();
+				try {
+					this.executor.awaitTermination(TERMINATION_TIMEOUT, TimeUnit.SECONDS);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				// Delete the temporary files of the entries that were prepared, or are being prepared, but not written
+				for (final var file : this.temporaryFiles) {
+					file.delete();
+				}
+				this.temporaryFiles.clear();
+				this.output.close();
+			}
+		}
+	}
+
+	/** Description of an entry for the central directory.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private static class CentralEntry {
+
+		final byte[] name;
+
+		final int method;
+
+		final int flags;
+
+		final long dosTime;
+
+		final long offset;
+
+		long crc;
+
+		long size;
+
+		long compressedSize;
+
+		CentralEntry(byte[] name, int method, int flags, long dosTime, long offset) {
+			this.name = name;
+			this.method = method;
+			this.flags = flags;
+			this.dosTime = dosTime;
+			this.offset = offset;
+		}
+
+		int getVersion() {
+			return this.method == ZipEntry.STORED ? VERSION_STORED : VERSION_DEFLATED;
+		}
+
+	}
+
+	/** File that was submitted for being written into the archive.
+	 *
+	 * @param name the name of the entry.
+	 * @param file the file to write.
+	 * @param lastModified the date of the last modification of the file.
+	 * @param memorySize the maximum number of bytes that are used in memory by the prepared entry.
+	 * @param future the result of the preparation of the file.
+	 * @param onWritten the callback, or {@code null}.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private record PendingFile(String name, File file, long lastModified, long memorySize, Future<Prepared> future, Runnable onWritten) {
+		//
+	}
+
+	/** Result of the preparation of a file.
+	 *
+	 * @param method the compression method.
+	 * @param crc the CRC of the uncompressed content.
+	 * @param size the size of the uncompressed content.
+	 * @param compressedSize the size of the content in the archive.
+	 * @param data the compressed content if it is in memory.
+	 * @param temporaryFile the temporary file that contains the compressed content if it is not in memory.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private record Prepared(int method, long crc, long size, long compressedSize, byte[] data, File temporaryFile) {
+		//
+	}
+
+	/** Stream that counts the written bytes.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private static class CountingOutputStream extends OutputStream {
+
+		private final OutputStream output;
+
+		private long count;
+
+		CountingOutputStream(OutputStream output) {
+			this.output = output;
+		}
+
+		long getCount() {
+			return this.count;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			this.output.write(b);
+			++this.count;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			this.output.write(b, off, len);
+			this.count += len;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			this.output.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.output.close();
+		}
+
+	}
+
+	/** Stream for the content of a streamed entry.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private class EntryOutputStream extends OutputStream {
+
+		final String name;
+
+		private final CentralEntry entry;
+
+		private final CRC32 crc = new CRC32();
+
+		private final Deflater deflater = new Deflater(ParallelZipWriter.this.compressionLevel, true);
+
+		private final byte[] buffer = new byte[BUFFER_SIZE];
+
+		private long size;
+
+		private long compressedSize;
+
+		private boolean entryClosed;
+
+		EntryOutputStream(String name, CentralEntry entry) {
+			this.name = name;
+			this.entry = entry;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] {(byte) b}, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if (this.entryClosed) {
+				throw new IOException("Entry is closed: " + this.name); //$NON-NLS-1$
+			}
+			if (len > 0) {
+				this.crc.update(b, off, len);
+				this.size += len;
+				this.deflater.setInput(b, off, len);
+				while (!this.deflater.needsInput()) {
+					this.compressedSize += deflate(this.deflater, this.buffer, ParallelZipWriter.this.output);
+				}
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			ParallelZipWriter.this.output.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (!this.entryClosed) {
+				this.entryClosed = true;
+				try {
+					this.deflater.finish();
+					while (!this.deflater.finished()) {
+						this.compressedSize += deflate(this.deflater, this.buffer, ParallelZipWriter.this.output);
+					}
+				} finally {
+					this.deflater.end();
+				}
+				this.entry.crc = this.crc.getValue();
+				this.entry.size = this.size;
+				this.entry.compressedSize = this.compressedSize;
+				writeDataDescriptor(this.entry);
+				ParallelZipWriter.this.centralEntries.add(this.entry);
+				ParallelZipWriter.this.currentEntry = null;
+			}
+		}
+
+	}
+
+}
@@ -22,6 +22,7 @@ package fr.utbm.ciad.labmanager.utils.io;
 import fr.utbm.ciad.labmanager.data.publication.Publication;
 import org.arakhne.afc.progress.Progression;
 
+import java.io.OutputStream;
 import java.util.Collection;
 
 /** Exporter of publications.
@@ -45,4 +46,17 @@ public interface PublicationExporter<T> {
 	 */
 	T exportPublications(Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression) throws Exception;
 
+	/** Export publications into the given stream. The content of the exported flow depends on the sub-interfaces.
+	 * The publications are written into the stream as soon as they are converted, in order to avoid to have
+	 * the whole exported content in memory. The stream is not closed by this function.
+	 *
+	 * @param output the stream that receives the representation of the publications.
+	 * @param publications the publications to export.
+	 * @param configurator the configurator for the export, never {@code null}.
+	 * @param progression the progression indicator to be used.
+	 * @throws Exception if the publication cannot be converted.
+	 * @since 4.1
+	 */
+	void exportPublications(OutputStream output, Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression) throws Exception;
+
 }
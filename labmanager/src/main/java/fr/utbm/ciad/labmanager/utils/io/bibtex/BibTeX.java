@@ -26,6 +26,7 @@ import fr.utbm.ciad.labmanager.utils.io.PublicationExporter;
 import org.arakhne.afc.progress.Progression;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -210,6 +211,15 @@ public interface BibTeX extends PublicationExporter<String> {
 	Stream<Publication> getPublicationStreamFrom(Reader bibtex, boolean keepBibTeXId, boolean assignRandomId, boolean ensureAtLeastOneMember,
 			boolean createMissedJournal, boolean createMissedConference) throws Exception;
 
+	@Override
+	default void exportPublications(OutputStream output, Collection<? extends Publication> publications, ExporterConfigurator configurator,
+			Progression progression) throws IOException {
+		// The writer is not closed in order to let the caller close the stream
+		final var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+		exportPublications(writer, publications, configurator, progression);
+		writer.flush();
+	}
+
 	@Override
 	default String exportPublications(Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression) {
 		try (final var writer = new StringWriter()) {
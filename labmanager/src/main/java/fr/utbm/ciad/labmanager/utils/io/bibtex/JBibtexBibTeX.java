@@ -23,6 +23,7 @@ import com.google.common.base.Strings;
 import fr.utbm.ciad.labmanager.data.conference.Conference;
 import fr.utbm.ciad.labmanager.data.conference.ConferenceUtils;
 import fr.utbm.ciad.labmanager.data.journal.Journal;
+import fr.utbm.ciad.labmanager.data.publication.AuthorListFormat;
 import fr.utbm.ciad.labmanager.data.publication.Publication;
 import fr.utbm.ciad.labmanager.data.publication.PublicationLanguage;
 import fr.utbm.ciad.labmanager.data.publication.PublicationType;
@@ -134,6 +135,23 @@ public class JBibtexBibTeX extends AbstractBibTeX {
 
 	private static final String MESSAGE_PREFIX = "jBibtexBibTeX."; //$NON-NLS-1$
 
+	/** Format of the BibTeX list of authors, e.g., {@code Last0, First0 and Last1, First1}.
+	 *
+	 * @since 4.1
+	 */
+	private static final AuthorListFormat AUTHOR_LIST_FORMAT = authors -> {
+		final var authorNames = new StringBuilder();
+		for (final var person : authors) {
+			if (authorNames.length() > 0) {
+				authorNames.append(" and "); //$NON-NLS-1$
+			}
+			authorNames.append(person.getLastName());
+			authorNames.append(", "); //$NON-NLS-1$
+			authorNames.append(person.getFirstName());
+		}
+		return authorNames.toString();
+	};
+
 	private PrePublicationFactory prePublicationFactory;
 
 	private JournalService journalService;
@@ -783,10 +801,25 @@ public class JBibtexBibTeX extends AbstractBibTeX {
 	@Override
 	public void exportPublications(Writer output, Collection<? extends Publication> publications, ExporterConfigurator configurator,
 			Progression progression) throws IOException {
-		progression.setProperties(0, 0, 100, false);
-		final var database = createDatabase(publications, configurator, progression.subTask(95));
+		progression.setProperties(0, 0, publications.size(), false);
 		final var bibtexFormatter = new BibTeXFormatter();
-		bibtexFormatter.format(database, output);
+		// Each publication is formatted and written as soon as it is converted in order to avoid to have
+		// the whole BibTeX database in memory
+		var first = true;
+		for (final var publication : publications) {
+			final var database = new BibTeXDatabase();
+			addPublication(database, publication, configurator.getLocaleOrLanguageLocale(publication.getMajorLanguage()));
+			if (!database.getObjects().isEmpty()) {
+				if (first) {
+					first = false;
+				} else {
+					output.write("\n\n"); //$NON-NLS-1$
+				}
+				bibtexFormatter.format(database, output);
+			}
+			progression.increment();
+		}
+		output.flush();
 		progression.end();
 	}
 
@@ -976,16 +1009,7 @@ public class JBibtexBibTeX extends AbstractBibTeX {
 	private void fillBibTeXEntry(BibTeXEntry entry, Publication publication, Key authorKey, Locale locale) {
 		addField(entry, KEY_TITLE, publication.getTitle(), true);
 
-		final var authorNames = new StringBuilder();
-		for (final var person : publication.getAuthors()) {
-			if (authorNames.length() > 0) {
-				authorNames.append(" and "); //$NON-NLS-1$
-			}
-			authorNames.append(person.getLastName());
-			authorNames.append(", "); //$NON-NLS-1$
-			authorNames.append(person.getFirstName());
-		}
-		addField(entry, authorKey, authorNames.toString());
+		addField(entry, authorKey, publication.getFormattedAuthors(AUTHOR_LIST_FORMAT));
 
 		addField(entry, KEY_YEAR, publication.getPublicationYear());
 		addMonthField(entry, publication.getPublicationDate());
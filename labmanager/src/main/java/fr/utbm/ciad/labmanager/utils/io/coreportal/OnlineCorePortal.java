@@ -22,8 +22,10 @@ package fr.utbm.ciad.labmanager.utils.io.coreportal;
 import com.google.common.base.Strings;
 import com.microsoft.playwright.ElementHandle;
 import fr.utbm.ciad.labmanager.utils.io.AbstractWebScraper;
+import fr.utbm.ciad.labmanager.utils.io.HeadlessBrowserPool;
 import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
 import org.arakhne.afc.progress.Progression;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.DefaultUriBuilderFactory;
@@ -61,6 +63,14 @@ public class OnlineCorePortal extends AbstractWebScraper implements CorePortal {
 	 */
 	protected final UriBuilderFactory uriBuilderFactory = new DefaultUriBuilderFactory();
 
+	/** Constructor.
+	 *
+	 * @param browserPool the pool of browsers that is used for loading the pages.
+	 */
+	public OnlineCorePortal(@Autowired HeadlessBrowserPool browserPool) {
+		super(browserPool);
+	}
+
 	@Override
 	public URL getConferenceUrl(String conferenceId) {
 		if (!Strings.isNullOrEmpty(conferenceId)) {
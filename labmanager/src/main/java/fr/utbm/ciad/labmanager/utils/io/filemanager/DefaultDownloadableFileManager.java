@@ -42,6 +42,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 /** Utilities for managing the downloadable files. This implementation is dedicated to the WordPress service
@@ -55,7 +57,7 @@ import java.util.stream.Stream;
  */
 @Component
 @Primary
-public class DefaultDownloadableFileManager extends AbstractFileManager implements DownloadableFileManager {
+public class DefaultDownloadableFileManager extends AbstractFileManager implements DownloadableFileManager, AutoCloseable {
 	
 	private static final int JPEG_RESOLUTION = 50;
 
@@ -107,8 +109,12 @@ public class DefaultDownloadableFileManager extends AbstractFileManager implemen
 
 	private static final String SAVED_DATA_FOLDER_NAME = "Saves"; //$NON-NLS-1$
 
+	private static final String THUMBNAIL_MANIFEST_FILENAME = "thumbnails.properties"; //$NON-NLS-1$
+
 	private final File temporaryFolder;
 
+	private ThumbnailGenerator thumbnailGenerator;
+
 	/** Constructor.
 	 *
 	 * @param uploadFolder the path of the upload folder. It is defined by the property {@code labmanager.file.upload-directory}.
@@ -126,6 +132,33 @@ public class DefaultDownloadableFileManager extends AbstractFileManager implemen
 		}
 	}
 
+	/** Replies the generator of thumbnails. The generator is created at the first call to this function.
+	 *
+	 * @return the generator.
+	 * @since 4.1
+	 */
+	protected synchronized ThumbnailGenerator getThumbnailGenerator() {
+		if (this.thumbnailGenerator == null) {
+			final var manifest = new ThumbnailManifest(normalizeForServerSide(new File(DOWNLOADABLE_FOLDER_NAME, THUMBNAIL_MANIFEST_FILENAME)));
+			this.thumbnailGenerator = new ThumbnailGenerator(manifest, (source, output) -> {
+				if (FileSystem.hasExtension(source, PDF_FILE_EXTENSION)) {
+					convertPdfToJpeg(source, output);
+				} else {
+					convertPptToJpeg(source, output);
+				}
+			});
+		}
+		return this.thumbnailGenerator;
+	}
+
+	@Override
+	public synchronized void close() {
+		if (this.thumbnailGenerator != null) {
+			this.thumbnailGenerator.close();
+			this.thumbnailGenerator = null;
+		}
+	}
+
 	@Override
 	public File getTemporaryRootFile() {
 		if (this.temporaryFolder == null) {
@@ -436,24 +469,33 @@ public class DefaultDownloadableFileManager extends AbstractFileManager implemen
 	@Override
 	public void ensurePictureFile(File inputFilename, File pictureFilename) throws IOException {
 		final var inputFilenameAbs = normalizeForServerSide(inputFilename);
-		if (inputFilenameAbs.canRead()) {
-			final var pictureFilenameAbs = normalizeForServerSide(pictureFilename);
-			if (!pictureFilenameAbs.exists()) {
-				final var jpgUploadDir = pictureFilenameAbs.getParentFile();
-				if (jpgUploadDir != null) {
-					jpgUploadDir.mkdirs();
-				}
-				final var isPdf = FileSystem.hasExtension(inputFilename, PDF_FILE_EXTENSION);
-				try (final var outputStream = new FileOutputStream(pictureFilenameAbs)) {
-					if (isPdf) {
-						convertPdfToJpeg(inputFilenameAbs, outputStream);
-					} else {
-						convertPptToJpeg(inputFilenameAbs, outputStream);
-					}
-				} catch (IOException ioe) {
-					throw new IOException("Could not save picture file: " + pictureFilenameAbs.getName(), ioe); //$NON-NLS-1$
-				}
+		final var pictureFilenameAbs = normalizeForServerSide(pictureFilename);
+		waitFor(getThumbnailGenerator().submit(inputFilenameAbs, pictureFilenameAbs));
+	}
+
+	@Override
+	public Future<Boolean> submitThumbnailGeneration(File inputFilename, File pictureFilename) {
+		return submitThumbnailGeneration(inputFilename, pictureFilename, false);
+	}
+
+	@Override
+	public Future<Boolean> submitThumbnailGeneration(File inputFilename, File pictureFilename, boolean force) {
+		final var inputFilenameAbs = normalizeForServerSide(inputFilename);
+		final var pictureFilenameAbs = normalizeForServerSide(pictureFilename);
+		return getThumbnailGenerator().submit(inputFilenameAbs, pictureFilenameAbs, force);
+	}
+
+	private static void waitFor(Future<Boolean> future) throws IOException {
+		try {
+			future.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException(ex);
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof IOException ioe) {
+				throw ioe;
 			}
+			throw new IOException(ex.getCause());
 		}
 	}
 	
@@ -481,19 +523,10 @@ public class DefaultDownloadableFileManager extends AbstractFileManager implemen
 	}
 
 	@Override
-	public void savePowerpointAndThumbnailFiles(File pptFilename, File pictureFilename, MultipartFile powerpointDocument) throws IOException {
+	public Future<Boolean> savePowerpointAndThumbnailFiles(File pptFilename, File pictureFilename, MultipartFile powerpointDocument) throws IOException {
 		final var normalizedPdfFilename = saveMultipart(pptFilename, powerpointDocument, "Could not save PowerPoint: "); //$NON-NLS-1$
-		//
-		final var normalizedJpgFilename = normalizeForServerSide(pictureFilename);
-		final var jpgUploadDir = normalizedJpgFilename.getParentFile();
-		if (jpgUploadDir != null) {
-			jpgUploadDir.mkdirs();
-		}
-		try (final var outputStream = new FileOutputStream(normalizedJpgFilename)) {
-			convertPptToJpeg(normalizedPdfFilename, outputStream);
-		} catch (IOException ioe) {
-			throw new IOException("Could not save picture file: " + normalizedJpgFilename.getName(), ioe); //$NON-NLS-1$
-		}
+		// The thumbnail is generated in the background for not blocking the upload
+		return getThumbnailGenerator().submit(normalizedPdfFilename, normalizeForServerSide(pictureFilename));
 	}
 
 	private static void convertPptToJpeg(File pptFile, OutputStream jpgStream) throws IOException {
@@ -529,19 +562,10 @@ public class DefaultDownloadableFileManager extends AbstractFileManager implemen
 	}
 	
 	@Override
-	public void savePdfAndThumbnailFiles(File pdfFilename, File pictureFilename, MultipartFile multipartPdfFile) throws IOException {
+	public Future<Boolean> savePdfAndThumbnailFiles(File pdfFilename, File pictureFilename, MultipartFile multipartPdfFile) throws IOException {
 		final var normalizedPdfFilename = saveMultipart(pdfFilename, multipartPdfFile, "Could not save PDF file: "); //$NON-NLS-1$
-		//
-		final var normalizedJpgFilename = normalizeForServerSide(pictureFilename);
-		final var jpgUploadDir = normalizedJpgFilename.getParentFile();
-		if (jpgUploadDir != null) {
-			jpgUploadDir.mkdirs();
-		}
-		try (final var outputStream = new FileOutputStream(normalizedJpgFilename)) {
-			convertPdfToJpeg(normalizedPdfFilename, outputStream);
-		} catch (IOException ioe) {
-			throw new IOException("Could not save picture file: " + normalizedJpgFilename.getName(), ioe); //$NON-NLS-1$
-		}
+		// The thumbnail is generated in the background for not blocking the upload
+		return getThumbnailGenerator().submit(normalizedPdfFilename, normalizeForServerSide(pictureFilename));
 	}
 
 	private static void convertPdfToJpeg(File pdfFile, OutputStream jpgStream) throws IOException {
@@ -693,7 +717,7 @@ public class DefaultDownloadableFileManager extends AbstractFileManager implemen
 	@Override
 	public void regenerateThumbnail(File file) throws IOException {
 		final File jpegFile = FileSystem.replaceExtension(file, JPEG_FILE_EXTENSION);
-		ensurePictureFile(file, jpegFile);
+		waitFor(submitThumbnailGeneration(file, jpegFile, true));
 	}
 
 	@Override
@@ -27,6 +27,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.concurrent.Future;
 
 /** Utilities for managing the downloadable files.
  * 
@@ -338,13 +339,16 @@ public interface DownloadableFileManager extends FileManager {
 	File makeTeachingActivitySlidesPictureFilename(long activityId);
 
 	/** Save the uploaded PDF file and its associated picture.
+	 * The picture is generated in the background; it may be not yet available when this function returns.
 	 *
 	 * @param pdfFilename the filename of the PDF file to upload.
 	 * @param pictureFilename the filename of the JPEG file to create. 
 	 * @param multipartPdfFile the content of the PDF file.
+	 * @return the future that is completed when the picture is generated, or completed exceptionally if
+	 *     the picture cannot be rendered.
 	 * @throws IOException if the file cannot be created.
 	 */
-	void savePdfAndThumbnailFiles(File pdfFilename, File pictureFilename, MultipartFile multipartPdfFile) throws IOException;
+	Future<Boolean> savePdfAndThumbnailFiles(File pdfFilename, File pictureFilename, MultipartFile multipartPdfFile) throws IOException;
 
 	/** Save the uploaded image.
 	 *
@@ -355,16 +359,21 @@ public interface DownloadableFileManager extends FileManager {
 	void saveImage(File filename, MultipartFile backgroundImage) throws IOException;
 
 	/** Save the uploaded project Powerpoint.
+	 * The picture is generated in the background; it may be not yet available when this function returns.
 	 *
 	 * @param pptFilename the filename of the Powerpoint to upload.
 	 * @param pictureFilename the filename of the JPEG file to create. 
 	 * @param powerpointDocument the content of the Powerpoint.
+	 * @return the future that is completed when the picture is generated, or completed exceptionally if
+	 *     the picture cannot be rendered.
 	 * @throws IOException if the file cannot be created.
 	 * @since 3.0
 	 */
-	void savePowerpointAndThumbnailFiles(File pptFilename, File pictureFilename, MultipartFile powerpointDocument) throws IOException;
+	Future<Boolean> savePowerpointAndThumbnailFiles(File pptFilename, File pictureFilename, MultipartFile powerpointDocument) throws IOException;
 
 	/** Ensure that the picture file representing the PDF/Powerpoint file is generated.
+	 * The picture is generated if it does not exist or if the PDF/PowerPoint file has changed since
+	 * the last generation. This function waits for the end of the generation.
 	 *
 	 * @param inputFilename the filename of the PDF/PowerPoint file to read.
 	 * @param pictureFilename the filename of the JPEG file to create. 
@@ -372,6 +381,31 @@ public interface DownloadableFileManager extends FileManager {
 	 */
 	void ensurePictureFile(File inputFilename, File pictureFilename) throws IOException;
 
+	/** Submit the generation of the picture file representing the PDF/Powerpoint file.
+	 * The picture is generated in the background if it does not exist or if the PDF/PowerPoint file has changed since
+	 * the last generation. The requests for the same picture are merged while the picture is not generated.
+	 *
+	 * @param inputFilename the filename of the PDF/PowerPoint file to read.
+	 * @param pictureFilename the filename of the JPEG file to create. 
+	 * @return the future that is completed with {@code true} when the picture is generated, or {@code false} if
+	 *     the picture is up-to-date.
+	 * @since 4.1
+	 */
+	Future<Boolean> submitThumbnailGeneration(File inputFilename, File pictureFilename);
+
+	/** Submit the generation of the picture file representing the PDF/Powerpoint file.
+	 * If the generation is forced, the picture is generated in the background even if it is up-to-date.
+	 * The requests for the same picture are merged while the picture is not generated.
+	 *
+	 * @param inputFilename the filename of the PDF/PowerPoint file to read.
+	 * @param pictureFilename the filename of the JPEG file to create. 
+	 * @param force indicates if the picture must be generated even if it is up-to-date.
+	 * @return the future that is completed with {@code true} when the picture is generated, or {@code false} if
+	 *     the picture is up-to-date.
+	 * @since 4.1
+	 */
+	Future<Boolean> submitThumbnailGeneration(File inputFilename, File pictureFilename, boolean force);
+
 	/** Move the uploaded files from one publication to another publication.
 	 * If the target files exist, they must not be replaced by the source files; but the source files
 	 * must disappear from the file system.
@@ -397,7 +431,8 @@ public interface DownloadableFileManager extends FileManager {
 	 */
 	SizedIterator<File> getThumbailFiles();
 
-	/** Regenerate all the thumbnail for the given file.
+	/** Regenerate all the thumbnail for the given file, even if the thumbnail is up-to-date.
+	 * This function waits for the end of the generation.
 	 *
 	 * @param file the PDF or PPT file.
 	 * @throws IOException if the file cannot be created.
@@ -0,0 +1,296 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.io.filemanager;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Generator of thumbnails that runs in the background. The thumbnails are generated by a pool of threads
+ * that is bounded by the number of processors. The requests for generating the same thumbnail are merged
+ * while the thumbnail is not yet generated.
+ *
+ * <p>The generator keeps track of the source files in a {@link ThumbnailManifest manifest}. A thumbnail is
+ * generated only if it does not exist, or if its source file has changed since the previous generation.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+public class ThumbnailGenerator implements AutoCloseable {
+
+	private static final long KEEP_ALIVE_TIME = 60l;
+
+	private final ThumbnailManifest manifest;
+
+	private final ThumbnailRenderer renderer;
+
+	private final int poolSize;
+
+	private final Map<File, PendingThumbnail> pendingThumbnails = new ConcurrentHashMap<>();
+
+	private ThreadPoolExecutor executor;
+
+	/** Constructor with a pool of threads that has the same size as the number of processors.
+	 *
+	 * @param manifest the manifest of the source files.
+	 * @param renderer the renderer of thumbnails.
+	 */
+	public ThumbnailGenerator(ThumbnailManifest manifest, ThumbnailRenderer renderer) {
+		this(manifest, renderer, Runtime.getRuntime().availableProcessors());
+	}
+
+	/** Constructor.
+	 *
+	 * @param manifest the manifest of the source files.
+	 * @param renderer the renderer of thumbnails.
+	 * @param poolSize the maximum number of thumbnails that are generated in parallel.
+	 */
+	public ThumbnailGenerator(ThumbnailManifest manifest, ThumbnailRenderer renderer, int poolSize) {
+		assert poolSize > 0;
+		this.manifest = manifest;
+		this.renderer = renderer;
+		this.poolSize = poolSize;
+	}
+
+	/** Replies the logger of this generator.
+	 *
+	 * @return the logger.
+	 */
+	protected Logger getLogger() {
+		return LoggerFactory.getLogger(getClass());
+	}
+
+	private synchronized ThreadPoolExecutor getExecutor() {
+		if (this.executor == null) {
+			final var threadCount = new AtomicInteger();
+			this.executor = new ThreadPoolExecutor(this.poolSize, this.poolSize, KEEP_ALIVE_TIME, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(), it -> {
+						final var thread = new Thread(it, "labmanager-thumbnail-" + threadCount.incrementAndGet()); //$NON-NLS-1$
+						thread.setDaemon(true);
+						return thread;
+					});
+			this.executor.allowCoreThreadTimeOut(true);
+		}
+		return this.executor;
+	}
+
+	/** Replies the number of thumbnails that are waiting for their generation or that are generated.
+	 *
+	 * @return the number of pending thumbnails.
+	 */
+	public int getPendingThumbnailCount() {
+		return this.pendingThumbnails.size();
+	}
+
+	/** Submit the generation of the thumbnail of the given source file. If the generation of the same thumbnail is
+	 * already pending, the pending generation is replied.
+	 *
+	 * @param source the absolute path of the PDF or PowerPoint file.
+	 * @param thumbnail the absolute path of the JPEG file to generate.
+	 * @return the future that is completed with {@code true} if the thumbnail was generated, or {@code false}
+	 *     if it was up-to-date or the source file does not exist.
+	 */
+	public CompletableFuture<Boolean> submit(File source, File thumbnail) {
+		return submit(source, thumbnail, false);
+	}
+
+	/** Submit the generation of the thumbnail of the given source file. If the generation of the same thumbnail is
+	 * already pending, the pending generation is replied. If the generation is forced, the pending generation is
+	 * forced too.
+	 *
+	 * @param source the absolute path of the PDF or PowerPoint file.
+	 * @param thumbnail the absolute path of the JPEG file to generate.
+	 * @param force indicates if the thumbnail must be generated even if it is up-to-date.
+	 * @return the future that is completed with {@code true} if the thumbnail was generated, or {@code false}
+	 *     if it was up-to-date or the source file does not exist.
+	 */
+	public CompletableFuture<Boolean> submit(File source, File thumbnail, boolean force) {
+		final var key = thumbnail.getAbsoluteFile();
+		// The pending thumbnail is changed atomically with its removal below: a forced request is never merged
+		// into a generation that has already checked its force flag
+		final var pending = this.pendingThumbnails.compute(key, (it, current) -> {
+			if (current != null) {
+				if (force) {
+					current.force = true;
+				}
+				return current;
+			}
+			final var newPending = new PendingThumbnail(force);
+			getExecutor().execute(() -> {
+				// The thumbnail is removed from the pending thumbnails before it is generated, in order to consider
+				// the source file changes that are notified during the generation
+				this.pendingThumbnails.remove(key, newPending);
+				try {
+					newPending.future.complete(Boolean.valueOf(generate(source, thumbnail, newPending.force)));
+				} catch (Throwable ex) {
+					getLogger().error("Cannot generate the thumbnail " + thumbnail.getName() + ": " + ex.getLocalizedMessage(), ex); //$NON-NLS-1$ //$NON-NLS-2$
+					newPending.future.completeExceptionally(ex);
+				}
+				if (this.pendingThumbnails.isEmpty()) {
+					saveManifest();
+				}
+			});
+			return newPending;
+		});
+		return pending.future;
+	}
+
+	private void saveManifest() {
+		try {
+			this.manifest.save();
+		} catch (IOException ex) {
+			getLogger().warn("Cannot save the manifest of the thumbnails: " + ex.getLocalizedMessage(), ex); //$NON-NLS-1$
+		}
+	}
+
+	/** Generate the thumbnail of the given source file, if the thumbnail does not exist or if the source file has changed.
+	 * This function is run on the caller's thread.
+	 *
+	 * @param source the absolute path of the PDF or PowerPoint file.
+	 * @param thumbnail the absolute path of the JPEG file to generate.
+	 * @return {@code true} if the thumbnail was generated, or {@code false} if it was up-to-date or the source file does not exist.
+	 * @throws IOException if the thumbnail cannot be generated.
+	 */
+	public boolean generate(File source, File thumbnail) throws IOException {
+		return generate(source, thumbnail, false);
+	}
+
+	/** Generate the thumbnail of the given source file.
+	 * This function is run on the caller's thread.
+	 *
+	 * @param source the absolute path of the PDF or PowerPoint file.
+	 * @param thumbnail the absolute path of the JPEG file to generate.
+	 * @param force indicates if the thumbnail must be generated even if it exists and the source file is unchanged.
+	 * @return {@code true} if the thumbnail was generated, or {@code false} if it was up-to-date or the source file does not exist.
+	 * @throws IOException if the thumbnail cannot be generated.
+	 */
+	public boolean generate(File source, File thumbnail, boolean force) throws IOException {
+		if (!source.canRead()) {
+			return false;
+		}
+		if (!force && thumbnail.exists() && this.manifest.isUnchanged(source)) {
+			return false;
+		}
+		final var folder = thumbnail.getParentFile();
+		if (folder != null) {
+			folder.mkdirs();
+		}
+		// Render into a temporary file in order to never expose a partially written thumbnail
+		final var tmpFile = Files.createTempFile(folder == null ? null : folder.toPath(), thumbnail.getName(), ".tmp"); //$NON-NLS-1$
+		try {
+			try (final var output = new FileOutputStream(tmpFile.toFile())) {
+				this.renderer.render(source, output);
+			}
+			Files.move(tmpFile, thumbnail.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException ex) {
+			throw new IOException("Could not save picture file: " + thumbnail.getName(), ex); //$NON-NLS-1$
+		} finally {
+			Files.deleteIfExists(tmpFile);
+		}
+		this.manifest.update(source);
+		return true;
+	}
+
+	/** Wait for the generation of the thumbnails that are already submitted.
+	 *
+	 * @param timeout the maximum time to wait.
+	 * @param unit the unit of the timeout.
+	 * @return {@code true} if all the thumbnails are generated, {@code false} if the timeout elapsed before.
+	 * @throws InterruptedException if the current thread was interrupted.
+	 */
+	public boolean awaitPendingThumbnails(long timeout, TimeUnit unit) throws InterruptedException {
+		final var futures = this.pendingThumbnails.values().stream().map(it -> it.future).toArray(CompletableFuture<?>[]::new);
+		try {
+			CompletableFuture.allOf(futures).exceptionally(it -> null).get(timeout, unit);
+			return true;
+		} catch (ExecutionException | TimeoutException ex) {
+			return false;
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		if (this.executor != null) {
+			this.executor.shutdownNow();
+			this.executor = null;
+		}
+		saveManifest();
+	}
+
+	/** Generation of a thumbnail that is not yet started.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private static class PendingThumbnail {
+
+		final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+		volatile boolean force;
+
+		PendingThumbnail(boolean force) {
+			this.force = force;
+		}
+
+	}
+
+	/** Renderer of a thumbnail.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	@FunctionalInterface
+	public interface ThumbnailRenderer {
+
+		/** Render the thumbnail of the given source file.
+		 *
+		 * @param source the absolute path of the PDF or PowerPoint file.
+		 * @param output the receiver of the JPEG picture.
+		 * @throws IOException if the thumbnail cannot be rendered.
+		 */
+		void render(File source, OutputStream output) throws IOException;
+
+	}
+
+}
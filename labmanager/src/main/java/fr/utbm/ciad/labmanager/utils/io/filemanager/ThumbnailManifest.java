@@ -0,0 +1,204 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.io.filemanager;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Properties;
+
+/** Persistent manifest of the source files from which thumbnails were generated.
+ * For each source file, the manifest stores its size, its date of last modification and the hash of its content
+ * when the thumbnail was generated. A source file is considered as unchanged if its size and its date are the
+ * same as in the manifest; or if its size and its hash are the same, e.g., when the file was copied again.
+ *
+ * <p>The manifest is stored in a properties file. This manifest is thread-safe.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+public class ThumbnailManifest {
+
+	private static final String HASH_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+
+	private static final String SEPARATOR = ","; //$NON-NLS-1$
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final File manifestFile;
+
+	private Properties entries;
+
+	private boolean changed;
+
+	/** Constructor.
+	 *
+	 * @param manifestFile the file in which the manifest is stored.
+	 */
+	public ThumbnailManifest(File manifestFile) {
+		this.manifestFile = manifestFile;
+	}
+
+	/** Replies the file in which the manifest is stored.
+	 *
+	 * @return the file.
+	 */
+	public File getManifestFile() {
+		return this.manifestFile;
+	}
+
+	private Properties getEntries() {
+		if (this.entries == null) {
+			this.entries = new Properties();
+			if (this.manifestFile.isFile()) {
+				try (final var stream = new FileInputStream(this.manifestFile)) {
+					this.entries.load(stream);
+				} catch (IOException ex) {
+					// The manifest is corrupted, all the thumbnails will be generated again
+					this.entries.clear();
+				}
+			}
+		}
+		return this.entries;
+	}
+
+	private static String key(File source) {
+		return source.getAbsolutePath();
+	}
+
+	/** Compute the hash of the content of the given file.
+	 *
+	 * @param file the file.
+	 * @return the hash.
+	 * @throws IOException if the file cannot be read.
+	 */
+	protected static String hash(File file) throws IOException {
+		try {
+			final var digest = MessageDigest.getInstance(HASH_ALGORITHM);
+			try (final var stream = new DigestInputStream(new FileInputStream(file), digest)) {
+				final var buffer = new byte[BUFFER_SIZE];
+				while (stream.read(buffer) >= 0) {
+					//
+				}
+			}
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IOException(ex);
+		}
+	}
+
+	/** Replies if the given source file is unchanged since the generation of its thumbnail.
+	 *
+	 * @param source the source file, i.e. the PDF or PowerPoint file.
+	 * @return {@code true} if the source file is unchanged.
+	 * @throws IOException if the file cannot be read.
+	 */
+	public boolean isUnchanged(File source) throws IOException {
+		final var key = key(source);
+		final String value;
+		synchronized (this) {
+			value = getEntries().getProperty(key);
+		}
+		if (value == null) {
+			return false;
+		}
+		final var fields = value.split(SEPARATOR, 3);
+		if (fields.length != 3) {
+			return false;
+		}
+		final var size = source.length();
+		if (Long.toString(size).equals(fields[0])) {
+			final var lastModified = source.lastModified();
+			if (Long.toString(lastModified).equals(fields[1])) {
+				return true;
+			}
+			// The content is read without holding the lock in order to not block the other thumbnail generations
+			final var hash = hash(source);
+			if (hash.equals(fields[2])) {
+				synchronized (this) {
+					// Do not override an entry that was updated during the computation of the hash
+					if (value.equals(getEntries().getProperty(key))) {
+						getEntries().setProperty(key, size + SEPARATOR + lastModified + SEPARATOR + hash);
+						this.changed = true;
+					}
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** Store the current state of the given source file into the manifest.
+	 * This function should be invoked when the thumbnail of the source file was generated.
+	 *
+	 * @param source the source file, i.e. the PDF or PowerPoint file.
+	 * @throws IOException if the file cannot be read.
+	 */
+	public void update(File source) throws IOException {
+		final var size = source.length();
+		final var lastModified = source.lastModified();
+		final var hash = hash(source);
+		final var value = size + SEPARATOR + lastModified + SEPARATOR + hash;
+		synchronized (this) {
+			getEntries().setProperty(key(source), value);
+			this.changed = true;
+		}
+	}
+
+	/** Remove the given source file from the manifest.
+	 *
+	 * @param source the source file, i.e. the PDF or PowerPoint file.
+	 */
+	public synchronized void remove(File source) {
+		if (getEntries().remove(key(source)) != null) {
+			this.changed = true;
+		}
+	}
+
+	/** Save the manifest into its file if it was changed since the last save.
+	 *
+	 * @throws IOException if the file cannot be written.
+	 */
+	public synchronized void save() throws IOException {
+		if (this.changed) {
+			final var folder = this.manifestFile.getParentFile();
+			if (folder != null) {
+				folder.mkdirs();
+			}
+			final var tmpFile = new File(this.manifestFile.getPath() + ".tmp"); //$NON-NLS-1$
+			try (final var stream = new FileOutputStream(tmpFile)) {
+				getEntries().store(stream, null);
+			}
+			Files.move(tmpFile.toPath(), this.manifestFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			this.changed = false;
+		}
+	}
+
+}
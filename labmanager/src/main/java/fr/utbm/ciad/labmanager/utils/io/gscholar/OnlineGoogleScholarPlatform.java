@@ -20,7 +20,9 @@
 package fr.utbm.ciad.labmanager.utils.io.gscholar;
 
 import fr.utbm.ciad.labmanager.utils.io.AbstractWebScraper;
+import fr.utbm.ciad.labmanager.utils.io.HeadlessBrowserPool;
 import org.arakhne.afc.progress.Progression;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 
@@ -40,6 +42,14 @@ import java.util.concurrent.atomic.AtomicReference;
 @Primary
 public class OnlineGoogleScholarPlatform extends AbstractWebScraper implements GoogleScholarPlatform {
 
+	/** Constructor.
+	 *
+	 * @param browserPool the pool of browsers that is used for loading the pages.
+	 */
+	public OnlineGoogleScholarPlatform(@Autowired HeadlessBrowserPool browserPool) {
+		super(browserPool);
+	}
+
 	@Override
 	public GoogleScholarPerson getPersonRanking(URL gsProfile, Progression progress) throws Exception {
 		final var prog = ensureProgress(progress);
@@ -30,6 +30,10 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.Collection;
 
 /** Utilities for exporting publications to HTML content based on the CIAD standard HTML style.
@@ -62,14 +66,37 @@ public class CiadHtmlDocumentExporter extends AbstractCiadHtmlExporter implement
 		if (publications == null) {
 			return null;
 		}
-		final var html = new StringBuilder();
-		html.append("<html><body>"); //$NON-NLS-1$
+		try (final var html = new StringWriter()) {
+			exportPublications(html, publications, configurator, progression);
+			return html.toString();
+		}
+	}
+
+	@Override
+	public void exportPublications(Writer output, Collection<? extends Publication> publications, ExporterConfigurator configurator,
+			Progression progression) throws Exception {
+		assert configurator != null;
+		if (publications == null) {
+			progression.end();
+			return;
+		}
+		output.write("<html><body>"); //$NON-NLS-1$
 		exportPublicationsWithGroupingCriteria(publications, configurator, progression,
-				it -> html.append("<h1>").append(it).append("</h1>"), //$NON-NLS-1$ //$NON-NLS-2$
-				it -> html.append("<h2>").append(it).append("</h2>"), //$NON-NLS-1$ //$NON-NLS-2$
-				(it, progress) -> exportFlatList(html, it, configurator, progress));
-		html.append("</html></body>"); //$NON-NLS-1$
-		return html.toString();
+				it -> write(output, "<h1>", it, "</h1>"), //$NON-NLS-1$ //$NON-NLS-2$
+				it -> write(output, "<h2>", it, "</h2>"), //$NON-NLS-1$ //$NON-NLS-2$
+				(it, progress) -> exportFlatList(output, it, configurator, progress));
+		output.write("</html></body>"); //$NON-NLS-1$
+		output.flush();
+	}
+
+	private static void write(Writer output, String... values) {
+		try {
+			for (final var value : values) {
+				output.write(value);
+			}
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
 	}
 
 	/** Export the publications in a flat list.
@@ -89,6 +116,29 @@ public class CiadHtmlDocumentExporter extends AbstractCiadHtmlExporter implement
 		html.append("</ul>"); //$NON-NLS-1$
 	}
 
+	/** Export the publications in a flat list. The HTML code of each publication is written
+	 * into the output as soon as it is generated.
+	 *
+	 * @param output the receiver of the HTML code.
+	 * @param publications the publications to export.
+	 * @param configurator the exporter configurator.
+	 * @param progression the progression indicator.
+	 * @throws IOException if the HTML code cannot be written.
+	 * @since 4.1
+	 */
+	protected void exportFlatList(Writer output, Collection<? extends Publication> publications, ExporterConfigurator configurator,
+			Progression progression) throws IOException {
+		output.write("<ul>"); //$NON-NLS-1$
+		final var html = new StringBuilder();
+		for (final var publication : publications) {
+			exportPublication(html, publication, configurator);
+			output.append(html);
+			html.setLength(0);
+			progression.increment();
+		}
+		output.write("</ul>"); //$NON-NLS-1$
+	}
+
 	/** Export in HTML a single publication.
 	 *
 	 * @param html the receiver of the HTML.
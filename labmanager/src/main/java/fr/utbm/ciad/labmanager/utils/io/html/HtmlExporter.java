@@ -24,6 +24,11 @@ import fr.utbm.ciad.labmanager.utils.io.ExporterConfigurator;
 import fr.utbm.ciad.labmanager.utils.io.PublicationExporter;
 import org.arakhne.afc.progress.Progression;
 
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 
 /** Utilities for exporting publications to HTML content.
@@ -92,4 +97,26 @@ public interface HtmlExporter extends PublicationExporter<String> {
 	@Override
 	String exportPublications(Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression) throws Exception;
 
+	/** Write the HTML representation of the publications that are given as argument.
+	 * The HTML code of each publication is written as soon as it is generated.
+	 * The name decorators are the same as for {@link #exportPublications(Collection, ExporterConfigurator, Progression)}.
+	 *
+	 * @param output the writer that receives the HTML representation of the publications. It is not closed by this function.
+	 * @param publications the publications to export.
+	 * @param configurator the configurator for the export, never {@code null}.
+	 * @param progression the progression indicator.
+	 * @throws Exception if the publication cannot be converted to HTML.
+	 * @since 4.1
+	 */
+	void exportPublications(Writer output, Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression) throws Exception;
+
+	@Override
+	default void exportPublications(OutputStream output, Collection<? extends Publication> publications, ExporterConfigurator configurator,
+			Progression progression) throws Exception {
+		// The writer is not closed in order to let the caller close the stream
+		final var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+		exportPublications(writer, publications, configurator, progression);
+		writer.flush();
+	}
+
 }
@@ -19,6 +19,7 @@
 
 package fr.utbm.ciad.labmanager.utils.io.json;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeCreator;
@@ -46,6 +47,7 @@ import fr.utbm.ciad.labmanager.data.supervision.SupervisionRepository;
 import fr.utbm.ciad.labmanager.data.teaching.TeachingActivityRepository;
 import fr.utbm.ciad.labmanager.data.user.UserRepository;
 import fr.utbm.ciad.labmanager.utils.phone.PhoneNumber;
+import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.apache.commons.lang3.tuple.Pair;
 import org.arakhne.afc.progress.DefaultProgression;
 import org.arakhne.afc.progress.Progression;
@@ -226,47 +228,134 @@ public class DatabaseToJsonExporter extends JsonTool {
 	 */
 	public JsonNode exportFromDatabaseToJsonObject(JsonNodeCreator factory, SimilarPublicationProvider similarPublicationProvider,
 			ExtraPublicationProvider extraPublicationProvider, Locale locale, Progression progression) throws Exception {
+		final var root = factory.objectNode();
+		exportSections(root, similarPublicationProvider, extraPublicationProvider, locale, progression, null);
+		if (root.size() > 0) {
+			root.set(LAST_CHANGE_FIELDNAME, factory.textNode(LocalDate.now().toString()));
+			return root;
+		}
+		return null;
+	}
+
+	/** Run the exporter for writing the JSON content in the given generator.
+	 * Each section of the JSON content (persons, publications, projects, etc.) is written in the generator as soon as
+	 * it is built, and then it is released. In this way, only one section is in memory at a time. The written
+	 * JSON content is the same as the one replied by {@link #exportFromDatabaseToJsonObject(JsonNodeCreator, Locale, Progression)}.
+	 *
+	 * @param generator the JSON generator that receives the content. The generator is not closed by this function.
+	 * @param locale the locale to use for the messages. 
+	 * @param progression the progression indicator. 
+	 * @param sectionListener a listener on the sections that is invoked before each section is written into the generator,
+	 *      e.g., for collecting the files that are referenced by the section. The listener may change the content of the section.
+	 *      It may be {@code null}.
+	 * @return {@code true} if a content was written; {@code false} if the database is empty and
+	 *     nothing was written.
+	 * @throws Exception if there is problem for exporting.
+	 * @since 4.1
+	 */
+	public boolean exportFromDatabaseToJsonGenerator(JsonGenerator generator, Locale locale, Progression progression,
+			JsonSectionConsumer sectionListener) throws Exception {
+		final var mapper = JsonUtils.createMapper();
+		final var root = mapper.getNodeFactory().objectNode();
+		final var written = new MutableBoolean();
+		exportSections(root, null, null, locale, progression, (name, section) -> {
+			if (sectionListener != null) {
+				sectionListener.accept(name, section);
+			}
+			if (!written.booleanValue()) {
+				generator.writeStartObject();
+				written.setTrue();
+			}
+			generator.writeFieldName(name);
+			mapper.writeTree(generator, section);
+			generator.flush();
+		});
+		if (written.booleanValue()) {
+			generator.writeStringField(LAST_CHANGE_FIELDNAME, LocalDate.now().toString());
+			generator.writeEndObject();
+			generator.flush();
+			return true;
+		}
+		return false;
+	}
+
+	/** Export all the sections of the database.
+	 *
+	 * @param root the receiver of the sections.
+	 * @param similarPublicationProvider a provider of a publication that is similar to a given publication. 
+	 * @param extraPublicationProvider this provider gives publications that must be exported into the JSON that are
+	 *      not directly extracted from the database.
+	 * @param locale the locale to use for the messages. 
+	 * @param progression the progression indicator. 
+	 * @param consumer the consumer of the sections. If it is not {@code null}, each section is removed from the root
+	 *      after it is given to the consumer. If it is {@code null}, all the sections are kept in the root.
+	 * @throws Exception if there is problem for exporting.
+	 */
+	private void exportSections(ObjectNode root, SimilarPublicationProvider similarPublicationProvider,
+			ExtraPublicationProvider extraPublicationProvider, Locale locale, Progression progression,
+			JsonSectionConsumer consumer) throws Exception {
 		final var progressionInstance = progression == null ? new DefaultProgression() : progression;
 		progressionInstance.setProperties(0, 0, 16, false, getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.global_indicators", locale)); //$NON-NLS-1$
-		final var root = factory.objectNode();
 		final var repository = new HashMap<Object, String>();
 		exportGlobalIndicators(root, repository);
+		flushSections(root, consumer);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.addresses", locale)); //$NON-NLS-1$
 		exportAddresses(root, repository);
+		flushSections(root, consumer);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.organizations", locale)); //$NON-NLS-1$
 		exportOrganizations(root, repository);
+		flushSections(root, consumer);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.persons", locale)); //$NON-NLS-1$
 		exportPersons(root, repository);
+		flushSections(root, consumer);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.memberships", locale)); //$NON-NLS-1$
 		exportOrganizationMemberships(root, repository);
+		flushSections(root, consumer);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.journals", locale)); //$NON-NLS-1$
 		exportJournals(root, repository);
+		flushSections(root, consumer);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.conferences", locale)); //$NON-NLS-1$
 		exportConferences(root, repository);
+		flushSections(root, consumer);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.publications", locale)); //$NON-NLS-1$
 		exportPublications(root, repository, similarPublicationProvider, extraPublicationProvider);
+		flushSections(root, consumer);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.jury_memberships", locale)); //$NON-NLS-1$
 		exportJuryMemberships(root, repository);
+		flushSections(root, consumer);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.supervisions", locale)); //$NON-NLS-1$
 		exportSupervisions(root, repository);
+		flushSections(root, consumer);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.invitations", locale)); //$NON-NLS-1$
 		exportInvitations(root, repository);
+		flushSections(root, consumer);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.projects", locale)); //$NON-NLS-1$
 		exportProjects(root, repository);
+		flushSections(root, consumer);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.associated_structures", locale)); //$NON-NLS-1$
 		exportAssociatedStructures(root, repository);
+		flushSections(root, consumer);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.teaching_activities", locale)); //$NON-NLS-1$
 		exportTeachingActivities(root, repository);
+		flushSections(root, consumer);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.scientific_axes", locale)); //$NON-NLS-1$
 		exportScientificAxes(root, repository);
+		flushSections(root, consumer);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.users", locale)); //$NON-NLS-1$
 		exportApplicationUsers(root, repository);
+		flushSections(root, consumer);
 		progressionInstance.end();
-		if (root.size() > 0) {
-			root.set(LAST_CHANGE_FIELDNAME, factory.textNode(LocalDate.now().toString()));
-			return root;
+	}
+
+	private static void flushSections(ObjectNode root, JsonSectionConsumer consumer) throws Exception {
+		if (consumer != null && root.size() > 0) {
+			final var names = new ArrayList<String>();
+			root.fieldNames().forEachRemaining(names::add);
+			for (final var name : names) {
+				consumer.accept(name, root.get(name));
+			}
+			root.removeAll();
 		}
-		return null;
 	}
 
 	/** Export the given object to the receiver.
@@ -288,13 +377,13 @@ public class DatabaseToJsonExporter extends JsonTool {
 			}
 			final var meths = findGetterMethods(object.getClass());
 			for (final var entry : meths.entrySet()) {
-				final var method = entry.getValue();
-				var objValue = convertValue(method.invoke(object));
+				final var getter = entry.getValue();
+				var objValue = convertValue(getter.get(object));
 				if (objValue == null && complements != null && !complements.isEmpty()) {
 					final var iterator = complements.iterator();
 					while (iterator.hasNext() && objValue == null) {
 						final var complement = iterator.next();
-						objValue = convertValue(method.invoke(complement));
+						objValue = convertValue(getter.get(complement));
 					}
 				}
 				if (objValue instanceof String castValue) {
@@ -1304,4 +1393,25 @@ public class DatabaseToJsonExporter extends JsonTool {
 		}
 	}
 
+	/** Receiver of the sections of the JSON content that are produced by the exporter.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	@FunctionalInterface
+	public interface JsonSectionConsumer {
+
+		/** Invoked when a section of the JSON content is built.
+		 *
+		 * @param name the name of the section.
+		 * @param section the content of the section.
+		 * @throws Exception if the section cannot be consumed.
+		 */
+		void accept(String name, JsonNode section) throws Exception;
+
+	}
+
 }
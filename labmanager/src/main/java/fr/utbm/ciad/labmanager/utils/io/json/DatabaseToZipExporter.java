@@ -19,9 +19,13 @@
 
 package fr.utbm.ciad.labmanager.utils.io.json;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Strings;
 import fr.utbm.ciad.labmanager.configuration.Constants;
-import fr.utbm.ciad.labmanager.utils.io.UnclosableStream;
+import fr.utbm.ciad.labmanager.utils.io.ParallelZipWriter;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
 import org.arakhne.afc.progress.Progression;
 import org.arakhne.afc.vmutil.FileSystem;
@@ -29,12 +33,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedInputStream;
-import java.io.FileInputStream;
 import java.io.OutputStream;
 import java.util.*;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 /** Exporter of ZIP (JSON+files) archive from the database.
  * 
@@ -48,8 +48,6 @@ import java.util.zip.ZipOutputStream;
 @Component
 public class DatabaseToZipExporter {
 
-	private static final int COPY_BUFFER_SIZE = 4096;
-
 	private static final int FIVE = 5;
 
 	private static final int TWENTY = 20;
@@ -58,6 +56,14 @@ public class DatabaseToZipExporter {
 
 	private static final int FIVE_HUNDRED = 500;
 
+	private static final Map<String, List<String>> ATTACHED_FILE_FIELDS = Map.of(
+			JsonTool.PUBLICATIONS_SECTION, Arrays.asList("pathToDownloadableAwardCertificate", "pathToDownloadablePDF"), //$NON-NLS-1$ //$NON-NLS-2$
+			JsonTool.ORGANIZATIONADDRESSES_SECTION, Arrays.asList("pathToBackgroundImage"), //$NON-NLS-1$
+			JsonTool.RESEARCHORGANIZATIONS_SECTION, Arrays.asList("pathToLogo"), //$NON-NLS-1$
+			JsonTool.PROJECTS_SECTION, Arrays.asList("pathToLogo", "pathToPowerpoint", "pathToPressDocument", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					"pathToScientificRequirements", "pathsToImages"), //$NON-NLS-1$ //$NON-NLS-2$
+			JsonTool.TEACHING_ACTIVITY_SECTION, Arrays.asList("pathToSlides")); //$NON-NLS-1$
+
 	private final MessageSourceAccessor messages;
 	
 	private final DatabaseToJsonExporter jsonExporter;
@@ -101,22 +107,89 @@ public class DatabaseToZipExporter {
 		return new ZipExporter(content, locale, progress.subTask(EIGHTY));
 	}
 
-	private void writeJsonToZip(Map<String, Object> json, ZipOutputStream zos, Locale locale, Progression progress) throws Exception {
+	/** Export the database to a ZIP archive with a bounded memory usage.
+	 * The JSON content is written directly into the ZIP archive, section by section
+	 * (see {@link DatabaseToJsonExporter#exportFromDatabaseToJsonGenerator(JsonGenerator, Locale, Progression, DatabaseToJsonExporter.JsonSectionConsumer)}).
+	 * The files that are attached to the records are collected in the same pass, and they are added into the
+	 * archive after the JSON content by a {@link ParallelZipWriter}. The references to the files that cannot be read are removed from the JSON content.
+	 * <p>This function must be invoked within an open database session.
+	 *
+	 * @param output the receiver of the ZIP content.
+	 * @param locale the locale to use for progression messages.
+	 * @param progress the progression indicator.
+	 * @throws Exception if there is problem for exporting.
+	 * @since 4.1
+	 */
+	public void exportFromDatabaseToZip(OutputStream output, Locale locale, Progression progress) throws Exception {
+		assert progress != null;
+		progress.setProperties(0, 0, 100, false,
+				getMessageSourceAccessor().getMessage("DatabaseToZipExporter.exporting", locale)); //$NON-NLS-1$
+		final var files = new LinkedHashSet<String>();
+		try (var zip = new ParallelZipWriter(output)) {
+			final var filename = Constants.DEFAULT_DBCONTENT_ATTACHMENT_BASENAME + ".json"; //$NON-NLS-1$
+			try (var entry = zip.putNextEntry(filename);
+					var generator = JsonUtils.createMapper().getFactory().createGenerator(entry)) {
+				this.jsonExporter.exportFromDatabaseToJsonGenerator(generator, locale, progress.subTask(TWENTY),
+						(name, section) -> collectFiles(name, section, files));
+			}
+			//
+			final var fileProgress = progress.subTask(EIGHTY);
+			fileProgress.setProperties(0, 0, files.size(), false);
+			for (final var file : files) {
+				fileProgress.setComment(getMessageSourceAccessor().getMessage("DatabaseToZipExporter.exporting.compressing_file", new Object[] {file}, locale)); //$NON-NLS-1$
+				addFileToZip(file, zip, fileProgress::increment);
+			}
+			zip.flushFiles();
+			fileProgress.end();
+		}
+		progress.end();
+	}
+
+	private void collectFiles(String sectionName, JsonNode section, Set<String> files) {
+		final var fieldNames = ATTACHED_FILE_FIELDS.get(sectionName);
+		if (fieldNames != null && section instanceof ArrayNode records) {
+			for (final var rec : records) {
+				if (rec instanceof ObjectNode jsonRecord) {
+					for (final var fieldName : fieldNames) {
+						final var value = jsonRecord.get(fieldName);
+						if (value != null) {
+							if (value.isArray()) {
+								for (final var item : value) {
+									collectFile(item.asText(), files);
+								}
+							} else if (!collectFile(value.asText(), files)) {
+								jsonRecord.remove(fieldName);
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private boolean collectFile(String filename, Set<String> files) {
+		if (!Strings.isNullOrEmpty(filename)) {
+			final var localFile = this.download.normalizeForServerSide(FileSystem.convertStringToFile(filename));
+			if (localFile.canRead()) {
+				files.add(filename);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void writeJsonToZip(Map<String, Object> json, ParallelZipWriter zip, Locale locale, Progression progress) throws Exception {
 		progress.setComment(getMessageSourceAccessor().getMessage("DatabaseToZipExporter.exporting.in_file", locale)); //$NON-NLS-1$
 		final var filename = Constants.DEFAULT_DBCONTENT_ATTACHMENT_BASENAME + ".json"; //$NON-NLS-1$
-		final var entry = new ZipEntry(filename);
-		zos.putNextEntry(entry);
 		final var mapper = JsonUtils.createMapper();
-		try (var ucs = new UnclosableStream(zos)) {
-			mapper.writer().writeValue(ucs, json);
+		try (var entry = zip.putNextEntry(filename)) {
+			mapper.writer().writeValue(entry, json);
 		}
-		zos.closeEntry();
-		zos.flush();
 		progress.end();
 	}
 
 	@SuppressWarnings("unchecked")
-	private void writePublicationFilesToZip(Map<String, Object> json, ZipOutputStream zos, Locale locale, Progression progress) throws Exception {
+	private void writePublicationFilesToZip(Map<String, Object> json, ParallelZipWriter zip, Locale locale, Progression progress) throws Exception {
 		var publications = (List<Map<String, Object>>) json.get(JsonTool.PUBLICATIONS_SECTION);
 		if (publications != null && !publications.isEmpty()) {
 			progress.setProperties(0, 0, publications.size(), false, getMessageSourceAccessor().getMessage("DatabaseToZipExporter.exporting.publication_files", locale)); //$NON-NLS-1$
@@ -124,14 +197,14 @@ public class DatabaseToZipExporter {
 				final var targetFilename0 = (String) publication.get("pathToDownloadableAwardCertificate"); //$NON-NLS-1$
 				if (!Strings.isNullOrEmpty(targetFilename0)) {
 					progress.setComment(getMessageSourceAccessor().getMessage("DatabaseToZipExporter.exporting.compressing_file", new Object[] {targetFilename0}, locale)); //$NON-NLS-1$
-					if (!copyFileToZip(targetFilename0, zos, progress.subTask(1))) {
+					if (!addFileToZip(targetFilename0, zip, null)) {
 						publication.remove("pathToDownloadableAwardCertificate"); //$NON-NLS-1$
 					}
 				}
 				final var targetFilename1 = (String) publication.get("pathToDownloadablePDF"); //$NON-NLS-1$
 				if (!Strings.isNullOrEmpty(targetFilename1)) {
 					progress.setComment(getMessageSourceAccessor().getMessage("DatabaseToZipExporter.exporting.compressing_file", new Object[] {targetFilename1}, locale)); //$NON-NLS-1$
-					if (!copyFileToZip(targetFilename1, zos, progress.subTask(1))) {
+					if (!addFileToZip(targetFilename1, zip, null)) {
 						publication.remove("pathToDownloadablePDF"); //$NON-NLS-1$
 					}
 				}
@@ -142,7 +215,7 @@ public class DatabaseToZipExporter {
 	}
 
 	@SuppressWarnings("unchecked")
-	private void writeAddressFilesToZip(Map<String, Object> json, ZipOutputStream zos, Locale locale, Progression progress) throws Exception {
+	private void writeAddressFilesToZip(Map<String, Object> json, ParallelZipWriter zip, Locale locale, Progression progress) throws Exception {
 		var addresses = (List<Map<String, Object>>) json.get(JsonTool.ORGANIZATIONADDRESSES_SECTION);
 		if (addresses != null && !addresses.isEmpty()) {
 			progress.setProperties(0, 0, addresses.size(), false, getMessageSourceAccessor().getMessage("DatabaseToZipExporter.exporting.addresses", locale)); //$NON-NLS-1$
@@ -150,7 +223,7 @@ public class DatabaseToZipExporter {
 				final var targetFilename0 = (String) address.get("pathToBackgroundImage"); //$NON-NLS-1$
 				if (!Strings.isNullOrEmpty(targetFilename0)) {
 					progress.setComment(getMessageSourceAccessor().getMessage("DatabaseToZipExporter.exporting.compressing_file", new Object[] {targetFilename0}, locale)); //$NON-NLS-1$
-					if (!copyFileToZip(targetFilename0, zos, progress.subTask(1))) {
+					if (!addFileToZip(targetFilename0, zip, null)) {
 						address.remove("pathToBackgroundImage"); //$NON-NLS-1$
 					}
 				}
@@ -161,7 +234,7 @@ public class DatabaseToZipExporter {
 	}
 
 	@SuppressWarnings("unchecked")
-	private void writeOrganizationFilesToZip(Map<String, Object> json, ZipOutputStream zos, Locale locale, Progression progress) throws Exception {
+	private void writeOrganizationFilesToZip(Map<String, Object> json, ParallelZipWriter zip, Locale locale, Progression progress) throws Exception {
 		var organizations = (List<Map<String, Object>>) json.get(JsonTool.RESEARCHORGANIZATIONS_SECTION);
 		if (organizations != null && !organizations.isEmpty()) {
 			progress.setProperties(0, 0, organizations.size(), false, getMessageSourceAccessor().getMessage("DatabaseToZipExporter.exporting.organizations", locale)); //$NON-NLS-1$
@@ -171,7 +244,7 @@ public class DatabaseToZipExporter {
 					final var targetFilename0 = (String) organization.get(fieldName);
 					if (!Strings.isNullOrEmpty(targetFilename0)) {
 						progress.setComment(getMessageSourceAccessor().getMessage("DatabaseToZipExporter.exporting.compressing_file", new Object[] {targetFilename0}, locale)); //$NON-NLS-1$
-						if (!copyFileToZip(targetFilename0, zos, progress.subTask(1))) {
+						if (!addFileToZip(targetFilename0, zip, null)) {
 							organization.remove(fieldName);
 						}
 					}
@@ -183,7 +256,7 @@ public class DatabaseToZipExporter {
 	}
 
 	@SuppressWarnings("unchecked")
-	private void writeProjectFilesToZip(Map<String, Object> json, ZipOutputStream zos, Locale locale, Progression progress) throws Exception {
+	private void writeProjectFilesToZip(Map<String, Object> json, ParallelZipWriter zip, Locale locale, Progression progress) throws Exception {
 		var projects = (List<Map<String, Object>>) json.get(JsonTool.PROJECTS_SECTION);
 		if (projects != null && !projects.isEmpty()) {
 			progress.setProperties(0, 0, projects.size(), false, getMessageSourceAccessor().getMessage("DatabaseToZipExporter.exporting.projects", locale)); //$NON-NLS-1$
@@ -196,7 +269,7 @@ public class DatabaseToZipExporter {
 					final var targetFilename0 = (String) project.get(fieldName);
 					if (!Strings.isNullOrEmpty(targetFilename0)) {
 						progress.setComment(getMessageSourceAccessor().getMessage("DatabaseToZipExporter.exporting.compressing_file", new Object[] {targetFilename0}, locale)); //$NON-NLS-1$
-						if (!copyFileToZip(targetFilename0, zos, progress.subTask(1))) {
+						if (!addFileToZip(targetFilename0, zip, null)) {
 							project.remove(fieldName);
 						}
 					}
@@ -206,7 +279,7 @@ public class DatabaseToZipExporter {
 					for (final var imagePath : (Collection<String>) images) {
 						if (!Strings.isNullOrEmpty(imagePath)) {
 							progress.setComment(getMessageSourceAccessor().getMessage("DatabaseToZipExporter.exporting.compressing_file", new Object[] {imagePath}, locale)); //$NON-NLS-1$
-							copyFileToZip(imagePath, zos, progress.subTask(1));
+							addFileToZip(imagePath, zip, null);
 						}
 					}
 				}
@@ -217,7 +290,7 @@ public class DatabaseToZipExporter {
 	}
 
 	@SuppressWarnings("unchecked")
-	private void writeTeachingActivityFilesToZip(Map<String, Object> json, ZipOutputStream zos, Locale locale, Progression progress) throws Exception {
+	private void writeTeachingActivityFilesToZip(Map<String, Object> json, ParallelZipWriter zip, Locale locale, Progression progress) throws Exception {
 		var activities = (List<Map<String, Object>>) json.get(JsonTool.TEACHING_ACTIVITY_SECTION);
 		if (activities != null && !activities.isEmpty()) {
 			progress.setProperties(0, 0, activities.size(), false, getMessageSourceAccessor().getMessage("DatabaseToZipExporter.exporting.teaching", locale)); //$NON-NLS-1$
@@ -227,7 +300,7 @@ public class DatabaseToZipExporter {
 					final var targetFilename0 = (String) activity.get(fieldName);
 					if (!Strings.isNullOrEmpty(targetFilename0)) {
 						progress.setComment(getMessageSourceAccessor().getMessage("DatabaseToZipExporter.exporting.compressing_file", new Object[] {targetFilename0}, locale)); //$NON-NLS-1$
-						if (!copyFileToZip(targetFilename0, zos, progress.subTask(1))) {
+						if (!addFileToZip(targetFilename0, zip, null)) {
 							activity.remove(fieldName);
 						}
 					}
@@ -238,30 +311,13 @@ public class DatabaseToZipExporter {
 		progress.end();
 	}
 
-	private boolean copyFileToZip(String filename, ZipOutputStream zos, Progression progress) throws Exception {
+	private boolean addFileToZip(String filename, ParallelZipWriter zip, Runnable onWritten) throws Exception {
 		final var lfilename = FileSystem.convertStringToFile(filename);
 		final var localFile = this.download.normalizeForServerSide(lfilename);
 		if (localFile.canRead()) {
-			final var entry = new ZipEntry(lfilename.toString());
-			zos.putNextEntry(entry);
-			try (var ucs = new UnclosableStream(zos)) {
-				try (var bis = new BufferedInputStream(new FileInputStream(localFile))) {
-					final var bytesIn = new byte[COPY_BUFFER_SIZE];
-					var read = 0;
-					final var total = bis.available();
-					progress.setProperties(0, 0, total, false);
-					while ((read = bis.read(bytesIn)) != -1) {
-						ucs.write(bytesIn, 0, read);
-						progress.increment(read);
-					}
-				}
-			}
-			zos.closeEntry();
-			zos.flush();
-			progress.end();
+			zip.addFile(lfilename.toString(), localFile, onWritten);
 			return true;
 		}
-		progress.end();
 		return false;
 	}
 
@@ -302,13 +358,13 @@ public class DatabaseToZipExporter {
 		public void exportToZip(OutputStream output) throws Exception {
 			this.progress.setProperties(0, 0, FIVE_HUNDRED + FIVE, false,
 					getMessageSourceAccessor().getMessage("DatabaseToZipExporter.exporting")); //$NON-NLS-1$
-			try (var zos = new ZipOutputStream(output)) {
-				writePublicationFilesToZip(this.content, zos, this.locale, this.progress.subTask(Constants.HUNDRED));
-				writeAddressFilesToZip(this.content, zos, this.locale, this.progress.subTask(Constants.HUNDRED));
-				writeOrganizationFilesToZip(this.content, zos, this.locale, this.progress.subTask(Constants.HUNDRED));
-				writeProjectFilesToZip(this.content, zos, this.locale, this.progress.subTask(Constants.HUNDRED));
-				writeTeachingActivityFilesToZip(this.content, zos, this.locale, this.progress.subTask(Constants.HUNDRED));
-				writeJsonToZip(this.content, zos, this.locale, this.progress.subTask(FIVE));
+			try (var zip = new ParallelZipWriter(output)) {
+				writePublicationFilesToZip(this.content, zip, this.locale, this.progress.subTask(Constants.HUNDRED));
+				writeAddressFilesToZip(this.content, zip, this.locale, this.progress.subTask(Constants.HUNDRED));
+				writeOrganizationFilesToZip(this.content, zip, this.locale, this.progress.subTask(Constants.HUNDRED));
+				writeProjectFilesToZip(this.content, zip, this.locale, this.progress.subTask(Constants.HUNDRED));
+				writeTeachingActivityFilesToZip(this.content, zip, this.locale, this.progress.subTask(Constants.HUNDRED));
+				writeJsonToZip(this.content, zip, this.locale, this.progress.subTask(FIVE));
 			}
 			this.progress.end();
 		}
@@ -37,6 +37,7 @@ import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.Locale;
 
@@ -73,6 +74,38 @@ public class JacksonJsonExporter extends AbstractJsonExporter {
 		return output;
 	}
 
+	@Override
+	public void exportPublicationsWithRootKeys(OutputStream output, Collection<? extends Publication> publications,
+			ExporterConfigurator configurator, Progression progression, String... rootKeys) throws Exception {
+		progression.setProperties(0, 0, publications.size() + 1, false);
+		final var mapper = JsonUtils.createMapper();
+		final var locale = configurator.getLocaleOrLanguageLocale(null);
+		try (final var generator = mapper.getFactory().createGenerator(output)) {
+			// The generator must not close the output stream that is provided by the caller
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			if (rootKeys != null) {
+				for (final var rkey : rootKeys) {
+					generator.writeStartObject();
+					generator.writeFieldName(rkey);
+				}
+			}
+			generator.writeStartArray();
+			for (final var publication : publications) {
+				final var entryNode = exportPublicationEntry(publication, configurator, null, mapper, locale);
+				mapper.writeTree(generator, entryNode);
+				progression.increment();
+			}
+			generator.writeEndArray();
+			if (rootKeys != null) {
+				for (var i = 0; i < rootKeys.length; ++i) {
+					generator.writeEndObject();
+				}
+			}
+			generator.flush();
+		}
+		progression.end();
+	}
+
 	@Override
 	public JsonNode exportPublicationsAsTreeWithRootKeys(Collection<? extends Publication> publications, ExporterConfigurator configurator,
 			Progression progression, Procedure2<Publication, ObjectNode> callback, String... rootKeys) throws Exception {
@@ -115,32 +148,7 @@ public class JacksonJsonExporter extends AbstractJsonExporter {
 		progression.setProperties(0, 0, publications.size(), false);
 		final var array = mapper.createArrayNode();
 		for (final var publication : publications) {
-			final var entryNode = exportPublication(publication, configurator, mapper);
-			// Add additional fields by the callback function
-			if (callback != null) {
-				callback.apply(publication, entryNode);
-			}
-			// Make aliasing of the year
-			if (entryNode.has("publicationYear")) { //$NON-NLS-1$
-				entryNode.set("year", entryNode.get("publicationYear").deepCopy()); //$NON-NLS-1$ //$NON-NLS-2$
-			}
-			// Make aliasing for the Scimago Quartiles
-			if (entryNode.has("scimagoQIndex") && publication instanceof JournalBasedPublication jbp) { //$NON-NLS-1$
-				final var url = configurator.getJournalService().getScimagoQuartileImageURLByJournal(jbp.getJournal());
-				if (url != null) {
-					entryNode.set("scimagoQIndex_imageUrl", entryNode.textNode(url.toExternalForm())); //$NON-NLS-1$
-				}
-			}
-			// Add labels for type and category
-			if (configurator.isTypeAndCategoryLabels()) {
-				if (entryNode.has("type")) { //$NON-NLS-1$
-					entryNode.set("htmlTypeLabel", mapper.valueToTree(publication.getType().getLabel(getMessageSourceAccessor(), locale))); //$NON-NLS-1$
-				}
-				if (entryNode.has("category")) { //$NON-NLS-1$
-					entryNode.set("htmlCategoryLabel", mapper.valueToTree(publication.getCategory().getLabel(getMessageSourceAccessor(), locale))); //$NON-NLS-1$
-				}
-			}
-			//
+			final var entryNode = exportPublicationEntry(publication, configurator, callback, mapper, locale);
 			array.add(entryNode);
 			progression.increment();
 		}
@@ -148,6 +156,48 @@ public class JacksonJsonExporter extends AbstractJsonExporter {
 		return array;
 	}
 
+	/** Export in JSON a single publication with the additional fields.
+	 *
+	 * @param publication the publication, never {@code null}.
+	 * @param configurator the configurator for the exporter.
+	 * @param callback a function that is invoked for giving the opportunity
+	 *     to fill up the Json node of the publication.
+	 * @param mapper the JSON object creator and mapper.
+	 * @param locale the locale to use.
+	 * @return the representation of the publication.
+	 * @throws Exception if the publication cannot be converted.
+	 * @since 4.1
+	 */
+	protected ObjectNode exportPublicationEntry(Publication publication, ExporterConfigurator configurator,
+			Procedure2<Publication, ObjectNode> callback, ObjectMapper mapper, Locale locale) throws Exception {
+		final var entryNode = exportPublication(publication, configurator, mapper);
+		// Add additional fields by the callback function
+		if (callback != null) {
+			callback.apply(publication, entryNode);
+		}
+		// Make aliasing of the year
+		if (entryNode.has("publicationYear")) { //$NON-NLS-1$
+			entryNode.set("year", entryNode.get("publicationYear").deepCopy()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		// Make aliasing for the Scimago Quartiles
+		if (entryNode.has("scimagoQIndex") && publication instanceof JournalBasedPublication jbp) { //$NON-NLS-1$
+			final var url = configurator.getJournalService().getScimagoQuartileImageURLByJournal(jbp.getJournal());
+			if (url != null) {
+				entryNode.set("scimagoQIndex_imageUrl", entryNode.textNode(url.toExternalForm())); //$NON-NLS-1$
+			}
+		}
+		// Add labels for type and category
+		if (configurator.isTypeAndCategoryLabels()) {
+			if (entryNode.has("type")) { //$NON-NLS-1$
+				entryNode.set("htmlTypeLabel", mapper.valueToTree(publication.getType().getLabel(getMessageSourceAccessor(), locale))); //$NON-NLS-1$
+			}
+			if (entryNode.has("category")) { //$NON-NLS-1$
+				entryNode.set("htmlCategoryLabel", mapper.valueToTree(publication.getCategory().getLabel(getMessageSourceAccessor(), locale))); //$NON-NLS-1$
+			}
+		}
+		return entryNode;
+	}
+
 	/** Export in JSON a single publication.
 	 *
 	 * @param publication the publication, never {@code null}.
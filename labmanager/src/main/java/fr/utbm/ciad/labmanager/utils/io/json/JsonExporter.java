@@ -27,6 +27,7 @@ import fr.utbm.ciad.labmanager.utils.io.PublicationExporter;
 import org.arakhne.afc.progress.Progression;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure2;
 
+import java.io.OutputStream;
 import java.util.Collection;
 
 /** Utilities for exporting publications to JSON.
@@ -57,6 +58,27 @@ public interface JsonExporter extends PublicationExporter<String> {
 	String exportPublicationsWithRootKeys(Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression,
 			String... rootKeys) throws Exception;
 
+	@Override
+	default void exportPublications(OutputStream output, Collection<? extends Publication> publications, ExporterConfigurator configurator,
+			Progression progression) throws Exception {
+		exportPublicationsWithRootKeys(output, publications, configurator, progression);
+	}
+
+	/** Export publications into the given stream. The JSON representation of each publication is written
+	 * as soon as it is generated.
+	 *
+	 * @param output the stream that receives the JSON representation. It is not closed by this function.
+	 * @param publications the publications to export.
+	 * @param configurator the configurator for the export, never {@code null}.
+	 * @param progression the progression indicator.
+	 * @param rootKeys the sequence of keys for building the root of the tree. The exported data is then
+	 *     output into the last created node with the {@code rootKeys}.
+	 * @throws Exception if the publication cannot be converted.
+	 * @since 4.1
+	 */
+	void exportPublicationsWithRootKeys(OutputStream output, Collection<? extends Publication> publications, ExporterConfigurator configurator,
+			Progression progression, String... rootKeys) throws Exception;
+
 	/** Export publications. The content of the exported flow depends on the sub-interfaces.
 	 *
 	 * @param publications the publications to export.
@@ -0,0 +1,289 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.io.json;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/** Cache of the property accessors that are used by the JSON exporter and importer.
+ * The getter and setter functions of a type are discovered once by reflection; then, they are
+ * invoked through precompiled method handles instead of {@link Method#invoke(Object, Object...)}.
+ * The metadata are attached to the types with a {@link ClassValue}, and therefore they do not prevent
+ * the types from being unloaded.
+ *
+ * <p>This cache is thread-safe.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+public final class JsonPropertyAccessors {
+
+	private static final String ID_PROPERTY_NAME = "id"; //$NON-NLS-1$
+
+	private static final Pattern UPPER_CASE_PATTERN = Pattern.compile("^[A-Z]+$"); //$NON-NLS-1$
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final ClassValue<TypeAccessors> ACCESSORS = new ClassValue<>() {
+		@Override
+		protected TypeAccessors computeValue(Class<?> type) {
+			return new TypeAccessors(type);
+		}
+	};
+
+	private JsonPropertyAccessors() {
+		//
+	}
+
+	/** Replies the getter functions of the given type that have a matching setter function.
+	 * The getters of the identifiers are ignored.
+	 *
+	 * @param type the type of the objects.
+	 * @return the getter functions. Keys are the names of the attributes.
+	 */
+	public static Map<String, PropertyAccessor> getGetters(Class<?> type) {
+		return ACCESSORS.get(type).getGetters();
+	}
+
+	/** Replies the setter function that matches one of the given names and that accepts the given type of value.
+	 *
+	 * @param type the type of the object on which the setter function must be invoked.
+	 * @param names the set of lower-cased names of the setter functions that could serve as candidates for
+	 *     finding the method.
+	 * @param valueType the type of the value to give to the setter function.
+	 * @return the setter function, or {@code null} if none or too many functions were found.
+	 */
+	public static PropertyAccessor findSetter(Class<?> type, Set<String> names, Class<?> valueType) {
+		return ACCESSORS.get(type).findSetter(names, valueType);
+	}
+
+	private static String toLowerFirst(String name) {
+		if (name.length() <= 0) {
+			return name.toLowerCase();
+		}
+		if (UPPER_CASE_PATTERN.matcher(name).matches()) {
+			return name.toLowerCase();
+		}
+		return name.substring(0, 1).toLowerCase() + name.substring(1);
+	}
+
+	private static boolean isSupportedSetterType(Class<?> type) {
+		return type.isPrimitive()
+				|| Number.class.equals(type)
+				|| String.class.equals(type)
+				|| Boolean.class.equals(type);
+	}
+
+	private static boolean isSupportedGetterType(Class<?> type) {
+		return type.isPrimitive()
+				|| type.isEnum()
+				|| Number.class.isAssignableFrom(type)
+				|| String.class.isAssignableFrom(type)
+				|| Boolean.class.isAssignableFrom(type)
+				|| LocalDate.class.isAssignableFrom(type)
+				|| Character.class.isAssignableFrom(type);
+	}
+
+	/** Accessor metadata of a single type.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private static class TypeAccessors {
+
+		private final Map<String, PropertyAccessor> getters;
+
+		private final Map<String, List<PropertyAccessor>> settersByName;
+
+		private final Map<SetterKey, Optional<PropertyAccessor>> resolvedSetters = new ConcurrentHashMap<>();
+
+		TypeAccessors(Class<?> type) {
+			final var setterAttributes = new TreeSet<String>();
+			final var getters = new HashMap<String, PropertyAccessor>();
+			final var setters = new HashMap<String, List<PropertyAccessor>>();
+			for (final var meth : type.getMethods()) {
+				final var name = meth.getName().toLowerCase();
+				if (meth.getParameterCount() == 1) {
+					setters.computeIfAbsent(name, it -> new ArrayList<>()).add(new PropertyAccessor(meth, SETTER_TYPE));
+					if (isSupportedSetterType(meth.getParameterTypes()[0]) && name.startsWith(JsonTool.SETTER_FUNCTION_PREFIX)) {
+						setterAttributes.add(toLowerFirst(meth.getName().substring(JsonTool.SETTER_FUNCTION_PREFIX.length())));
+					}
+				} else if (meth.getParameterCount() == 0 && isSupportedGetterType(meth.getReturnType())) {
+					if (name.startsWith(JsonTool.IS_GETTER_FUNCTION_PREFIX)) {
+						getters.put(toLowerFirst(meth.getName().substring(JsonTool.IS_GETTER_FUNCTION_PREFIX.length())),
+								new PropertyAccessor(meth, GETTER_TYPE));
+					} else if (name.startsWith(JsonTool.GETTER_FUNCTION_PREFIX)) {
+						getters.put(toLowerFirst(meth.getName().substring(JsonTool.GETTER_FUNCTION_PREFIX.length())),
+								new PropertyAccessor(meth, GETTER_TYPE));
+					}
+				}
+			}
+			getters.remove(ID_PROPERTY_NAME);
+			getters.keySet().retainAll(setterAttributes);
+			this.getters = Collections.unmodifiableMap(getters);
+			this.settersByName = setters;
+		}
+
+		Map<String, PropertyAccessor> getGetters() {
+			return this.getters;
+		}
+
+		PropertyAccessor findSetter(Set<String> names, Class<?> valueType) {
+			final var key = new SetterKey(names, valueType);
+			var setter = this.resolvedSetters.get(key);
+			if (setter == null) {
+				setter = resolveSetter(names, valueType);
+				this.resolvedSetters.putIfAbsent(new SetterKey(Set.copyOf(names), valueType), setter);
+			}
+			return setter.orElse(null);
+		}
+
+		private Optional<PropertyAccessor> resolveSetter(Set<String> names, Class<?> valueType) {
+			PropertyAccessor candidate = null;
+			for (final var name : names) {
+				final var setters = this.settersByName.get(name);
+				if (setters != null) {
+					for (final var setter : setters) {
+						if (setter.getMethod().getParameterTypes()[0].isAssignableFrom(valueType)) {
+							if (candidate != null) {
+								// Too many candidates
+								return Optional.empty();
+							}
+							candidate = setter;
+						}
+					}
+				}
+			}
+			return Optional.ofNullable(candidate);
+		}
+
+	}
+
+	/** Key for the resolved setter functions.
+	 *
+	 * @param names the lower-cased names of the setter functions.
+	 * @param valueType the type of the value.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private record SetterKey(Set<String> names, Class<?> valueType) {
+		//
+	}
+
+	/** Precompiled accessor to a property, i.e., a getter or a setter function.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	public static final class PropertyAccessor {
+
+		private final Method method;
+
+		private final MethodHandle handle;
+
+		PropertyAccessor(Method method, MethodType type) {
+			this.method = method;
+			MethodHandle handle;
+			try {
+				handle = MethodHandles.publicLookup().unreflect(method).asType(type);
+			} catch (IllegalAccessException ex) {
+				// The method is declared in a type that is not accessible, e.g., a non-public super type
+				handle = null;
+			}
+			this.handle = handle;
+		}
+
+		/** Replies the reflective method that is invoked by this accessor.
+		 *
+		 * @return the method.
+		 */
+		public Method getMethod() {
+			return this.method;
+		}
+
+		/** Invoke the getter function on the given object.
+		 *
+		 * @param object the object to read.
+		 * @return the value of the property.
+		 * @throws Exception if the getter function cannot be invoked.
+		 */
+		public Object get(Object object) throws Exception {
+			if (this.handle == null) {
+				return this.method.invoke(object);
+			}
+			try {
+				return (Object) this.handle.invokeExact(object);
+			} catch (Exception | Error ex) {
+				throw ex;
+			} catch (Throwable ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+		/** Invoke the setter function on the given object.
+		 *
+		 * @param object the object to change.
+		 * @param value the new value of the property.
+		 * @throws Exception if the setter function cannot be invoked.
+		 */
+		public void set(Object object, Object value) throws Exception {
+			if (this.handle == null) {
+				this.method.invoke(object, value);
+				return;
+			}
+			try {
+				this.handle.invokeExact(object, value);
+			} catch (Exception | Error ex) {
+				throw ex;
+			} catch (Throwable ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+	}
+
+}
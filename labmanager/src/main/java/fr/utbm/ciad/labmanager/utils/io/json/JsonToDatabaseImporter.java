@@ -64,6 +64,7 @@ import fr.utbm.ciad.labmanager.services.member.PersonService;
 import fr.utbm.ciad.labmanager.services.publication.PublicationService;
 import fr.utbm.ciad.labmanager.utils.country.CountryCode;
 import fr.utbm.ciad.labmanager.utils.funding.FundingScheme;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonPropertyAccessors.PropertyAccessor;
 import fr.utbm.ciad.labmanager.utils.names.PersonNameParser;
 import fr.utbm.ciad.labmanager.utils.phone.PhoneNumber;
 import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
@@ -78,10 +79,12 @@ import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.lang.reflect.Method;
 import java.net.URL;
 import java.time.LocalDate;
 import java.util.*;
@@ -98,8 +101,17 @@ import java.util.*;
 @Component
 public class JsonToDatabaseImporter extends JsonTool {
 
+	/** Default number of publications that are saved within the same transaction by the bulk import.
+	 *
+	 * @since 4.1
+	 * @see #importJsonFileToDatabase(JsonNode, FileCallback, int)
+	 */
+	public static final int DEFAULT_BULK_CHUNK_SIZE = 500;
+
 	private SessionFactory sessionFactory;
 
+	private PlatformTransactionManager transactionManager;
+
 	private OrganizationAddressRepository addressRepository;
 
 	private ResearchOrganizationRepository organizationRepository;
@@ -150,6 +162,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * 
 	 * @param messages the accessor to the localized strings.
 	 * @param sessionFactory the factory of an hibernate session.
+	 * @param transactionManager the manager of the transactions in which the publications are saved.
 	 * @param addressRepository the accessor to the address repository.
 	 * @param organizationRepository the accessor to the organization repository.
 	 * @param personRepository the accessor to the person repository.
@@ -175,6 +188,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 	public JsonToDatabaseImporter(
 			@Autowired MessageSourceAccessor messages,
 			@Autowired SessionFactory sessionFactory,
+			@Autowired PlatformTransactionManager transactionManager,
 			@Autowired OrganizationAddressRepository addressRepository,
 			@Autowired ResearchOrganizationRepository organizationRepository,
 			@Autowired PersonRepository personRepository,
@@ -198,6 +212,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 			@Autowired UserRepository userRepository) {
 		super(messages);
 		this.sessionFactory = sessionFactory;
+		this.transactionManager = transactionManager;
 		this.addressRepository = addressRepository;
 		this.organizationRepository = organizationRepository;
 		this.personRepository = personRepository;
@@ -387,14 +402,14 @@ public class JsonToDatabaseImporter extends JsonTool {
 					return set;
 				});
 				final var rawValue = getRawValue(jsonValue);
-				final Method method;
+				final PropertyAccessor setter;
 				if (rawValue != null) {
-					method = findSetterMethod(type, aliases, rawValue);
+					setter = findSetterMethod(type, aliases, rawValue);
 				} else {
-					method = null;
+					setter = null;
 				}
-				if (method != null) {
-					method.invoke(obj, rawValue);
+				if (setter != null) {
+					setter.set(obj, rawValue);
 				} else if (failIfNoSetter != null && failIfNoSetter.apply(key, rawValue, jsonValue).booleanValue()) {
 					throw new IllegalArgumentException("Setter function not found for the attribute: " + key //$NON-NLS-1$
 							+ "; with a value of type: " + jsonValue); //$NON-NLS-1$
@@ -413,7 +428,22 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * @see #importJsonFileToDatabase(URL)
 	 */
 	public void importDataFileToDatabase(URL url) throws Exception {
-		final var stats = importJsonFileToDatabase(url);
+		importDataFileToDatabase(url, 1);
+	}
+
+	/** Run the importer for JSON data source only.
+	 * This function calls {@link #importJsonFileToDatabase(URL, int)} and displays an information
+	 * message.
+	 *
+	 * @param url the URL of the JSON file to read.
+	 * @param bulkChunkSize the number of publications that are saved within the same transaction.
+	 *     A value lower than or equal to {@code 1} means that each publication is saved in its own transaction.
+	 * @throws Exception if there is problem for importing.
+	 * @since 4.1
+	 * @see #importJsonFileToDatabase(URL, int)
+	 */
+	public void importDataFileToDatabase(URL url, int bulkChunkSize) throws Exception {
+		final var stats = importJsonFileToDatabase(url, bulkChunkSize);
 		if (stats != null) {
 			stats.logSummaryOn(getLogger());
 		}
@@ -427,8 +457,22 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * @see #importDataFileToDatabase(URL)
 	 */
 	public Stats importJsonFileToDatabase(URL url) throws Exception {
+		return importJsonFileToDatabase(url, 1);
+	}
+
+	/** Run the importer for JSON data source only.
+	 *
+	 * @param url the URL of the JSON file to read.
+	 * @param bulkChunkSize the number of publications that are saved within the same transaction.
+	 *     A value lower than or equal to {@code 1} means that each publication is saved in its own transaction.
+	 * @return the import stats.
+	 * @throws Exception if there is problem for importing.
+	 * @since 4.1
+	 * @see #importDataFileToDatabase(URL, int)
+	 */
+	public Stats importJsonFileToDatabase(URL url, int bulkChunkSize) throws Exception {
 		try (final var is = url.openStream()) {
-			return importJsonFileToDatabase(is);
+			return importJsonFileToDatabase(is, bulkChunkSize);
 		}
 	}
 
@@ -440,12 +484,26 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * @see #importDataFileToDatabase(URL)
 	 */
 	public Stats importJsonFileToDatabase(InputStream inputStream) throws Exception {
+		return importJsonFileToDatabase(inputStream, 1);
+	}
+
+	/** Run the importer for JSON data source only.
+	 *
+	 * @param inputStream the input stream of the JSON file to read.
+	 * @param bulkChunkSize the number of publications that are saved within the same transaction.
+	 *     A value lower than or equal to {@code 1} means that each publication is saved in its own transaction.
+	 * @return the import stats.
+	 * @throws Exception if there is problem for importing.
+	 * @since 4.1
+	 * @see #importDataFileToDatabase(URL, int)
+	 */
+	public Stats importJsonFileToDatabase(InputStream inputStream, int bulkChunkSize) throws Exception {
 		final JsonNode content;
 		try (final var isr = new InputStreamReader(inputStream)) {
 			final var mapper = JsonUtils.createMapper();
 			content = mapper.readTree(isr);
 		}
-		return importJsonFileToDatabase(content, null);
+		return importJsonFileToDatabase(content, null, bulkChunkSize);
 	}
 
 	/** Run the importer for JSON data source only.
@@ -457,39 +515,87 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * @see #importDataFileToDatabase(URL)
 	 */
 	public Stats importJsonFileToDatabase(JsonNode content, FileCallback fileCallback) throws Exception {
+		return importJsonFileToDatabase(content, fileCallback, 1);
+	}
+
+	/** Run the importer for JSON data source only.
+	 * Large chunks of publications speed up the import of large data sources, e.g., at the initialization of the database,
+	 * when the JDBC batching is enabled in the Hibernate configuration ({@code hibernate.jdbc.batch_size}).
+	 *
+	 * @param content the input node of the JSON file to read.
+	 * @param fileCallback a tool that is invoked when associated file is detected. It could be {@code null}.
+	 * @param bulkChunkSize the number of publications that are saved within the same transaction.
+	 *     A value lower than or equal to {@code 1} means that each publication is saved in its own transaction.
+	 * @return the import stats.
+	 * @throws Exception if there is problem for importing.
+	 * @since 4.1
+	 * @see #DEFAULT_BULK_CHUNK_SIZE
+	 */
+	public Stats importJsonFileToDatabase(JsonNode content, FileCallback fileCallback, int bulkChunkSize) throws Exception {
 		if (content != null && !content.isEmpty()) {
 			final var objectRepository = new TreeMap<String, Long>();
 			final var aliasRepository = new TreeMap<String, Set<String>>();
 
 			try (final var session = this.sessionFactory.openSession()) {
+				final var throughputs = new ArrayList<SectionThroughput>();
 				insertGlobalIndicators(session, content.get(GLOBALINDICATORS_SECTION), objectRepository, aliasRepository);
+				var start = System.currentTimeMillis();
 				final var nb6 = insertAddresses(session, content.get(ORGANIZATIONADDRESSES_SECTION), objectRepository, aliasRepository, fileCallback);
+				start = addThroughput(throughputs, ORGANIZATIONADDRESSES_SECTION, content, start);
 				final var nb0 = insertOrganizations(session, content.get(RESEARCHORGANIZATIONS_SECTION), objectRepository, aliasRepository, fileCallback);
+				start = addThroughput(throughputs, RESEARCHORGANIZATIONS_SECTION, content, start);
 				final var nb13 = insertScientificAxes(session, content.get(SCIENTIFIC_AXIS_SECTION), objectRepository, aliasRepository, fileCallback);
+				start = addThroughput(throughputs, SCIENTIFIC_AXIS_SECTION, content, start);
 				final var nb1 = insertPersons(session, content.get(PERSONS_SECTION), objectRepository, aliasRepository);
+				start = addThroughput(throughputs, PERSONS_SECTION, content, start);
 				final var nb2 = insertJournals(session, content.get(JOURNALS_SECTION), objectRepository, aliasRepository);
+				start = addThroughput(throughputs, JOURNALS_SECTION, content, start);
 				final var nb14 = insertConferences(session, content.get(CONFERENCES_SECTION), objectRepository, aliasRepository);
+				start = addThroughput(throughputs, CONFERENCES_SECTION, content, start);
 				final var scientificAxisNode = content.get(SCIENTIFIC_AXIS_SECTION);
 				final var nb3 = insertOrganizationMemberships(session, content.get(ORGANIZATION_MEMBERSHIPS_SECTION),
 						scientificAxisNode, objectRepository, aliasRepository);
-				final var added = insertPublications(session, content.get(PUBLICATIONS_SECTION),
-						scientificAxisNode, objectRepository, aliasRepository, fileCallback);
+				start = addThroughput(throughputs, ORGANIZATION_MEMBERSHIPS_SECTION, content, start);
+				final var added = insertPublications(content.get(PUBLICATIONS_SECTION),
+						scientificAxisNode, objectRepository, aliasRepository, fileCallback, bulkChunkSize);
+				start = addThroughput(throughputs, PUBLICATIONS_SECTION, content, start);
 				final var nb4 = added != null ? added.getLeft().intValue() : 0;
 				final var nb5 = added != null ? added.getRight().intValue() : 0;
 				final var nb7 = insertJuryMemberships(session, content.get(JURY_MEMBERSHIPS_SECTION), objectRepository, aliasRepository);
+				start = addThroughput(throughputs, JURY_MEMBERSHIPS_SECTION, content, start);
 				final var nb8 = insertSupervisions(session, content.get(SUPERVISIONS_SECTION), objectRepository, aliasRepository);
+				start = addThroughput(throughputs, SUPERVISIONS_SECTION, content, start);
 				final var nb9 = insertInvitations(session, content.get(INVITATIONS_SECTION), objectRepository, aliasRepository);
+				start = addThroughput(throughputs, INVITATIONS_SECTION, content, start);
 				final var nb10 = insertProjects(session, content.get(PROJECTS_SECTION), 
 						scientificAxisNode, objectRepository, aliasRepository, fileCallback);
+				start = addThroughput(throughputs, PROJECTS_SECTION, content, start);
 				final var nb11 = insertAssociatedStructures(session, content.get(ASSOCIATED_STRUCTURES_SECTION), objectRepository, aliasRepository, fileCallback);
+				start = addThroughput(throughputs, ASSOCIATED_STRUCTURES_SECTION, content, start);
 				final var nb12 = insertTeachingActivities(session, content.get(TEACHING_ACTIVITY_SECTION), objectRepository, aliasRepository, fileCallback);
+				start = addThroughput(throughputs, TEACHING_ACTIVITY_SECTION, content, start);
 				final var nb15 = insertApplicationUsers(session, content.get(APPLICATION_USERS_SECTION), objectRepository, aliasRepository);
-				return new Stats(nb6, nb0, nb2, nb14, nb1, nb5, nb3, nb4, nb7, nb8, nb9, nb10, nb11, nb12, nb13, nb15);
+				addThroughput(throughputs, APPLICATION_USERS_SECTION, content, start);
+				final var stats = new Stats(nb6, nb0, nb2, nb14, nb1, nb5, nb3, nb4, nb7, nb8, nb9, nb10, nb11, nb12, nb13, nb15);
+				stats.setSectionThroughputs(throughputs);
+				return stats;
+			} finally {
+				// The numbers of publications per type and year are changed by the imported publications and memberships
+				this.publicationService.resetPublicationCountMatrices();
 			}
 		}
 		return new Stats();
 	}
 
+	private static long addThroughput(List<SectionThroughput> throughputs, String section, JsonNode content, long start) {
+		final var end = System.currentTimeMillis();
+		final var node = content.get(section);
+		if (node != null && !node.isEmpty()) {
+			throughputs.add(new SectionThroughput(section, node.size(), end - start));
+		}
+		return end;
+	}
+
 	/** Create the global indicators in the database.
 	 *
 	 * @param session the JPA session for managing transactions.
@@ -750,6 +856,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 						session.beginTransaction();
 						if (!isFake()) {
 							person = this.personRepository.save(person);
+							this.personService.indexPersonName(person);
 						}
 						++nbNew;
 						getLogger().info("  + " + person.getFullName() + " (id: " + person.getId() + ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
@@ -1275,19 +1382,24 @@ public class JsonToDatabaseImporter extends JsonTool {
 	}
 
 	/** Create the publications (and additional authors) in the database.
+	 * Each chunk of publications is saved in a transaction of the Spring transaction manager, in which the
+	 * publications, their authorships and the new authors are saved by the repositories.
 	 *
-	 * @param session the JPA session for managing transactions.
 	 * @param publications the list of publications in the Json source.
 	 * @param scientificAxes the list of scientific axes of the publications in the Json source.
 	 * @param objectIdRepository the repository of the JSON elements with {@code "@id"} field.
 	 * @param aliasRepository the repository of field aliases.
 	 * @param fileCallback a tool that is invoked when associated file is detected. It could be {@code null}.
+	 * @param bulkChunkSize the number of publications that are saved within the same transaction.
+	 *     A value lower than or equal to {@code 1} means that each publication is saved in its own transaction.
+	 *     If a publication cannot be saved, the transaction of its chunk is rolled back.
 	 * @return the pair of numbers, never {@code null}. The first number is the number of added publication; the
 	 *     second number is the is the number of added persons.
 	 * @throws Exception if a membership cannot be created.
 	 */
-	protected Pair<Integer, Integer> insertPublications(Session session, JsonNode publications, JsonNode scientificAxes,
-			Map<String, Long> objectIdRepository, Map<String, Set<String>> aliasRepository, FileCallback fileCallback) throws Exception {
+	protected Pair<Integer, Integer> insertPublications(JsonNode publications, JsonNode scientificAxes,
+			Map<String, Long> objectIdRepository, Map<String, Set<String>> aliasRepository, FileCallback fileCallback,
+			int bulkChunkSize) throws Exception {
 		var nbNewPublications = 0;
 		final var nbNewPersons = new MutableInt();
 		if (publications != null && !publications.isEmpty()) {
@@ -1295,18 +1407,23 @@ public class JsonToDatabaseImporter extends JsonTool {
 			// Extract the scientific axes for each membership
 			final var axesOfPublications = extractScientificAxes(
 					scientificAxes, objectIdRepository, PUBLICATIONS_KEY);
+			// Load the referenced persons, journals and conferences with one query per entity type
+			final var references = new PublicationReferences(publications, objectIdRepository);
 			//
 			getLogger().info("Inserting " + publications.size() + " publications..."); //$NON-NLS-1$ //$NON-NLS-2$
+			final var chunkSize = Math.max(1, bulkChunkSize);
+			TransactionStatus transaction = null;
 			int i = 0;
 			for (final var publicationObject : publications) {
 				getLogger().info("> Publication " + (i + 1) + "/" + publications.size()); //$NON-NLS-1$ //$NON-NLS-2$
 				try {
+					if (i % chunkSize == 0) {
+						transaction = this.transactionManager.getTransaction(TransactionDefinition.withDefaults());
+					}
 					final var id = getId(publicationObject);
 					final var updatedObjects = new ArrayList<>();
 					final var publication = createPublicationInstance(id,
-							publicationObject, objectIdRepository, aliasRepository, updatedObjects);
-					// Test if the publication is already inside the database
-					session.beginTransaction();
+							publicationObject, objectIdRepository, aliasRepository, updatedObjects, references);
 					// Save the publication
 					if (!isFake()) {
 						this.publicationService.save(publication);
@@ -1346,36 +1463,46 @@ public class JsonToDatabaseImporter extends JsonTool {
 					if (authors == null || authors.isEmpty()) {
 						throw new IllegalArgumentException("No author for publication with id: " + id); //$NON-NLS-1$
 					}
+					final var authorships = new ArrayList<Authorship>(authors.size());
 					var authorRank = 0;
 					final var iterator = authors.elements();
 					while (iterator.hasNext()) {
 						final var authorObject = iterator.next();
-						final var targetAuthor = findOrCreateAuthor(authorObject, objectIdRepository, nbNewPersons);
+						final var targetAuthor = findOrCreateAuthor(authorObject, objectIdRepository, nbNewPersons, references);
 						if (targetAuthor == null) {
 							throw new IllegalArgumentException("Invalid author reference for publication with id: " + id); //$NON-NLS-1$
 						}
 						//
-						var authorship = new Authorship();
+						final var authorship = new Authorship();
 						authorship.setPerson(targetAuthor);
 						authorship.setPublication(publication);
 						authorship.setAuthorRank(authorRank);
-						if (!isFake()) {
-							authorship = this.authorshipRepository.save(authorship);
-						}
+						authorships.add(authorship);
 						++authorRank;
 					}
-					session.getTransaction().commit();
+					if (!isFake()) {
+						this.authorshipRepository.saveAll(authorships);
+					}
 					final var publicationScientificAxes = axesOfPublications.get(id);
 					if (publicationScientificAxes != null && !publicationScientificAxes.isEmpty()) {
-						session.beginTransaction();
 						final var axisInstances = this.scientificAxisRepository.findAllById(publicationScientificAxes);
 						publication.setScientificAxes(axisInstances);
 						if (!isFake()) {
 							this.publicationService.save(publication);
 						}
-						session.getTransaction().commit();
+					}
+					if ((i + 1) % chunkSize == 0 || i + 1 == publications.size()) {
+						final var chunkTransaction = transaction;
+						transaction = null;
+						this.transactionManager.commit(chunkTransaction);
 					}
 				} catch (Throwable ex) {
+					if (transaction != null && !transaction.isCompleted()) {
+						this.transactionManager.rollback(transaction);
+					}
+					// The publications and the authors of the chunk were indexed before the rollback
+					this.publicationService.resetTitleIndex();
+					this.personService.resetNameIndex();
 					throw new UnableToImportJsonException(PUBLICATIONS_SECTION, i, publicationObject, ex);
 				}
 				++i;
@@ -1385,7 +1512,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 	}
 
 	private Publication createPublicationInstance(String id, JsonNode publicationObject, Map<String, Long> objectIdRepository,
-			Map<String, Set<String>> aliasRepository, Collection<Object> updatedObjects) throws Exception {
+			Map<String, Set<String>> aliasRepository, Collection<Object> updatedObjects, PublicationReferences references) throws Exception {
 		// Retrieve the elements that characterize the type of the publication
 		final var type = getEnum(publicationObject, TYPE_KEY, PublicationType.class);
 		if (type == null) {
@@ -1426,11 +1553,10 @@ public class JsonToDatabaseImporter extends JsonTool {
 			if (journalDbId == null || journalDbId.intValue() == 0) {
 				throw new IllegalArgumentException("Invalid journal reference for publication with id: " + id); //$NON-NLS-1$
 			}
-			final var optJournal = this.journalRepository.findById(journalDbId);
-			if (optJournal.isEmpty()) {
+			final var targetJournal = references.getJournal(journalDbId);
+			if (targetJournal == null) {
 				throw new IllegalArgumentException("Invalid journal reference for publication with id: " + id); //$NON-NLS-1$
 			}
-			final var targetJournal = optJournal.get();
 			journalPaper.setJournal(targetJournal);
 			updatedObjects.add(targetJournal);
 		}
@@ -1445,11 +1571,10 @@ public class JsonToDatabaseImporter extends JsonTool {
 			if (conferenceDbId == null || conferenceDbId.intValue() == 0) {
 				throw new IllegalArgumentException("Invalid conference reference for publication with id: " + id); //$NON-NLS-1$
 			}
-			final var optConference = this.conferenceRepository.findById(conferenceDbId);
-			if (optConference.isEmpty()) {
+			final var targetConference = references.getConference(conferenceDbId);
+			if (targetConference == null) {
 				throw new IllegalArgumentException("Invalid conference reference for publication with id: " + id); //$NON-NLS-1$
 			}
-			final var targetConference = optConference.get();
 			conferencePaper.setConference(targetConference);
 			updatedObjects.add(targetConference);
 		}
@@ -1469,14 +1594,15 @@ public class JsonToDatabaseImporter extends JsonTool {
 		return publication;
 	}
 
-	private Person findOrCreateAuthor(JsonNode authorObject, Map<String, Long> objectIdRepository, MutableInt nbNewPersons) {
+	private Person findOrCreateAuthor(JsonNode authorObject, Map<String, Long> objectIdRepository, MutableInt nbNewPersons,
+			PublicationReferences references) {
 		assert authorObject != null;
 		Person targetAuthor = null;
 		final var authorId = getRef(authorObject);
 		if (!Strings.isNullOrEmpty(authorId)) {
 			final var personId = objectIdRepository.get(authorId);
 			if (personId != null && personId.intValue() != 0) {
-				targetAuthor = this.personService.getPersonById(personId.intValue());
+				targetAuthor = references.getPerson(personId);
 			}
 		}
 		if (targetAuthor == null) {
@@ -1492,6 +1618,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 				newAuthor.setLastName(this.personNameParser.formatNameForDisplay(lastName));
 				if (!isFake()) {
 					newAuthor = this.personRepository.save(newAuthor);
+					this.personService.indexPersonName(newAuthor);
 				}
 				nbNewPersons.increment();
 				targetAuthor = newAuthor;
@@ -2417,6 +2544,100 @@ public class JsonToDatabaseImporter extends JsonTool {
 		return nbNew;
 	}
 
+	/** Persons, journals and conferences that are referenced by the publications to import.
+	 * They are loaded with one query per entity type before the publications are created, in place of
+	 * one query per reference.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private final class PublicationReferences {
+
+		private final Map<Long, Person> persons = new HashMap<>();
+
+		private final Map<Long, Journal> journals = new HashMap<>();
+
+		private final Map<Long, Conference> conferences = new HashMap<>();
+
+		/** Constructor.
+		 *
+		 * @param publications the JSON description of the publications.
+		 * @param objectIdRepository the mapping from JSON {@code @id} field and the JPA database identifier.
+		 */
+		PublicationReferences(JsonNode publications, Map<String, Long> objectIdRepository) {
+			final var personIds = new HashSet<Long>();
+			final var journalIds = new HashSet<Long>();
+			final var conferenceIds = new HashSet<Long>();
+			for (final var publicationObject : publications) {
+				addReference(getRef(publicationObject.get(JOURNAL_KEY)), objectIdRepository, journalIds);
+				addReference(getRef(publicationObject.get(CONFERENCE_KEY)), objectIdRepository, conferenceIds);
+				final var authors = publicationObject.get(AUTHORS_KEY);
+				if (authors != null) {
+					for (final var authorObject : authors) {
+						addReference(getRef(authorObject), objectIdRepository, personIds);
+					}
+				}
+			}
+			if (!personIds.isEmpty()) {
+				for (final var person : JsonToDatabaseImporter.this.personRepository.findAllById(personIds)) {
+					this.persons.put(Long.valueOf(person.getId()), person);
+				}
+			}
+			if (!journalIds.isEmpty()) {
+				for (final var journal : JsonToDatabaseImporter.this.journalRepository.findAllById(journalIds)) {
+					this.journals.put(Long.valueOf(journal.getId()), journal);
+				}
+			}
+			if (!conferenceIds.isEmpty()) {
+				for (final var conference : JsonToDatabaseImporter.this.conferenceRepository.findAllById(conferenceIds)) {
+					this.conferences.put(Long.valueOf(conference.getId()), conference);
+				}
+			}
+		}
+
+		private static void addReference(String ref, Map<String, Long> objectIdRepository, Set<Long> ids) {
+			if (!Strings.isNullOrEmpty(ref)) {
+				final var dbId = objectIdRepository.get(ref);
+				if (dbId != null && dbId.longValue() != 0l) {
+					ids.add(dbId);
+				}
+			}
+		}
+
+		/** Replies the person with the given identifier.
+		 * The person is loaded from the database if it was not preloaded, e.g., when it was created
+		 * during the import of the publications.
+		 *
+		 * @param id the identifier of the person.
+		 * @return the person, or {@code null} if there is no person with this identifier.
+		 */
+		Person getPerson(Long id) {
+			return this.persons.computeIfAbsent(id, it -> JsonToDatabaseImporter.this.personService.getPersonById(it.longValue()));
+		}
+
+		/** Replies the journal with the given identifier.
+		 *
+		 * @param id the identifier of the journal.
+		 * @return the journal, or {@code null} if there is no journal with this identifier.
+		 */
+		Journal getJournal(Long id) {
+			return this.journals.computeIfAbsent(id, it -> JsonToDatabaseImporter.this.journalRepository.findById(it).orElse(null));
+		}
+
+		/** Replies the conference with the given identifier.
+		 *
+		 * @param id the identifier of the conference.
+		 * @return the conference, or {@code null} if there is no conference with this identifier.
+		 */
+		Conference getConference(Long id) {
+			return this.conferences.computeIfAbsent(id, it -> JsonToDatabaseImporter.this.conferenceRepository.findById(it).orElse(null));
+		}
+
+	}
+
 	/** Internal data structure for importing organization memberships.
 	 * 
 	 * @author $Author: sgalland$
@@ -2645,6 +2866,8 @@ public class JsonToDatabaseImporter extends JsonTool {
 		 */
 		public final int applicationUsers;
 
+		private List<SectionThroughput> sectionThroughputs = Collections.emptyList();
+
 		/** Constructor.
 		 *
 		 * @param addresses the number of created addresses.
@@ -2692,6 +2915,24 @@ public class JsonToDatabaseImporter extends JsonTool {
 			this(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
 		}
 
+		/** Replies the throughputs of the import for each section of the JSON source.
+		 *
+		 * @return the unmodifiable list of throughputs, in the order of import of the sections.
+		 * @since 4.1
+		 */
+		public List<SectionThroughput> getSectionThroughputs() {
+			return this.sectionThroughputs;
+		}
+
+		/** Change the throughputs of the import for each section of the JSON source.
+		 *
+		 * @param throughputs the throughputs, in the order of import of the sections.
+		 * @since 4.1
+		 */
+		public void setSectionThroughputs(List<SectionThroughput> throughputs) {
+			this.sectionThroughputs = throughputs == null ? Collections.emptyList() : Collections.unmodifiableList(throughputs);
+		}
+
 		/** Update the number of files that were associated to publications.
 		 *
 		 * @param fileCount the number of associated files.
@@ -2731,6 +2972,41 @@ public class JsonToDatabaseImporter extends JsonTool {
 			logger.info(" |-> associated structures: " + this.associatedStructures); //$NON-NLS-1$
 			logger.info(" |-> teaching activities: " + this.teachingActivities); //$NON-NLS-1$
 			logger.info(" \\-> scientific axes: " + this.scientificAxes); //$NON-NLS-1$
+			if (!this.sectionThroughputs.isEmpty()) {
+				logger.info("Throughput of the import:"); //$NON-NLS-1$
+				for (final var throughput : this.sectionThroughputs) {
+					logger.info(" |-> " + throughput.section() + ": " + throughput.entities() //$NON-NLS-1$ //$NON-NLS-2$
+						+ " entities in " + throughput.durationMillis() + " ms (" //$NON-NLS-1$ //$NON-NLS-2$
+						+ String.format("%.1f", Double.valueOf(throughput.getEntitiesPerSecond())) //$NON-NLS-1$
+						+ " entities/s)"); //$NON-NLS-1$
+				}
+			}
+		}
+
+	}
+
+	/** Throughput of the import of a section of the JSON source.
+	 *
+	 * @param section the name of the section.
+	 * @param entities the number of entities in the section.
+	 * @param durationMillis the duration of the import of the section, in milliseconds.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	public record SectionThroughput(String section, int entities, long durationMillis) {
+
+		/** Replies the number of imported entities per second.
+		 *
+		 * @return the number of entities per second.
+		 */
+		public double getEntitiesPerSecond() {
+			if (this.durationMillis <= 0l) {
+				return this.entities;
+			}
+			return this.entities * 1000.0 / this.durationMillis;
 		}
 
 	}
@@ -26,15 +26,13 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Strings;
 import fr.utbm.ciad.labmanager.data.journal.JournalQualityAnnualIndicators;
 import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonPropertyAccessors.PropertyAccessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.support.MessageSourceAccessor;
 
-import java.lang.reflect.Method;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /** Definition of constants for the JSON tools.
  * 
@@ -753,99 +751,29 @@ public abstract class JsonTool {
 	}
 
 	/** Find the setter methods that matches the given names.
+	 * The setter functions are resolved once per type and names; then, they are replied from a cache.
 	 *
 	 * @param type the type of the object on which the setter function must be invoked.
 	 * @param names the set of lower-cased names of the setter functions that could serve as candidates for
 	 *     finding the method.
 	 * @param value the value to give to the setter function. The value is used for checking the formal parameter's type.
 	 * @return the method that could be served as setter, or {@code null} if none was found.
+	 * @see JsonPropertyAccessors
 	 */
-	protected static Method findSetterMethod(Class<?> type, Set<String> names, Object value) {
+	protected static PropertyAccessor findSetterMethod(Class<?> type, Set<String> names, Object value) {
 		assert value != null;
-		try {
-			final var valueType = value.getClass();
-			final var methods = Arrays.asList(type.getMethods()).parallelStream().filter(it -> {
-				if (it.getParameterCount() == 1 && (names.contains(it.getName().toLowerCase()))) {
-					final Class<?> receiver = it.getParameterTypes()[0];
-					final Class<?> provider = valueType;
-					return receiver.isAssignableFrom(provider);
-				}
-				return false;
-			}) .collect(Collectors.toSet());
-			final var size = methods.size();
-			if (size > 1) {
-				throw new IllegalArgumentException("Too many setter function candidates (case insensitive) in type '" //$NON-NLS-1$
-						+ type.getName() + "' with names: " + names.toString()); //$NON-NLS-1$
-			} else if (size == 1) {
-				return methods.iterator().next();
-			}
-		} catch (Throwable ex) {
-			//
-		}
-		return null;
+		return JsonPropertyAccessors.findSetter(type, names, value.getClass());
 	}
 
 	/** Replies all the getter functions of the given type that have a matching setter function.
+	 * The getter functions are discovered once per type; then, they are replied from a cache.
 	 *
 	 * @param source the source type.
-	 * @return the map of the methods. Keys are the names of the attributes, and the values are the setter functions.
-	 */
-	protected static Map<String, Method> findGetterMethods(Class<?> source) {
-		final var setters = new TreeSet<String>();
-		final var getters = new HashMap<String, Method>();
-		for (final var meth : source.getMethods()) {
-			final var name = meth.getName().toLowerCase();
-			if (meth.getParameterCount() == 1
-					&& (meth.getParameterTypes()[0].isPrimitive()
-							|| Number.class.equals(meth.getParameterTypes()[0])
-							|| String.class.equals(meth.getParameterTypes()[0])
-							|| Boolean.class.equals(meth.getParameterTypes()[0]))
-					&& name.startsWith(SETTER_FUNCTION_PREFIX)) {
-				final var attrName = toLowerFirst(meth.getName().substring(SETTER_FUNCTION_PREFIX.length()));
-				setters.add(attrName);
-			} else 	if (meth.getParameterCount() == 0
-					&& (meth.getReturnType().isPrimitive()
-							|| meth.getReturnType().isEnum()
-							|| Number.class.isAssignableFrom(meth.getReturnType())
-							|| String.class.isAssignableFrom(meth.getReturnType())
-							|| Boolean.class.isAssignableFrom(meth.getReturnType())
-							|| LocalDate.class.isAssignableFrom(meth.getReturnType())
-							|| Character.class.isAssignableFrom(meth.getReturnType()))
-					&& (name.startsWith(GETTER_FUNCTION_PREFIX)
-							|| name.startsWith(IS_GETTER_FUNCTION_PREFIX))) {
-				if (name.startsWith(IS_GETTER_FUNCTION_PREFIX)) {
-					final var attrName = toLowerFirst(meth.getName().substring(IS_GETTER_FUNCTION_PREFIX.length()));
-					getters.put(attrName, meth);
-				} else {
-					final var attrName = toLowerFirst(meth.getName().substring(GETTER_FUNCTION_PREFIX.length()));
-					getters.put(attrName, meth);
-				}
-			}
-		}
-		//
-		getters.remove("id"); //$NON-NLS-1$
-		//
-		final var iterator = getters.entrySet().iterator();
-		while (iterator.hasNext()) {
-			final var entry = iterator.next();
-			if (!setters.contains(entry.getKey())) {
-				iterator.remove();
-			}
-		}
-		//
-		return getters;
-	}
-
-	private static String toLowerFirst(String name) {
-		if (name.length() <= 0) {
-			return name.toLowerCase();
-		}
-		final var pattern = Pattern.compile("^[A-Z]+$"); //$NON-NLS-1$
-		final var matcher = pattern.matcher(name);
-		if (matcher.matches()) {
-			return name.toLowerCase();
-		}
-		return name.substring(0, 1).toLowerCase() + name.substring(1);
+	 * @return the map of the methods. Keys are the names of the attributes, and the values are the getter functions.
+	 * @see JsonPropertyAccessors
+	 */
+	protected static Map<String, PropertyAccessor> findGetterMethods(Class<?> source) {
+		return JsonPropertyAccessors.getGetters(source);
 	}
 
 	/** Convert the given value into an equivalent value that could be saved into a JSON.
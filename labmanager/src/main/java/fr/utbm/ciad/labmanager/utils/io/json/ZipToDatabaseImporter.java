@@ -118,6 +118,18 @@ public class ZipToDatabaseImporter extends AbstractComponent {
 	 * @throws Exception if there is problem for importing.
 	 */
 	public void importArchiveFileToDatabase(URL url) throws Exception {
+		importArchiveFileToDatabase(url, 1);
+	}
+
+	/** Run the importer for ZIP data source only.
+	 *
+	 * @param url the URL of the ZIP file to read.
+	 * @param bulkChunkSize the number of publications that are saved within the same transaction.
+	 *     A value lower than or equal to {@code 1} means that each publication is saved in its own transaction.
+	 * @throws Exception if there is problem for importing.
+	 * @since 4.1
+	 */
+	public void importArchiveFileToDatabase(URL url, int bulkChunkSize) throws Exception {
 		cleanTargetFolders();
 		deleteTemporaryArea();
 		//
@@ -146,7 +158,7 @@ public class ZipToDatabaseImporter extends AbstractComponent {
 			// Inject the JSON content into the database; Change the uploaded files on the fly.
 			if (content != null) {
 				final var callback = new UploadedFileManager();
-				final var stats = this.jsonImporter.importJsonFileToDatabase(content, callback);
+				final var stats = this.jsonImporter.importJsonFileToDatabase(content, callback, bulkChunkSize);
 				if (stats != null) {
 					stats.setPublicationAssociatedFileCount(callback.getFileCount());
 					stats.logSummaryOn(getLogger());
@@ -0,0 +1,344 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.io.network;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.arakhne.afc.progress.DefaultProgression;
+import org.arakhne.afc.progress.Progression;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/** Engine that runs downloads from remote platforms concurrently.
+ * The downloads are run by a bounded pool of threads that is shared by all the callers. The requests
+ * to the same host are separated by a minimal delay in order to respect the rate limits of the remote
+ * platforms. A failed download is retried after a delay that is doubled at each new attempt.
+ *
+ * <p>The results are delivered to the consumer on the thread of the caller, one after the other, in the order
+ * of termination of the downloads. Consequently, the consumers and the progression indicators do not need to be thread-safe.
+ * The pending downloads are cancelled when the caller thread is interrupted or when the consumer fails.
+ *
+ * <p>The configuration variables {@code labmanager.download.max-concurrency}, {@code labmanager.download.min-host-delay},
+ * {@code labmanager.download.max-retries} and {@code labmanager.download.retry-delay} define the parameters of the engine.
+ * The delays are in milliseconds.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@Component
+public class DownloadEngine implements AutoCloseable {
+
+	/** Default maximum number of downloads that are run at the same time.
+	 */
+	public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+	/** Default minimal delay in milliseconds between two requests to the same host.
+	 */
+	public static final long DEFAULT_MIN_HOST_DELAY = 500l;
+
+	/** Default number of retries for a failed download.
+	 */
+	public static final int DEFAULT_MAX_RETRIES = 2;
+
+	/** Default delay in milliseconds before the first retry of a failed download.
+	 */
+	public static final long DEFAULT_RETRY_DELAY = 1000l;
+
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+	private final int maxConcurrency;
+
+	private final long minHostDelay;
+
+	private final int maxRetries;
+
+	private final long retryDelay;
+
+	private final Map<String, HostSlot> hosts = new ConcurrentHashMap<>();
+
+	private ExecutorService executor;
+
+	/** Constructor with the default configuration.
+	 */
+	public DownloadEngine() {
+		this(DEFAULT_MAX_CONCURRENCY, DEFAULT_MIN_HOST_DELAY, DEFAULT_MAX_RETRIES, DEFAULT_RETRY_DELAY);
+	}
+
+	/** Constructor.
+	 *
+	 * @param maxConcurrency the maximum number of downloads that are run at the same time.
+	 * @param minHostDelay the minimal delay in milliseconds between two requests to the same host.
+	 * @param maxRetries the number of retries for a failed download.
+	 * @param retryDelay the delay in milliseconds before the first retry of a failed download.
+	 */
+	@Autowired
+	public DownloadEngine(
+			@Value("${labmanager.download.max-concurrency:" + DEFAULT_MAX_CONCURRENCY + "}") int maxConcurrency,
+			@Value("${labmanager.download.min-host-delay:" + DEFAULT_MIN_HOST_DELAY + "}") long minHostDelay,
+			@Value("${labmanager.download.max-retries:" + DEFAULT_MAX_RETRIES + "}") int maxRetries,
+			@Value("${labmanager.download.retry-delay:" + DEFAULT_RETRY_DELAY + "}") long retryDelay) {
+		this.maxConcurrency = Math.max(1, maxConcurrency);
+		this.minHostDelay = Math.max(0l, minHostDelay);
+		this.maxRetries = Math.max(0, maxRetries);
+		this.retryDelay = Math.max(0l, retryDelay);
+	}
+
+	/** Replies the maximum number of downloads that are run at the same time.
+	 *
+	 * @return the maximum number of downloads.
+	 */
+	public int getMaxConcurrency() {
+		return this.maxConcurrency;
+	}
+
+	/** Replies the minimal delay between two requests to the same host.
+	 *
+	 * @return the delay in milliseconds.
+	 */
+	public long getMinHostDelay() {
+		return this.minHostDelay;
+	}
+
+	/** Replies the number of retries for a failed download.
+	 *
+	 * @return the number of retries.
+	 */
+	public int getMaxRetries() {
+		return this.maxRetries;
+	}
+
+	/** Replies the delay before the first retry of a failed download.
+	 *
+	 * @return the delay in milliseconds.
+	 */
+	public long getRetryDelay() {
+		return this.retryDelay;
+	}
+
+	private synchronized ExecutorService getExecutor() {
+		if (this.executor == null) {
+			this.executor = Executors.newFixedThreadPool(this.maxConcurrency, it -> {
+				final var thread = new Thread(it, "labmanager-download-" + THREAD_COUNTER.incrementAndGet()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return this.executor;
+	}
+
+	/** Download the data for each of the given items and deliver the results to the given consumer.
+	 * The consumer is invoked on the thread of the caller. The progression is incremented for each
+	 * delivered result.
+	 *
+	 * @param <T> the type of the items.
+	 * @param <R> the type of the downloaded data.
+	 * @param host the name of the remote host that is accessed by the task. It is used for the rate limiting.
+	 * @param items the items for which the data must be downloaded.
+	 * @param task the download task for a single item. It is run on a thread of the engine.
+	 * @param consumer the consumer of the results.
+	 * @param progress the progression indicator, or {@code null}.
+	 * @return {@code true} if all the items were processed, {@code false} if the downloads were cancelled
+	 *     because the caller thread was interrupted. In this last case, the interrupted flag of the thread is set.
+	 * @throws Exception if the consumer has failed.
+	 */
+	public <T, R> boolean download(String host, Collection<? extends T> items, DownloadTask<T, R> task,
+			DownloadConsumer<T, R> consumer, Progression progress) throws Exception {
+		assert task != null;
+		assert consumer != null;
+		final var progress0 = progress == null ? new DefaultProgression() : progress;
+		progress0.setProperties(0, 0, items.size(), false);
+		final var completion = new ExecutorCompletionService<DownloadResult<T, R>>(getExecutor());
+		final var futures = new ArrayList<Future<DownloadResult<T, R>>>(items.size());
+		try {
+			for (final var item : items) {
+				futures.add(completion.submit(() -> runWithRetries(host, item, task)));
+			}
+			for (var i = 0; i < futures.size(); ++i) {
+				final DownloadResult<T, R> result;
+				try {
+					result = completion.take().get();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return false;
+				} catch (ExecutionException ex) {
+					// Should not occur because the errors of the tasks are put into the results
+					throw new IllegalStateException(ex.getCause());
+				}
+				consumer.consume(result.item(), result.value(), result.error());
+				progress0.increment();
+			}
+			return true;
+		} finally {
+			for (final var future : futures) {
+				future.cancel(true);
+			}
+			progress0.end();
+		}
+	}
+
+	private <T, R> DownloadResult<T, R> runWithRetries(String host, T item, DownloadTask<T, R> task) throws InterruptedException {
+		var delay = this.retryDelay;
+		var attempt = 0;
+		while (true) {
+			waitForHost(host);
+			try {
+				return new DownloadResult<>(item, task.download(item), null);
+			} catch (InterruptedException ex) {
+				throw ex;
+			} catch (Throwable ex) {
+				if (attempt >= this.maxRetries) {
+					return new DownloadResult<>(item, null, ex);
+				}
+			}
+			++attempt;
+			if (delay > 0l) {
+				Thread.sleep(delay);
+				delay *= 2;
+			}
+		}
+	}
+
+	/** Wait until a new request could be sent to the given host.
+	 *
+	 * @param host the name of the host.
+	 * @throws InterruptedException if the thread is interrupted while waiting.
+	 */
+	protected void waitForHost(String host) throws InterruptedException {
+		if (this.minHostDelay > 0l && host != null) {
+			final var slot = this.hosts.computeIfAbsent(host, it -> new HostSlot());
+			final long delay;
+			synchronized (slot) {
+				final var now = System.currentTimeMillis();
+				final var start = Math.max(now, slot.next);
+				slot.next = start + this.minHostDelay;
+				delay = start - now;
+			}
+			if (delay > 0l) {
+				Thread.sleep(delay);
+			}
+		}
+	}
+
+	/** Stop the threads of the engine. The running downloads are interrupted.
+	 */
+	@Override
+	public synchronized void close() {
+		if (this.executor != null) {
+			this.executor.shutdownNow();
+			this.executor = null;
+		}
+	}
+
+	/** Download task for a single item.
+	 *
+	 * @param <T> the type of the item.
+	 * @param <R> the type of the downloaded data.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	@FunctionalInterface
+	public interface DownloadTask<T, R> {
+
+		/** Download the data for the given item.
+		 *
+		 * @param item the item.
+		 * @return the downloaded data.
+		 * @throws Exception if the data cannot be downloaded.
+		 */
+		R download(T item) throws Exception;
+
+	}
+
+	/** Consumer of the results of the downloads.
+	 *
+	 * @param <T> the type of the item.
+	 * @param <R> the type of the downloaded data.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	@FunctionalInterface
+	public interface DownloadConsumer<T, R> {
+
+		/** Invoked when the download for an item is finished.
+		 *
+		 * @param item the item.
+		 * @param value the downloaded data, or {@code null} if the download has failed.
+		 * @param error the error of the last attempt of download, or {@code null} if the download has succeeded.
+		 * @throws Exception if the result cannot be consumed. All the pending downloads are cancelled.
+		 */
+		void consume(T item, R value, Throwable error) throws Exception;
+
+	}
+
+	/** Result of a download.
+	 *
+	 * @param <T> the type of the item.
+	 * @param <R> the type of the downloaded data.
+	 * @param item the item.
+	 * @param value the downloaded data.
+	 * @param error the error.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private record DownloadResult<T, R>(T item, R value, Throwable error) {
+		//
+	}
+
+	/** Time slot of the next request to a host.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private static final class HostSlot {
+
+		long next;
+
+		HostSlot() {
+			//
+		}
+
+	}
+
+}
@@ -25,6 +25,7 @@ import fr.utbm.ciad.labmanager.data.publication.Publication;
 import fr.utbm.ciad.labmanager.data.publication.type.*;
 import fr.utbm.ciad.labmanager.utils.io.AbstractPublicationExporter;
 import fr.utbm.ciad.labmanager.utils.io.ExporterConfigurator;
+import fr.utbm.ciad.labmanager.utils.io.UnclosableStream;
 import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
 import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
 import org.arakhne.afc.progress.Progression;
@@ -35,6 +36,7 @@ import org.odftoolkit.odfdom.dom.element.text.TextSpanElement;
 import org.springframework.context.support.MessageSourceAccessor;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.format.TextStyle;
 import java.util.Collection;
 import java.util.Locale;
@@ -84,13 +86,26 @@ public abstract class AbstractOdfToolkitOpenDocumentTextPublicationExporter exte
 		return getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "RIGHT_QUOTES", locale); //$NON-NLS-1$
 	}
 
-	@SuppressWarnings("resource")
 	@Override
 	public byte[] exportPublications(Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression) throws Exception {
 		if (publications == null) {
 			progression.end();
 			return null;
 		}
+		try (final var output = new ByteArrayOutputStream()) {
+			exportPublications(output, publications, configurator, progression);
+			return output.toByteArray();
+		}
+	}
+
+	@SuppressWarnings("resource")
+	@Override
+	public void exportPublications(OutputStream output, Collection<? extends Publication> publications, ExporterConfigurator configurator,
+			Progression progression) throws Exception {
+		if (publications == null) {
+			progression.end();
+			return;
+		}
 		progression.setProperties(0, 0, publications.size() * 2, false);
 		final var odt = OdfTextDocument.newTextDocument();
 		exportPublicationsWithGroupingCriteria(publications, configurator, progression.subTask(publications.size()),
@@ -117,14 +132,11 @@ public abstract class AbstractOdfToolkitOpenDocumentTextPublicationExporter exte
 						throw new RuntimeException(ex);
 					}					
 				});
-		final byte[] content;
-		try (final var output = new ByteArrayOutputStream()) {
-			odt.save(output);
-			output.flush();
-			content = output.toByteArray();
-		}
+		// The ODT document is a ZIP archive that is built in memory by the ODF toolkit; it is saved directly into the output stream
+		// that must not be closed by the toolkit
+		odt.save(new UnclosableStream(output));
+		output.flush();
 		progression.end();
-		return content;
 	}
 
 	/** Export the publications in a flat list.
@@ -48,6 +48,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.stereotype.Component;
 
+import java.io.FilterWriter;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
@@ -150,15 +151,27 @@ public class KrisRIS extends AbstractRIS {
 	@Override
 	public void exportPublications(Writer output, Collection<? extends Publication> publications,
 			ExporterConfigurator configurator, Progression progression) throws IOException {
-		progression.setProperties(0, 0, publications.size() + 1, false);
-		final var records = new ArrayList<RisRecord>();
+		progression.setProperties(0, 0, publications.size(), false);
+		final var records = new ArrayList<RisRecord>(1);
+		// The writer is protected against closing because the records are written one by one
+		final var unclosableOutput = new FilterWriter(output) {
+			@Override
+			public void close() throws IOException {
+				flush();
+			}
+		};
 		final var iterator = publications.iterator();
 		while (iterator.hasNext()) {
 			final var publication = iterator.next();
 			exportPublication(configurator.getLocaleOrLanguageLocale(publication.getMajorLanguage()), publication, records);
+			// The records are written as soon as they are created in order to avoid to have all of them in memory
+			if (!records.isEmpty()) {
+				KRisIO.export(records, unclosableOutput);
+				records.clear();
+			}
 			progression.increment();
 		}
-		KRisIO.export(records, output);
+		output.flush();
 		progression.end();
 	}
 
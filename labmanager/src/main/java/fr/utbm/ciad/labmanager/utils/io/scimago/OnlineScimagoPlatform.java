@@ -20,12 +20,16 @@
 package fr.utbm.ciad.labmanager.utils.io.scimago;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Maps;
 import com.opencsv.CSVParserBuilder;
 import com.opencsv.CSVReader;
 import com.opencsv.CSVReaderBuilder;
+import fr.utbm.ciad.labmanager.utils.ranking.JournalRankingStore;
+import fr.utbm.ciad.labmanager.utils.ranking.JournalRankingStore.StoredRanking;
 import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
 import org.arakhne.afc.progress.DefaultProgression;
 import org.arakhne.afc.progress.Progression;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.DefaultUriBuilderFactory;
@@ -33,12 +37,12 @@ import org.springframework.web.util.UriBuilderFactory;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
@@ -96,7 +100,25 @@ public class OnlineScimagoPlatform implements ScimagoPlatform {
 	 */
 	protected final UriBuilderFactory uriBuilderFactory = new DefaultUriBuilderFactory();
 
-	private final Map<Integer, Map<String, Map<String, QuartileRanking>>> rankingCache = new ConcurrentHashMap<>();
+	private static final String STORE_NAME = "scimago"; //$NON-NLS-1$
+
+	private final JournalRankingStore rankingStore;
+
+	/** Constructor with a store of rankings that is only in memory.
+	 */
+	public OnlineScimagoPlatform() {
+		this(new JournalRankingStore());
+	}
+
+	/** Constructor.
+	 *
+	 * @param rankingStore the store of the journal rankings that were already downloaded.
+	 * @since 4.1
+	 */
+	@Autowired
+	public OnlineScimagoPlatform(JournalRankingStore rankingStore) {
+		this.rankingStore = rankingStore;
+	}
 
 	@Override
 	public URL getJournalPictureUrl(String journalId) {
@@ -185,9 +207,9 @@ public class OnlineScimagoPlatform implements ScimagoPlatform {
 	}
 
 	@SuppressWarnings("resource")
-	private static void analyzeCsvRecords(URL csvUrl, Progression progress, Consumer4 consumer) {
+	private static void analyzeCsvRecords(InputStream csv, Progression progress, Consumer4 consumer) {
 		progress.setProperties(0, 0, 100, false);
-		try (final var reader = new BufferedReader(new InputStreamReader(csvUrl.openStream()))) {
+		try (final var reader = new BufferedReader(new InputStreamReader(csv))) {
 			final var parserBuilder = new CSVParserBuilder();
 			parserBuilder.withSeparator(';');
 			parserBuilder.withIgnoreLeadingWhiteSpace(true);
@@ -236,9 +258,9 @@ public class OnlineScimagoPlatform implements ScimagoPlatform {
 		}
 	}
 	
-	private static Map<String, Map<String, QuartileRanking>> readJournalRanking(URL csvUrl, Progression rootProgress) {
-		final var ranking = new TreeMap<String, Map<String, QuartileRanking>>();
-		analyzeCsvRecords(csvUrl, rootProgress, (stream, sourceIdColumn, categoryColumn, bestQuartileColumn, progress) -> {
+	private static Map<String, StoredRanking> readJournalRanking(InputStream csv, Progression rootProgress) {
+		final var ranking = new TreeMap<String, StoredRanking>();
+		analyzeCsvRecords(csv, rootProgress, (stream, sourceIdColumn, categoryColumn, bestQuartileColumn, progress) -> {
 			var row = stream.readNext();
 			final var rowProgress = progress.subTask(99, 0, row == null ? 0 : row.length);
 			while (row != null) {
@@ -247,7 +269,7 @@ public class OnlineScimagoPlatform implements ScimagoPlatform {
 						(a, b) -> journalRanking.put(a, b));
 				if (!journalRanking.isEmpty()) {
 					final var journalId = row[sourceIdColumn.intValue()];
-					ranking.put(journalId, journalRanking);
+					ranking.put(journalId, new StoredRanking(journalRanking, 0f));
 				}
 				rowProgress.increment();
 				row = stream.readNext();
@@ -263,7 +285,10 @@ public class OnlineScimagoPlatform implements ScimagoPlatform {
 
 	@Override
 	public Map<String, Map<String, QuartileRanking>> getJournalRanking(int year, URL csvUrl, Progression progress) throws Exception {
-		return this.rankingCache.computeIfAbsent(Integer.valueOf(year), it -> readJournalRanking(csvUrl, ensureProgress(progress)));
+		final var progress0 = ensureProgress(progress);
+		final var rankings = this.rankingStore.getRankings(STORE_NAME, year, csvUrl, it -> readJournalRanking(it, progress0));
+		progress0.end();
+		return Maps.transformValues(rankings, StoredRanking::quartiles);
 	}
 
 	/** Call back for {@link OnlineScimagoPlatform#analyzeCsvRecords(int, Consumer)}.
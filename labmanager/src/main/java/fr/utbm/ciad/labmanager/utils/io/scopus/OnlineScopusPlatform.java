@@ -20,7 +20,9 @@
 package fr.utbm.ciad.labmanager.utils.io.scopus;
 
 import fr.utbm.ciad.labmanager.utils.io.AbstractWebScraper;
+import fr.utbm.ciad.labmanager.utils.io.HeadlessBrowserPool;
 import org.arakhne.afc.progress.Progression;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 
@@ -40,6 +42,14 @@ import java.util.concurrent.atomic.AtomicReference;
 @Primary
 public class OnlineScopusPlatform extends AbstractWebScraper implements ScopusPlatform {
 
+	/** Constructor.
+	 *
+	 * @param browserPool the pool of browsers that is used for loading the pages.
+	 */
+	public OnlineScopusPlatform(@Autowired HeadlessBrowserPool browserPool) {
+		super(browserPool);
+	}
+
 	@Override
 	public ScopusPerson getPersonRanking(URL scProfile, Progression progress) throws Exception {
 		final var prog = ensureProgress(progress);
@@ -20,12 +20,17 @@
 package fr.utbm.ciad.labmanager.utils.io.wos;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Maps;
 import com.opencsv.CSVParserBuilder;
 import com.opencsv.CSVReader;
 import com.opencsv.CSVReaderBuilder;
 import fr.utbm.ciad.labmanager.utils.io.AbstractWebScraper;
+import fr.utbm.ciad.labmanager.utils.io.HeadlessBrowserPool;
+import fr.utbm.ciad.labmanager.utils.ranking.JournalRankingStore;
+import fr.utbm.ciad.labmanager.utils.ranking.JournalRankingStore.StoredRanking;
 import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
 import org.arakhne.afc.progress.Progression;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.DefaultUriBuilderFactory;
@@ -39,7 +44,6 @@ import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 
@@ -80,12 +84,34 @@ public class OnlineWebOfSciencePlatform extends AbstractWebScraper implements We
 	 */
 	protected static final String IMPACT_FACTOR_COLUMN_PREFIX = "IF"; //$NON-NLS-1$
 
-	private final Map<Integer, Map<String, WebOfScienceJournal>> rankingCache = new ConcurrentHashMap<>();
+	private static final String STORE_NAME = "wos"; //$NON-NLS-1$
+
+	private final JournalRankingStore rankingStore;
 
 	/** Factory of URI builder.
 	 */
 	protected final UriBuilderFactory uriBuilderFactory = new DefaultUriBuilderFactory();
 
+	/** Constructor with a store of rankings that is only in memory.
+	 *
+	 * @param browserPool the pool of browsers that is used for loading the pages.
+	 */
+	public OnlineWebOfSciencePlatform(HeadlessBrowserPool browserPool) {
+		this(browserPool, new JournalRankingStore());
+	}
+
+	/** Constructor.
+	 *
+	 * @param browserPool the pool of browsers that is used for loading the pages.
+	 * @param rankingStore the store of the journal rankings that were already read.
+	 * @since 4.1
+	 */
+	@Autowired
+	public OnlineWebOfSciencePlatform(HeadlessBrowserPool browserPool, JournalRankingStore rankingStore) {
+		super(browserPool);
+		this.rankingStore = rankingStore;
+	}
+
 	private static WebOfScienceJournal analyzeCsvRecord(Integer categoryColumn, Integer impactFactorColumn, String[] row) {
 		final var quartiles = new TreeMap<String, QuartileRanking>();
 		if (categoryColumn != null) {
@@ -183,14 +209,15 @@ public class OnlineWebOfSciencePlatform extends AbstractWebScraper implements We
 		}
 	}
 	
-	private Map<String, WebOfScienceJournal> readJournalRanking(InputStream csv, Progression rootProgress) {
-		final var ranking = new TreeMap<String, WebOfScienceJournal>();
+	private Map<String, StoredRanking> readJournalRanking(InputStream csv, Progression rootProgress) {
+		final var ranking = new TreeMap<String, StoredRanking>();
 		analyzeCsvRecords(csv, rootProgress, (stream, issnColumn, eissnColumn, categoryColumn, ifColumn, progress) -> {
 			var row = stream.readNext();
 			final var rowProgress = progress.subTask(99, 0, row == null ? 0 : row.length);
 			while (row != null) {
-				final var journalRanking = analyzeCsvRecord(categoryColumn, ifColumn, row);
-				if (journalRanking != null) {
+				final var journal = analyzeCsvRecord(categoryColumn, ifColumn, row);
+				if (journal != null) {
+					final var journalRanking = new StoredRanking(journal.quartiles, journal.impactFactor);
 					// Put the ranking object two times in the map: one for the issn and one for the eissn 
 					if (issnColumn != null) {
 						final var journalId = normalizeIssn(row[issnColumn.intValue()]);
@@ -216,7 +243,10 @@ public class OnlineWebOfSciencePlatform extends AbstractWebScraper implements We
 	@Override
 	public Map<String, WebOfScienceJournal> getJournalRanking(int year, InputStream csv, Progression progress)
 			throws Exception {
-		return this.rankingCache.computeIfAbsent(Integer.valueOf(year), it -> readJournalRanking(csv, ensureProgress(progress)));
+		final var progress0 = ensureProgress(progress);
+		final var rankings = this.rankingStore.getRankings(STORE_NAME, year, csv, it -> readJournalRanking(it, progress0));
+		progress0.end();
+		return Maps.transformValues(rankings, it -> new WebOfScienceJournal(it.quartiles(), it.impactFactor()));
 	}
 
 	@Override
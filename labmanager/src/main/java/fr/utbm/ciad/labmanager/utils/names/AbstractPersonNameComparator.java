@@ -95,6 +95,21 @@ public abstract class AbstractPersonNameComparator implements PersonNameComparat
 				last2, lasts2);
 	}
 
+	@Override
+	public NormalizedPersonName normalize(String firstName, String lastName) {
+		return new NormalizedPersonName(this.nameParser, firstName, lastName);
+	}
+
+	@Override
+	public double getSimilarity(NormalizedPersonName name1, NormalizedPersonName name2) {
+		final var enableShortNames = name1.isShortName() || name2.isShortName();
+		return getSimilarity(
+				name1.getNormalizedFirstName(), name1.getNormalizedFirstNames(enableShortNames),
+				name1.getNormalizedLastName(), name1.getNormalizedLastNames(enableShortNames),
+				name2.getNormalizedFirstName(), name2.getNormalizedFirstNames(enableShortNames),
+				name2.getNormalizedLastName(), name2.getNormalizedLastNames(enableShortNames));
+	}
+
 	/** Create an instance of a string similarity computer.
 	 * This is a factory method.
 	 *
@@ -0,0 +1,310 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.names;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import com.google.common.base.Strings;
+import com.ibm.icu.text.Normalizer2;
+
+/** In-memory inverted index of the texts of entities that is dedicated to the keyword search in the lists of entities.
+ * Each entity is indexed with a set of named fields, e.g., the name and the publisher of a journal.
+ * The texts of the fields are normalized once when they are put into the index: the accents are removed and the
+ * characters are lower-cased. The index maps the n-grams of the normalized texts to the identifiers of the entities.
+ *
+ * <p>The search has the same semantic as the SQL filters {@code LOWER(field) LIKE '%keyword%'} that are built by the list views:
+ * an entity is matching if each of the given keywords is contained in at least one of the selected fields of the entity.
+ * The n-grams are used for discarding the entities that cannot contain a keyword; the remaining candidates are
+ * checked against their normalized texts. A keyword that is shorter than the n-grams is checked against all the entities.
+ *
+ * <p>This index is thread-safe.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+public class EntityKeywordIndex {
+
+	/** Default size of the n-grams.
+	 */
+	public static final int DEFAULT_GRAM_SIZE = 3;
+
+	private static final Pattern KEYWORD_SEPARATOR_PATTERN = Pattern.compile("[ \n\r\t\f%]+"); //$NON-NLS-1$
+
+	private static final Pattern MARK_PATTERN = Pattern.compile("\\p{M}+"); //$NON-NLS-1$
+
+	private static final Normalizer2 NORMALIZER = Normalizer2.getNFKDInstance();
+
+	private final int gramSize;
+
+	private final Map<Long, Map<String, String>> entries = new HashMap<>();
+
+	private final Map<String, Set<Long>> grams = new HashMap<>();
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/** Constructor with the default size of n-grams.
+	 */
+	public EntityKeywordIndex() {
+		this(DEFAULT_GRAM_SIZE);
+	}
+
+	/** Constructor.
+	 *
+	 * @param gramSize the size of the n-grams.
+	 */
+	public EntityKeywordIndex(int gramSize) {
+		assert gramSize > 0;
+		this.gramSize = gramSize;
+	}
+
+	/** Normalize the given text for the index, i.e. the accents are removed and the characters are lower-cased.
+	 * The normalization is the same as {@link PersonNameParser#normalizeName(String)} for the accents, but the
+	 * other characters are kept: the dashes and the dots are part of the searched texts, e.g., the ORCID, and
+	 * the characters that are not ASCII, e.g., in the titles, must be found by the keywords.
+	 *
+	 * @param text the text to normalize.
+	 * @return the normalized text, never {@code null}.
+	 */
+	public static String normalize(String text) {
+		if (Strings.isNullOrEmpty(text)) {
+			return ""; //$NON-NLS-1$
+		}
+		var normalizedText = text;
+		if (!NORMALIZER.isNormalized(normalizedText)) {
+			normalizedText = NORMALIZER.normalize(normalizedText);
+		}
+		normalizedText = MARK_PATTERN.matcher(normalizedText).replaceAll(""); //$NON-NLS-1$
+		return normalizedText.toLowerCase(Locale.ROOT);
+	}
+
+	/** Split the given keywords in the same way as the list views and normalize them.
+	 *
+	 * @param keywords the keywords, separated by spaces.
+	 * @return the normalized keywords.
+	 */
+	public static Set<String> normalizeKeywords(String keywords) {
+		final var result = new HashSet<String>();
+		if (!Strings.isNullOrEmpty(keywords)) {
+			for (final var keyword : KEYWORD_SEPARATOR_PATTERN.split(keywords.trim())) {
+				final var normalizedKeyword = normalize(keyword);
+				if (!normalizedKeyword.isEmpty()) {
+					result.add(normalizedKeyword);
+				}
+			}
+		}
+		return result;
+	}
+
+	/** Compute the n-grams of the given normalized text.
+	 *
+	 * @param text the normalized text.
+	 * @param grams the set of n-grams to fill up.
+	 */
+	protected void getGrams(String text, Set<String> grams) {
+		for (var i = 0; i + this.gramSize <= text.length(); ++i) {
+			grams.add(text.substring(i, i + this.gramSize));
+		}
+	}
+
+	/** Replies the number of entities in the index.
+	 *
+	 * @return the number of entities.
+	 */
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.entries.size();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/** Remove all the entities from the index.
+	 */
+	public void clear() {
+		this.lock.writeLock().lock();
+		try {
+			this.entries.clear();
+			this.grams.clear();
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/** Put the texts of the entity with the given identifier into the index.
+	 * If the entity was already indexed, its previous texts are replaced.
+	 *
+	 * @param id the identifier of the entity.
+	 * @param fields the texts of the entity. The keys are the names of the fields. The values may be {@code null}.
+	 */
+	public void put(long id, Map<String, String> fields) {
+		final var key = Long.valueOf(id);
+		final var normalizedFields = new HashMap<String, String>();
+		for (final var field : fields.entrySet()) {
+			final var text = normalize(field.getValue());
+			if (!text.isEmpty()) {
+				normalizedFields.put(field.getKey(), text);
+			}
+		}
+		this.lock.writeLock().lock();
+		try {
+			final var previous = this.entries.get(key);
+			if (previous != null) {
+				if (Objects.equals(previous, normalizedFields)) {
+					return;
+				}
+				unindex(key, previous);
+			}
+			this.entries.put(key, normalizedFields);
+			final var entityGrams = new HashSet<String>();
+			for (final var text : normalizedFields.values()) {
+				getGrams(text, entityGrams);
+			}
+			for (final var gram : entityGrams) {
+				this.grams.computeIfAbsent(gram, it -> new HashSet<>()).add(key);
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/** Remove the entity with the given identifier from the index.
+	 *
+	 * @param id the identifier of the entity.
+	 */
+	public void remove(long id) {
+		final var key = Long.valueOf(id);
+		this.lock.writeLock().lock();
+		try {
+			final var previous = this.entries.get(key);
+			if (previous != null) {
+				unindex(key, previous);
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	private void unindex(Long key, Map<String, String> fields) {
+		this.entries.remove(key);
+		final var entityGrams = new HashSet<String>();
+		for (final var text : fields.values()) {
+			getGrams(text, entityGrams);
+		}
+		for (final var gram : entityGrams) {
+			final var ids = this.grams.get(gram);
+			if (ids != null) {
+				ids.remove(key);
+				if (ids.isEmpty()) {
+					this.grams.remove(gram);
+				}
+			}
+		}
+	}
+
+	/** Replies the identifiers of the entities that contain each of the given keywords in at least one of the given fields.
+	 *
+	 * @param keywords the keywords to search for, separated by spaces.
+	 * @param fields the names of the fields in which the keywords are searched for. If it is {@code null}, all the fields are considered.
+	 * @return the identifiers of the matching entities. If there is no keyword, all the entities are matching.
+	 */
+	public Set<Long> search(String keywords, Collection<String> fields) {
+		final var normalizedKeywords = normalizeKeywords(keywords);
+		final var result = new HashSet<Long>();
+		this.lock.readLock().lock();
+		try {
+			// Intersect the entities that contain all the n-grams of the keywords
+			Set<Long> candidates = null;
+			final var keywordGrams = new HashSet<String>();
+			for (final var keyword : normalizedKeywords) {
+				getGrams(keyword, keywordGrams);
+			}
+			for (final var gram : keywordGrams) {
+				final var ids = this.grams.get(gram);
+				if (ids == null) {
+					return result;
+				}
+				if (candidates == null) {
+					candidates = new HashSet<>(ids);
+				} else {
+					candidates.retainAll(ids);
+				}
+				if (candidates.isEmpty()) {
+					return result;
+				}
+			}
+			if (candidates == null) {
+				// The keywords are too short for having n-grams
+				candidates = this.entries.keySet();
+			}
+			// Check the candidates against their texts
+			final var checkedKeywords = new ArrayList<>(normalizedKeywords);
+			for (final var candidate : candidates) {
+				final var entry = this.entries.get(candidate);
+				if (entry != null && isMatching(entry, checkedKeywords, fields)) {
+					result.add(candidate);
+				}
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		return result;
+	}
+
+	private static boolean isMatching(Map<String, String> entry, Collection<String> keywords, Collection<String> fields) {
+		for (final var keyword : keywords) {
+			if (!isMatching(entry, keyword, fields)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isMatching(Map<String, String> entry, String keyword, Collection<String> fields) {
+		if (fields == null) {
+			for (final var text : entry.values()) {
+				if (text.contains(keyword)) {
+					return true;
+				}
+			}
+		} else {
+			for (final var field : fields) {
+				final var text = entry.get(field);
+				if (text != null && text.contains(keyword)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+}
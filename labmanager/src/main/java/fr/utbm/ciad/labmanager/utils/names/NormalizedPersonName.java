@@ -0,0 +1,175 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.names;
+
+import com.google.common.base.Strings;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/** Pre-computed normalized forms of the name of a person.
+ * The normalization of a name, i.e., the computation of the normalized names and of the
+ * different syntactic cases of the first and last names, is done once at construction time.
+ * Instances of this class may be compared many times with {@link PersonNameComparator#getSimilarity(NormalizedPersonName, NormalizedPersonName)}
+ * without paying again the cost of the normalization.
+ *
+ * <p>Instances of this class are immutable and may be shared between threads.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+public final class NormalizedPersonName {
+
+	private final String firstName;
+
+	private final String lastName;
+
+	private final String normalizedFirstName;
+
+	private final String normalizedLastName;
+
+	private final boolean shortName;
+
+	private final Set<String> firstNames;
+
+	private final Set<String> lastNames;
+
+	private final Set<String> shortFirstNames;
+
+	private final Set<String> shortLastNames;
+
+	/** Constructor.
+	 *
+	 * @param parser the parser of names that is used for normalizing the given names.
+	 * @param firstName the first name of the person.
+	 * @param lastName the last name of the person.
+	 */
+	public NormalizedPersonName(PersonNameParser parser, String firstName, String lastName) {
+		assert parser != null;
+		this.firstName = firstName;
+		this.lastName = lastName;
+		this.shortName = parser.isShortName(firstName) || parser.isShortName(lastName);
+		this.normalizedFirstName = parser.normalizeName(firstName);
+		this.normalizedLastName = parser.normalizeName(lastName);
+		this.firstNames = Collections.unmodifiableSet(parser.getNormalizedNamesFor(firstName, false));
+		this.lastNames = Collections.unmodifiableSet(parser.getNormalizedNamesFor(lastName, false));
+		this.shortFirstNames = Collections.unmodifiableSet(parser.getNormalizedNamesFor(firstName, true));
+		this.shortLastNames = Collections.unmodifiableSet(parser.getNormalizedNamesFor(lastName, true));
+	}
+
+	@Override
+	public String toString() {
+		return this.firstName + " " + this.lastName; //$NON-NLS-1$
+	}
+
+	/** Replies the first name, as it was given to the constructor.
+	 *
+	 * @return the first name.
+	 */
+	public String getFirstName() {
+		return this.firstName;
+	}
+
+	/** Replies the last name, as it was given to the constructor.
+	 *
+	 * @return the last name.
+	 */
+	public String getLastName() {
+		return this.lastName;
+	}
+
+	/** Replies the normalized first name.
+	 *
+	 * @return the normalized first name, or {@code null} if the first name is empty.
+	 * @see PersonNameParser#normalizeName(String)
+	 */
+	public String getNormalizedFirstName() {
+		return this.normalizedFirstName;
+	}
+
+	/** Replies the normalized last name.
+	 *
+	 * @return the normalized last name, or {@code null} if the last name is empty.
+	 * @see PersonNameParser#normalizeName(String)
+	 */
+	public String getNormalizedLastName() {
+		return this.normalizedLastName;
+	}
+
+	/** Replies if the first name or the last name is a short name, i.e., composed of initials only.
+	 *
+	 * @return {@code true} if one of the names is a short name.
+	 * @see PersonNameParser#isShortName(String)
+	 */
+	public boolean isShortName() {
+		return this.shortName;
+	}
+
+	/** Replies the different syntactic cases of the first name.
+	 *
+	 * @param enableShortNames indicates if the short names should be included.
+	 * @return the unmodifiable set of normalized first names.
+	 * @see PersonNameParser#getNormalizedNamesFor(String, boolean)
+	 */
+	public Set<String> getNormalizedFirstNames(boolean enableShortNames) {
+		return enableShortNames ? this.shortFirstNames : this.firstNames;
+	}
+
+	/** Replies the different syntactic cases of the last name.
+	 *
+	 * @param enableShortNames indicates if the short names should be included.
+	 * @return the unmodifiable set of normalized last names.
+	 * @see PersonNameParser#getNormalizedNamesFor(String, boolean)
+	 */
+	public Set<String> getNormalizedLastNames(boolean enableShortNames) {
+		return enableShortNames ? this.shortLastNames : this.lastNames;
+	}
+
+	/** Replies the keys that may be used for grouping the names that could be similar.
+	 * The keys are the normalized first and last names, and their n-grams. Two names may be similar
+	 * according to a n-gram based {@link PersonNameComparator} only if they share at least one key.
+	 *
+	 * @param gramSize the size of the n-grams.
+	 * @return the keys, or {@code null} if the first name or the last name is empty. In this last case,
+	 *     the name may be similar to any other name.
+	 */
+	public Set<String> getBlockingKeys(int gramSize) {
+		if (Strings.isNullOrEmpty(this.normalizedFirstName) || Strings.isNullOrEmpty(this.normalizedLastName)) {
+			return null;
+		}
+		final var keys = new TreeSet<String>();
+		addBlockingKeys(this.normalizedFirstName, gramSize, keys);
+		addBlockingKeys(this.normalizedLastName, gramSize, keys);
+		return keys;
+	}
+
+	private static void addBlockingKeys(String name, int gramSize, Set<String> keys) {
+		// The full name is a key for supporting the names that are shorter than a n-gram
+		keys.add(name);
+		for (var i = 0; i + gramSize <= name.length(); ++i) {
+			keys.add(name.substring(i, i + gramSize));
+		}
+	}
+
+}
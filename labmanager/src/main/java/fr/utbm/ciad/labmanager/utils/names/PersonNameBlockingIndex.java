@@ -0,0 +1,173 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.names;
+
+import org.arakhne.afc.util.IntegerList;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/** Index of person names that is dedicated to the generation of the candidates for the detection of duplicate names.
+ * This index implements a blocking strategy: each name is put into blocks that are identified by the normalized first and
+ * last names, and by the n-grams of these normalized names. Only the names that are sharing at least one block are
+ * considered as candidates for a similarity test.
+ *
+ * <p>The name comparators that are based on the n-gram profiles of the names (Sorensen-Dice, Jaccard) compute the similarity
+ * of two names as the average of the similarities of a pair of first names and of a pair of last names. When the similarity
+ * level of the comparator is greater than {@code 0.5}, two similar names must have at least one pair of normalized names with
+ * a non-zero similarity, i.e., sharing at least one n-gram. In this case, the blocking does not discard any similar names.
+ * When the similarity level is lower than or equal to {@code 0.5}, the index cannot prune the candidates and all the names
+ * are replied as candidates.
+ *
+ * <p>This index is immutable once it is built and may be queried from different threads in parallel.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+public class PersonNameBlockingIndex {
+
+	/** Default size of the n-grams, that is the same as the size of the shingles used by the string similarity algorithms.
+	 */
+	public static final int DEFAULT_GRAM_SIZE = 3;
+
+	private static final double MIN_SIMILARITY_LEVEL_FOR_BLOCKING = 0.5;
+
+	private final List<NormalizedPersonName> names;
+
+	private final Map<String, IntegerList> blocks = new HashMap<>();
+
+	private final BitSet wildcards = new BitSet();
+
+	private final int gramSize;
+
+	private final boolean blocking;
+
+	/** Constructor with the default size of n-grams.
+	 *
+	 * @param names the normalized names to put in the index. The index of a name in this list is used as identifier of the name.
+	 * @param similarityLevel the similarity level that is used by the name comparator.
+	 */
+	public PersonNameBlockingIndex(List<NormalizedPersonName> names, double similarityLevel) {
+		this(names, similarityLevel, DEFAULT_GRAM_SIZE);
+	}
+
+	/** Constructor.
+	 *
+	 * @param names the normalized names to put in the index. The index of a name in this list is used as identifier of the name.
+	 * @param similarityLevel the similarity level that is used by the name comparator.
+	 * @param gramSize the size of the n-grams that are used as blocking keys.
+	 */
+	public PersonNameBlockingIndex(List<NormalizedPersonName> names, double similarityLevel, int gramSize) {
+		assert names != null;
+		assert gramSize > 0;
+		this.names = names;
+		this.gramSize = gramSize;
+		this.blocking = similarityLevel > MIN_SIMILARITY_LEVEL_FOR_BLOCKING;
+		if (this.blocking) {
+			var i = 0;
+			for (final var name : names) {
+				final var keys = getBlockingKeys(name);
+				if (keys == null) {
+					this.wildcards.set(i);
+				} else {
+					for (final var key : keys) {
+						this.blocks.computeIfAbsent(key, it -> new IntegerList()).add(Integer.valueOf(i));
+					}
+				}
+				++i;
+			}
+		}
+	}
+
+	/** Replies the keys of the blocks in which the given name should be put.
+	 *
+	 * @param name the name.
+	 * @return the keys, or {@code null} if the name must be compared to all the other names because its first name
+	 *     or its last name is empty.
+	 */
+	protected Set<String> getBlockingKeys(NormalizedPersonName name) {
+		return name.getBlockingKeys(this.gramSize);
+	}
+
+	/** Replies the number of names in the index.
+	 *
+	 * @return the number of names.
+	 */
+	public int size() {
+		return this.names.size();
+	}
+
+	/** Replies the name at the given position.
+	 *
+	 * @param index the position of the name.
+	 * @return the name.
+	 */
+	public NormalizedPersonName get(int index) {
+		return this.names.get(index);
+	}
+
+	/** Replies the number of blocks in the index.
+	 *
+	 * @return the number of blocks.
+	 */
+	public int getBlockCount() {
+		return this.blocks.size();
+	}
+
+	/** Replies the positions of the names that are located after the given name in the index, and that are sharing
+	 * at least one block with it. These names are the candidates for a similarity test with the given name.
+	 *
+	 * @param index the position of the reference name.
+	 * @return the positions of the candidates, in increasing order.
+	 */
+	public int[] getCandidatesAfter(int index) {
+		final var size = this.names.size();
+		if (!this.blocking || this.wildcards.get(index)) {
+			final var all = new int[Math.max(0, size - index - 1)];
+			for (var i = 0; i < all.length; ++i) {
+				all[i] = index + i + 1;
+			}
+			return all;
+		}
+		final var candidates = new BitSet(size);
+		for (final var key : getBlockingKeys(this.names.get(index))) {
+			final var block = this.blocks.get(key);
+			if (block != null) {
+				for (final var other : block) {
+					if (other.intValue() > index) {
+						candidates.set(other.intValue());
+					}
+				}
+			}
+		}
+		// The names without first name or last name are candidates for all the other names
+		for (var other = this.wildcards.nextSetBit(index + 1); other >= 0; other = this.wildcards.nextSetBit(other + 1)) {
+			candidates.set(other);
+		}
+		return candidates.stream().toArray();
+	}
+
+}
@@ -61,6 +61,30 @@ public interface PersonNameComparator {
 	 */
 	double getSimilarity(String firstName1, String lastName1, String firstName2, String lastName2);
 
+	/** Compute and replies the similarity between the pre-normalized names of two persons.
+	 * This function is equivalent to {@link #getSimilarity(String, String, String, String)}, but
+	 * it avoids to normalize again the names when the same names are compared many times.
+	 *
+	 * @param name1 the normalized name of the first person.
+	 * @param name2 the normalized name of the second person.
+	 * @return the level of similarity. {@code 0} means that the names are not
+	 *     similar, and {@code 1} means that they are totally equal.
+	 * @since 4.1
+	 */
+	default double getSimilarity(NormalizedPersonName name1, NormalizedPersonName name2) {
+		return getSimilarity(name1.getFirstName(), name1.getLastName(), name2.getFirstName(), name2.getLastName());
+	}
+
+	/** Compute the normalized forms of the name of a person in order to be compared
+	 * with {@link #getSimilarity(NormalizedPersonName, NormalizedPersonName)}.
+	 *
+	 * @param firstName the first name of the person.
+	 * @param lastName the last name of the person.
+	 * @return the normalized name.
+	 * @since 4.1
+	 */
+	NormalizedPersonName normalize(String firstName, String lastName);
+
 	/** Replies the similarity level to consider for assuming that two names are similar.
 	 *
 	 * @return the minimum level of similarity. {@code 0} means that the names are not
@@ -109,4 +133,16 @@ public interface PersonNameComparator {
 		return getSimilarity(firstName1, lastName1, firstName2, lastName2) >= getSimilarityLevel();
 	}
 
+	/** Check name similarity between the pre-normalized names of two persons.
+	 *
+	 * @param name1 the normalized name of the first person.
+	 * @param name2 the normalized name of the second person.
+	 * @return {@code true} if the two given names are similar.
+	 * @since 4.1
+	 * @see #normalize(String, String)
+	 */
+	default boolean isSimilar(NormalizedPersonName name1, NormalizedPersonName name2) {
+		return getSimilarity(name1, name2) >= getSimilarityLevel();
+	}
+
 }
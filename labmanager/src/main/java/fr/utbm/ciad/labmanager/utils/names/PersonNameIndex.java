@@ -0,0 +1,241 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.names;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/** In-memory index of the names of the persons that is dedicated to the resolution of the persons from their names.
+ * The names are normalized once when they are put into the index. They are grouped by blocking keys
+ * (see {@link NormalizedPersonName#getBlockingKeys(int)}) in order to compare a searched name only with the
+ * names that may be similar to it.
+ *
+ * <p>As for {@link PersonNameBlockingIndex}, the blocking does not discard any similar name when the similarity level
+ * of the name comparator is greater than {@code 0.5}. Otherwise, the searched names are compared to all the indexed names.
+ *
+ * <p>This index is thread-safe.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+public class PersonNameIndex {
+
+	private static final double MIN_SIMILARITY_LEVEL_FOR_BLOCKING = 0.5;
+
+	private final PersonNameComparator comparator;
+
+	private final int gramSize;
+
+	private final Map<Long, NormalizedPersonName> names = new HashMap<>();
+
+	private final Map<String, Set<Long>> blocks = new HashMap<>();
+
+	private final Set<Long> wildcards = new HashSet<>();
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/** Constructor with the default size of n-grams.
+	 *
+	 * @param comparator the comparator of names that is used for normalizing and comparing the names.
+	 */
+	public PersonNameIndex(PersonNameComparator comparator) {
+		this(comparator, PersonNameBlockingIndex.DEFAULT_GRAM_SIZE);
+	}
+
+	/** Constructor.
+	 *
+	 * @param comparator the comparator of names that is used for normalizing and comparing the names.
+	 * @param gramSize the size of the n-grams that are used as blocking keys.
+	 */
+	public PersonNameIndex(PersonNameComparator comparator, int gramSize) {
+		assert comparator != null;
+		assert gramSize > 0;
+		this.comparator = comparator;
+		this.gramSize = gramSize;
+	}
+
+	/** Replies the number of names in the index.
+	 *
+	 * @return the number of names.
+	 */
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.names.size();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/** Remove all the names from the index.
+	 */
+	public void clear() {
+		this.lock.writeLock().lock();
+		try {
+			this.names.clear();
+			this.blocks.clear();
+			this.wildcards.clear();
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/** Put the name of the person with the given identifier into the index.
+	 * If the person was already indexed, its previous name is replaced.
+	 *
+	 * @param id the identifier of the person.
+	 * @param firstName the first name of the person.
+	 * @param lastName the last name of the person.
+	 */
+	public void put(long id, String firstName, String lastName) {
+		final var key = Long.valueOf(id);
+		final var name = this.comparator.normalize(firstName, lastName);
+		final var keys = name.getBlockingKeys(this.gramSize);
+		this.lock.writeLock().lock();
+		try {
+			final var previous = this.names.put(key, name);
+			if (previous != null) {
+				unindex(key, previous);
+			}
+			if (keys == null) {
+				this.wildcards.add(key);
+			} else {
+				for (final var blockKey : keys) {
+					this.blocks.computeIfAbsent(blockKey, it -> new HashSet<>()).add(key);
+				}
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/** Remove the person with the given identifier from the index.
+	 *
+	 * @param id the identifier of the person.
+	 */
+	public void remove(long id) {
+		final var key = Long.valueOf(id);
+		this.lock.writeLock().lock();
+		try {
+			final var previous = this.names.remove(key);
+			if (previous != null) {
+				unindex(key, previous);
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	private void unindex(Long key, NormalizedPersonName name) {
+		final var keys = name.getBlockingKeys(this.gramSize);
+		if (keys == null) {
+			this.wildcards.remove(key);
+		} else {
+			for (final var blockKey : keys) {
+				final var ids = this.blocks.get(blockKey);
+				if (ids != null) {
+					ids.remove(key);
+					if (ids.isEmpty()) {
+						this.blocks.remove(blockKey);
+					}
+				}
+			}
+		}
+	}
+
+	/** Replies the identifier of the person with the name that is the most similar to the given name.
+	 * If multiple persons have the same similarity, the one with the lowest identifier is replied.
+	 *
+	 * @param firstName the first name to search for.
+	 * @param lastName the last name to search for.
+	 * @return the identifier of the person, or {@code 0} if there is no person with a similar name.
+	 */
+	public long findMostSimilar(String firstName, String lastName) {
+		final var name = this.comparator.normalize(firstName, lastName);
+		this.lock.readLock().lock();
+		try {
+			return findMostSimilar(name);
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/** Replies the identifiers of the persons with the names that are the most similar to the given names.
+	 * The index is locked once for resolving all the given names.
+	 *
+	 * @param names the names to search for. Each element is an array with the first name at index {@code 0} and
+	 *     the last name at index {@code 1}.
+	 * @return the identifiers of the persons, in the same order as the given names. An identifier is {@code 0} if
+	 *     there is no person with a name similar to the corresponding searched name.
+	 * @see #findMostSimilar(String, String)
+	 */
+	public long[] findMostSimilar(List<String[]> names) {
+		final var normalizedNames = names.stream().map(it -> this.comparator.normalize(it[0], it[1])).toList();
+		final var result = new long[normalizedNames.size()];
+		this.lock.readLock().lock();
+		try {
+			var i = 0;
+			for (final var name : normalizedNames) {
+				result[i] = findMostSimilar(name);
+				++i;
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		return result;
+	}
+
+	private long findMostSimilar(NormalizedPersonName name) {
+		final Set<Long> candidates;
+		final var keys = name.getBlockingKeys(this.gramSize);
+		if (keys == null || this.comparator.getSimilarityLevel() <= MIN_SIMILARITY_LEVEL_FOR_BLOCKING) {
+			candidates = this.names.keySet();
+		} else {
+			candidates = new TreeSet<>(this.wildcards);
+			for (final var blockKey : keys) {
+				final var ids = this.blocks.get(blockKey);
+				if (ids != null) {
+					candidates.addAll(ids);
+				}
+			}
+		}
+		var bestId = 0l;
+		var bestSimilarity = 0.0;
+		for (final var candidate : candidates) {
+			final var similarity = this.comparator.getSimilarity(name, this.names.get(candidate));
+			if (similarity >= this.comparator.getSimilarityLevel()
+					&& (bestId == 0l || similarity > bestSimilarity
+						|| (similarity == bestSimilarity && candidate.longValue() < bestId))) {
+				bestId = candidate.longValue();
+				bestSimilarity = similarity;
+			}
+		}
+		return bestId;
+	}
+
+}
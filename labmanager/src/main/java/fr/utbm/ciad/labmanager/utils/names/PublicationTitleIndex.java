@@ -0,0 +1,250 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.names;
+
+import com.google.common.base.Strings;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/** In-memory index of the titles of the publications that is dedicated to the search of publications with similar titles.
+ * The index maps the n-grams of the titles to the identifiers of the publications. The n-grams are computed in the same way
+ * as the shingles of the string similarity algorithms that are used by the {@link PublicationNameComparator publication
+ * name comparators}, i.e., the Sorensen-Dice and Jaccard algorithms.
+ *
+ * <p>For these algorithms, two titles with sets of n-grams {@code A} and {@code B} may be similar at level {@code s} only if
+ * {@code |A &cap; B| &ge; s &times; (|A| + |B|) / 2}. This bound is used for discarding the publications before invoking
+ * the name comparator. Only the remaining candidates are compared with the name comparator.
+ *
+ * <p>This index is thread-safe.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+public class PublicationTitleIndex {
+
+	/** Default size of the n-grams, that is the same as the size of the shingles used by the string similarity algorithms.
+	 */
+	public static final int DEFAULT_GRAM_SIZE = 3;
+
+	private static final Pattern SPACE_PATTERN = Pattern.compile("\\s+"); //$NON-NLS-1$
+
+	private static final double EPSILON = 1e-9;
+
+	private final int gramSize;
+
+	private final Map<Long, IndexedTitle> titles = new HashMap<>();
+
+	private final Map<String, Set<Long>> grams = new HashMap<>();
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/** Constructor with the default size of n-grams.
+	 */
+	public PublicationTitleIndex() {
+		this(DEFAULT_GRAM_SIZE);
+	}
+
+	/** Constructor.
+	 *
+	 * @param gramSize the size of the n-grams.
+	 */
+	public PublicationTitleIndex(int gramSize) {
+		assert gramSize > 0;
+		this.gramSize = gramSize;
+	}
+
+	/** Compute the n-grams of the given title.
+	 *
+	 * @param title the title.
+	 * @return the set of n-grams.
+	 */
+	protected Set<String> getGrams(String title) {
+		final var text = SPACE_PATTERN.matcher(title).replaceAll(" "); //$NON-NLS-1$
+		final var result = new HashSet<String>();
+		for (var i = 0; i + this.gramSize <= text.length(); ++i) {
+			result.add(text.substring(i, i + this.gramSize));
+		}
+		return result;
+	}
+
+	/** Replies the number of titles in the index.
+	 *
+	 * @return the number of titles.
+	 */
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.titles.size();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/** Remove all the titles from the index.
+	 */
+	public void clear() {
+		this.lock.writeLock().lock();
+		try {
+			this.titles.clear();
+			this.grams.clear();
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/** Put the title of the publication with the given identifier into the index.
+	 * If the publication was already indexed, its previous title is replaced.
+	 *
+	 * @param id the identifier of the publication.
+	 * @param title the title of the publication.
+	 */
+	public void put(long id, String title) {
+		final var key = Long.valueOf(id);
+		this.lock.writeLock().lock();
+		try {
+			final var previous = this.titles.get(key);
+			if (previous != null) {
+				if (Objects.equals(previous.title(), title)) {
+					return;
+				}
+				unindex(key, previous);
+			}
+			if (!Strings.isNullOrEmpty(title)) {
+				final var titleGrams = getGrams(title);
+				this.titles.put(key, new IndexedTitle(title, titleGrams.size()));
+				for (final var gram : titleGrams) {
+					this.grams.computeIfAbsent(gram, it -> new HashSet<>()).add(key);
+				}
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/** Remove the publication with the given identifier from the index.
+	 *
+	 * @param id the identifier of the publication.
+	 */
+	public void remove(long id) {
+		final var key = Long.valueOf(id);
+		this.lock.writeLock().lock();
+		try {
+			final var previous = this.titles.get(key);
+			if (previous != null) {
+				unindex(key, previous);
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	private void unindex(Long key, IndexedTitle title) {
+		this.titles.remove(key);
+		for (final var gram : getGrams(title.title())) {
+			final var ids = this.grams.get(gram);
+			if (ids != null) {
+				ids.remove(key);
+				if (ids.isEmpty()) {
+					this.grams.remove(gram);
+				}
+			}
+		}
+	}
+
+	/** Replies the identifiers of the publications with a title that is similar to the given title.
+	 * The identifiers are sorted from the most similar title to the less similar title.
+	 *
+	 * @param title the title to search for.
+	 * @param comparator the comparator of titles that is used for checking the similarity of the candidates.
+	 * @return the identifiers of the publications with similar titles.
+	 */
+	public List<Long> findSimilar(String title, PublicationNameComparator comparator) {
+		if (Strings.isNullOrEmpty(title)) {
+			return new ArrayList<>();
+		}
+		final var level = comparator.getSimilarityLevel();
+		final var queryGrams = getGrams(title);
+		final var similarities = new HashMap<Long, Double>();
+		this.lock.readLock().lock();
+		try {
+			if (queryGrams.isEmpty()) {
+				// The title is too short for having n-grams, it is only similar to equal titles
+				for (final var entry : this.titles.entrySet()) {
+					if (title.equals(entry.getValue().title())) {
+						similarities.put(entry.getKey(), Double.valueOf(1.0));
+					}
+				}
+			} else {
+				// Count the number of shared n-grams for each candidate
+				final var overlaps = new HashMap<Long, int[]>();
+				for (final var gram : queryGrams) {
+					final var ids = this.grams.get(gram);
+					if (ids != null) {
+						for (final var id : ids) {
+							overlaps.computeIfAbsent(id, it -> new int[1])[0]++;
+						}
+					}
+				}
+				for (final var entry : overlaps.entrySet()) {
+					final var candidate = this.titles.get(entry.getKey());
+					final var minOverlap = level * (queryGrams.size() + candidate.gramCount()) / 2.0;
+					if (entry.getValue()[0] + EPSILON >= minOverlap) {
+						final var similarity = comparator.getSimilarity(title, candidate.title());
+						if (similarity >= level) {
+							similarities.put(entry.getKey(), Double.valueOf(similarity));
+						}
+					}
+				}
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		final var result = new ArrayList<>(similarities.keySet());
+		result.sort(Comparator.comparing((Long it) -> similarities.get(it)).reversed().thenComparing(Comparator.naturalOrder()));
+		return result;
+	}
+
+	/** Description of an indexed title.
+	 *
+	 * @param title the title.
+	 * @param gramCount the number of distinct n-grams in the title.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private record IndexedTitle(String title, int gramCount) {
+		//
+	}
+
+}
@@ -0,0 +1,480 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.ranking;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.base.Strings;
+import org.arakhne.afc.vmutil.FileSystem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/** Persistent store of the journal rankings that are provided by the ranking platforms, e.g., Scimago or Web-of-Science.
+ * For each platform and each year, the store contains the quartiles per scientific category for each journal,
+ * and the impact factor of the journal if it is known.
+ *
+ * <p>The rankings of a year are saved in a compact binary file inside the folder {@code Rankings} of the temporary
+ * folder that is defined by the configuration variable {@code labmanager.file.temp-directory}. The names of the
+ * categories are saved once in the file, and they are referenced by their index in the journal records.
+ * If the temporary folder is not defined, the rankings are only stored in memory.
+ *
+ * <p>A saved ranking is used without checking the remote source if it is younger than the refresh period
+ * that is defined by {@code labmanager.ranking-store.refresh-period} in milliseconds. When it is older, the source
+ * is downloaded only if it was modified since the last download. If the source cannot be read, the saved
+ * ranking is used. The rankings that are provided as a stream, e.g., an uploaded file, are always parsed and
+ * they replace the stored ranking. At most {@code labmanager.ranking-store.memory-years} years are kept in memory;
+ * the least recently used years are evicted from the memory.
+ *
+ * <p>This store is thread-safe.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@Component
+public class JournalRankingStore {
+
+	/** Default number of years that are kept in memory.
+	 */
+	public static final int DEFAULT_MEMORY_YEARS = 3;
+
+	/** Default duration in milliseconds during which a saved ranking is used without checking its source (30 days).
+	 */
+	public static final long DEFAULT_REFRESH_PERIOD = 30l * 24l * 3600000l;
+
+	private static final String STORE_FOLDER_NAME = "Rankings"; //$NON-NLS-1$
+
+	private static final String STORE_FILE_EXTENSION = ".bin"; //$NON-NLS-1$
+
+	private static final int MAGIC_NUMBER = 0x4c4d524b;
+
+	private static final int FORMAT_VERSION = 1;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final File storeFolder;
+
+	private final int memoryYears;
+
+	private final long refreshPeriod;
+
+	private final Map<StoreKey, Map<String, StoredRanking>> memory;
+
+	private final Map<StoreKey, Object> locks = new ConcurrentHashMap<>();
+
+	/** Constructor for a store that keeps the rankings in memory only.
+	 */
+	public JournalRankingStore() {
+		this((File) null, DEFAULT_MEMORY_YEARS, DEFAULT_REFRESH_PERIOD);
+	}
+
+	/** Constructor.
+	 *
+	 * @param tempFolder the path of the temporary folder. It is defined by the property {@code labmanager.file.temp-directory}.
+	 * @param memoryYears the maximum number of years that are kept in memory.
+	 * @param refreshPeriod the duration in milliseconds during which a saved ranking is used without checking its source.
+	 */
+	@Autowired
+	public JournalRankingStore(
+			@Value("${labmanager.file.temp-directory}") String tempFolder,
+			@Value("${labmanager.ranking-store.memory-years:" + DEFAULT_MEMORY_YEARS + "}") int memoryYears,
+			@Value("${labmanager.ranking-store.refresh-period:" + DEFAULT_REFRESH_PERIOD + "}") long refreshPeriod) {
+		this(Strings.isNullOrEmpty(tempFolder) ? null
+				: new File(FileSystem.convertStringToFile(tempFolder).getAbsoluteFile(), STORE_FOLDER_NAME),
+				memoryYears, refreshPeriod);
+	}
+
+	/** Constructor.
+	 *
+	 * @param storeFolder the folder in which the rankings are saved, or {@code null} for keeping the rankings in memory only.
+	 * @param memoryYears the maximum number of years that are kept in memory.
+	 * @param refreshPeriod the duration in milliseconds during which a saved ranking is used without checking its source.
+	 */
+	public JournalRankingStore(File storeFolder, int memoryYears, long refreshPeriod) {
+		this.storeFolder = storeFolder;
+		this.memoryYears = Math.max(1, memoryYears);
+		this.refreshPeriod = Math.max(0l, refreshPeriod);
+		this.memory = new LinkedHashMap<>(this.memoryYears + 1, 1f, true) {
+			private static final long serialVersionUID = -2218958734411622469L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<StoreKey, Map<String, StoredRanking>> eldest) {
+				return size() > JournalRankingStore.this.memoryYears;
+			}
+		};
+	}
+
+	/** Replies the folder in which the rankings are saved.
+	 *
+	 * @return the folder, or {@code null} if the rankings are kept in memory only.
+	 */
+	public File getStoreFolder() {
+		return this.storeFolder;
+	}
+
+	/** Replies the file in which the rankings of the given platform and the given year are saved.
+	 *
+	 * @param platform the name of the ranking platform.
+	 * @param year the year of the rankings.
+	 * @return the file, or {@code null} if the rankings are kept in memory only.
+	 */
+	public File getStoreFile(String platform, int year) {
+		if (this.storeFolder == null) {
+			return null;
+		}
+		return new File(this.storeFolder, platform + "-" + year + STORE_FILE_EXTENSION); //$NON-NLS-1$
+	}
+
+	/** Remove all the rankings from the memory. The saved rankings are not removed.
+	 */
+	public void clearMemory() {
+		synchronized (this.memory) {
+			this.memory.clear();
+		}
+	}
+
+	/** Replies the number of years that are currently kept in memory, for all the platforms.
+	 *
+	 * @return the number of years in memory.
+	 */
+	public int getMemorySize() {
+		synchronized (this.memory) {
+			return this.memory.size();
+		}
+	}
+
+	/** Replies the rankings for the given platform and the given year, that are read from the given URL if needed.
+	 * The URL is read only if there is no saved ranking, or if the saved ranking is older than the refresh period
+	 * and the source was modified since the last download.
+	 *
+	 * @param platform the name of the ranking platform.
+	 * @param year the year of the rankings.
+	 * @param source the URL of the source of the rankings.
+	 * @param parser the parser of the source.
+	 * @return the rankings per journal identifier.
+	 * @throws IOException if the rankings cannot be read.
+	 */
+	public Map<String, StoredRanking> getRankings(String platform, int year, URL source, RankingParser parser) throws IOException {
+		return getRankings(platform, year, lastModified -> {
+			final var connection = source.openConnection();
+			if (lastModified > 0l) {
+				connection.setIfModifiedSince(lastModified);
+			}
+			if (connection instanceof HttpURLConnection httpConnection) {
+				if (httpConnection.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+					httpConnection.disconnect();
+					return null;
+				}
+			} else if (lastModified > 0l && connection.getLastModified() > 0l && connection.getLastModified() <= lastModified) {
+				return null;
+			}
+			try (final var stream = connection.getInputStream()) {
+				return parser.parse(stream);
+			}
+		});
+	}
+
+	/** Replies the rankings for the given platform and the given year, that are read from the given stream.
+	 * The stream is always read because its content may differ from the stored ranking, e.g., when the user uploads
+	 * a new file. The read rankings replace the stored ranking in memory and in the saved file.
+	 * If the stream cannot be read, the stored ranking is not changed.
+	 *
+	 * @param platform the name of the ranking platform.
+	 * @param year the year of the rankings.
+	 * @param source the stream of the source of the rankings.
+	 * @param parser the parser of the source.
+	 * @return the rankings per journal identifier.
+	 * @throws IOException if the rankings cannot be read.
+	 */
+	public Map<String, StoredRanking> getRankings(String platform, int year, InputStream source, RankingParser parser) throws IOException {
+		final var key = new StoreKey(platform, year);
+		synchronized (this.locks.computeIfAbsent(key, it -> new Object())) {
+			final Map<String, StoredRanking> parsed;
+			try {
+				parsed = parser.parse(source);
+			} catch (IOException ex) {
+				throw ex;
+			} catch (Exception ex) {
+				throw new IOException(ex);
+			}
+			if (parsed == null) {
+				throw new IOException("No ranking in the source for " + platform + " and " + year); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			final var rankings = Collections.unmodifiableMap(parsed);
+			save(getStoreFile(platform, year), rankings);
+			synchronized (this.memory) {
+				this.memory.put(key, rankings);
+			}
+			return rankings;
+		}
+	}
+
+	private Map<String, StoredRanking> getRankings(String platform, int year, RankingLoader loader) throws IOException {
+		final var key = new StoreKey(platform, year);
+		synchronized (this.memory) {
+			final var rankings = this.memory.get(key);
+			if (rankings != null) {
+				return rankings;
+			}
+		}
+		synchronized (this.locks.computeIfAbsent(key, it -> new Object())) {
+			synchronized (this.memory) {
+				final var rankings = this.memory.get(key);
+				if (rankings != null) {
+					return rankings;
+				}
+			}
+			final var rankings = load(platform, year, loader);
+			synchronized (this.memory) {
+				this.memory.put(key, rankings);
+			}
+			return rankings;
+		}
+	}
+
+	private Map<String, StoredRanking> load(String platform, int year, RankingLoader loader) throws IOException {
+		final var file = getStoreFile(platform, year);
+		Map<String, StoredRanking> saved = null;
+		var lastModified = 0l;
+		if (file != null && file.isFile()) {
+			try {
+				saved = read(file);
+				lastModified = file.lastModified();
+				if (System.currentTimeMillis() - lastModified < this.refreshPeriod) {
+					return saved;
+				}
+			} catch (IOException ex) {
+				this.logger.warn("Invalid ranking store " + file + ": " + ex.getLocalizedMessage(), ex); //$NON-NLS-1$ //$NON-NLS-2$
+				saved = null;
+				lastModified = 0l;
+			}
+		}
+		final Map<String, StoredRanking> downloaded;
+		try {
+			downloaded = loader.load(lastModified);
+		} catch (Exception ex) {
+			if (saved != null) {
+				this.logger.warn("Unable to refresh the rankings " + platform + " for " + year + "; the saved rankings are used", ex); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				return saved;
+			}
+			if (ex instanceof IOException ioex) {
+				throw ioex;
+			}
+			throw new IOException(ex);
+		}
+		if (downloaded == null) {
+			// The source was not modified since the last download
+			if (file != null) {
+				file.setLastModified(System.currentTimeMillis());
+			}
+			return saved;
+		}
+		final var rankings = Collections.unmodifiableMap(downloaded);
+		save(file, rankings);
+		return rankings;
+	}
+
+	private void save(File file, Map<String, StoredRanking> rankings) {
+		if (file != null) {
+			try {
+				write(file, rankings);
+			} catch (IOException ex) {
+				this.logger.warn("Unable to save the rankings in " + file + ": " + ex.getLocalizedMessage(), ex); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+	}
+
+	/** Write the given rankings into the given file.
+	 *
+	 * @param file the file to write.
+	 * @param rankings the rankings to write.
+	 * @throws IOException if the file cannot be written.
+	 */
+	protected static void write(File file, Map<String, StoredRanking> rankings) throws IOException {
+		file.getParentFile().mkdirs();
+		final var categories = new LinkedHashMap<String, Integer>();
+		for (final var ranking : rankings.values()) {
+			for (final var category : ranking.quartiles().keySet()) {
+				categories.computeIfAbsent(category, it -> Integer.valueOf(categories.size()));
+			}
+		}
+		final var quartiles = QuartileRanking.values();
+		final var tmpFile = new File(file.getParentFile(), file.getName() + ".tmp"); //$NON-NLS-1$
+		try (final var output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+			output.writeInt(MAGIC_NUMBER);
+			output.writeInt(FORMAT_VERSION);
+			// Tables of the quartiles and the categories
+			output.writeByte(quartiles.length);
+			for (final var quartile : quartiles) {
+				output.writeUTF(quartile.name());
+			}
+			output.writeInt(categories.size());
+			for (final var category : categories.keySet()) {
+				output.writeUTF(category);
+			}
+			// Journal records
+			output.writeInt(rankings.size());
+			for (final var entry : rankings.entrySet()) {
+				final var ranking = entry.getValue();
+				output.writeUTF(entry.getKey());
+				output.writeFloat(ranking.impactFactor());
+				output.writeShort(ranking.quartiles().size());
+				for (final var quartile : ranking.quartiles().entrySet()) {
+					output.writeInt(categories.get(quartile.getKey()).intValue());
+					output.writeByte(quartile.getValue().ordinal());
+				}
+			}
+		}
+		Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/** Read the rankings from the given file.
+	 *
+	 * @param file the file to read.
+	 * @return the rankings.
+	 * @throws IOException if the file cannot be read.
+	 */
+	protected static Map<String, StoredRanking> read(File file) throws IOException {
+		try (final var input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (input.readInt() != MAGIC_NUMBER || input.readInt() != FORMAT_VERSION) {
+				throw new IOException("Unsupported format of ranking store"); //$NON-NLS-1$
+			}
+			final var quartileCount = input.readUnsignedByte();
+			final var quartiles = new QuartileRanking[quartileCount];
+			for (var i = 0; i < quartileCount; ++i) {
+				quartiles[i] = QuartileRanking.valueOf(input.readUTF());
+			}
+			final var categoryCount = input.readInt();
+			final var categories = new ArrayList<String>(categoryCount);
+			for (var i = 0; i < categoryCount; ++i) {
+				categories.add(input.readUTF());
+			}
+			final var journalCount = input.readInt();
+			final var rankings = new HashMap<String, StoredRanking>(journalCount * 4 / 3 + 1);
+			for (var i = 0; i < journalCount; ++i) {
+				final var id = input.readUTF();
+				final var impactFactor = input.readFloat();
+				final var count = input.readUnsignedShort();
+				final var journalQuartiles = new TreeMap<String, QuartileRanking>();
+				for (var j = 0; j < count; ++j) {
+					final var category = categories.get(input.readInt());
+					journalQuartiles.put(category, quartiles[input.readUnsignedByte()]);
+				}
+				rankings.put(id, new StoredRanking(Collections.unmodifiableMap(journalQuartiles), impactFactor));
+			}
+			return Collections.unmodifiableMap(rankings);
+		}
+	}
+
+	/** Ranking of a journal in the store.
+	 *
+	 * @param quartiles the quartiles of the journal per scientific category.
+	 * @param impactFactor the impact factor of the journal, or {@code 0} if it is unknown.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	public record StoredRanking(Map<String, QuartileRanking> quartiles, float impactFactor) {
+		//
+	}
+
+	/** Parser of the source of the rankings.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	@FunctionalInterface
+	public interface RankingParser {
+
+		/** Parse the given source.
+		 *
+		 * @param source the stream of the source.
+		 * @return the rankings per journal identifier.
+		 * @throws Exception if the source cannot be parsed.
+		 */
+		Map<String, StoredRanking> parse(InputStream source) throws Exception;
+
+	}
+
+	/** Loader of the rankings from their source.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	@FunctionalInterface
+	private interface RankingLoader {
+
+		/** Load the rankings.
+		 *
+		 * @param lastModified the date of the last download of the rankings, or {@code 0} if they were never downloaded.
+		 * @return the rankings, or {@code null} if the source was not modified since the last download.
+		 * @throws Exception if the rankings cannot be loaded.
+		 */
+		Map<String, StoredRanking> load(long lastModified) throws Exception;
+
+	}
+
+	/** Key of a ranking in the store.
+	 *
+	 * @param platform the name of the ranking platform.
+	 * @param year the year of the rankings.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private record StoreKey(String platform, int year) {
+		//
+	}
+
+}
@@ -20,6 +20,10 @@
 package fr.utbm.ciad.labmanager.views.appviews.database;
 
 import com.vaadin.flow.component.Composite;
+import com.vaadin.flow.component.HasText.WhiteSpace;
+import com.vaadin.flow.component.Unit;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.dependency.Uses;
 import com.vaadin.flow.component.html.Image;
 import com.vaadin.flow.component.icon.Icon;
@@ -33,6 +37,7 @@ import com.vaadin.flow.router.Route;
 import fr.utbm.ciad.labmanager.configuration.Constants;
 import fr.utbm.ciad.labmanager.data.user.UserRole;
 import fr.utbm.ciad.labmanager.services.admin.DatabaseService;
+import fr.utbm.ciad.labmanager.services.admin.EntityCacheService;
 import fr.utbm.ciad.labmanager.views.ViewConstants;
 import fr.utbm.ciad.labmanager.views.appviews.MainLayout;
 import fr.utbm.ciad.labmanager.views.components.addons.ComponentFactory;
@@ -63,18 +68,32 @@ public class DatabaseInputOutputView extends Composite<FlexLayout> implements Ha
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseInputOutputView.class);
 
+	private static final int BUTTON_WIDTH = 512;
+
+	private static final int BUTTON_HEIGHT = 164;
+
+	private static final String ICON_SIZE = "128px"; //$NON-NLS-1$
+
+	private static final String BUTTON_MARGIN = "10px"; //$NON-NLS-1$
+
 	private final DatabaseService databaseService;
+
+	private final EntityCacheService cacheService;
 	
 	private final DownloadBigButton exportJson;
 	
 	private final DownloadBigButton exportZip;
 
+	private final Button flushCaches;
+
 	/** Constructor.
 	 *
 	 * @param databaseService the service for accessing the database tools.
+	 * @param cacheService the service for accessing the cache of the reference entities.
 	 */
-    public DatabaseInputOutputView(@Autowired DatabaseService databaseService) {
+    public DatabaseInputOutputView(@Autowired DatabaseService databaseService, @Autowired EntityCacheService cacheService) {
     	this.databaseService = databaseService;
+    	this.cacheService = cacheService;
     	
     	this.exportJson = DownloadBigButton.newButtonWithComponent(
     			getTranslation("views.databases.io.export_json"), //$NON-NLS-1$
@@ -98,12 +117,38 @@ public class DatabaseInputOutputView extends Composite<FlexLayout> implements Ha
 	    	.withFailureListener(this::notifyExportError)
         	.withInputStreamFactory(progress -> exportZip(progress));
 
+        final var flushIcon = VaadinIcon.REFRESH.create();
+        flushIcon.setColor("black"); //$NON-NLS-1$
+        flushIcon.setSize(ICON_SIZE);
+        this.flushCaches = new Button(getTranslation("views.databases.io.flush_caches"), flushIcon); //$NON-NLS-1$
+        this.flushCaches.setMinHeight(BUTTON_HEIGHT, Unit.PIXELS);
+        this.flushCaches.setMaxHeight(BUTTON_HEIGHT, Unit.PIXELS);
+        this.flushCaches.setMinWidth(BUTTON_WIDTH, Unit.PIXELS);
+        this.flushCaches.setMaxWidth(BUTTON_WIDTH, Unit.PIXELS);
+        this.flushCaches.setWhiteSpace(WhiteSpace.NORMAL);
+        this.flushCaches.addThemeVariants(ButtonVariant.LUMO_LARGE);
+        this.flushCaches.getStyle().setMargin(BUTTON_MARGIN);
+        this.flushCaches.addClickListener(event -> flushCaches());
+
     	final var root = getContent();
     	root.setSizeFull();
 		root.setFlexWrap(FlexWrap.WRAP);
-		root.add(this.exportJson, this.exportZip);
+		root.add(this.exportJson, this.exportZip, this.flushCaches);
     }
 
+	/** Flush the second-level cache of the reference entities, e.g., after a bulk update of the rankings.
+	 */
+	protected void flushCaches() {
+		try {
+			this.cacheService.evictAllRegions();
+			ComponentFactory.showSuccessNotification(getTranslation("views.databases.io.flush_caches.success")); //$NON-NLS-1$
+		} catch (Throwable ex) {
+			final var message = getTranslation("views.databases.io.flush_caches.error", ex.getLocalizedMessage()); //$NON-NLS-1$
+			LOGGER.error(message, ex);
+			ComponentFactory.showErrorNotification(message);
+		}
+	}
+
 	/** Notify the user that the an error was encountered during exporting action.
 	 *
 	 * @param error the error.
@@ -154,6 +199,7 @@ public class DatabaseInputOutputView extends Composite<FlexLayout> implements Ha
 	public void localeChange(LocaleChangeEvent event) {
     	this.exportJson.setText(getTranslation("views.databases.io.export_json")); //$NON-NLS-1$
     	this.exportZip.setText(getTranslation("views.databases.io.export_zip")); //$NON-NLS-1$
+    	this.flushCaches.setText(getTranslation("views.databases.io.flush_caches")); //$NON-NLS-1$
 	}
 
 }
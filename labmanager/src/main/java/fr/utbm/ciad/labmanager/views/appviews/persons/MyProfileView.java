@@ -91,7 +91,9 @@ public final class MyProfileView extends AbstractPersonEditor implements HasDyna
 	private static UserEditingContext createEditingContext(
 			PersonService personService, UserService userService,
 			AuthenticatedUser authenticatedUser) {
-		final var user = authenticatedUser.get().get();
+		// The user in the cache of the session is shared by the views; the edited user is loaded from the database
+		// in order to keep the cached user unchanged when the editing is cancelled
+		final var user = userService.getUserById(authenticatedUser.get().get().getId());
 		final var person = user.getPerson();
 		return userService.startEditing(user, personService.startEditing(person));
 	}
@@ -21,8 +21,11 @@
 package fr.utbm.ciad.labmanager.views.components.addons.download;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.function.Supplier;
@@ -40,6 +43,7 @@ import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.server.StreamResource;
+import com.vaadin.flow.server.StreamResourceWriter;
 import fr.utbm.ciad.labmanager.utils.DownloadableFileDescription;
 import fr.utbm.ciad.labmanager.utils.SerializableExceptionFunction;
 import fr.utbm.ciad.labmanager.views.components.addons.progress.ProgressExtension;
@@ -77,7 +81,11 @@ public class DownloadExtension<C extends Component & ClickNotifier<C>> implement
 
 	private final ProgressExtension<String, C> progress;
 
+	private final List<SerializableConsumer<Throwable>> writeFailureListeners = new ArrayList<>();
+
 	private SerializableExceptionFunction<Progression, InputStream> inputStreamFactory;
+
+	private SerializableExceptionFunction<Progression, StreamResourceWriter> streamWriterFactory;
 	
 	private SerializableExceptionFunction<Progression, DownloadableFileDescription> downloadableFileDescription;
 
@@ -107,7 +115,6 @@ public class DownloadExtension<C extends Component & ClickNotifier<C>> implement
 						final var subTask = progression.subTask(CHILD_PROGRESS_SIZE);
 						final var href = buildStreamResource(subTask);
 						href.setCacheTime(0);
-						subTask.end();
 	
 						final Anchor anchor = new Anchor();
 						final var anchorElement = anchor.getElement();
@@ -123,6 +130,10 @@ public class DownloadExtension<C extends Component & ClickNotifier<C>> implement
 								anchorElement.callJsFunction("click"); //$NON-NLS-1$
 							});
 						}
+						// The task is finished when the resource is given to the client browser. The browser may never
+						// download it, e.g., when the download is blocked; the errors of a stream writer are notified
+						// when the content is written
+						subTask.end();
 						name = href.getName();
 					} catch (RuntimeException ex) {
 						throw ex;
@@ -178,6 +189,30 @@ public class DownloadExtension<C extends Component & ClickNotifier<C>> implement
 			}
 			return href;
 		}
+		if (this.streamWriterFactory != null) {
+			final var writer = this.streamWriterFactory.apply(progression);
+			if (writer == null) {
+				// Do nothing because the writer factory does not create a writer.
+				throw new CancellationException();
+			}
+			// The content is written directly into the response when the client browser downloads the file,
+			// i.e., after the end of the task. The failure of the writing is notified to the failure listeners
+			final var href = new StreamResource(this.fileNameSupplier.get(), (StreamResourceWriter) (output, session) -> {
+				try {
+					writer.accept(output, session);
+				} catch (IOException | RuntimeException | Error ex) {
+					fireWriteFailure(ex);
+					throw ex;
+				}
+			});
+			if (this.fileTypeSupplier != null) {
+				final var mime = this.fileTypeSupplier.get();
+				if (!Strings.isNullOrEmpty(mime)) {
+					href.setContentType(mime);
+				}
+			}
+			return href;
+		}
 		if (this.inputStreamFactory != null) {
 			final var inputStream = this.inputStreamFactory.apply(progression);
 			if (inputStream == null) {
@@ -196,6 +231,12 @@ public class DownloadExtension<C extends Component & ClickNotifier<C>> implement
 		throw new IllegalStateException();
 	}
 
+	private void fireWriteFailure(Throwable error) {
+		for (final var listener : this.writeFailureListeners) {
+			listener.accept(error);
+		}
+	}
+
 	/** Replies the component that is receiving the anchor. This component must be not clikable to avoid infinite loop.
 	 *
 	 * @param reference the linked component.
@@ -265,6 +306,21 @@ public class DownloadExtension<C extends Component & ClickNotifier<C>> implement
 		return this;
 	}
 
+	/** Change the factory for the writer of the content of the downloadable file. The writer is invoked when the client browser
+	 * downloads the file. It writes the content directly into the response stream. In this way, the download starts immediately,
+	 * and the content is not buffered in memory. The task is finished when the file is given to the client browser; the errors
+	 * of the writer are notified later to the {@link #withFailureListener(SerializableConsumer) failure listeners}, from the
+	 * thread that writes the response.
+	 *
+	 * @param factory the object that is able to create the writer of the content to the client.
+	 * @return {@code this}
+	 * @since 4.1
+	 */
+	public DownloadExtension<C> withStreamWriterFactory(SerializableExceptionFunction<Progression, StreamResourceWriter> factory) {
+		this.streamWriterFactory = factory;
+		return this;
+	}
+
 	/** Change the factory for the input stream of the content of the downloadable file. This function reads the input stream
 	 * and set the {@link #withMimeType(SerializableSupplier) MIME type} and add extension to the {@link #withFilename(SerializableSupplier) filename}.
 	 *
@@ -352,13 +408,16 @@ public class DownloadExtension<C extends Component & ClickNotifier<C>> implement
 		return this;
 	}
 
-	/** Add a listener on the error completion of the download task.
+	/** Add a listener on the error completion of the download task, or on the failure of the
+	 * {@link #withStreamWriterFactory(SerializableExceptionFunction) stream writer}. In the latter case, the listener is
+	 * invoked outside the UI thread; it must use {@code UI.access()} for changing the UI.
 	 *
 	 * @param listener the lambda function that must be invoked when the task has failed.
 	 * @return {@code this}.
 	 */
 	public DownloadExtension<C> withFailureListener(SerializableConsumer<Throwable> listener) {
 		this.progress.withFailureListener(listener);
+		this.writeFailureListeners.add(listener);
 		return this;
 	}
 
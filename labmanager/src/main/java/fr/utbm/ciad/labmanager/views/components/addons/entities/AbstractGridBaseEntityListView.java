@@ -57,6 +57,7 @@ import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
 import fr.utbm.ciad.labmanager.data.member.Person;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService.EntityDeletingContext;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.FileManager;
 import fr.utbm.ciad.labmanager.views.ViewConstants;
 import fr.utbm.ciad.labmanager.views.components.addons.ComponentFactory;
@@ -641,9 +642,36 @@ public abstract class AbstractGridBaseEntityListView<T extends IdentifiableEntit
 		 */
 		protected abstract void buildQueryFor(String keywords, List<Predicate> predicates, Root<T> root, CriteriaBuilder criteriaBuilder);
 
+		/** Replies the identifiers of the entities that match the given keywords according to an in-memory keyword index.
+		 * When this function replies a value, the filtering query is based on the identifiers instead of
+		 * the query that is built by {@link #buildQueryFor(String, List, Root, CriteriaBuilder)}, except if
+		 * there are more than {@link EntityKeywordIndexService#MAX_QUERY_IDENTIFIERS} identifiers.
+		 *
+		 * @param keywords the keywords to search for, never empty.
+		 * @return the identifiers of the matching entities, or {@code null} if the filtering query must be built
+		 *     with {@link #buildQueryFor(String, List, Root, CriteriaBuilder)}.
+		 * @since 4.1
+		 */
+		protected Set<Long> findIdentifiersByKeywords(String keywords) {
+			return null;
+		}
+
 		@Override
 		public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
-			return ComponentFactory.newPredicateContainsOneOf(this.keywords.getValue(), root, query,
+			final var kws = Strings.nullToEmpty(this.keywords.getValue()).trim();
+			if (!Strings.isNullOrEmpty(kws)) {
+				final var identifiers = findIdentifiersByKeywords(kws);
+				if (identifiers != null) {
+					if (identifiers.isEmpty()) {
+						return criteriaBuilder.disjunction();
+					}
+					// A too long list of identifiers is slower than the LIKE predicates
+					if (EntityKeywordIndexService.isQueryable(identifiers)) {
+						return root.get("id").in(identifiers); //$NON-NLS-1$
+					}
+				}
+			}
+			return ComponentFactory.newPredicateContainsOneOf(kws, root, query,
 					criteriaBuilder, this::buildQueryFor);
 		}
 
@@ -195,7 +195,7 @@ public abstract class AbstractServerSideUploadableFileThumbnailField<T> extends
 		} else {
 			final var fm = getFileManager();
 			if (fm != null) {
-				fm.regenerateThumbnail(output);
+				fm.submitThumbnailGeneration(output, fm.toThumbnailFilename(output));
 			}
 		}
 	}
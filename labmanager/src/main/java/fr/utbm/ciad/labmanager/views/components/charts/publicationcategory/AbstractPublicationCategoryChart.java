@@ -3,6 +3,7 @@ package fr.utbm.ciad.labmanager.views.components.charts.publicationcategory;
 import com.storedobject.chart.Size;
 import com.storedobject.chart.Toolbox;
 import fr.utbm.ciad.labmanager.data.publication.PublicationType;
+import fr.utbm.ciad.labmanager.services.publication.PublicationCountMatrix;
 import fr.utbm.ciad.labmanager.services.publication.PublicationService;
 import fr.utbm.ciad.labmanager.views.components.charts.AbstractSOChartChart;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -66,6 +67,16 @@ public abstract class AbstractPublicationCategoryChart extends AbstractSOChartCh
         return publicationTypeList;
     }
 
+    /**
+     * Replies the numbers of publications for each publication type and each year.
+     * The matrix is computed with a single query and shared with the other charts.
+     *
+     * @return the matrix of the numbers of publications.
+     */
+    protected PublicationCountMatrix getPublicationCountMatrix() {
+        return this.publicationService.getPublicationCountMatrix(null, null);
+    }
+
     /**
      * Replies the list of years.
      *
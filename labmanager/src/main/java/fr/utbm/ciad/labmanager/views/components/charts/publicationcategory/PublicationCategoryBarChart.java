@@ -2,6 +2,7 @@ package fr.utbm.ciad.labmanager.views.components.charts.publicationcategory;
 
 import com.storedobject.chart.*;
 import fr.utbm.ciad.labmanager.data.publication.PublicationType;
+import fr.utbm.ciad.labmanager.services.publication.PublicationCountMatrix;
 import fr.utbm.ciad.labmanager.services.publication.PublicationService;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -101,10 +102,11 @@ public class PublicationCategoryBarChart extends AbstractPublicationCategoryChar
         Data data = new Data();
         Integer countTypePublicationV2;
         List<PublicationType> temporaryPublicationTypeList = publicationTypes.stream().filter(publicationType -> Objects.equals(publicationType.getCategory(true).toString(), chosenCategory)).toList();
+        PublicationCountMatrix publicationCounts = getPublicationCountMatrix();
         Integer totalYearCount = 0;
         for (int x = 0; x < getYears().size(); x++) {
             for (PublicationType publicationType : temporaryPublicationTypeList) {
-                countTypePublicationV2 = this.publicationService.getCountPublicationByTypeByYear(publicationType, getYears().get(x));
+                countTypePublicationV2 = publicationCounts.getCount(publicationType, getYears().get(x));
                 totalYearCount += countTypePublicationV2;
                 totalPublication.set(x, countTypePublicationV2 + totalPublication.get(x));
 
@@ -133,10 +135,11 @@ public class PublicationCategoryBarChart extends AbstractPublicationCategoryChar
         BarChart barChart = findBarChart(chosenCategory);
         Integer countTypePublicationV2;
         List<PublicationType> temporaryPublicationTypeList = publicationTypes.stream().filter(publicationType -> Objects.equals(publicationType.getCategory(true).toString(), chosenCategory)).toList();
+        PublicationCountMatrix publicationCounts = getPublicationCountMatrix();
         for (int x = 0; x < getYears().size(); x++) {
             for (PublicationType publicationType : temporaryPublicationTypeList) {
-                countTypePublicationV2 = this.publicationService.getCountPublicationByTypeByYear(publicationType, getYears().get(x));
-                totalPublication.set(x, countTypePublicationV2 - totalPublication.get(x));
+                countTypePublicationV2 = publicationCounts.getCount(publicationType, getYears().get(x));
+                totalPublication.set(x, totalPublication.get(x) - countTypePublicationV2);
             }
         }
         barChartList.remove(barChart);
@@ -2,6 +2,7 @@ package fr.utbm.ciad.labmanager.views.components.charts.publicationcategory;
 
 import com.storedobject.chart.*;
 import fr.utbm.ciad.labmanager.data.publication.PublicationType;
+import fr.utbm.ciad.labmanager.services.publication.PublicationCountMatrix;
 import fr.utbm.ciad.labmanager.services.publication.PublicationService;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -49,10 +50,11 @@ public class PublicationCategoryNightingaleRoseChart extends AbstractPublication
     public void addData(String chosenCategory) {
         Integer countTypePublicationV2;
         List<PublicationType> temporaryPublicationTypeList = getPublicationTypeList().stream().filter(publicationType -> Objects.equals(publicationType.getCategory(true).toString(), chosenCategory)).toList();
+        PublicationCountMatrix publicationCounts = getPublicationCountMatrix();
         Integer total = 0;
         for (int x = 0; x < years.size(); x++) {
             for (PublicationType publicationType : temporaryPublicationTypeList) {
-                countTypePublicationV2 = this.publicationService.getCountPublicationByTypeByYear(publicationType, years.get(x));
+                countTypePublicationV2 = publicationCounts.getCount(publicationType, years.get(x));
                 total += countTypePublicationV2;
 
             }
@@ -36,6 +36,7 @@ import fr.utbm.ciad.labmanager.components.security.AuthenticatedUser;
 import fr.utbm.ciad.labmanager.data.conference.Conference;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService.EntityDeletingContext;
 import fr.utbm.ciad.labmanager.services.conference.ConferenceService;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
 import fr.utbm.ciad.labmanager.views.components.addons.ComponentFactory;
 import fr.utbm.ciad.labmanager.views.components.addons.badges.BadgeRenderer;
@@ -50,6 +51,7 @@ import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -113,7 +115,7 @@ public class StandardConferenceListView extends AbstractEntityListView<Conferenc
 
 	@Override
 	protected AbstractFilters<Conference> createFilters() {
-		return new ConferenceFilters(this::refreshGrid);
+		return new ConferenceFilters(this.conferenceService, this::refreshGrid);
 	}
 
 	private String getConferenceName(Conference conference) {
@@ -277,16 +279,20 @@ public class StandardConferenceListView extends AbstractEntityListView<Conferenc
 
 		private static final long serialVersionUID = -5029775320994118621L;
 
+		private final ConferenceService conferenceService;
+
 		private Checkbox includeNames;
 
 		private Checkbox includePublishers;
 
 		/** Constructor.
 		 *
+		 * @param conferenceService the service for accessing to the conferences.
 		 * @param onSearch
 		 */
-		public ConferenceFilters(Runnable onSearch) {
+		public ConferenceFilters(ConferenceService conferenceService, Runnable onSearch) {
 			super(onSearch);
+			this.conferenceService = conferenceService;
 		}
 
 		@Override
@@ -315,6 +321,18 @@ public class StandardConferenceListView extends AbstractEntityListView<Conferenc
 			}
 		}
 
+		@Override
+		protected Set<Long> findIdentifiersByKeywords(String keywords) {
+			final var fields = new ArrayList<String>();
+			if (this.includeNames.getValue() == Boolean.TRUE) {
+				fields.add(EntityKeywordIndexService.NAME_FIELD);
+			}
+			if (this.includePublishers.getValue() == Boolean.TRUE) {
+				fields.add(EntityKeywordIndexService.PUBLISHER_FIELD);
+			}
+			return this.conferenceService.findIdentifiersByKeywords(keywords, fields);
+		}
+
 		@Override
 		public void localeChange(LocaleChangeEvent event) {
 			super.localeChange(event);
@@ -91,7 +91,7 @@ public class StandardCultureDisseminationListView extends AbstractPublicationLis
 				"views.publication.authors.error.duplicate"); //$NON-NLS-1$
 		setDataProvider((service, pageRequest, filters) -> {
 			return publicationService.getAllPublications(pageRequest, createJpaFilters(filters),
-					this::initializeEntityFromJPA);
+					FETCH_PLAN, this::initializeEntityFromJPA);
 		});
 		postInitializeFilters();
 		initializeDataInGrid(getGrid(), getFilters());
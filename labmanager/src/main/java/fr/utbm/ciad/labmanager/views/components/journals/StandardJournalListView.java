@@ -36,6 +36,7 @@ import fr.utbm.ciad.labmanager.components.security.AuthenticatedUser;
 import fr.utbm.ciad.labmanager.data.journal.Journal;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService.EntityDeletingContext;
 import fr.utbm.ciad.labmanager.services.journal.JournalService;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
 import fr.utbm.ciad.labmanager.views.components.addons.ComponentFactory;
 import fr.utbm.ciad.labmanager.views.components.addons.badges.BadgeRenderer;
@@ -51,6 +52,7 @@ import org.springframework.data.domain.PageRequest;
 
 import java.text.DecimalFormat;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -119,7 +121,7 @@ public class StandardJournalListView extends AbstractEntityListView<Journal> {
 
 	@Override
 	protected AbstractFilters<Journal> createFilters() {
-		return new JournalFilters(this::refreshGrid);
+		return new JournalFilters(this.journalService, this::refreshGrid);
 	}
 
 	@Override
@@ -331,16 +333,20 @@ public class StandardJournalListView extends AbstractEntityListView<Journal> {
 
 		private static final long serialVersionUID = -2926094704107561306L;
 
+		private final JournalService journalService;
+
 		private Checkbox includeNames;
 
 		private Checkbox includePublishers;
 
 		/** Constructor.
 		 *
+		 * @param journalService the service for accessing to the journals.
 		 * @param onSearch
 		 */
-		public JournalFilters(Runnable onSearch) {
+		public JournalFilters(JournalService journalService, Runnable onSearch) {
 			super(onSearch);
+			this.journalService = journalService;
 		}
 
 		@Override
@@ -368,6 +374,18 @@ public class StandardJournalListView extends AbstractEntityListView<Journal> {
 			}
 		}
 
+		@Override
+		protected Set<Long> findIdentifiersByKeywords(String keywords) {
+			final var fields = new ArrayList<String>();
+			if (this.includeNames.getValue() == Boolean.TRUE) {
+				fields.add(EntityKeywordIndexService.NAME_FIELD);
+			}
+			if (this.includePublishers.getValue() == Boolean.TRUE) {
+				fields.add(EntityKeywordIndexService.PUBLISHER_FIELD);
+			}
+			return this.journalService.findIdentifiersByKeywords(keywords, fields);
+		}
+
 		@Override
 		public void localeChange(LocaleChangeEvent event) {
 			super.localeChange(event);
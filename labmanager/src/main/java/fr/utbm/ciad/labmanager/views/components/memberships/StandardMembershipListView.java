@@ -40,6 +40,7 @@ import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.function.SerializableBiConsumer;
 import com.vaadin.flow.i18n.LocaleChangeEvent;
 import fr.utbm.ciad.labmanager.components.security.AuthenticatedUser;
+import fr.utbm.ciad.labmanager.data.FetchPlan;
 import fr.utbm.ciad.labmanager.data.member.MemberStatus;
 import fr.utbm.ciad.labmanager.data.member.Membership;
 import fr.utbm.ciad.labmanager.data.member.Person;
@@ -60,7 +61,6 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
-import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.vaadin.lineawesome.LineAwesomeIcon;
@@ -84,6 +84,9 @@ public class StandardMembershipListView extends AbstractTwoLevelTreeListView<Per
 
 	private static final long serialVersionUID = 2320930215751419329L;
 
+	private static final FetchPlan<Person> FETCH_PLAN = FetchPlan.of(Person.class,
+			"memberships.researchOrganization", "memberships.superResearchOrganization"); //$NON-NLS-1$ //$NON-NLS-2$
+
 	private final MembershipService membershipService;
 
 	private final PersonService personService;
@@ -136,8 +139,7 @@ public class StandardMembershipListView extends AbstractTwoLevelTreeListView<Per
 		setHoverMenu(isAdminRole());
 		setRootEntityFetcher(
 				(parentId, pageRequest, filters) -> {
-					return this.membershipService.getAllPersonsWithMemberships(pageRequest, filters,
-							it -> Hibernate.initialize(it.getMemberships()));
+					return this.membershipService.getAllPersonsWithMemberships(pageRequest, filters, FETCH_PLAN, null);
 				},
 				(rootEntity) -> {
 					return rootEntity.getMemberships().size();
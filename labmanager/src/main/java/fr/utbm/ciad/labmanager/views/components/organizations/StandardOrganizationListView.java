@@ -39,6 +39,7 @@ import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService.EntityDeletingContext;
 import fr.utbm.ciad.labmanager.services.organization.OrganizationAddressService;
 import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationService;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
 import fr.utbm.ciad.labmanager.views.components.addons.ComponentFactory;
 import fr.utbm.ciad.labmanager.views.components.addons.badges.BadgeRenderer;
@@ -54,6 +55,7 @@ import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -124,7 +126,7 @@ public class StandardOrganizationListView extends AbstractEntityListView<Researc
 
 	@Override
 	protected AbstractFilters<ResearchOrganization> createFilters() {
-		return new OrganizationFilters(this::refreshGrid);
+		return new OrganizationFilters(this.organizationService, this::refreshGrid);
 	}
 
 	@Override
@@ -308,6 +310,8 @@ public class StandardOrganizationListView extends AbstractEntityListView<Researc
 
 		private static final long serialVersionUID = 5584210266375969212L;
 
+		private final ResearchOrganizationService organizationService;
+
 		private Checkbox includeNames;
 
 		private Checkbox includeTypes;
@@ -316,10 +320,12 @@ public class StandardOrganizationListView extends AbstractEntityListView<Researc
 
 		/** Constructor.
 		 *
+		 * @param organizationService the service for accessing to the organizations.
 		 * @param onSearch the callback function for running the filtering.
 		 */
-		public OrganizationFilters(Runnable onSearch) {
+		public OrganizationFilters(ResearchOrganizationService organizationService, Runnable onSearch) {
 			super(onSearch);
+			this.organizationService = organizationService;
 		}
 
 		@Override
@@ -350,11 +356,26 @@ public class StandardOrganizationListView extends AbstractEntityListView<Researc
 			if (this.includeTypes.getValue() == Boolean.TRUE) {
 				predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("type")), keywords)); //$NON-NLS-1$
 			}
-			if (this.includeNames.getValue() == Boolean.TRUE) {
+			if (this.includeCountries.getValue() == Boolean.TRUE) {
 				predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("country")), keywords)); //$NON-NLS-1$
 			}
 		}
 
+		@Override
+		protected Set<Long> findIdentifiersByKeywords(String keywords) {
+			final var fields = new ArrayList<String>();
+			if (this.includeNames.getValue() == Boolean.TRUE) {
+				fields.add(EntityKeywordIndexService.NAME_FIELD);
+			}
+			if (this.includeTypes.getValue() == Boolean.TRUE) {
+				fields.add(EntityKeywordIndexService.TYPE_FIELD);
+			}
+			if (this.includeCountries.getValue() == Boolean.TRUE) {
+				fields.add(EntityKeywordIndexService.COUNTRY_FIELD);
+			}
+			return this.organizationService.findIdentifiersByKeywords(keywords, fields);
+		}
+
 		@Override
 		public void localeChange(LocaleChangeEvent event) {
 			super.localeChange(event);
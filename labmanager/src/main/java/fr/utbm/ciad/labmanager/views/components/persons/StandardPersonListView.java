@@ -44,6 +44,7 @@ import fr.utbm.ciad.labmanager.services.AbstractEntityService.EntityDeletingCont
 import fr.utbm.ciad.labmanager.services.member.MembershipService;
 import fr.utbm.ciad.labmanager.services.member.PersonService;
 import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationService;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.services.user.UserService;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.FileManager;
 import fr.utbm.ciad.labmanager.views.components.addons.ComponentFactory;
@@ -133,7 +134,7 @@ public class StandardPersonListView extends AbstractEntityListView<Person> {
 
 	@Override
 	protected AbstractFilters<Person> createFilters() {
-		return new PersonFilters(() -> this.organizationService.getDefaultOrganization(), () -> this.organizationService.getFileManager(), this::refreshGrid);
+		return new PersonFilters(() -> this.organizationService.getDefaultOrganization(), () -> this.organizationService.getFileManager(), this.personService, this::refreshGrid);
 	}
 
 	@SuppressWarnings("static-method")
@@ -332,6 +333,8 @@ public class StandardPersonListView extends AbstractEntityListView<Person> {
 
 		private static final long serialVersionUID = -127264050870541315L;
 
+		private final PersonService personService;
+
 		private Checkbox includeNames;
 
 		private Checkbox includeOrcids;
@@ -342,10 +345,12 @@ public class StandardPersonListView extends AbstractEntityListView<Person> {
 		 *
 		 * @param defaultOrganizationSupplier the provider of the default organization.
 		 * @param fileManager the manager of files on the server.
+		 * @param personService the service for accessing to the persons.
 		 * @param onSearch the callback function for running the filtering.
 		 */
-		public PersonFilters(Supplier<ResearchOrganization> defaultOrganizationSupplier, Supplier<FileManager> fileManager, Runnable onSearch) {
+		public PersonFilters(Supplier<ResearchOrganization> defaultOrganizationSupplier, Supplier<FileManager> fileManager, PersonService personService, Runnable onSearch) {
 			super(defaultOrganizationSupplier, fileManager, onSearch);
+			this.personService = personService;
 		}
 		
 		@Override
@@ -400,6 +405,22 @@ public class StandardPersonListView extends AbstractEntityListView<Person> {
 			}
 		}
 
+		@Override
+		protected Set<Long> findIdentifiersByKeywords(String keywords) {
+			// The memberships are not in the keyword index
+			if (this.includeOrganizations.getValue() == Boolean.TRUE) {
+				return null;
+			}
+			final var fields = new ArrayList<String>();
+			if (this.includeNames.getValue() == Boolean.TRUE) {
+				fields.add(EntityKeywordIndexService.NAME_FIELD);
+			}
+			if (this.includeOrcids.getValue() == Boolean.TRUE) {
+				fields.add(EntityKeywordIndexService.ORCID_FIELD);
+			}
+			return this.personService.findIdentifiersByKeywords(keywords, fields);
+		}
+
 		@Override
 		public void localeChange(LocaleChangeEvent event) {
 			super.localeChange(event);
@@ -86,7 +86,7 @@ public class StandardPatentListView extends AbstractPublicationListView {
 				"views.publication.authors.error.duplicate"); //$NON-NLS-1$
 		setDataProvider((service, pageRequest, filters) -> {
 			return publicationService.getAllPublications(pageRequest, createJpaFilters(filters),
-					this::initializeEntityFromJPA);
+					FETCH_PLAN, this::initializeEntityFromJPA);
 		});
 		postInitializeFilters();
 		initializeDataInGrid(getGrid(), getFilters());
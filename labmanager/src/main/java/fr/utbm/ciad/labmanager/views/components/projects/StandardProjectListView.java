@@ -35,6 +35,7 @@ import com.vaadin.flow.function.SerializableBiConsumer;
 import com.vaadin.flow.i18n.LocaleChangeEvent;
 import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import fr.utbm.ciad.labmanager.components.security.AuthenticatedUser;
+import fr.utbm.ciad.labmanager.data.FetchPlan;
 import fr.utbm.ciad.labmanager.data.member.Person;
 import fr.utbm.ciad.labmanager.data.project.Project;
 import fr.utbm.ciad.labmanager.data.project.ProjectContractType;
@@ -44,6 +45,7 @@ import fr.utbm.ciad.labmanager.services.organization.OrganizationAddressService;
 import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationService;
 import fr.utbm.ciad.labmanager.services.project.ProjectService;
 import fr.utbm.ciad.labmanager.services.scientificaxis.ScientificAxisService;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.services.user.UserService;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
 import fr.utbm.ciad.labmanager.views.components.addons.ComponentFactory;
@@ -61,6 +63,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -80,6 +83,9 @@ public class StandardProjectListView extends AbstractEntityListView<Project> {
 	private static final String UNKNOWN = "?"; //$NON-NLS-1$
 
 	private static final int ORIGIN_YEAR = 2000;
+
+	private static final FetchPlan<Project> FETCH_PLAN = FetchPlan.of(Project.class,
+			"budgets", "coordinator", "participants.person"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 	
 	private final ProjectDataProvider dataProvider;
 
@@ -142,7 +148,7 @@ public class StandardProjectListView extends AbstractEntityListView<Project> {
 		this.personService = personService;
 		this.userService = userService;
 		this.axisService = axisService;
-		this.dataProvider = (ps, query, filters) -> ps.getAllProjects(query, filters, this::initializeEntityFromJPA);
+		this.dataProvider = (ps, query, filters) -> ps.getAllProjects(query, filters, FETCH_PLAN, null);
 		postInitializeFilters();
 		initializeDataInGrid(getGrid(), getFilters());
 	}
@@ -160,7 +166,7 @@ public class StandardProjectListView extends AbstractEntityListView<Project> {
 
 	@Override
 	protected AbstractFilters<Project> createFilters() {
-		return new ProjectFilters(getAuthenticatedUser(), this::refreshGrid);
+		return new ProjectFilters(getAuthenticatedUser(), this.projectService, this::refreshGrid);
 	}
 
 	@Override
@@ -391,6 +397,8 @@ public class StandardProjectListView extends AbstractEntityListView<Project> {
 
 		private static final long serialVersionUID = 7079030666137901350L;
 
+		private final ProjectService projectService;
+
 		private Checkbox includeNames;
 
 		private Checkbox includeDates;
@@ -404,10 +412,12 @@ public class StandardProjectListView extends AbstractEntityListView<Project> {
 		/** Constructor.
 		 *
 		 * @param user the connected user, or {@code null} if the filter does not care about a connected user.
+		 * @param projectService the service for accessing to the projects.
 		 * @param onSearch the callback function for running the filtering.
 		 */
-		public ProjectFilters(AuthenticatedUser user, Runnable onSearch) {
+		public ProjectFilters(AuthenticatedUser user, ProjectService projectService, Runnable onSearch) {
 			super(user, onSearch);
+			this.projectService = projectService;
 		}
 
 		@Override
@@ -464,6 +474,24 @@ public class StandardProjectListView extends AbstractEntityListView<Project> {
 			}
 		}
 
+		@Override
+		protected Set<Long> findIdentifiersByKeywords(String keywords) {
+			final var fields = new ArrayList<String>();
+			if (this.includeNames.getValue() == Boolean.TRUE) {
+				fields.add(EntityKeywordIndexService.NAME_FIELD);
+			}
+			if (this.includeDates.getValue() == Boolean.TRUE) {
+				fields.add(EntityKeywordIndexService.DATE_FIELD);
+			}
+			if (this.includeTypes.getValue() == Boolean.TRUE) {
+				fields.add(EntityKeywordIndexService.TYPE_FIELD);
+			}
+			if (this.includeStates.getValue() == Boolean.TRUE) {
+				fields.add(EntityKeywordIndexService.STATUS_FIELD);
+			}
+			return this.projectService.findIdentifiersByKeywords(keywords, fields);
+		}
+
 		@Override
 		public void localeChange(LocaleChangeEvent event) {
 			super.localeChange(event);
@@ -20,7 +20,6 @@
 package fr.utbm.ciad.labmanager.views.components.publications;
 
 import com.google.common.base.Strings;
-import com.helger.commons.io.stream.StringInputStream;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.checkbox.Checkbox;
@@ -41,10 +40,13 @@ import com.vaadin.flow.data.provider.SortDirection;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.function.SerializableBiConsumer;
 import com.vaadin.flow.i18n.LocaleChangeEvent;
+import com.vaadin.flow.server.StreamResourceWriter;
 import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import fr.utbm.ciad.labmanager.components.security.AuthenticatedUser;
 import fr.utbm.ciad.labmanager.configuration.Constants;
+import fr.utbm.ciad.labmanager.data.FetchPlan;
 import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.publication.AuthorListFormat;
 import fr.utbm.ciad.labmanager.data.publication.Publication;
 import fr.utbm.ciad.labmanager.data.publication.PublicationLanguage;
 import fr.utbm.ciad.labmanager.data.publication.PublicationType;
@@ -54,6 +56,7 @@ import fr.utbm.ciad.labmanager.services.journal.JournalService;
 import fr.utbm.ciad.labmanager.services.member.PersonService;
 import fr.utbm.ciad.labmanager.services.publication.PublicationService;
 import fr.utbm.ciad.labmanager.services.scientificaxis.ScientificAxisService;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.services.user.UserService;
 import fr.utbm.ciad.labmanager.utils.io.ExporterConfigurator;
 import fr.utbm.ciad.labmanager.utils.io.bibtex.BibTeXConstants;
@@ -73,8 +76,8 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.arakhne.afc.progress.DefaultProgression;
 import org.arakhne.afc.progress.Progression;
-import org.hibernate.Hibernate;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -84,7 +87,6 @@ import org.springframework.data.jpa.domain.Specification;
 import org.vaadin.lineawesome.LineAwesomeIcon;
 
 import java.io.*;
-import java.nio.charset.Charset;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.function.Function;
@@ -115,6 +117,29 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 
 	private static final String EMPTY = ""; //$NON-NLS-1$
 
+	/** Format of the list of authors in the grid.
+	 *
+	 * @since 4.1
+	 */
+	private static final AuthorListFormat AUTHOR_LIST_FORMAT = authors -> {
+		final var list = new StringBuilder();
+		for (final var author : authors) {
+			if (author != null) {
+				if (list.length() > 0) {
+					list.append(", "); //$NON-NLS-1$
+				}
+				list.append(author.getFullName());
+			}
+		}
+		return list.toString();
+	};
+
+	/** Associations of the publications that are loaded for rendering the grid.
+	 *
+	 * @since 4.1
+	 */
+	protected static final FetchPlan<Publication> FETCH_PLAN = FetchPlan.of(Publication.class, "authorships.person"); //$NON-NLS-1$
+
 	private final String authorsColumnLabelKey;
 
 	private final String personCreationLabelKey;
@@ -346,6 +371,37 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 		return new ExporterConfigurator(this.journalService, Locale.US);
 	}
 
+	/** Create the writer of the given publications into the stream that is sent to the client browser.
+	 * The publications are loaded in memory before the writer is created, and the content is written
+	 * when the client browser downloads the file.
+	 *
+	 * @param publications the publications to export.
+	 * @param progression the progression indicator to be used.
+	 * @param exporter the function that writes the publications into the stream.
+	 * @return the writer, or {@code null} if there is no publication to export.
+	 * @since 4.1
+	 */
+	protected StreamResourceWriter createExportWriter(Set<Publication> publications, Progression progression, PublicationStreamExporter exporter) {
+		if (publications == null || publications.isEmpty()) {
+			progression.end();
+			notifyNotEntity();
+			return null; 
+		}
+		// Force the loading of all the information about each publication
+		this.publicationService.loadPublicationsInMemory(publications);
+		final var configuration = createExportConfigurator();
+		progression.end();
+		return (output, session) -> {
+			try {
+				exporter.export(output, publications, configuration);
+			} catch (IOException ex) {
+				throw ex;
+			} catch (Exception ex) {
+				throw new IOException(ex);
+			}
+		};
+	}
+
 	/** Extend the given item with the exporter for BibTeX.
 	 * 
 	 * @param item the component to be extended.
@@ -359,26 +415,19 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
         	.withFilename(() -> BIBTEX_FILENAME)
         	.withMimeType(() -> BibTeXConstants.MIME_TYPE_UTF8_VALUE)
 	    	.withFailureListener(this::notifyExportError)
-        	.withInputStreamFactory(progress -> exportBibTeX(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
+        	.withStreamWriterFactory(progress -> exportBibTeX(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
 	}
 	
-	/** Export the given publications in a BibTeX file.
+	/** Create the writer of the given publications in a BibTeX file. The BibTeX content is written
+	 * directly into the stream that is sent to the client browser.
 	 *
 	 * @param publications the publications to export.
 	 * @param progression the progression indicator to be used.
-	 * @return the input stream that contains the BibTeX data.
+	 * @return the writer of the BibTeX data.
 	 */
-	protected InputStream exportBibTeX(Set<Publication> publications, Progression progression) {
-		if (publications == null || publications.isEmpty()) {
-			progression.end();
-			notifyNotEntity();
-			return null; 
-		}
-		// Force the loading of all the information about each publication
-		this.publicationService.loadPublicationsInMemory(publications);
-		final var configuration = createExportConfigurator();
-		final var content = this.publicationService.exportBibTeX(publications, configuration, progression);
-		return new StringInputStream(content, Charset.defaultCharset());
+	protected StreamResourceWriter exportBibTeX(Set<Publication> publications, Progression progression) {
+		return createExportWriter(publications, progression,
+				(output, selection, configuration) -> this.publicationService.exportBibTeX(output, selection, configuration, new DefaultProgression()));
 	}
 
 	/** Extend the given item with the exporter for RIS.
@@ -394,26 +443,19 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
         	.withFilename(() -> RIS_FILENAME)
         	.withMimeType(() -> RISConstants.MIME_TYPE_UTF8_VALUE)
 	    	.withFailureListener(this::notifyExportError)
-        	.withInputStreamFactory(progress -> exportRIS(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
+        	.withStreamWriterFactory(progress -> exportRIS(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
 	}
 
-	/** Export the given publications in a RIS file.
+	/** Create the writer of the given publications in a RIS file. The RIS content is written
+	 * directly into the stream that is sent to the client browser.
 	 *
 	 * @param publications the publications to export.
 	 * @param progression the progression indicator to be used.
-	 * @return the input stream that contains the RIS data.
+	 * @return the writer of the RIS data.
 	 */
-	protected InputStream exportRIS(Set<Publication> publications, Progression progression) {
-		if (publications == null || publications.isEmpty()) {
-			progression.end();
-			notifyNotEntity();
-			return null; 
-		}
-		// Force the loading of all the information about each publication
-		this.publicationService.loadPublicationsInMemory(publications);
-		final var configuration = createExportConfigurator();
-		final var content = this.publicationService.exportRIS(publications, configuration, progression);
-		return new StringInputStream(content, Charset.defaultCharset());
+	protected StreamResourceWriter exportRIS(Set<Publication> publications, Progression progression) {
+		return createExportWriter(publications, progression,
+				(output, selection, configuration) -> this.publicationService.exportRIS(output, selection, configuration, new DefaultProgression()));
 	}
 
 	/** Extend the given item with the exporter for ODT.
@@ -429,27 +471,19 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
         	.withFilename(() -> ODT_FILENAME)
         	.withMimeType(() -> OpenDocumentConstants.ODT_MIME_TYPE_VALUE)
 	    	.withFailureListener(this::notifyExportError)
-        	.withInputStreamFactory(progress -> exportODT(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
+        	.withStreamWriterFactory(progress -> exportODT(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
 	}
 	
-	/** Export the given publications in a ODT file.
+	/** Create the writer of the given publications in an ODT file. The ODT content is written
+	 * directly into the stream that is sent to the client browser.
 	 *
 	 * @param publications the publications to export.
 	 * @param progression the progression indicator to be used.
-	 * @return the input stream that contains the ODT data.
-	 * @throws Exception if the ODT data cannot be generated.
+	 * @return the writer of the ODT data.
 	 */
-	protected InputStream exportODT(Set<Publication> publications, Progression progression) throws Exception {
-		if (publications == null || publications.isEmpty()) {
-			progression.end();
-			notifyNotEntity();
-			return null; 
-		}
-		// Force the loading of all the information about each publication
-		this.publicationService.loadPublicationsInMemory(publications);
-		final var configuration = createExportConfigurator();
-		final var content = this.publicationService.exportOdt(publications, configuration, progression);
-		return new ByteArrayInputStream(content);
+	protected StreamResourceWriter exportODT(Set<Publication> publications, Progression progression) {
+		return createExportWriter(publications, progression,
+				(output, selection, configuration) -> this.publicationService.exportOdt(output, selection, configuration, new DefaultProgression()));
 	}
 
 	/** Extend the given item with the exporter for HTML.
@@ -465,27 +499,19 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
         	.withFilename(() -> HTML_FILENAME)
         	.withMimeType(() -> "text/html") //$NON-NLS-1$
 	    	.withFailureListener(this::notifyExportError)
-        	.withInputStreamFactory(progress -> exportHTML(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
+        	.withStreamWriterFactory(progress -> exportHTML(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
 	}
 
-	/** Export the given publications in an HTML file.
+	/** Create the writer of the given publications in an HTML file. The HTML content is written
+	 * directly into the stream that is sent to the client browser.
 	 *
 	 * @param publications the publications to export.
 	 * @param progression the progression indicator to be used.
-	 * @return the input stream that contains the HTML data.
-	 * @throws Exception if the HTML data cannot be generated.
+	 * @return the writer of the HTML data.
 	 */
-	protected InputStream exportHTML(Set<Publication> publications, Progression progression) throws Exception {
-		if (publications == null || publications.isEmpty()) {
-			progression.end();
-			notifyNotEntity();
-			return null; 
-		}
-		// Force the loading of all the information about each publication
-		this.publicationService.loadPublicationsInMemory(publications);
-		final var configuration = createExportConfigurator();
-		final var content = this.publicationService.exportHtml(publications, configuration, progression);
-		return new StringInputStream(content, Charset.defaultCharset());
+	protected StreamResourceWriter exportHTML(Set<Publication> publications, Progression progression) {
+		return createExportWriter(publications, progression,
+				(output, selection, configuration) -> this.publicationService.exportHtml(output, selection, configuration, new DefaultProgression()));
 	}
 
 	/** Extend the given item with the exporter for JSON.
@@ -501,26 +527,19 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
         	.withFilename(() -> JSON_FILENAME)
         	.withMimeType(() -> Constants.JSON_MIME)
 	    	.withFailureListener(this::notifyExportError)
-        	.withInputStreamFactory(progress -> exportJSON(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
+        	.withStreamWriterFactory(progress -> exportJSON(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
 	}
 
-	/** Export the given publications in a JSON file.
+	/** Create the writer of the given publications in a JSON file. The JSON content is written
+	 * directly into the stream that is sent to the client browser.
 	 *
 	 * @param publications the publications to export.
 	 * @param progression the progression indicator to be used.
-	 * @return the input stream that contains the JSON data.
-	 * @throws Exception if the JSON data cannot be generated.
+	 * @return the writer of the JSON data.
 	 */
-	protected InputStream exportJSON(Set<Publication> publications, Progression progression) throws Exception {
-		if (publications == null || publications.isEmpty()) {
-			notifyNotEntity();
-			return null; 
-		}
-		// Force the loading of all the information about each publication
-		this.publicationService.loadPublicationsInMemory(publications);
-		final var configuration = createExportConfigurator();
-		final var content = this.publicationService.exportJson(publications, configuration, progression);
-		return new StringInputStream(content, Charset.defaultCharset());
+	protected StreamResourceWriter exportJSON(Set<Publication> publications, Progression progression) {
+		return createExportWriter(publications, progression,
+				(output, selection, configuration) -> this.publicationService.exportJson(output, selection, configuration, new DefaultProgression()));
 	}
 
 	/**
@@ -790,17 +809,16 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 
 	@Override
 	protected AbstractFilters<Publication> createFilters() {
-		return new PublicationFilters(getAuthenticatedUser(), this::refreshGrid);
+		return new PublicationFilters(getAuthenticatedUser(), this.publicationService, this::refreshGrid);
 	}
 
 	/** Initialize the given JPA entity for being displayed in the list.
+	 * The authorships are not loaded by this function because they are loaded by the {@link #FETCH_PLAN}.
 	 *
 	 * @param entity the entity.
 	 */
 	@SuppressWarnings("static-method")
 	protected void initializeEntityFromJPA(Publication entity) {
-		// Force the loaded of the lazy data that is needed for rendering the table
-		Hibernate.initialize(entity.getAuthorships());
 		// Force the loading of all the data that is required for obtaining the place where the publication was published
 		entity.getWherePublishedShortDescription();
 	}
@@ -857,17 +875,7 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 	 * @return the authors.
 	 */
 	protected Component getAuthorsComponent(Publication publication) {
-		final var authors = publication.getAuthors();
-		final var list = new StringBuilder();
-		for (final var author : authors) {
-			if (author != null) {
-				if (list.length() > 0) {
-					list.append(", "); //$NON-NLS-1$
-				}
-				list.append(author.getFullName());
-			}
-		}
-		return new Span(list.toString());
+		return new Span(publication.getFormattedAuthors(AUTHOR_LIST_FORMAT));
 	}
 
 	/** Replies the publishing details for the given publication.
@@ -1105,6 +1113,8 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 
 		private static final long serialVersionUID = -9105749553511198435L;
 
+		private final PublicationService publicationService;
+
 		private Checkbox includeTitles;
 
 		private Checkbox includeYears;
@@ -1112,10 +1122,12 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 		/** Constructor.
 		 *
 		 * @param user the connected user, or {@code null} if the filter does not care about a connected user.
+		 * @param publicationService the service for accessing to the publications.
 		 * @param onSearch the callback function for running the filtering.
 		 */
-		public PublicationFilters(AuthenticatedUser user, Runnable onSearch) {
+		public PublicationFilters(AuthenticatedUser user, PublicationService publicationService, Runnable onSearch) {
 			super(user, onSearch);
+			this.publicationService = publicationService;
 		}
 
 		@Override
@@ -1149,6 +1161,18 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 			}
 		}
 
+		@Override
+		protected Set<Long> findIdentifiersByKeywords(String keywords) {
+			final var fields = new ArrayList<String>();
+			if (this.includeTitles.getValue() == Boolean.TRUE) {
+				fields.add(EntityKeywordIndexService.TITLE_FIELD);
+			}
+			if (this.includeYears.getValue() == Boolean.TRUE) {
+				fields.add(EntityKeywordIndexService.YEAR_FIELD);
+			}
+			return this.publicationService.findIdentifiersByKeywords(keywords, fields);
+		}
+
 		@Override
 		public void localeChange(LocaleChangeEvent event) {
 			super.localeChange(event);
@@ -1202,4 +1226,26 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 
 	}
 
+	/** Function that writes publications into a stream.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	@FunctionalInterface
+	protected interface PublicationStreamExporter extends Serializable {
+
+		/** Write the publications into the given stream.
+		 *
+		 * @param output the stream that receives the exported publications.
+		 * @param publications the publications to export.
+		 * @param configurator the configurator of the exporter.
+		 * @throws Exception if the publications cannot be exported.
+		 */
+		void export(OutputStream output, Set<Publication> publications, ExporterConfigurator configurator) throws Exception;
+
+	}
+
 }
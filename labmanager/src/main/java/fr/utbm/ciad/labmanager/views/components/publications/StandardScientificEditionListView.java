@@ -90,7 +90,7 @@ public class StandardScientificEditionListView extends AbstractPublicationListVi
                 "views.publication.editors.error.duplicate"); //$NON-NLS-1$
         setDataProvider((service, pageRequest, filters) -> {
             return publicationService.getAllPublications(pageRequest, createJpaFilters(filters),
-                    this::initializeEntityFromJPA);
+                    FETCH_PLAN, this::initializeEntityFromJPA);
         });
         postInitializeFilters();
         initializeDataInGrid(getGrid(), getFilters());
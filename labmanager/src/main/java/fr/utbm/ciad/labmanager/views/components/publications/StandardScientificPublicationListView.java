@@ -100,7 +100,7 @@ public class StandardScientificPublicationListView extends AbstractPublicationLi
 				"views.publication.authors.error.duplicate"); //$NON-NLS-1$
 		setDataProvider((service, pageRequest, filters) -> {
 			return publicationService.getAllPublications(pageRequest, createJpaFilters(filters),
-					this::initializeEntityFromJPA);
+					FETCH_PLAN, this::initializeEntityFromJPA);
 		});
 		postInitializeFilters();
 		initializeDataInGrid(getGrid(), getFilters());
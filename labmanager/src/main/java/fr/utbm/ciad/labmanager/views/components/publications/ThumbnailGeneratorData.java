@@ -39,6 +39,8 @@ public class ThumbnailGeneratorData extends AbstractContextData {
 
 	private List<Publication> publications = new ArrayList<>();
 
+	private boolean force;
+
 	/** Constructor.
 	 */
 	public ThumbnailGeneratorData() {
@@ -62,4 +64,22 @@ public class ThumbnailGeneratorData extends AbstractContextData {
 		this.publications = publications;
 	}
 
+	/** Replies if the thumbnails must be generated even if they are up-to-date.
+	 * 
+	 * @return {@code true} if the generation is forced.
+	 * @since 4.1
+	 */
+	public synchronized boolean isForce() {
+		return this.force;
+	}
+
+	/** Change the flag that indicates if the thumbnails must be generated even if they are up-to-date.
+	 * 
+	 * @param force {@code true} if the generation is forced.
+	 * @since 4.1
+	 */
+	public synchronized void setForce(boolean force) {
+		this.force = force;
+	}
+
 }
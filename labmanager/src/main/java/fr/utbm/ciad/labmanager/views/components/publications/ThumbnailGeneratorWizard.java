@@ -141,6 +141,8 @@ public class ThumbnailGeneratorWizard extends AbstractLabManagerWizard<Thumbnail
 				}
 				progression.increment(90);
 				getContext().setPublications(publications);
+				// The thumbnails of the explicitly selected publications are regenerated even if they are up-to-date
+				getContext().setForce(identifiers != null && !identifiers.isEmpty());
 				return terminationMessage;
 			};
 		}
@@ -200,7 +202,7 @@ public class ThumbnailGeneratorWizard extends AbstractLabManagerWizard<Thumbnail
 			return () -> {
 				final var context = getContext();
 				try {
-					this.publicationService.generateThumbnails(context.getPublications(), locale, extendedProgression0);
+					this.publicationService.generateThumbnails(context.getPublications(), locale, context.isForce(), extendedProgression0);
 				} catch (IOException ex) {
 					throw new RuntimeException(ex);
 				}
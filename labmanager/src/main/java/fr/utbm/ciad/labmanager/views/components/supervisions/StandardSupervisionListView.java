@@ -37,6 +37,7 @@ import com.vaadin.flow.function.SerializableBiConsumer;
 import com.vaadin.flow.i18n.LocaleChangeEvent;
 import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import fr.utbm.ciad.labmanager.components.security.AuthenticatedUser;
+import fr.utbm.ciad.labmanager.data.FetchPlan;
 import fr.utbm.ciad.labmanager.data.member.Person;
 import fr.utbm.ciad.labmanager.data.supervision.Supervision;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService.EntityDeletingContext;
@@ -71,6 +72,9 @@ public class StandardSupervisionListView extends AbstractEntityListView<Supervis
 
 	private static final long serialVersionUID = -7908569503954366686L;
 
+	private static final FetchPlan<Supervision> FETCH_PLAN = FetchPlan.of(Supervision.class,
+			"supervisedPerson", "supervisors.supervisor"); //$NON-NLS-1$ //$NON-NLS-2$
+
 	private final SupervisionDataProvider dataProvider;
 
 	private final SupervisionService supervisionService;
@@ -125,7 +129,7 @@ public class StandardSupervisionListView extends AbstractEntityListView<Supervis
 		this.organizationService = organizationService;
 		this.addressService = addressService;
 		this.axisService = axisService;
-		this.dataProvider = (ps, query, filters) -> ps.getAllSupervisions(query, filters, this::initializeEntityFromJPA);
+		this.dataProvider = (ps, query, filters) -> ps.getAllSupervisions(query, filters, FETCH_PLAN, null);
 		postInitializeFilters();
 		initializeDataInGrid(getGrid(), getFilters());
 	}
@@ -0,0 +1,279 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.components.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.spring.security.AuthenticationContext;
+import fr.utbm.ciad.labmanager.components.security.AuthenticatedUser;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.user.User;
+import fr.utbm.ciad.labmanager.data.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/** Tests for {@link AuthenticatedUser}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@SuppressWarnings("all")
+public class AuthenticatedUserTest {
+
+	private AuthenticationContext authenticationContext;
+
+	private UserRepository userRepository;
+
+	private UserDetails userDetails;
+
+	private VaadinSession session;
+
+	private Map<String, Object> sessionAttributes;
+
+	private User user;
+
+	private Person person;
+
+	private AuthenticatedUser test;
+
+	@BeforeEach
+	public void setUp() {
+		this.person = mock(Person.class);
+		lenient().when(this.person.getId()).thenReturn(123l);
+		this.user = mock(User.class);
+		lenient().when(this.user.getId()).thenReturn(456l);
+		lenient().when(this.user.getLogin()).thenReturn("login");
+		lenient().when(this.user.getPerson()).thenReturn(this.person);
+
+		this.userDetails = mock(UserDetails.class);
+		lenient().when(this.userDetails.getUsername()).thenReturn("login");
+		this.authenticationContext = mock(AuthenticationContext.class);
+		lenient().when(this.authenticationContext.getAuthenticatedUser(UserDetails.class)).thenReturn(Optional.of(this.userDetails));
+		this.userRepository = mock(UserRepository.class);
+		lenient().when(this.userRepository.findByLogin(anyString())).thenReturn(Optional.of(this.user));
+
+		this.sessionAttributes = new HashMap<>();
+		this.session = mock(VaadinSession.class);
+		lenient().when(this.session.hasLock()).thenReturn(true);
+		lenient().when(this.session.getAttribute(anyString())).thenAnswer(it -> this.sessionAttributes.get(it.getArgument(0)));
+		lenient().doAnswer(it -> this.sessionAttributes.put(it.getArgument(0), it.getArgument(1)))
+			.when(this.session).setAttribute(anyString(), any());
+		VaadinSession.setCurrent(this.session);
+
+		this.test = new AuthenticatedUser(this.authenticationContext, this.userRepository);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		VaadinSession.setCurrent(null);
+	}
+
+	@Test
+	public void get_cacheHit() {
+		assertSame(this.user, this.test.get().get());
+		assertSame(this.user, this.test.get().get());
+		assertSame(this.person, this.test.getPerson().get());
+		verify(this.userRepository, times(1)).findByLogin(eq("login"));
+	}
+
+	@Test
+	public void get_noSessionLock() {
+		when(this.session.hasLock()).thenReturn(false);
+		this.test.get();
+		this.test.get();
+		verify(this.userRepository, times(2)).findByLogin(eq("login"));
+	}
+
+	@Test
+	public void get_loginChanged() {
+		this.test.get();
+		when(this.userDetails.getUsername()).thenReturn("other");
+		this.test.get();
+		verify(this.userRepository).findByLogin(eq("login"));
+		verify(this.userRepository).findByLogin(eq("other"));
+	}
+
+	@Test
+	public void get_notAuthenticated() {
+		when(this.authenticationContext.getAuthenticatedUser(UserDetails.class)).thenReturn(Optional.empty());
+		assertFalse(this.test.get().isPresent());
+		verify(this.userRepository, times(0)).findByLogin(anyString());
+	}
+
+	@Test
+	public void invalidate_versionMismatch() {
+		this.test.get();
+		this.test.invalidate();
+		this.test.get();
+		this.test.get();
+		verify(this.userRepository, times(2)).findByLogin(eq("login"));
+	}
+
+	@Test
+	public void invalidatePerson_ownPerson() {
+		this.test.get();
+		this.test.invalidatePerson(123l);
+		this.test.get();
+		verify(this.userRepository, times(2)).findByLogin(eq("login"));
+	}
+
+	@Test
+	public void invalidatePerson_otherPerson() {
+		this.test.get();
+		this.test.invalidatePerson(789l);
+		this.test.get();
+		verify(this.userRepository, times(1)).findByLogin(eq("login"));
+	}
+
+	@Test
+	public void invalidateUser_ownUser() {
+		this.test.get();
+		this.test.invalidateUser(this.user);
+		this.test.get();
+		verify(this.userRepository, times(2)).findByLogin(eq("login"));
+	}
+
+	@Test
+	public void invalidateUser_otherUser() {
+		this.test.get();
+		final var other = mock(User.class);
+		when(other.getId()).thenReturn(789l);
+		when(other.getLogin()).thenReturn("other");
+		this.test.invalidateUser(other);
+		this.test.get();
+		verify(this.userRepository, times(1)).findByLogin(eq("login"));
+	}
+
+	@Test
+	public void invalidateUser_newUserForLogin() {
+		when(this.userRepository.findByLogin(anyString())).thenReturn(Optional.empty());
+		assertFalse(this.test.get().isPresent());
+		final var created = mock(User.class);
+		when(created.getId()).thenReturn(789l);
+		when(created.getLogin()).thenReturn("login");
+		this.test.invalidateUser(created);
+		this.test.get();
+		verify(this.userRepository, times(2)).findByLogin(eq("login"));
+	}
+
+	@Test
+	public void getCacheHitCount_getCacheMissCount() {
+		this.test.get();
+		this.test.get();
+		this.test.get();
+		this.test.invalidatePerson(123l);
+		this.test.get();
+		assertEquals(2l, this.test.getCacheHitCount());
+		assertEquals(2l, this.test.getCacheMissCount());
+	}
+
+	@Test
+	public void invalidate_pruneInvalidations() {
+		this.test.invalidatePerson(789l);
+		this.test.invalidateUser(this.user);
+		assertEquals(3, this.test.getInvalidationCount());
+		this.test.invalidate();
+		assertEquals(0, this.test.getInvalidationCount());
+	}
+
+	@Test
+	public void invalidatePerson_tooManyInvalidations() {
+		this.test.get();
+		for (var i = 0; i < 2000; ++i) {
+			this.test.invalidatePerson(1000l + i);
+		}
+		assertTrue(this.test.getInvalidationCount() <= 1024);
+		// The global invalidation that was forced for pruning discards the cached user
+		this.test.get();
+		this.test.get();
+		verify(this.userRepository, times(2)).findByLogin(eq("login"));
+	}
+
+	@Test
+	public void bindTo() {
+		final var registry = new SimpleMeterRegistry();
+		this.test.bindTo(registry);
+		this.test.get();
+		this.test.get();
+		this.test.invalidatePerson(789l);
+		assertEquals(1., registry.get(AuthenticatedUser.CACHE_METRIC).tag("result", "hit").functionCounter().count());
+		assertEquals(1., registry.get(AuthenticatedUser.CACHE_METRIC).tag("result", "miss").functionCounter().count());
+		assertEquals(1., registry.get(AuthenticatedUser.INVALIDATION_METRIC).gauge().value());
+	}
+
+	@Test
+	public void changeListener() {
+		final var registry = mock(EventListenerRegistry.class);
+		final var serviceRegistry = mock(ServiceRegistryImplementor.class);
+		when(serviceRegistry.getService(EventListenerRegistry.class)).thenReturn(registry);
+		final var implementor = mock(SessionFactoryImplementor.class);
+		when(implementor.getServiceRegistry()).thenReturn(serviceRegistry);
+		final var sessionFactory = mock(SessionFactory.class);
+		when(sessionFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(implementor);
+		this.test = new AuthenticatedUser(this.authenticationContext, this.userRepository, sessionFactory);
+		final var captor = ArgumentCaptor.forClass(PostCommitUpdateEventListener.class);
+		verify(registry).appendListeners(eq(EventType.POST_COMMIT_UPDATE), captor.capture());
+		final var listener = captor.getValue();
+
+		this.test.get();
+
+		final var otherPerson = mock(Person.class);
+		when(otherPerson.getId()).thenReturn(789l);
+		final var otherEvent = mock(PostUpdateEvent.class);
+		when(otherEvent.getEntity()).thenReturn(otherPerson);
+		listener.onPostUpdate(otherEvent);
+		this.test.get();
+		verify(this.userRepository, times(1)).findByLogin(eq("login"));
+
+		final var ownEvent = mock(PostUpdateEvent.class);
+		when(ownEvent.getEntity()).thenReturn(this.person);
+		listener.onPostUpdate(ownEvent);
+		this.test.get();
+		verify(this.userRepository, times(2)).findByLogin(eq("login"));
+	}
+
+}
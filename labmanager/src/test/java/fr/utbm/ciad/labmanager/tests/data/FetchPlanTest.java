@@ -0,0 +1,159 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.utbm.ciad.labmanager.data.FetchPlan;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.data.project.Project;
+import fr.utbm.ciad.labmanager.data.project.ProjectMember;
+import fr.utbm.ciad.labmanager.data.project.ProjectRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/** Tests of {@link FetchPlan} on an embedded Derby database.
+ * The tests check that the number of SQL statements that are needed for loading a page of
+ * entities and their associations does not depend on the size of the page.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@SuppressWarnings("all")
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.DerbyDialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.DERBY, replace = Replace.ANY)
+public class FetchPlanTest {
+
+	private static final FetchPlan<Project> PLAN = FetchPlan.of(Project.class, "budgets", "coordinator", "participants.person");
+
+	private static final int PROJECTS = 12;
+
+	private static final int PARTICIPANTS = 3;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	public void setUp() {
+		final var organizations = new ArrayList<ResearchOrganization>();
+		for (var i = 0; i < 4; ++i) {
+			final var organization = new ResearchOrganization();
+			organization.setAcronym("O" + i);
+			organization.setName("Organization " + i);
+			this.entityManager.persist(organization);
+			organizations.add(organization);
+		}
+		for (var i = 0; i < PROJECTS; ++i) {
+			final var project = new Project();
+			project.setAcronym("P" + i);
+			project.setScientificTitle("Project " + i);
+			project.setCoordinator(organizations.get(i % organizations.size()));
+			final var participants = new ArrayList<ProjectMember>();
+			for (var j = 0; j < PARTICIPANTS; ++j) {
+				final var person = new Person();
+				person.setFirstName("First" + i + "_" + j);
+				person.setLastName("Last" + i + "_" + j);
+				this.entityManager.persist(person);
+				final var member = new ProjectMember();
+				member.setPerson(person);
+				participants.add(member);
+			}
+			project.setParticipants(participants);
+			this.entityManager.persist(project);
+		}
+		this.entityManager.flush();
+		this.entityManager.clear();
+		this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	private long loadPage(int size) {
+		this.entityManager.clear();
+		this.statistics.clear();
+		final var page = this.projectRepository.findAll(PageRequest.of(0, size, Sort.by("id")));
+		PLAN.apply(this.entityManager.getEntityManager().unwrap(Session.class), page.getContent());
+		final var count = this.statistics.getPrepareStatementCount();
+		// Rendering the grid must not issue any other statement
+		for (final var project : page) {
+			assertTrue(Hibernate.isInitialized(project.getBudgets()));
+			assertTrue(Hibernate.isInitialized(project.getCoordinator()));
+			assertTrue(Hibernate.isInitialized(project.getParticipants()));
+			assertEquals(PARTICIPANTS, project.getParticipants().size());
+			for (final var participant : project.getParticipants()) {
+				assertTrue(Hibernate.isInitialized(participant.getPerson()));
+				participant.getPerson().getFullName();
+			}
+			project.getCoordinator().getAcronym();
+		}
+		assertEquals(count, this.statistics.getPrepareStatementCount());
+		assertEquals(size, page.getNumberOfElements());
+		return count;
+	}
+
+	@Test
+	public void apply_constantStatementCount() {
+		final var small = loadPage(3);
+		final var large = loadPage(PROJECTS);
+		assertEquals(small, large);
+	}
+
+	@Test
+	public void apply_emptyPlan() {
+		final var projects = this.projectRepository.findAll();
+		this.statistics.clear();
+		FetchPlan.of(Project.class).apply(this.entityManager.getEntityManager().unwrap(Session.class), projects);
+		assertEquals(0, this.statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	public void with() {
+		final var plan = FetchPlan.of(Project.class, "budgets").with("coordinator");
+		assertEquals(List.of("budgets", "coordinator"), plan.getPaths());
+		assertEquals(Project.class, plan.getType());
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Predicate;
+
+import fr.utbm.ciad.labmanager.data.QualityAnnualIndicatorIndex;
+import fr.utbm.ciad.labmanager.data.journal.JournalQualityAnnualIndicators;
+import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link QualityAnnualIndicatorIndex}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class QualityAnnualIndicatorIndexTest {
+
+	private static final List<Predicate<JournalQualityAnnualIndicators>> SELECTORS = Arrays.asList(
+			it -> it.getScimagoQIndex() != null,
+			it -> it.getImpactFactor() > 0f);
+
+	private JournalQualityAnnualIndicators i2010;
+
+	private JournalQualityAnnualIndicators i2015;
+
+	private JournalQualityAnnualIndicators i2020;
+
+	private QualityAnnualIndicatorIndex<JournalQualityAnnualIndicators> test;
+
+	@BeforeEach
+	public void setUp() {
+		this.i2010 = new JournalQualityAnnualIndicators(2010, QuartileRanking.Q2, null, 1.5f);
+		this.i2015 = new JournalQualityAnnualIndicators(2015, null, null, 2.5f);
+		this.i2020 = new JournalQualityAnnualIndicators(2020, QuartileRanking.Q1, null, 0f);
+		// Not sorted map, as the maps that are loaded from the database
+		final var indicators = new HashMap<Integer, JournalQualityAnnualIndicators>();
+		indicators.put(Integer.valueOf(2020), this.i2020);
+		indicators.put(Integer.valueOf(2010), this.i2010);
+		indicators.put(Integer.valueOf(2015), this.i2015);
+		this.test = QualityAnnualIndicatorIndex.build(indicators, SELECTORS);
+	}
+
+	@Test
+	public void size() {
+		assertEquals(3, this.test.size());
+	}
+
+	@Test
+	public void floor_beforeFirstYear() {
+		assertNull(this.test.floor(0, 2009));
+		assertNull(this.test.floor(1, 2009));
+	}
+
+	@Test
+	public void floor_knownYear() {
+		assertSame(this.i2010, this.test.floor(0, 2010));
+		assertSame(this.i2010, this.test.floor(0, 2015));
+		assertSame(this.i2020, this.test.floor(0, 2020));
+		assertSame(this.i2010, this.test.floor(1, 2010));
+		assertSame(this.i2015, this.test.floor(1, 2015));
+		assertSame(this.i2015, this.test.floor(1, 2020));
+	}
+
+	@Test
+	public void floor_betweenYears() {
+		assertSame(this.i2010, this.test.floor(0, 2012));
+		assertSame(this.i2010, this.test.floor(0, 2019));
+		assertSame(this.i2010, this.test.floor(1, 2012));
+		assertSame(this.i2015, this.test.floor(1, 2019));
+	}
+
+	@Test
+	public void floor_afterLastYear() {
+		assertSame(this.i2020, this.test.floor(0, 2050));
+		assertSame(this.i2015, this.test.floor(1, 2050));
+	}
+
+	@Test
+	public void floor_empty() {
+		final var index = QualityAnnualIndicatorIndex.build(Collections.<Integer, JournalQualityAnnualIndicators>emptyMap(), SELECTORS);
+		assertEquals(0, index.size());
+		assertNull(index.floor(0, 2020));
+		assertNull(index.floor(1, 2020));
+	}
+
+	@Test
+	public void floor_null() {
+		final var index = QualityAnnualIndicatorIndex.<JournalQualityAnnualIndicators>build(null, SELECTORS);
+		assertEquals(0, index.size());
+		assertNull(index.floor(0, 2020));
+	}
+
+}
@@ -0,0 +1,218 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import fr.utbm.ciad.labmanager.data.conference.Conference;
+import fr.utbm.ciad.labmanager.data.journal.Journal;
+import fr.utbm.ciad.labmanager.configuration.Constants;
+import fr.utbm.ciad.labmanager.data.journal.JournalQualityAnnualIndicatorsRepository;
+import fr.utbm.ciad.labmanager.data.journal.JournalRepository;
+import fr.utbm.ciad.labmanager.data.member.Membership;
+import fr.utbm.ciad.labmanager.data.member.MembershipRepository;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.data.publication.PublicationRepository;
+import fr.utbm.ciad.labmanager.data.publication.PublicationType;
+import fr.utbm.ciad.labmanager.data.publication.type.ConferencePaper;
+import fr.utbm.ciad.labmanager.data.publication.type.JournalPaperRepository;
+import fr.utbm.ciad.labmanager.services.journal.JournalService;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
+import fr.utbm.ciad.labmanager.utils.io.network.NetConnection;
+import fr.utbm.ciad.labmanager.utils.names.JournalNameAndPublisherComparator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.support.MessageSourceAccessor;
+
+/** Tests of the repository queries that replaced the in-memory filtering of the services.
+ * The tests are run on an embedded Derby database, and they check the number of SQL statements
+ * that are prepared by Hibernate for each query.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@SuppressWarnings("all")
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.DerbyDialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.DERBY, replace = Replace.ANY)
+public class RepositoryQueryPushdownTest {
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PublicationRepository publicationRepository;
+
+	@Autowired
+	private MembershipRepository membershipRepository;
+
+	@Autowired
+	private JournalRepository journalRepository;
+
+	private Conference conference;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	public void setUp() {
+		this.conference = new Conference();
+		this.conference.setAcronym("CONF");
+		this.conference.setName("Conference");
+		this.entityManager.persist(this.conference);
+		final var otherConference = new Conference();
+		otherConference.setAcronym("OTHER");
+		otherConference.setName("Other conference");
+		this.entityManager.persist(otherConference);
+
+		for (var year = 2010; year <= 2024; ++year) {
+			final var paper = new ConferencePaper();
+			paper.setType(PublicationType.INTERNATIONAL_CONFERENCE_PAPER);
+			paper.setTitle("Paper " + year);
+			paper.setPublicationYear(year);
+			paper.setConference(year % 2 == 0 ? this.conference : otherConference);
+			this.entityManager.persist(paper);
+		}
+
+		final var organization = new ResearchOrganization();
+		organization.setAcronym("CIAD");
+		organization.setName("CIAD Laboratory");
+		this.entityManager.persist(organization);
+		for (var i = 0; i < 10; ++i) {
+			final var person = new Person();
+			person.setFirstName("First" + i);
+			person.setLastName("Last" + i);
+			this.entityManager.persist(person);
+			final var membership = new Membership();
+			membership.setPerson(person);
+			membership.setDirectResearchOrganization(organization);
+			membership.setMemberSinceWhen(i == 0 ? null : LocalDate.of(2000 + i * 2, 1, 1));
+			membership.setMemberToWhen(i == 9 ? null : LocalDate.of(2001 + i * 2, 12, 31));
+			this.entityManager.persist(membership);
+		}
+
+		for (var i = 0; i < 20; ++i) {
+			final var journal = new Journal();
+			journal.setJournalName("Journal " + i);
+			journal.setPublisher("Publisher " + (i % 3));
+			this.entityManager.persist(journal);
+		}
+
+		this.entityManager.flush();
+		this.entityManager.clear();
+		this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		this.statistics.clear();
+	}
+
+	@Test
+	public void findAllByPublicationYearBetween() {
+		final var publications = this.publicationRepository.findAllByPublicationYearBetween(2020, 2024);
+		assertEquals(5, publications.size());
+		publications.forEach(it -> it.getAuthorships().size());
+		assertEquals(1, this.statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	public void findAllByConferenceId() {
+		final var publications = this.publicationRepository.findAllByConferenceId(this.conference.getId());
+		assertEquals(8, publications.size());
+		publications.forEach(it -> assertEquals(this.conference.getId(), it.getConference().getId()));
+		assertEquals(1, this.statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	public void findAllActiveIn() {
+		final var memberships = this.membershipRepository.findAllActiveIn(LocalDate.of(2006, 6, 1), LocalDate.of(2009, 6, 1));
+		assertEquals(
+				Set.of("Last3", "Last4"),
+				memberships.stream().map(it -> it.getPerson().getLastName()).collect(Collectors.toSet()));
+	}
+
+	@Test
+	public void findAllActiveIn_openEnded() {
+		final var memberships = this.membershipRepository.findAllActiveIn(LocalDate.of(2030, 1, 1), LocalDate.of(2031, 1, 1));
+		assertEquals(
+				Set.of("Last9"),
+				memberships.stream().map(it -> it.getPerson().getLastName()).collect(Collectors.toSet()));
+	}
+
+	private JournalService createJournalService() {
+		// The journals are similar when their names are equal without considering the case and the spaces
+		final var comparator = mock(JournalNameAndPublisherComparator.class);
+		when(comparator.isSimilar(any(), any(), any(), any())).thenAnswer(it -> {
+			final String name1 = it.getArgument(0);
+			final String name2 = it.getArgument(2);
+			return Boolean.valueOf(name1 != null && name2 != null && name1.trim().equalsIgnoreCase(name2.trim()));
+		});
+		return new JournalService(this.journalRepository, mock(JournalQualityAnnualIndicatorsRepository.class),
+				mock(JournalPaperRepository.class), null, null, null, mock(NetConnection.class), comparator,
+				mock(EntityKeywordIndexService.class), mock(MessageSourceAccessor.class), mock(Constants.class),
+				this.entityManagerFactory.unwrap(SessionFactory.class));
+	}
+
+	@Test
+	public void getJournalBySimilarNameAndSimilarPublisher_exactName() {
+		final var journal = createJournalService().getJournalBySimilarNameAndSimilarPublisher("Journal 7", "Publisher 1");
+		assertNotNull(journal);
+		assertEquals("Journal 7", journal.getJournalName());
+		// Only the query on the indexed name column
+		assertEquals(1, this.statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	public void getJournalBySimilarNameAndSimilarPublisher_similarName() {
+		final var journal = createJournalService().getJournalBySimilarNameAndSimilarPublisher(" journal 7 ", "Publisher 1");
+		assertNotNull(journal);
+		assertEquals("Journal 7", journal.getJournalName());
+		// The query on the name, the projection of the names and publishers, and the loading of the matching journal
+		assertEquals(3, this.statistics.getPrepareStatementCount());
+		assertEquals(1, this.statistics.getEntityLoadCount());
+	}
+
+	@Test
+	public void findAllIdentifiersNamesAndPublishers() {
+		final var rows = this.journalRepository.findAllIdentifiersNamesAndPublishers();
+		assertEquals(20, rows.size());
+		assertEquals(3, rows.get(0).length);
+		assertEquals(1, this.statistics.getPrepareStatementCount());
+	}
+
+}
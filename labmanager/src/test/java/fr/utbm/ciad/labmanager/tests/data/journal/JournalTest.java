@@ -27,6 +27,7 @@ import static org.mockito.Mockito.mock;
 
 import java.net.URL;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 
 import fr.utbm.ciad.labmanager.data.journal.Journal;
@@ -378,6 +379,22 @@ public class JournalTest {
 		assertSame(QuartileRanking.Q3, this.test.getScimagoQIndexByYear(4567));
 	}
 
+	@Test
+	public void getScimagoQIndexByYear_afterIndicatorChanges() {
+		assertNotNull(this.test.setScimagoQIndexByYear(1234, QuartileRanking.Q3));
+		assertSame(QuartileRanking.Q3, this.test.getScimagoQIndexByYear(4567));
+
+		final var indicators = new TreeMap<Integer, JournalQualityAnnualIndicators>();
+		indicators.put(Integer.valueOf(2000), new JournalQualityAnnualIndicators(2000, QuartileRanking.Q2, null, 0f));
+		this.test.setQualityIndicators(indicators);
+		assertSame(QuartileRanking.NR, this.test.getScimagoQIndexByYear(1234));
+		assertSame(QuartileRanking.Q2, this.test.getScimagoQIndexByYear(4567));
+
+		this.test.getQualityIndicators().put(Integer.valueOf(3000), new JournalQualityAnnualIndicators(3000, QuartileRanking.Q4, null, 0f));
+		assertSame(QuartileRanking.Q2, this.test.getScimagoQIndexByYear(2500));
+		assertSame(QuartileRanking.Q4, this.test.getScimagoQIndexByYear(4567));
+	}
+
 	@Test
 	public void hasScimagoQIndexForYear() {
 		assertFalse(this.test.hasScimagoQIndexForYear(512));
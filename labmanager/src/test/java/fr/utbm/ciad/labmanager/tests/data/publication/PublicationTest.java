@@ -34,8 +34,10 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.publication.AuthorListFormat;
 import fr.utbm.ciad.labmanager.data.publication.Authorship;
 import fr.utbm.ciad.labmanager.data.publication.Publication;
 import fr.utbm.ciad.labmanager.data.publication.PublicationCategory;
@@ -536,6 +538,56 @@ public class PublicationTest {
 		assertTrue(this.test.getAuthors().contains(as[2]));
 	}
 
+	@Test
+	public void getAuthorships_sortedAndCached() {
+		Authorship[] as = createAuthorships();
+		List<Authorship> list = this.test.getAuthorships();
+		assertEquals(Arrays.asList(as[1], as[0], as[2]), list);
+		assertSame(list, this.test.getAuthorships());
+		assertThrows(UnsupportedOperationException.class, () -> list.add(as[0]));
+	}
+
+	@Test
+	public void getAuthorships_rawChanges() {
+		Authorship[] as = createAuthorships();
+		this.test.getAuthorships();
+
+		when(as[0].getAuthorRank()).thenReturn(3);
+		assertEquals(Arrays.asList(as[1], as[2], as[0]), this.test.getAuthorships());
+
+		this.test.getAuthorshipsRaw().remove(as[2]);
+		assertEquals(Arrays.asList(as[1], as[0]), this.test.getAuthorships());
+		assertEquals(Arrays.asList(as[1].getPerson(), as[0].getPerson()), this.test.getAuthors());
+	}
+
+	@Test
+	public void getFormattedAuthors() {
+		Person[] ps = createAuthors();
+		when(ps[0].getLastName()).thenReturn("L0");
+		when(ps[1].getLastName()).thenReturn("L1");
+		when(ps[2].getLastName()).thenReturn("L2");
+		AuthorListFormat format = authors -> authors.stream().map(it -> it.getLastName()).collect(Collectors.joining(";"));
+
+		assertEquals("L1;L0;L2", this.test.getFormattedAuthors(format));
+
+		this.test.deleteAuthorship(this.test.getAuthorships().get(0));
+		assertEquals("L0;L2", this.test.getFormattedAuthors(format));
+	}
+
+	@Test
+	public void getFormattedAuthors_renamedAuthor() {
+		Person[] ps = createAuthors();
+		when(ps[0].getLastName()).thenReturn("L0");
+		when(ps[1].getLastName()).thenReturn("L1");
+		when(ps[2].getLastName()).thenReturn("L2");
+		AuthorListFormat format = authors -> authors.stream().map(it -> it.getLastName()).collect(Collectors.joining(";"));
+		assertEquals("L1;L0;L2", this.test.getFormattedAuthors(format));
+
+		// The authorships are unchanged, but the name of the person is changed
+		when(ps[0].getLastName()).thenReturn("N0");
+		assertEquals("L1;N0;L2", this.test.getFormattedAuthors(format));
+	}
+
 	@Test
 	public void deleteAuthorship() {
 		Authorship[] as = createAuthorships();
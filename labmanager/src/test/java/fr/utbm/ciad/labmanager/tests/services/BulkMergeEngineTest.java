@@ -0,0 +1,376 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import fr.utbm.ciad.labmanager.components.security.AuthenticatedUser;
+import fr.utbm.ciad.labmanager.configuration.Constants;
+import fr.utbm.ciad.labmanager.data.jury.JuryMembership;
+import fr.utbm.ciad.labmanager.data.member.Membership;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.data.project.Project;
+import fr.utbm.ciad.labmanager.data.publication.Authorship;
+import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.data.publication.PublicationType;
+import fr.utbm.ciad.labmanager.data.publication.type.ConferencePaper;
+import fr.utbm.ciad.labmanager.services.BulkMergeEngine;
+import fr.utbm.ciad.labmanager.services.indicator.IndicatorValueCache;
+import fr.utbm.ciad.labmanager.services.member.PersonService;
+import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationHierarchy;
+import fr.utbm.ciad.labmanager.services.publication.PublicationService;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
+import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Tests for {@link BulkMergeEngine} on an embedded Derby database.
+ * The engine commits its own transactions; the test data are therefore committed and the
+ * database is discarded after the tests.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@SuppressWarnings("all")
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.DerbyDialect"})
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.DERBY, replace = Replace.ANY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+public class BulkMergeEngineTest {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private SessionFactory sessionFactory;
+
+	private IndicatorValueCache indicatorCache;
+
+	private EntityKeywordIndexService keywordIndex;
+
+	private PersonService personService;
+
+	private PublicationService publicationService;
+
+	private ResearchOrganizationHierarchy organizationHierarchy;
+
+	private AuthenticatedUser authenticatedUser;
+
+	private DownloadableFileManager fileManager;
+
+	private BulkMergeEngine test;
+
+	@BeforeEach
+	public void setUp() {
+		this.sessionFactory = this.entityManagerFactory.unwrap(SessionFactory.class);
+		this.indicatorCache = mock(IndicatorValueCache.class);
+		this.keywordIndex = mock(EntityKeywordIndexService.class);
+		this.personService = mock(PersonService.class);
+		this.publicationService = mock(PublicationService.class);
+		this.organizationHierarchy = mock(ResearchOrganizationHierarchy.class);
+		this.authenticatedUser = mock(AuthenticatedUser.class);
+		this.fileManager = mock(DownloadableFileManager.class);
+		this.test = new BulkMergeEngine(this.indicatorCache, this.keywordIndex, this.personService, this.publicationService,
+				this.organizationHierarchy, this.authenticatedUser, this.fileManager,
+				mock(MessageSourceAccessor.class), mock(Constants.class), this.sessionFactory);
+	}
+
+	private <T> T inTransaction(Function<Session, T> code) {
+		try (final var session = this.sessionFactory.openSession()) {
+			final var transaction = session.beginTransaction();
+			final var result = code.apply(session);
+			transaction.commit();
+			return result;
+		}
+	}
+
+	private static Person person(Session session, String name) {
+		final var person = new Person();
+		person.setFirstName(name);
+		person.setLastName(name);
+		session.persist(person);
+		return person;
+	}
+
+	private static Publication publication(Session session, String title, Person... authors) {
+		final var publication = new ConferencePaper();
+		publication.setType(PublicationType.INTERNATIONAL_CONFERENCE_PAPER);
+		publication.setTitle(title);
+		publication.setPublicationYear(2024);
+		session.persist(publication);
+		for (var rank = 0; rank < authors.length; ++rank) {
+			final var authorship = new Authorship();
+			authorship.setPublication(publication);
+			authorship.setPerson(authors[rank]);
+			authorship.setAuthorRank(rank);
+			session.persist(authorship);
+		}
+		return publication;
+	}
+
+	private static ResearchOrganization organization(Session session, String acronym) {
+		final var organization = new ResearchOrganization();
+		organization.setAcronym(acronym);
+		organization.setName(acronym);
+		session.persist(organization);
+		return organization;
+	}
+
+	private List<Long> getAuthors(Publication publication) {
+		return inTransaction(session -> session.createSelectionQuery(
+				"SELECT a.person.id FROM Authorship a WHERE a.publication.id = :id ORDER BY a.authorRank", Long.class)
+				.setParameter("id", Long.valueOf(publication.getId()))
+				.getResultList());
+	}
+
+	private List<Integer> getRanks(Publication publication) {
+		return inTransaction(session -> session.createSelectionQuery(
+				"SELECT a.authorRank FROM Authorship a WHERE a.publication.id = :id ORDER BY a.authorRank", Integer.class)
+				.setParameter("id", Long.valueOf(publication.getId()))
+				.getResultList());
+	}
+
+	private <T> T find(Class<T> type, long id) {
+		return inTransaction(session -> session.get(type, Long.valueOf(id)));
+	}
+
+	private static List<Long> ids(Person... persons) {
+		return Arrays.stream(persons).map(it -> Long.valueOf(it.getId())).collect(Collectors.toList());
+	}
+
+	@Test
+	public void mergePersons() throws Exception {
+		final var persons = inTransaction(session -> {
+			final var list = new ArrayList<Person>();
+			for (final var name : List.of("Target", "Source1", "Source2", "Other")) {
+				list.add(person(session, name));
+			}
+			return list;
+		});
+		final var target = persons.get(0);
+		final var source1 = persons.get(1);
+		final var source2 = persons.get(2);
+		final var other = persons.get(3);
+		final var publications = inTransaction(session -> List.of(
+				publication(session, "P1", source1, other),
+				publication(session, "P2", target, source2, other),
+				publication(session, "P3", source1, source2)));
+		final var organization = inTransaction(session -> organization(session, "ORG"));
+		final var membership = inTransaction(session -> {
+			final var m = new Membership();
+			m.setPerson(session.get(Person.class, Long.valueOf(source1.getId())));
+			m.setDirectResearchOrganization(session.get(ResearchOrganization.class, Long.valueOf(organization.getId())));
+			session.persist(m);
+			return m;
+		});
+		final var jury = inTransaction(session -> {
+			final var j = new JuryMembership();
+			j.setPerson(session.get(Person.class, Long.valueOf(other.getId())));
+			j.setPromoters(new ArrayList<>(List.of(
+					session.get(Person.class, Long.valueOf(source1.getId())),
+					session.get(Person.class, Long.valueOf(other.getId())),
+					session.get(Person.class, Long.valueOf(source2.getId())))));
+			session.persist(j);
+			return j;
+		});
+
+		final var report = this.test.mergePersons(Map.of(Long.valueOf(target.getId()), ids(source1, source2, target)));
+
+		assertEquals(1, report.getMergedGroups());
+		assertEquals(2, report.getRemovedEntities());
+		assertEquals(2, report.getAffectedRows("Authorship.person"));
+		assertEquals(1, report.getAffectedRows("Membership.person"));
+		assertEquals(2, report.getAffectedRows("JuryMembership.promoters"));
+		assertEquals(5, report.getTotalAffectedRows());
+
+		assertNull(find(Person.class, source1.getId()));
+		assertNull(find(Person.class, source2.getId()));
+		assertNotNull(find(Person.class, target.getId()));
+		assertNotNull(find(Person.class, other.getId()));
+
+		assertEquals(ids(target, other), getAuthors(publications.get(0)));
+		assertEquals(List.of(0, 1), getRanks(publications.get(0)));
+		// The authorship of the second source is removed because the target is already an author
+		assertEquals(ids(target, other), getAuthors(publications.get(1)));
+		assertEquals(List.of(0, 1), getRanks(publications.get(1)));
+		assertEquals(ids(target), getAuthors(publications.get(2)));
+		assertEquals(List.of(0), getRanks(publications.get(2)));
+
+		assertEquals(target.getId(), (long) inTransaction(session -> session.get(Membership.class, Long.valueOf(membership.getId())).getPerson().getId()));
+		assertEquals(ids(target, other), inTransaction(session -> session.get(JuryMembership.class, Long.valueOf(jury.getId())).getPromoters()
+				.stream().map(it -> Long.valueOf(it.getId())).collect(Collectors.toList())));
+
+		verify(this.indicatorCache).invalidate(any());
+		verify(this.keywordIndex, times(2)).remove(any());
+		verify(this.personService).resetNameIndex();
+		verify(this.publicationService).resetPublicationCountMatrices();
+		verify(this.authenticatedUser).invalidatePerson(target.getId());
+		verify(this.authenticatedUser).invalidatePerson(source1.getId());
+		verify(this.authenticatedUser).invalidatePerson(source2.getId());
+		verify(this.authenticatedUser, never()).invalidatePerson(other.getId());
+		verify(this.authenticatedUser, never()).invalidate();
+	}
+
+	@Test
+	public void mergePersons_chainedGroups() throws Exception {
+		final var persons = inTransaction(session -> List.of(person(session, "A"), person(session, "B"), person(session, "C")));
+		final var a = persons.get(0);
+		final var b = persons.get(1);
+		final var c = persons.get(2);
+		final var publication = inTransaction(session -> publication(session, "P", b));
+
+		assertThrows(IllegalArgumentException.class, () -> this.test.mergePersons(Map.of(
+				Long.valueOf(a.getId()), ids(b),
+				Long.valueOf(b.getId()), ids(c))));
+
+		assertNotNull(find(Person.class, b.getId()));
+		assertNotNull(find(Person.class, c.getId()));
+		assertEquals(ids(b), getAuthors(publication));
+		verifyNoInteractions(this.indicatorCache, this.keywordIndex, this.personService, this.authenticatedUser);
+	}
+
+	@Test
+	public void mergePersons_overlappingGroups() throws Exception {
+		final var persons = inTransaction(session -> List.of(person(session, "A"), person(session, "B"), person(session, "C")));
+		final var a = persons.get(0);
+		final var b = persons.get(1);
+		final var c = persons.get(2);
+
+		assertThrows(IllegalArgumentException.class, () -> this.test.mergePersons(Map.of(
+				Long.valueOf(a.getId()), ids(c),
+				Long.valueOf(b.getId()), ids(c))));
+
+		assertNotNull(find(Person.class, c.getId()));
+	}
+
+	@Test
+	public void mergePersons_missingPerson() throws Exception {
+		final var target = inTransaction(session -> person(session, "A"));
+		final var source = inTransaction(session -> person(session, "B"));
+
+		assertThrows(IllegalArgumentException.class, () -> this.test.mergePersons(Map.of(
+				Long.valueOf(target.getId()), List.of(Long.valueOf(source.getId()), Long.valueOf(Long.MAX_VALUE)))));
+
+		assertNotNull(find(Person.class, source.getId()));
+	}
+
+	@Test
+	public void mergeOrganizations() throws Exception {
+		final var organizations = inTransaction(session -> {
+			final var list = new ArrayList<ResearchOrganization>();
+			for (final var acronym : List.of("TARGET", "SOURCE", "SUB", "SUPER")) {
+				list.add(organization(session, acronym));
+			}
+			final var source = list.get(1);
+			source.getSubOrganizations().add(list.get(2));
+			list.get(2).getSuperOrganizations().add(source);
+			list.get(3).getSubOrganizations().add(source);
+			source.getSuperOrganizations().add(list.get(3));
+			return list;
+		});
+		final var target = organizations.get(0);
+		final var source = organizations.get(1);
+		final var sub = organizations.get(2);
+		final var sup = organizations.get(3);
+		final var person = inTransaction(session -> person(session, "Member"));
+		final var membership = inTransaction(session -> {
+			final var m = new Membership();
+			m.setPerson(session.get(Person.class, Long.valueOf(person.getId())));
+			m.setDirectResearchOrganization(session.get(ResearchOrganization.class, Long.valueOf(source.getId())));
+			session.persist(m);
+			return m;
+		});
+		final var project = inTransaction(session -> {
+			final var p = new Project();
+			p.setAcronym("PRJ");
+			p.setCoordinator(session.get(ResearchOrganization.class, Long.valueOf(source.getId())));
+			p.setOtherPartners(Set.of(
+					session.get(ResearchOrganization.class, Long.valueOf(source.getId())),
+					session.get(ResearchOrganization.class, Long.valueOf(target.getId()))));
+			session.persist(p);
+			return p;
+		});
+
+		final var report = this.test.mergeOrganizations(Map.of(Long.valueOf(target.getId()), List.of(Long.valueOf(source.getId()))));
+
+		assertEquals(1, report.getMergedGroups());
+		assertEquals(1, report.getRemovedEntities());
+		assertEquals(1, report.getAffectedRows("Membership.researchOrganization"));
+		assertEquals(1, report.getAffectedRows("Project.coordinator"));
+		assertEquals(1, report.getAffectedRows("Project.otherPartners"));
+
+		assertNull(find(ResearchOrganization.class, source.getId()));
+		assertEquals(target.getId(), (long) inTransaction(session -> session.get(Membership.class, Long.valueOf(membership.getId()))
+				.getDirectResearchOrganization().getId()));
+		inTransaction(session -> {
+			final var p = session.get(Project.class, Long.valueOf(project.getId()));
+			assertEquals(target.getId(), p.getCoordinator().getId());
+			assertEquals(Set.of(Long.valueOf(target.getId())),
+					p.getOtherPartnersRaw().stream().map(it -> Long.valueOf(it.getId())).collect(Collectors.toSet()));
+			// The suborganization is kept and moved to the target
+			final var newTarget = session.get(ResearchOrganization.class, Long.valueOf(target.getId()));
+			assertEquals(Set.of(Long.valueOf(sub.getId())),
+					newTarget.getSubOrganizations().stream().map(it -> Long.valueOf(it.getId())).collect(Collectors.toSet()));
+			final var newSuper = session.get(ResearchOrganization.class, Long.valueOf(sup.getId()));
+			assertEquals(Set.of(Long.valueOf(target.getId())),
+					newSuper.getSubOrganizations().stream().map(it -> Long.valueOf(it.getId())).collect(Collectors.toSet()));
+			return null;
+		});
+
+		verify(this.indicatorCache).invalidate(any());
+		verify(this.keywordIndex).remove(any());
+		verify(this.organizationHierarchy).invalidate();
+		verify(this.fileManager).deleteOrganizationLogo(source.getId());
+		verify(this.publicationService).resetPublicationCountMatrices();
+		verify(this.authenticatedUser).invalidate();
+		verify(this.personService, never()).resetNameIndex();
+	}
+
+}
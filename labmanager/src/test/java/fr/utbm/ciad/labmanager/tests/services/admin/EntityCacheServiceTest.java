@@ -0,0 +1,174 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.services.admin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.List;
+import javax.cache.CacheManager;
+import javax.cache.management.CacheStatisticsMXBean;
+
+import fr.utbm.ciad.labmanager.configuration.Constants;
+import fr.utbm.ciad.labmanager.data.EntityCacheRegions;
+import fr.utbm.ciad.labmanager.services.admin.EntityCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.support.MessageSourceAccessor;
+
+/** Tests for {@link EntityCacheService}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@SuppressWarnings("all")
+@ExtendWith(MockitoExtension.class)
+public class EntityCacheServiceTest {
+
+	private SessionFactory sessionFactory;
+
+	private Cache cache;
+
+	private CacheManager cacheManager;
+
+	private javax.cache.Cache<Object, Object> references;
+
+	private CacheStatisticsMXBean statistics;
+
+	private EntityCacheService test;
+
+	@BeforeEach
+	public void setUp() {
+		this.sessionFactory = mock(SessionFactory.class);
+		this.cache = mock(Cache.class);
+		lenient().when(this.sessionFactory.getCache()).thenReturn(this.cache);
+
+		this.cacheManager = mock(CacheManager.class);
+		lenient().when(this.cacheManager.getURI()).thenReturn(URI.create("classpath:hibernate-caches.conf"));
+		final var regionFactory = mock(JCacheRegionFactory.class);
+		lenient().when(regionFactory.getCacheManager()).thenReturn(this.cacheManager);
+		final var cacheImplementor = mock(CacheImplementor.class);
+		lenient().when(cacheImplementor.getRegionFactory()).thenReturn(regionFactory);
+		final var implementor = mock(SessionFactoryImplementor.class);
+		lenient().when(implementor.getCache()).thenReturn(cacheImplementor);
+		lenient().when(this.sessionFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(implementor);
+
+		final var caffeineCache = mock(com.github.benmanes.caffeine.cache.Cache.class);
+		lenient().when(caffeineCache.estimatedSize()).thenReturn(8l);
+		this.references = mock(javax.cache.Cache.class);
+		lenient().when(this.references.getName()).thenReturn(EntityCacheRegions.REFERENCES);
+		lenient().when(this.references.getCacheManager()).thenReturn(this.cacheManager);
+		lenient().when(this.references.unwrap(com.github.benmanes.caffeine.cache.Cache.class)).thenReturn(caffeineCache);
+		lenient().when(this.cacheManager.getCache(EntityCacheRegions.REFERENCES)).thenReturn(this.references);
+
+		this.statistics = mock(CacheStatisticsMXBean.class);
+		lenient().when(this.statistics.getCacheHits()).thenReturn(30l);
+		lenient().when(this.statistics.getCacheMisses()).thenReturn(10l);
+		lenient().when(this.statistics.getCachePuts()).thenReturn(10l);
+
+		this.test = new EntityCacheService(mock(MessageSourceAccessor.class), new Constants(), this.sessionFactory) {
+			@Override
+			protected CacheStatisticsMXBean getRegionStatistics(javax.cache.Cache<?, ?> cache) {
+				return cache == EntityCacheServiceTest.this.references ? EntityCacheServiceTest.this.statistics : null;
+			}
+		};
+	}
+
+	@Test
+	public void getRegionUsage() {
+		final var usage = this.test.getRegionUsage(EntityCacheRegions.REFERENCES);
+		assertEquals(EntityCacheRegions.REFERENCES, usage.region());
+		assertEquals(30l, usage.hitCount());
+		assertEquals(10l, usage.missCount());
+		assertEquals(10l, usage.putCount());
+		assertEquals(8l, usage.elementCount());
+		assertEquals(.75, usage.getHitRatio(), 1e-9);
+	}
+
+	@Test
+	public void getRegionUsage_notCreated() {
+		assertNull(this.test.getRegionUsage(EntityCacheRegions.RANKINGS));
+	}
+
+	@Test
+	public void getRegionUsage_unknown() {
+		assertNull(this.test.getRegionUsage("xyz"));
+		verify(this.cacheManager, never()).getCache(anyString());
+	}
+
+	@Test
+	public void getRegionUsage_statisticsDisabled() {
+		final var rankings = mock(javax.cache.Cache.class);
+		when(this.cacheManager.getCache(EntityCacheRegions.RANKINGS)).thenReturn(rankings);
+		assertNull(this.test.getRegionUsage(EntityCacheRegions.RANKINGS));
+	}
+
+	@Test
+	public void getRegionUsages() {
+		final var usages = this.test.getRegionUsages();
+		assertEquals(List.of(EntityCacheRegions.REFERENCES), List.copyOf(usages.keySet()));
+	}
+
+	@Test
+	public void bindTo() {
+		final var registry = new SimpleMeterRegistry();
+		this.test.bindTo(registry);
+		assertEquals(8., registry.get("cache.size").tags("cache", EntityCacheRegions.REFERENCES,
+				"cacheManager", EntityCacheService.CACHE_MANAGER_TAG).gauge().value());
+		assertNotNull(registry.find("cache.gets").tag("cache", EntityCacheRegions.REFERENCES).meter());
+		assertNull(registry.find("cache.gets").tag("cache", EntityCacheRegions.RANKINGS).meter());
+	}
+
+	@Test
+	public void evictRegion() {
+		this.test.evictRegion(EntityCacheRegions.RANKINGS);
+		verify(this.cache).evictRegion(EntityCacheRegions.RANKINGS);
+	}
+
+	@Test
+	public void evictRegion_unknown() {
+		assertThrows(IllegalArgumentException.class, () -> this.test.evictRegion("xyz"));
+		verify(this.cache, never()).evictRegion(anyString());
+	}
+
+	@Test
+	public void evictAllRegions() {
+		this.test.evictAllRegions();
+		verify(this.cache).evictAllRegions();
+	}
+
+}
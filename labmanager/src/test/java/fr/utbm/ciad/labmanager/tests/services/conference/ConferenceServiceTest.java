@@ -45,6 +45,7 @@ import fr.utbm.ciad.labmanager.data.conference.ConferenceQualityAnnualIndicators
 import fr.utbm.ciad.labmanager.data.conference.ConferenceQualityAnnualIndicatorsRepository;
 import fr.utbm.ciad.labmanager.data.conference.ConferenceRepository;
 import fr.utbm.ciad.labmanager.services.conference.ConferenceService;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.utils.io.coreportal.CorePortal;
 import fr.utbm.ciad.labmanager.utils.names.ConferenceNameComparator;
 import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
@@ -95,7 +96,7 @@ public class ConferenceServiceTest {
 		lenient().when(session.getTransaction()).thenReturn(mock(Transaction.class));
 		lenient().when(this.sessionFactory.openSession()).thenReturn(session);
 		this.test = new ConferenceService(this.conferenceRepository,
-				this.indicatorRepository, this.core, this.conferenceNameComparator, this.messages, new Constants(), this.sessionFactory);
+				this.indicatorRepository, this.core, this.conferenceNameComparator, mock(EntityKeywordIndexService.class), this.messages, new Constants(), this.sessionFactory);
 	}
 
 	@Test
@@ -0,0 +1,128 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.services.indicator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import fr.utbm.ciad.labmanager.components.indicators.Indicator;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorSnapshot;
+import fr.utbm.ciad.labmanager.configuration.Constants;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.services.indicator.IndicatorEvaluationEngine;
+import fr.utbm.ciad.labmanager.services.indicator.IndicatorSnapshotFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.MessageSourceAccessor;
+
+/** Tests for {@link IndicatorEvaluationEngine}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class IndicatorEvaluationEngineTest {
+
+	private ResearchOrganization organization;
+
+	private IndicatorSnapshot snapshot;
+
+	private IndicatorSnapshotFactory factory;
+
+	private IndicatorEvaluationEngine test;
+
+	private static Indicator indicator(String key, int startYear, int endYear, Number value) {
+		final var indicator = mock(Indicator.class);
+		when(indicator.getKey()).thenReturn(key);
+		when(indicator.getReferencePeriodStart()).thenReturn(LocalDate.of(startYear, 1, 1));
+		when(indicator.getReferencePeriodEnd()).thenReturn(LocalDate.of(endYear, 12, 31));
+		when(indicator.getNumericValue(any())).thenReturn(value);
+		return indicator;
+	}
+
+	@BeforeEach
+	public void setUp() {
+		this.organization = mock(ResearchOrganization.class);
+		when(this.organization.getId()).thenReturn(123l);
+		this.snapshot = new IndicatorSnapshot(this.organization, 2018, 2022,
+				Collections.emptySet(), Collections.emptyList(), Collections.emptySet(),
+				Collections.emptySet(), Collections.emptyList());
+		this.factory = mock(IndicatorSnapshotFactory.class);
+		when(this.factory.createSnapshot(any(), anyInt(), anyInt())).thenReturn(this.snapshot);
+		this.test = new IndicatorEvaluationEngine(this.factory, mock(MessageSourceAccessor.class), mock(Constants.class));
+	}
+
+	@Test
+	public void evaluate_empty() {
+		assertTrue(this.test.evaluate(this.organization, Collections.emptyList()).isEmpty());
+		verify(this.factory, never()).createSnapshot(any(), anyInt(), anyInt());
+	}
+
+	@Test
+	public void evaluate_singleSnapshot() {
+		final var i0 = indicator("i0", 2018, 2022, 12);
+		final var i1 = indicator("i1", 2015, 2019, 34.5);
+		final var i2 = indicator("i2", 2020, 2024, 6l);
+
+		final var evaluations = this.test.evaluate(this.organization, Arrays.asList(i0, i1, i2));
+
+		verify(this.factory, times(1)).createSnapshot(this.organization, 2015, 2024);
+		verify(i0).getNumericValue(this.snapshot);
+		verify(i1).getNumericValue(this.snapshot);
+		verify(i2).getNumericValue(this.snapshot);
+		assertEquals(3, evaluations.size());
+		assertSame(i0, evaluations.get(0).indicator());
+		assertEquals(12, evaluations.get(0).value());
+		assertSame(i1, evaluations.get(1).indicator());
+		assertEquals(34.5, evaluations.get(1).value());
+		assertSame(i2, evaluations.get(2).indicator());
+		assertEquals(6l, evaluations.get(2).value());
+		for (final var evaluation : evaluations) {
+			assertTrue(evaluation.duration() >= 0);
+		}
+	}
+
+	@Test
+	public void evaluate_failure() {
+		final var i0 = indicator("i0", 2018, 2022, 12);
+		final var i1 = indicator("i1", 2018, 2022, 34);
+		when(i1.getNumericValue(any())).thenThrow(new IllegalStateException());
+
+		final var evaluations = this.test.evaluate(this.organization, Arrays.asList(i0, i1));
+
+		assertEquals(2, evaluations.size());
+		assertEquals(12, evaluations.get(0).value());
+		assertSame(i1, evaluations.get(1).indicator());
+		assertNull(evaluations.get(1).value());
+	}
+
+}
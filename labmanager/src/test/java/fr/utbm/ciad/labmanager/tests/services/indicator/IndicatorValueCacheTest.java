@@ -0,0 +1,215 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.services.indicator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import fr.utbm.ciad.labmanager.components.indicators.Indicator;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorDependency;
+import fr.utbm.ciad.labmanager.configuration.Constants;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
+import fr.utbm.ciad.labmanager.services.indicator.IndicatorEvaluationEngine;
+import fr.utbm.ciad.labmanager.services.indicator.IndicatorEvaluationEngine.IndicatorEvaluation;
+import fr.utbm.ciad.labmanager.services.indicator.IndicatorValueCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.MessageSourceAccessor;
+
+/** Tests for {@link IndicatorValueCache}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class IndicatorValueCacheTest {
+
+	private ResearchOrganization organization;
+
+	private Indicator members;
+
+	private Indicator papers;
+
+	private IndicatorEvaluationEngine engine;
+
+	private ResearchOrganizationRepository organizationRepository;
+
+	private IndicatorValueCache test;
+
+	private static Indicator indicator(String key, IndicatorDependency... dependencies) {
+		final var indicator = mock(Indicator.class);
+		when(indicator.getKey()).thenReturn(key);
+		when(indicator.getReferencePeriodStart()).thenReturn(LocalDate.of(2018, 1, 1));
+		when(indicator.getReferencePeriodEnd()).thenReturn(LocalDate.of(2022, 12, 31));
+		when(indicator.getDependencies()).thenReturn(EnumSet.copyOf(Arrays.asList(dependencies)));
+		return indicator;
+	}
+
+	@BeforeEach
+	public void setUp() {
+		this.organization = mock(ResearchOrganization.class);
+		when(this.organization.getId()).thenReturn(123l);
+		this.members = indicator("members", IndicatorDependency.MEMBERSHIPS);
+		this.papers = indicator("papers", IndicatorDependency.MEMBERSHIPS, IndicatorDependency.PUBLICATIONS);
+		this.engine = mock(IndicatorEvaluationEngine.class);
+		this.organizationRepository = mock(ResearchOrganizationRepository.class);
+		when(this.organizationRepository.findById(any())).thenReturn(Optional.of(this.organization));
+		// Negative delay: the values are not computed in the background during the tests
+		this.test = new IndicatorValueCache(Arrays.asList(this.members, this.papers), this.engine, this.organizationRepository,
+				-1l, mock(MessageSourceAccessor.class), mock(Constants.class));
+		this.test.putAll(this.organization, Arrays.asList(
+				new IndicatorEvaluation(this.members, 12, 1l),
+				new IndicatorEvaluation(this.papers, 34, 1l)), this.test.getGeneration());
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.test.close();
+	}
+
+	@Test
+	public void get() {
+		assertEquals(12, this.test.get(this.members, this.organization));
+		assertEquals(34, this.test.get(this.papers, this.organization));
+	}
+
+	@Test
+	public void get_otherOrganization() {
+		final var other = mock(ResearchOrganization.class);
+		when(other.getId()).thenReturn(456l);
+		assertNull(this.test.get(this.members, other));
+	}
+
+	@Test
+	public void get_otherPeriod() {
+		when(this.members.getReferencePeriodEnd()).thenReturn(LocalDate.of(2023, 12, 31));
+		assertNull(this.test.get(this.members, this.organization));
+	}
+
+	@Test
+	public void putAll_noValue() {
+		final var other = indicator("other", IndicatorDependency.PROJECTS);
+		this.test.putAll(this.organization, Arrays.asList(new IndicatorEvaluation(other, null, 1l)), this.test.getGeneration());
+		assertEquals(2, this.test.size());
+	}
+
+	@Test
+	public void putAll_invalidatedDuringEvaluation() {
+		final var stamp = this.test.getGeneration();
+		this.test.invalidate(EnumSet.of(IndicatorDependency.PUBLICATIONS));
+		assertFalse(this.test.putAll(this.organization, Arrays.asList(new IndicatorEvaluation(this.papers, 78, 1l)), stamp));
+		assertNull(this.test.get(this.papers, this.organization));
+	}
+
+	@Test
+	public void putAll_clearedDuringEvaluation() {
+		final var stamp = this.test.getGeneration();
+		this.test.clear();
+		assertFalse(this.test.putAll(this.organization, Arrays.asList(new IndicatorEvaluation(this.papers, 78, 1l)), stamp));
+		assertEquals(0, this.test.size());
+	}
+
+	@Test
+	public void putAll_sameGeneration() {
+		this.test.invalidate(EnumSet.of(IndicatorDependency.PUBLICATIONS));
+		assertTrue(this.test.putAll(this.organization, Arrays.asList(new IndicatorEvaluation(this.papers, 78, 1l)), this.test.getGeneration()));
+		assertEquals(78, this.test.get(this.papers, this.organization));
+	}
+
+	@Test
+	public void invalidate_unrelated() {
+		this.test.invalidate(EnumSet.of(IndicatorDependency.PROJECTS));
+		assertEquals(2, this.test.size());
+	}
+
+	@Test
+	public void invalidate_publications() {
+		this.test.invalidate(EnumSet.of(IndicatorDependency.PUBLICATIONS));
+		assertEquals(12, this.test.get(this.members, this.organization));
+		assertNull(this.test.get(this.papers, this.organization));
+	}
+
+	@Test
+	public void recomputeStaleValues() {
+		when(this.engine.evaluate(any(ResearchOrganization.class), anyCollection())).thenAnswer(it -> {
+			final Collection<Indicator> indicators = it.getArgument(1);
+			return indicators.stream().map(ind -> new IndicatorEvaluation(ind, 56, 1l)).collect(Collectors.toList());
+		});
+		this.test.invalidate(EnumSet.of(IndicatorDependency.MEMBERSHIPS));
+		assertEquals(0, this.test.size());
+
+		this.test.recomputeStaleValues();
+
+		verify(this.engine).evaluate(any(ResearchOrganization.class), anyCollection());
+		assertEquals(56, this.test.get(this.members, this.organization));
+		assertEquals(56, this.test.get(this.papers, this.organization));
+	}
+
+	@Test
+	public void recomputeStaleValues_invalidatedDuringEvaluation() {
+		final var calls = new AtomicInteger();
+		when(this.engine.evaluate(any(ResearchOrganization.class), anyCollection())).thenAnswer(it -> {
+			if (calls.incrementAndGet() == 1) {
+				// The publications are changed while the first evaluation is running
+				this.test.invalidate(EnumSet.of(IndicatorDependency.PUBLICATIONS));
+			}
+			final Collection<Indicator> indicators = it.getArgument(1);
+			return indicators.stream().map(ind -> new IndicatorEvaluation(ind, 56, 1l)).collect(Collectors.toList());
+		});
+		this.test.invalidate(EnumSet.of(IndicatorDependency.MEMBERSHIPS));
+
+		this.test.recomputeStaleValues();
+		// The values that may be computed from the old data are not kept
+		assertEquals(0, this.test.size());
+
+		this.test.recomputeStaleValues();
+		verify(this.engine, times(2)).evaluate(any(ResearchOrganization.class), anyCollection());
+		assertEquals(56, this.test.get(this.members, this.organization));
+		assertEquals(56, this.test.get(this.papers, this.organization));
+	}
+
+	@Test
+	public void clear() {
+		this.test.invalidate(EnumSet.of(IndicatorDependency.PUBLICATIONS));
+		this.test.clear();
+		assertEquals(0, this.test.size());
+		this.test.recomputeStaleValues();
+		verify(this.engine, never()).evaluate(any(ResearchOrganization.class), anyCollection());
+	}
+
+}
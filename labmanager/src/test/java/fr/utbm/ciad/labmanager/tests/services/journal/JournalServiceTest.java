@@ -59,8 +59,10 @@ import fr.utbm.ciad.labmanager.data.publication.JournalBasedPublication;
 import fr.utbm.ciad.labmanager.data.publication.type.JournalPaper;
 import fr.utbm.ciad.labmanager.data.publication.type.JournalPaperRepository;
 import fr.utbm.ciad.labmanager.services.journal.JournalService;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.tests.utils.TestUtils;
 import fr.utbm.ciad.labmanager.utils.io.network.DirectNetConnection;
+import fr.utbm.ciad.labmanager.utils.io.network.DownloadEngine;
 import fr.utbm.ciad.labmanager.utils.io.network.NetConnection;
 import fr.utbm.ciad.labmanager.utils.io.scimago.OnlineScimagoPlatform;
 import fr.utbm.ciad.labmanager.utils.io.scimago.ScimagoPlatform;
@@ -128,8 +130,8 @@ public class JournalServiceTest {
 		this.netConnection = mock(NetConnection.class);
 		this.journalNameAndPublisherComparator = mock(JournalNameAndPublisherComparator.class);
 		this.test = new JournalService(this.journalRepository,
-				this.indicatorRepository, this.publicationRepository, this.scimago, this.wos, this.netConnection, this.journalNameAndPublisherComparator,
-				this.messages, new Constants(), this.sessionFactory);
+				this.indicatorRepository, this.publicationRepository, this.scimago, this.wos, new DownloadEngine(), this.netConnection, this.journalNameAndPublisherComparator,
+				mock(EntityKeywordIndexService.class), this.messages, new Constants(), this.sessionFactory);
 
 		// Prepare some journals to be inside the repository
 		// The lenient configuration is used to configure the mocks for all the tests
@@ -669,8 +671,8 @@ public class JournalServiceTest {
 		this.scimago = new OnlineScimagoPlatform();
 		this.netConnection = new DirectNetConnection();
 		this.test = new JournalService(this.journalRepository, this.indicatorRepository,
-				this.publicationRepository, this.scimago, this.wos, this.netConnection, this.journalNameAndPublisherComparator,
-				this.messages, new Constants(), this.sessionFactory);
+				this.publicationRepository, this.scimago, this.wos, new DownloadEngine(), this.netConnection, this.journalNameAndPublisherComparator,
+				mock(EntityKeywordIndexService.class), this.messages, new Constants(), this.sessionFactory);
 
 		// The following id is for the Int. Journal of Artificial Intelligence
 		when(this.jour3.getScimagoId()).thenReturn("23675");
@@ -39,7 +39,10 @@ import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -58,6 +61,7 @@ import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
 import fr.utbm.ciad.labmanager.data.scientificaxis.ScientificAxis;
 import fr.utbm.ciad.labmanager.services.member.MemberFiltering;
 import fr.utbm.ciad.labmanager.services.member.MembershipService;
+import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationHierarchy;
 import fr.utbm.ciad.labmanager.utils.bap.FrenchBap;
 import fr.utbm.ciad.labmanager.utils.cnu.CnuSection;
 import fr.utbm.ciad.labmanager.utils.conrs.ConrsSection;
@@ -119,7 +123,7 @@ public class MembershipServiceTest {
 		this.personRepository = mock(PersonRepository.class);
 		this.sessionFactory = mock(SessionFactory.class);
 		this.test = new MembershipService(this.organizationRepository, this.membershipRepository, this.personRepository,
-				this.messages, new Constants(), this.sessionFactory);
+				new ResearchOrganizationHierarchy(this.organizationRepository), this.messages, new Constants(), this.sessionFactory);
 
 		// Prepare some memberships to be inside the repository
 		// The lenient configuration is used to configure the mocks for all the tests
@@ -197,6 +201,14 @@ public class MembershipServiceTest {
 			}
 			return Collections.emptySet();
 		});
+		lenient().when(this.personRepository.findDistinctByMembershipsResearchOrganizationIdIn(any())).then(it -> {
+			final var persons = new HashSet<Person>();
+			for (final var orgaId : (Collection<Long>) it.getArgument(0)) {
+				persons.addAll(this.personRepository.findDistinctByMembershipsResearchOrganizationId(orgaId.longValue()));
+			}
+			return persons;
+		});
+		lenient().when(this.organizationRepository.findAllIdentifiers()).thenReturn(Arrays.asList(1234l, 2345l));
 		lenient().when(this.personRepository.findDistinctByMembershipsResearchOrganizationNameAndMembershipsMemberStatus(anyString(), any())).then(it -> {
 			final String orgaName = it.getArgument(0).toString();
 			final MemberStatus status = (MemberStatus) it.getArgument(1);
@@ -307,7 +319,8 @@ public class MembershipServiceTest {
 
 	@Test
 	public void getMembersOf_hierarchy() {
-		when(this.o1.getSubOrganizations()).thenReturn(Collections.singleton(this.o2));
+		when(this.organizationRepository.findAllSubOrganizationLinks()).thenReturn(
+				Collections.singletonList(new Object[] { Long.valueOf(1234l), Long.valueOf(2345l) }));
 
 		final Set<Person> pers0 = this.test.getMembersOf(1l);
 		assertTrue(pers0.isEmpty());
@@ -17,7 +17,6 @@
 package fr.utbm.ciad.labmanager.tests.services.member;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,32 +27,23 @@ import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import fr.utbm.ciad.labmanager.configuration.Constants;
-import fr.utbm.ciad.labmanager.data.assostructure.AssociatedStructureHolderRepository;
-import fr.utbm.ciad.labmanager.data.jury.JuryMembership;
-import fr.utbm.ciad.labmanager.data.member.Membership;
-import fr.utbm.ciad.labmanager.data.member.MembershipRepository;
 import fr.utbm.ciad.labmanager.data.member.Person;
 import fr.utbm.ciad.labmanager.data.member.PersonRepository;
-import fr.utbm.ciad.labmanager.data.project.ProjectMemberRepository;
-import fr.utbm.ciad.labmanager.data.publication.Authorship;
-import fr.utbm.ciad.labmanager.data.publication.Publication;
-import fr.utbm.ciad.labmanager.services.invitation.PersonInvitationService;
-import fr.utbm.ciad.labmanager.services.jury.JuryMembershipService;
-import fr.utbm.ciad.labmanager.services.member.MembershipService;
+import fr.utbm.ciad.labmanager.services.BulkMergeEngine;
 import fr.utbm.ciad.labmanager.services.member.PersonMergingService;
-import fr.utbm.ciad.labmanager.services.member.PersonService;
-import fr.utbm.ciad.labmanager.services.supervision.SupervisionService;
 import fr.utbm.ciad.labmanager.utils.names.DefaultPersonNameParser;
 import fr.utbm.ciad.labmanager.utils.names.PersonNameComparator;
 import fr.utbm.ciad.labmanager.utils.names.SorensenDice.SorensenDicePersonNameComparator;
@@ -81,45 +71,21 @@ public class PersonMergingServiceTest {
 
 	private PersonRepository personRepository;
 
-	private PersonService personService;
-
-	private MembershipService organizationMembershipService;
-
-	private MembershipRepository organizationMembershipRepository;
-
-	private JuryMembershipService juryMembershipService;
-
-	private SupervisionService supervisionService;
-
-	private PersonInvitationService invitationService;
-
 	private PersonNameComparator nameComparator;
 	
 	private PersonMergingService test;
 
-	private ProjectMemberRepository projectMemberRepository;
-
-	private AssociatedStructureHolderRepository structureHolderRepository;
+	private BulkMergeEngine mergeEngine;
 	
 	@BeforeEach
 	public void setUp() {
 		this.messages = mock(MessageSourceAccessor.class);
 		this.personRepository = mock(PersonRepository.class);
 		this.sessionFactory = mock(SessionFactory.class);
-		this.personService = mock(PersonService.class);
-		this.organizationMembershipService = mock(MembershipService.class);
-		this.organizationMembershipRepository = mock(MembershipRepository.class);
-		this.juryMembershipService = mock(JuryMembershipService.class);
-		this.supervisionService = mock(SupervisionService.class);
-		this.invitationService = mock(PersonInvitationService.class);
-		this.projectMemberRepository = mock(ProjectMemberRepository.class);
-		this.structureHolderRepository = mock(AssociatedStructureHolderRepository.class);
+		this.mergeEngine = mock(BulkMergeEngine.class);
 		this.nameComparator = new SorensenDicePersonNameComparator(new DefaultPersonNameParser());
 
-		this.test = new PersonMergingService(this.personRepository, this.personService,
-				this.organizationMembershipService, this.organizationMembershipRepository,
-				this.juryMembershipService, this.supervisionService, this.invitationService,
-				this.projectMemberRepository,this.structureHolderRepository, this.nameComparator,
+		this.test = new PersonMergingService(this.personRepository, this.mergeEngine, this.nameComparator,
 				this.messages, new Constants(), this.sessionFactory);
 	}
 
@@ -135,22 +101,9 @@ public class PersonMergingServiceTest {
 		Person pers0 = mock(Person.class, "pers0");
 		when(pers0.getId()).thenReturn(12345l);
 
-		Set<Authorship> existingAuthorships0 = new HashSet<>();
-		when(pers0.getAuthorships()).thenReturn(existingAuthorships0);
-		
-		Publication pub0 = mock(Publication.class);
-		when(pub0.getAuthors()).thenReturn(Collections.singletonList(pers0));
-		
-		Authorship existingAuthorship0 = mock(Authorship.class);
-		when(existingAuthorship0.getPublication()).thenReturn(pub0);
-		existingAuthorships0.add(existingAuthorship0);
-
 		Person pers3 = mock(Person.class, "pers3");
 		when(pers3.getId()).thenReturn(34567548l);
 
-		Set<Authorship> existingAuthorships3 = new HashSet<>();
-		when(pers3.getAuthorships()).thenReturn(existingAuthorships3);
-
 		when(this.personRepository.findById(anyLong())).thenAnswer(it -> {
 			var n = ((Number) it.getArgument(0)).longValue();
 			if (n == 12345l) {
@@ -175,134 +128,85 @@ public class PersonMergingServiceTest {
 		this.test.mergePersonsById(Arrays.asList(12345l), 34567548l);
 		//
 
-		verify(this.personService).removePerson(eq(12345l));
-
-		verify(this.personRepository).save(same(pers3));
-
-		verify(existingAuthorship0).setPerson(same(pers3));
-		
-		assertTrue(existingAuthorships0.isEmpty());
-		
-		assertEquals(1, existingAuthorships3.size());
-		assertSame(existingAuthorship0, existingAuthorships3.iterator().next());
+		verify(this.mergeEngine).mergePersons(eq(Collections.singletonMap(34567548l, Arrays.asList(12345l))));
+		verify(this.personRepository, never()).save(any());
 	}
 
 	@Test
-	public void mergePersons_nullArguments() throws Exception {
-		assertThrows(AssertionError.class, () -> {
-			this.test.mergePersons(null, null);
+	public void mergePersonsById_unknownTarget() throws Exception {
+		when(this.personRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+		assertThrows(IllegalArgumentException.class, () -> {
+			this.test.mergePersonsById(Arrays.asList(12345l), 34567548l);
 		});
+
+		verifyNoInteractions(this.mergeEngine);
 	}
 
 	@Test
-	public void mergePersons_nothingInSource() throws Exception {
-		Person pers0 = mock(Person.class, "pers0");
-		when(pers0.getId()).thenReturn(12345l);
-
-		Set<Authorship> existingAuthorships0 = new HashSet<>();
-		when(pers0.getAuthorships()).thenReturn(existingAuthorships0);
-
-		Person pers3 = mock(Person.class, "pers3");
-		when(pers3.getId()).thenReturn(34567548l);
+	public void mergePersonGroups() throws Exception {
+		final Map<Long, List<Long>> groups = new HashMap<>();
+		groups.put(1l, Arrays.asList(2l, 3l));
+		groups.put(4l, Arrays.asList(4l, 5l));
 
 		//
-		this.test.mergePersons(Arrays.asList(pers0), pers3);
+		this.test.mergePersonGroups(groups);
 		//
 
-		verify(this.personService).removePerson(eq(12345l));
+		verify(this.mergeEngine).mergePersons(same(groups));
+	}
 
-		verify(this.personRepository, never()).save(any());
+	@Test
+	public void mergePersons_nullArguments() throws Exception {
+		assertThrows(AssertionError.class, () -> {
+			this.test.mergePersons(null, null);
+		});
 	}
 
 	@Test
-	public void mergePersons_publications() throws Exception {
+	public void mergePersons() throws Exception {
 		Person pers0 = mock(Person.class, "pers0");
 		when(pers0.getId()).thenReturn(12345l);
 
-		Set<Authorship> existingAuthorships0 = new HashSet<>();
-		when(pers0.getAuthorships()).thenReturn(existingAuthorships0);
-		
-		Publication pub0 = mock(Publication.class);
-		when(pub0.getAuthors()).thenReturn(Collections.singletonList(pers0));
-		
-		Authorship existingAuthorship0 = mock(Authorship.class);
-		when(existingAuthorship0.getPublication()).thenReturn(pub0);
-		existingAuthorships0.add(existingAuthorship0);
-		
+		Person pers1 = mock(Person.class, "pers1");
+		when(pers1.getId()).thenReturn(23456l);
+
 		Person pers3 = mock(Person.class, "pers3");
 		when(pers3.getId()).thenReturn(34567548l);
 
-		Set<Authorship> existingAuthorships3 = new HashSet<>();
-		when(pers3.getAuthorships()).thenReturn(existingAuthorships3);
-
 		//
-		this.test.mergePersons(Arrays.asList(pers0), pers3);
+		this.test.mergePersons(Arrays.asList(pers0, pers1), pers3);
 		//
 
-		verify(this.personService).removePerson(eq(12345l));
-
-		verify(this.personRepository).save(same(pers3));
-
-		verify(existingAuthorship0).setPerson(same(pers3));
-		
-		assertTrue(existingAuthorships0.isEmpty());
-		
-		assertEquals(1, existingAuthorships3.size());
-		assertSame(existingAuthorship0, existingAuthorships3.iterator().next());
+		verify(this.mergeEngine).mergePersons(eq(Collections.singletonMap(34567548l, Arrays.asList(12345l, 23456l))));
+		verify(this.personRepository, never()).save(any());
 	}
 
 	@Test
-	public void mergePersons_organizationMemberships() throws Exception {
+	public void mergePersons_targetInSources() throws Exception {
 		Person pers0 = mock(Person.class, "pers0");
 		when(pers0.getId()).thenReturn(12345l);
 
-		Membership mbr0 = mock(Membership.class);
-		
-		List<Membership> memberships = new ArrayList<>();
-		memberships.add(mbr0);
-		
-		when(this.organizationMembershipService.getMembershipsForPerson(eq(12345l))).thenReturn(memberships);
-		
 		Person pers3 = mock(Person.class, "pers3");
 		when(pers3.getId()).thenReturn(34567548l);
 
 		//
-		this.test.mergePersons(Arrays.asList(pers0), pers3);
+		this.test.mergePersons(Arrays.asList(pers3, pers0), pers3);
 		//
 
-		verify(this.personService).removePerson(eq(12345l));
-
-		verify(this.personRepository).save(same(pers3));
-
-		verify(mbr0).setPerson(same(pers3));
-		verify(this.organizationMembershipRepository).save(same(mbr0));
+		verify(this.mergeEngine).mergePersons(eq(Collections.singletonMap(34567548l, Arrays.asList(12345l))));
 	}
 
 	@Test
-	public void mergePersons_juryMemberships() throws Exception {
-		Person pers0 = mock(Person.class, "pers0");
-		when(pers0.getId()).thenReturn(12345l);
-
-		JuryMembership mbr0 = mock(JuryMembership.class);
-		
-		List<JuryMembership> memberships = new ArrayList<>();
-		memberships.add(mbr0);
-		
-		when(this.juryMembershipService.getMembershipsForPerson(eq(12345l))).thenReturn(memberships);
-		
+	public void mergePersons_onlyTarget() throws Exception {
 		Person pers3 = mock(Person.class, "pers3");
 		when(pers3.getId()).thenReturn(34567548l);
 
 		//
-		this.test.mergePersons(Arrays.asList(pers0), pers3);
+		this.test.mergePersons(Arrays.asList(pers3), pers3);
 		//
 
-		verify(this.personService).removePerson(eq(12345l));
-
-		verify(this.personRepository).save(same(pers3));
-
-		verify(mbr0).setPerson(same(pers3));
-		verify(this.juryMembershipService).save(same(mbr0));
+		verifyNoInteractions(this.mergeEngine);
 	}
 
 
@@ -363,6 +267,37 @@ public class PersonMergingServiceTest {
 		assertSet(set2, pers2, pers2b, pers2c);
 	}
 
+	@Test
+	public void getPersonDuplicates_callback() throws Exception {
+		Person pers0 = mock(Person.class, "pers0");
+		lenient().when(pers0.getFirstName()).thenReturn("Stephane");
+		lenient().when(pers0.getLastName()).thenReturn("Galland");
+
+		Person pers1 = mock(Person.class, "pers1");
+		lenient().when(pers1.getFirstName()).thenReturn("Franck");
+		lenient().when(pers1.getLastName()).thenReturn("Gechter");
+
+		Person pers2 = mock(Person.class, "pers2");
+		lenient().when(pers2.getFirstName()).thenReturn("S.");
+		lenient().when(pers2.getLastName()).thenReturn("Galland");
+
+		when(this.personRepository.findAll()).thenReturn(Arrays.asList(pers0, pers1, pers2));
+
+		final List<int[]> notifications = new ArrayList<>();
+		List<Set<Person>> allDuplicates = this.test.getPersonDuplicates((a, b) -> a.getFirstName().compareTo(b.getFirstName()),
+				(index, duplicateCount, total) -> notifications.add(new int[] {index, duplicateCount, total}));
+
+		assertEquals(1, allDuplicates.size());
+		assertSet(allDuplicates.get(0), pers0, pers2);
+
+		assertTrue(notifications.size() >= 2);
+		assertEquals(0, notifications.get(0)[0]);
+		final int[] last = notifications.get(notifications.size() - 1);
+		assertEquals(3, last[0]);
+		assertEquals(1, last[1]);
+		assertEquals(3, last[2]);
+	}
+
 	private void assertSet(Set<Person> actual, Person... expected) {
 		final List<Person> exp = new ArrayList<>(Arrays.asList(expected));
 		for (final Person p : actual) {
@@ -22,6 +22,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -33,6 +34,7 @@ import static org.mockito.Mockito.only;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -47,8 +49,10 @@ import fr.utbm.ciad.labmanager.data.member.WebPageNaming;
 import fr.utbm.ciad.labmanager.data.publication.AuthorshipRepository;
 import fr.utbm.ciad.labmanager.data.publication.PublicationRepository;
 import fr.utbm.ciad.labmanager.services.member.PersonService;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.utils.country.CountryCode;
 import fr.utbm.ciad.labmanager.utils.io.gscholar.GoogleScholarPlatform;
+import fr.utbm.ciad.labmanager.utils.io.network.DownloadEngine;
 import fr.utbm.ciad.labmanager.utils.io.scopus.ScopusPlatform;
 import fr.utbm.ciad.labmanager.utils.io.wos.WebOfSciencePlatform;
 import fr.utbm.ciad.labmanager.utils.names.DefaultPersonNameParser;
@@ -120,8 +124,8 @@ public class PersonServiceTest {
 		// Create a real comparator instance to be used in the test
 		this.nameComparator = new SorensenDicePersonNameComparator(this.nameParser);
 		this.test = new PersonService(this.publicationRepository, this.authorshipRepository, this.personRepository,
-				this.googlePlatfom, this.scopusPlatfom, this.wosPlatfom, this.nameParser, this.nameComparator,
-				this.messages, new Constants(), this.sessionFactory);
+				this.googlePlatfom, this.scopusPlatfom, this.wosPlatfom, new DownloadEngine(), this.nameParser, this.nameComparator,
+				mock(EntityKeywordIndexService.class), this.messages, new Constants(), this.sessionFactory);
 
 		// Prepare some persons to be inside the repository
 		// The lenient configuration is used to configure the mocks for all the tests
@@ -145,6 +149,17 @@ public class PersonServiceTest {
 
 		lenient().when(this.personRepository.findAll()).thenReturn(
 				Arrays.asList(this.pers0, this.pers1, this.pers2, this.pers3));
+		lenient().when(this.personRepository.findAllIdentifiersAndNames()).thenReturn(Arrays.<Object[]>asList(
+				new Object[] {123l, "F1", "L1"},
+				new Object[] {234l, "F2", "L2"},
+				new Object[] {345l, "F3", "L3"},
+				new Object[] {456l, "F4", "L4"}));
+		lenient().when(this.personRepository.findAllById(any())).then(it -> {
+			final var ids = new ArrayList<Long>();
+			((Iterable<Long>) it.getArgument(0)).forEach(ids::add);
+			return Arrays.asList(this.pers0, this.pers1, this.pers2, this.pers3).stream()
+					.filter(p -> ids.contains(Long.valueOf(p.getId()))).toList();
+		});
 		lenient().when(this.personRepository.findById(anyLong())).then(it -> {
 			var n = ((Number) it.getArgument(0)).longValue();
 			if (n == 123l) {
@@ -0,0 +1,126 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.services.organization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
+import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationHierarchy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link ResearchOrganizationHierarchy}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class ResearchOrganizationHierarchyTest {
+
+	private ResearchOrganizationRepository repository;
+
+	private List<Object[]> links;
+
+	private ResearchOrganizationHierarchy test;
+
+	private static Object[] link(long superId, long subId) {
+		return new Object[] { Long.valueOf(superId), Long.valueOf(subId) };
+	}
+
+	@BeforeEach
+	public void setUp() {
+		this.repository = mock(ResearchOrganizationRepository.class);
+		when(this.repository.findAllIdentifiers()).thenReturn(Arrays.asList(1l, 2l, 3l, 4l, 5l));
+		// 1 -> 2 -> 3, 1 -> 4, and 5 is alone
+		this.links = new ArrayList<>(Arrays.asList(link(1, 2), link(2, 3), link(1, 4)));
+		when(this.repository.findAllSubOrganizationLinks()).thenReturn(this.links);
+		this.test = new ResearchOrganizationHierarchy(this.repository);
+	}
+
+	@Test
+	public void getOrganizationAndSubOrganizationIdentifiers() {
+		assertEquals(Set.of(1l, 2l, 3l, 4l), this.test.getOrganizationAndSubOrganizationIdentifiers(1));
+		assertEquals(Set.of(2l, 3l), this.test.getOrganizationAndSubOrganizationIdentifiers(2));
+		assertEquals(Set.of(3l), this.test.getOrganizationAndSubOrganizationIdentifiers(3));
+		assertEquals(Set.of(5l), this.test.getOrganizationAndSubOrganizationIdentifiers(5));
+	}
+
+	@Test
+	public void getOrganizationAndSubOrganizationIdentifiers_unknown() {
+		assertTrue(this.test.getOrganizationAndSubOrganizationIdentifiers(123).isEmpty());
+	}
+
+	@Test
+	public void getOrganizationAndSubOrganizationIdentifiers_cycle() {
+		this.links.add(link(3, 1));
+		assertEquals(Set.of(1l, 2l, 3l, 4l), this.test.getOrganizationAndSubOrganizationIdentifiers(2));
+	}
+
+	@Test
+	public void isOrganizationOf() {
+		assertTrue(this.test.isOrganizationOf(1, 1));
+		assertTrue(this.test.isOrganizationOf(3, 1));
+		assertTrue(this.test.isOrganizationOf(4, 1));
+		assertFalse(this.test.isOrganizationOf(1, 3));
+		assertFalse(this.test.isOrganizationOf(4, 2));
+		assertFalse(this.test.isOrganizationOf(5, 1));
+	}
+
+	@Test
+	public void invalidate() {
+		assertFalse(this.test.isOrganizationOf(5, 4));
+		assertFalse(this.test.isOrganizationOf(5, 1));
+		verify(this.repository, times(1)).findAllSubOrganizationLinks();
+
+		this.links.add(link(4, 5));
+		assertFalse(this.test.isOrganizationOf(5, 1));
+		this.test.invalidate();
+		assertTrue(this.test.isOrganizationOf(5, 4));
+		assertTrue(this.test.isOrganizationOf(5, 1));
+		verify(this.repository, times(2)).findAllSubOrganizationLinks();
+	}
+
+	@Test
+	public void invalidate_duringBuild() {
+		// The organizations are changed after the identifiers were read and before the links are read
+		when(this.repository.findAllSubOrganizationLinks()).thenAnswer(it -> {
+			final var result = new ArrayList<>(this.links);
+			this.links.add(link(4, 5));
+			this.test.invalidate();
+			return result;
+		}).thenAnswer(it -> new ArrayList<>(this.links));
+		assertFalse(this.test.isOrganizationOf(5, 1));
+		// The hierarchy that was built across the invalidation is not kept
+		assertTrue(this.test.isOrganizationOf(5, 1));
+		assertTrue(this.test.isOrganizationOf(5, 4));
+		verify(this.repository, times(2)).findAllSubOrganizationLinks();
+	}
+
+}
@@ -47,6 +47,7 @@ import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationType;
 import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationService;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.utils.country.CountryCode;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
 import fr.utbm.ciad.labmanager.utils.names.OrganizationNameComparator;
@@ -101,7 +102,7 @@ public class ResearchOrganizationServiceTest {
 		this.fileManager = mock(DownloadableFileManager.class);
 		this.test = new ResearchOrganizationService(this.addressRepository, this.organizationRepository, this.fileManager,
 				this.organizationNameComparator,
-				this.messages, new Constants(), this.sessionFactory);
+				mock(EntityKeywordIndexService.class), this.messages, new Constants(), this.sessionFactory);
 
 		// Prepare some organizations to be inside the repository
 		// The lenient configuration is used to configure the mocks for all the tests
@@ -48,6 +48,7 @@ import fr.utbm.ciad.labmanager.data.project.ProjectRepository;
 import fr.utbm.ciad.labmanager.data.project.ProjectStatus;
 import fr.utbm.ciad.labmanager.services.member.MembershipService;
 import fr.utbm.ciad.labmanager.services.project.ProjectService;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
 import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.BeforeEach;
@@ -97,7 +98,7 @@ public class ProjectServiceTest {
 		this.sessionFactory = mock(SessionFactory.class);
 		this.test = new ProjectService(this.projectRepository, this.projectMemberRepository,
 				this.organizationRepository, this.personRepository, this.membershipService, this.fileManager,
-				this.messages, new Constants(), this.sessionFactory);
+				mock(EntityKeywordIndexService.class), this.messages, new Constants(), this.sessionFactory);
 	}
 	
 	@Test
@@ -19,6 +19,7 @@ package fr.utbm.ciad.labmanager.tests.services.publication;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -42,6 +43,7 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.Arrays;
@@ -64,6 +66,7 @@ import fr.utbm.ciad.labmanager.data.publication.Authorship;
 import fr.utbm.ciad.labmanager.data.publication.AuthorshipRepository;
 import fr.utbm.ciad.labmanager.data.publication.Publication;
 import fr.utbm.ciad.labmanager.data.publication.PublicationRepository;
+import fr.utbm.ciad.labmanager.data.publication.PublicationType;
 import fr.utbm.ciad.labmanager.services.journal.JournalService;
 import fr.utbm.ciad.labmanager.services.member.MembershipService;
 import fr.utbm.ciad.labmanager.services.member.PersonService;
@@ -79,6 +82,7 @@ import fr.utbm.ciad.labmanager.services.publication.type.MiscDocumentService;
 import fr.utbm.ciad.labmanager.services.publication.type.PatentService;
 import fr.utbm.ciad.labmanager.services.publication.type.ReportService;
 import fr.utbm.ciad.labmanager.services.publication.type.ThesisService;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
 import fr.utbm.ciad.labmanager.utils.io.ExporterConfigurator;
 import fr.utbm.ciad.labmanager.utils.io.bibtex.BibTeX;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
@@ -212,7 +216,7 @@ public class PublicationServiceTest {
 				this.bookService, this.bookChapterService, this.conferencePaperService,
 				this.journalEditionService, this.journalPaperService, this.keyNoteService,
 				this.miscDocumentService, this.patentService, this.reportService,
-				this.thesisService, this.messages, new Constants(), mock(SessionFactory.class));
+				this.thesisService, mock(EntityKeywordIndexService.class), this.messages, new Constants(), mock(SessionFactory.class));
 
 		// Prepare some publications to be inside the repository
 		// The lenient configuration is used to configure the mocks for all the tests
@@ -558,6 +562,23 @@ public class PublicationServiceTest {
 		assertFalse(iterator.hasNext());
 	}
 
+	@Test
+	public void exportBibTeX_OutputStream() throws Exception {
+		Collection<Publication> pubs = Arrays.asList(this.pub0, this.pub2);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		this.test.exportBibTeX(output, pubs, new ExporterConfigurator(mock(JournalService.class), Locale.US), new DefaultProgression());
+
+		ArgumentCaptor<Collection> arg = ArgumentCaptor.forClass(Collection.class);
+		verify(this.bibtex, only()).exportPublications(same(output), arg.capture(), any(), any());
+		Iterable<Publication> it = arg.getValue();
+		assertNotNull(it);
+		Iterator<Publication> iterator = it.iterator();
+		assertSame(this.pub0, iterator.next());
+		assertSame(this.pub2, iterator.next());
+		assertFalse(iterator.hasNext());
+	}
+
 	@Test
 	public void exportRIS_Collection_null() {
 		String ris = this.test.exportRIS((Collection<Publication>) null, new ExporterConfigurator(mock(JournalService.class), Locale.US), new DefaultProgression());
@@ -923,4 +944,62 @@ public class PublicationServiceTest {
 		verify(this.authorshipRepository, atLeastOnce()).save(same(autship));
 	}
 
+	@Test
+	public void getPublicationCountMatrix() {
+		when(this.publicationRepository.countPublicationsGroupedByTypeAndYear()).thenReturn(Arrays.<Object[]>asList(
+				new Object[] {PublicationType.INTERNATIONAL_JOURNAL_PAPER, 2022, 3l},
+				new Object[] {PublicationType.INTERNATIONAL_JOURNAL_PAPER, 2023, 5l},
+				new Object[] {PublicationType.INTERNATIONAL_CONFERENCE_PAPER, 2023, 7l}));
+
+		final var matrix = this.test.getPublicationCountMatrix(null, null);
+		assertNotNull(matrix);
+		assertEquals(3, matrix.getCount(PublicationType.INTERNATIONAL_JOURNAL_PAPER, 2022));
+		assertEquals(5, matrix.getCount(PublicationType.INTERNATIONAL_JOURNAL_PAPER, 2023));
+		assertEquals(0, matrix.getCount(PublicationType.INTERNATIONAL_CONFERENCE_PAPER, 2022));
+		assertEquals(7, matrix.getCount(PublicationType.INTERNATIONAL_CONFERENCE_PAPER, 2023));
+		assertEquals(12, matrix.getTotal(2023));
+		assertEquals(5, matrix.getCount(PublicationType.INTERNATIONAL_JOURNAL_PAPER.getCategory(true), 2023));
+
+		// The second call uses the cache
+		assertSame(matrix, this.test.getPublicationCountMatrix(Collections.emptySet(), null));
+		verify(this.publicationRepository, times(1)).countPublicationsGroupedByTypeAndYear();
+
+		this.test.resetPublicationCountMatrices();
+		assertNotSame(matrix, this.test.getPublicationCountMatrix(null, null));
+		verify(this.publicationRepository, times(2)).countPublicationsGroupedByTypeAndYear();
+	}
+
+	@Test
+	public void getPublicationCountMatrix_organizationAndCategory() {
+		when(this.publicationRepository.countPublicationsGroupedByTypeAndYearForOrganizations(any())).thenReturn(Arrays.<Object[]>asList(
+				new Object[] {PublicationType.INTERNATIONAL_JOURNAL_PAPER, 2023, 5l},
+				new Object[] {PublicationType.INTERNATIONAL_CONFERENCE_PAPER, 2023, 7l}));
+		final var category = PublicationType.INTERNATIONAL_CONFERENCE_PAPER.getCategory(true);
+
+		final var matrix = this.test.getPublicationCountMatrix(Set.of(Long.valueOf(12)), category);
+		assertNotNull(matrix);
+		assertEquals(Collections.singleton(PublicationType.INTERNATIONAL_CONFERENCE_PAPER), matrix.getTypes());
+		assertEquals(7, matrix.getTotal(2023));
+
+		verify(this.publicationRepository, only()).countPublicationsGroupedByTypeAndYearForOrganizations(eq(Set.of(Long.valueOf(12))));
+	}
+
+	@Test
+	public void getPublicationCountMatrix_sameOrganizationOtherCategory() {
+		when(this.publicationRepository.countPublicationsGroupedByTypeAndYearForOrganizations(any())).thenReturn(Arrays.<Object[]>asList(
+				new Object[] {PublicationType.INTERNATIONAL_JOURNAL_PAPER, 2023, 5l},
+				new Object[] {PublicationType.INTERNATIONAL_CONFERENCE_PAPER, 2023, 7l}));
+		final var organizations = Set.of(Long.valueOf(12));
+
+		final var conferences = this.test.getPublicationCountMatrix(organizations, PublicationType.INTERNATIONAL_CONFERENCE_PAPER.getCategory(true));
+		final var journals = this.test.getPublicationCountMatrix(organizations, PublicationType.INTERNATIONAL_JOURNAL_PAPER.getCategory(true));
+		final var all = this.test.getPublicationCountMatrix(organizations, null);
+		assertEquals(7, conferences.getTotal(2023));
+		assertEquals(5, journals.getTotal(2023));
+		assertEquals(12, all.getTotal(2023));
+
+		// The categories share the same query
+		verify(this.publicationRepository, only()).countPublicationsGroupedByTypeAndYearForOrganizations(eq(organizations));
+	}
+
 }
@@ -0,0 +1,167 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.services.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import fr.utbm.ciad.labmanager.configuration.Constants;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.services.search.EntityKeywordIndexService;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.SelectionQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.MessageSourceAccessor;
+
+/** Tests for {@link EntityKeywordIndexService}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@SuppressWarnings("all")
+public class EntityKeywordIndexServiceTest {
+
+	private static final Set<String> NAME = Collections.singleton(EntityKeywordIndexService.NAME_FIELD);
+
+	private List<Object[]> rows;
+
+	private AtomicInteger loads;
+
+	private Runnable onLoad;
+
+	private EntityKeywordIndexService test;
+
+	@BeforeEach
+	public void setUp() {
+		this.rows = new ArrayList<>();
+		this.rows.add(new Object[] {Long.valueOf(1), "Stephane", "Galland", null});
+		this.rows.add(new Object[] {Long.valueOf(2), "Nicolas", "Gaud", null});
+		this.loads = new AtomicInteger();
+
+		final var query = mock(SelectionQuery.class);
+		when(query.list()).thenAnswer(it -> {
+			final var result = new ArrayList<>(this.rows);
+			this.loads.incrementAndGet();
+			if (this.onLoad != null) {
+				final var callback = this.onLoad;
+				this.onLoad = null;
+				callback.run();
+			}
+			return result;
+		});
+		final var session = mock(StatelessSession.class);
+		when(session.createSelectionQuery(anyString(), any(Class.class))).thenReturn(query);
+		final var sessionFactory = mock(SessionFactory.class);
+		lenient().when(sessionFactory.openStatelessSession()).thenReturn(session);
+
+		this.test = new EntityKeywordIndexService(mock(MessageSourceAccessor.class), mock(Constants.class), sessionFactory);
+	}
+
+	private static Person createPerson(long id, String firstName, String lastName) {
+		final var person = mock(Person.class);
+		when(person.getId()).thenReturn(Long.valueOf(id));
+		when(person.getFirstName()).thenReturn(firstName);
+		when(person.getLastName()).thenReturn(lastName);
+		return person;
+	}
+
+	@Test
+	public void search_buildOnce() {
+		assertEquals(Set.of(1l), this.test.search(Person.class, "gall", NAME));
+		assertEquals(Set.of(2l), this.test.search(Person.class, "gaud", NAME));
+		assertEquals(1, this.loads.get());
+	}
+
+	@Test
+	public void update_afterBuild() {
+		this.test.search(Person.class, "gall", NAME);
+		this.test.update(createPerson(3, "Yazan", "Mualla"));
+		assertEquals(Set.of(3l), this.test.search(Person.class, "mualla", NAME));
+		assertEquals(1, this.loads.get());
+	}
+
+	@Test
+	public void update_beforeBuild() {
+		// The index is not built yet: the change is read from the database at the first search
+		this.test.update(createPerson(3, "Yazan", "Mualla"));
+		assertTrue(this.test.search(Person.class, "mualla", NAME).isEmpty());
+	}
+
+	@Test
+	public void update_duringBuild() {
+		// The person is committed while the index is loaded from the database, after the query was run
+		this.onLoad = () -> {
+			this.rows.add(new Object[] {Long.valueOf(3), "Yazan", "Mualla", null});
+			this.test.update(createPerson(3, "Yazan", "Mualla"));
+		};
+		assertEquals(Set.of(3l), this.test.search(Person.class, "mualla", NAME));
+		// The first built index is discarded because it may miss the change
+		assertEquals(2, this.loads.get());
+		this.test.search(Person.class, "mualla", NAME);
+		assertEquals(2, this.loads.get());
+	}
+
+	@Test
+	public void remove_duringBuild() {
+		this.onLoad = () -> {
+			this.rows.remove(0);
+			this.test.remove(createPerson(1, "Stephane", "Galland"));
+		};
+		assertTrue(this.test.search(Person.class, "gall", NAME).isEmpty());
+		assertEquals(2, this.loads.get());
+	}
+
+	@Test
+	public void reset() {
+		this.test.search(Person.class, "gall", NAME);
+		this.test.reset();
+		this.test.search(Person.class, "gall", NAME);
+		assertEquals(2, this.loads.get());
+	}
+
+	@Test
+	public void isQueryable() {
+		final var ids = new ArrayList<Long>();
+		for (var i = 0; i < EntityKeywordIndexService.MAX_QUERY_IDENTIFIERS; ++i) {
+			ids.add(Long.valueOf(i));
+		}
+		assertTrue(EntityKeywordIndexService.isQueryable(ids));
+		ids.add(Long.valueOf(-1));
+		assertFalse(EntityKeywordIndexService.isQueryable(ids));
+		assertFalse(EntityKeywordIndexService.isQueryable(null));
+	}
+
+}
@@ -129,6 +129,25 @@ public class ExporterConfiguratorTest {
 		assertSame(ExportedAuthorStatus.POSTDOC_ENGINEER, this.test.getExportedAuthorStatusFor(person, 2022));
 	}
 
+	@Test
+	public void getExportedAuthorStatusFor_organizationSelectorChanged() {
+		ResearchOrganization orga0 = mock(ResearchOrganization.class);
+
+		Person person = mock(Person.class);
+
+		Membership m0 = mock(Membership.class);
+		when(m0.getMemberStatus()).thenReturn(MemberStatus.ASSOCIATE_PROFESSOR);
+		when(m0.getPerson()).thenReturn(person);
+		when(m0.getDirectResearchOrganization()).thenReturn(orga0);
+		when(m0.isActiveIn(any(), any())).thenReturn(true);
+
+		when(person.getMemberships()).thenReturn(new HashSet<>(Arrays.asList(m0)));
+
+		assertSame(ExportedAuthorStatus.RESEARCHER, this.test.getExportedAuthorStatusFor(person, 2022));
+		this.test.selectOrganization(it -> it != orga0);
+		assertSame(ExportedAuthorStatus.OTHER, this.test.getExportedAuthorStatusFor(person, 2022));
+	}
+
 	@Test
 	public void disablePostdocEngineerFormat() {
 		assertTrue(this.test.isPostdocEngineerNameFormatted());
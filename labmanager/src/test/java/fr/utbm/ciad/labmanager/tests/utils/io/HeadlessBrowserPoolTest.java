@@ -0,0 +1,228 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import fr.utbm.ciad.labmanager.utils.io.HeadlessBrowserPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link HeadlessBrowserPool}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@SuppressWarnings("all")
+public class HeadlessBrowserPoolTest {
+
+	private List<Playwright> playwrights;
+
+	private List<Browser> browsers;
+
+	private HeadlessBrowserPool test;
+
+	@BeforeEach
+	public void setUp() {
+		this.playwrights = new ArrayList<>();
+		this.browsers = new ArrayList<>();
+		this.test = createPool(1);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.test.close();
+	}
+
+	private HeadlessBrowserPool createPool(int maxBrowsers) {
+		return new HeadlessBrowserPool(maxBrowsers, 0l, this::createPlaywright);
+	}
+
+	private synchronized Playwright createPlaywright() {
+		final var page = mock(Page.class);
+		final var context = mock(BrowserContext.class);
+		when(context.newPage()).thenReturn(page);
+		final var browser = mock(Browser.class);
+		when(browser.newContext()).thenReturn(context);
+		when(browser.isConnected()).thenReturn(Boolean.TRUE);
+		final var type = mock(BrowserType.class);
+		when(type.launch(any(LaunchOptions.class))).thenReturn(browser);
+		final var playwright = mock(Playwright.class);
+		when(playwright.firefox()).thenReturn(type);
+		this.playwrights.add(playwright);
+		this.browsers.add(browser);
+		return playwright;
+	}
+
+	@Test
+	public void withPage_reuse() throws Exception {
+		final var page = this.test.withPage(false, it -> it);
+		this.test.withPage(false, it -> it);
+		assertEquals(1, this.playwrights.size());
+		assertEquals(1, this.test.getBrowserCount());
+		// Each load has its own context
+		final var browser = this.browsers.get(0);
+		verify(browser, times(2)).newContext();
+		verify(browser.newContext(), times(2)).close();
+		verify(page, times(2)).close();
+		verify(browser, never()).close();
+	}
+
+	@Test
+	public void withPage_callbackFailure() throws Exception {
+		assertThrows(IOException.class, () -> this.test.withPage(false, it -> {
+			throw new IOException();
+		}));
+		// The browser is still connected, it is reused
+		this.test.withPage(false, it -> it);
+		assertEquals(1, this.playwrights.size());
+		assertEquals(1, this.test.getBrowserCount());
+	}
+
+	@Test
+	public void withPage_brokenBrowser() throws Exception {
+		assertThrows(IOException.class, () -> this.test.withPage(false, it -> {
+			when(this.browsers.get(0).isConnected()).thenReturn(Boolean.FALSE);
+			throw new IOException();
+		}));
+		verify(this.browsers.get(0), timeout(1000)).close();
+		verify(this.playwrights.get(0), timeout(1000)).close();
+		assertEquals(0, this.test.getBrowserCount());
+
+		// A new browser replaces the broken one
+		this.test.withPage(false, it -> it);
+		assertEquals(2, this.playwrights.size());
+		assertEquals(1, this.test.getBrowserCount());
+	}
+
+	@Test
+	public void withPage_disconnectedIdleBrowser() throws Exception {
+		this.test.withPage(false, it -> it);
+		when(this.browsers.get(0).isConnected()).thenReturn(Boolean.FALSE);
+		this.test.withPage(false, it -> it);
+		verify(this.browsers.get(0)).close();
+		assertEquals(2, this.playwrights.size());
+		assertEquals(1, this.test.getBrowserCount());
+	}
+
+	@Test
+	public void withPage_otherMode() throws Exception {
+		this.test.withPage(false, it -> it);
+		// The pool is full: the idle browser is closed for launching a browser in developer mode
+		this.test.withPage(true, it -> it);
+		verify(this.browsers.get(0), timeout(1000)).close();
+		assertEquals(2, this.playwrights.size());
+		assertEquals(1, this.test.getBrowserCount());
+	}
+
+	@Test
+	public void withPage_maxBrowsers() throws Exception {
+		final var started = new CountDownLatch(1);
+		final var blocker = new CountDownLatch(1);
+		final var executor = Executors.newFixedThreadPool(2);
+		try {
+			final var first = executor.submit(() -> this.test.withPage(false, it -> {
+				started.countDown();
+				blocker.await();
+				return it;
+			}));
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			final var second = executor.submit(() -> this.test.withPage(false, it -> it));
+			Thread.sleep(200);
+			// The second caller waits for the browser in use
+			assertEquals(1, this.playwrights.size());
+			assertEquals(1, this.test.getBrowserCount());
+			blocker.countDown();
+			first.get(5, TimeUnit.SECONDS);
+			second.get(5, TimeUnit.SECONDS);
+			assertEquals(1, this.playwrights.size());
+		} finally {
+			blocker.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void closeIdleBrowsers() throws Exception {
+		final var pool = new HeadlessBrowserPool(2, 0l, this::createPlaywright) {
+			@Override
+			protected synchronized void closeIdleBrowsers() {
+				super.closeIdleBrowsers();
+			}
+		};
+		try {
+			pool.withPage(false, it -> it);
+			Thread.sleep(10);
+			pool.closeIdleBrowsers();
+			verify(this.browsers.get(0), timeout(1000)).close();
+			assertEquals(0, pool.getBrowserCount());
+		} finally {
+			pool.close();
+		}
+	}
+
+	@Test
+	public void close() throws Exception {
+		this.test.withPage(false, it -> it);
+		this.test.close();
+		verify(this.browsers.get(0), timeout(1000)).close();
+		verify(this.playwrights.get(0), timeout(1000)).close();
+		assertEquals(0, this.test.getBrowserCount());
+		assertThrows(IllegalStateException.class, () -> this.test.withPage(false, it -> it));
+	}
+
+	@Test
+	public void close_browserInUse() throws Exception {
+		final var pages = new ArrayList<Page>();
+		this.test.withPage(false, it -> {
+			pages.add(it);
+			this.test.close();
+			return it;
+		});
+		// The browser is closed when its task is finished
+		verify(pages.get(0)).close();
+		verify(this.browsers.get(0), timeout(1000)).close();
+		assertEquals(0, this.test.getBrowserCount());
+	}
+
+}
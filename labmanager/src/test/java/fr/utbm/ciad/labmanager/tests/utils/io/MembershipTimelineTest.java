@@ -0,0 +1,116 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import fr.utbm.ciad.labmanager.data.member.MemberStatus;
+import fr.utbm.ciad.labmanager.data.member.Membership;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.utils.io.ExportedAuthorStatus;
+import fr.utbm.ciad.labmanager.utils.io.MembershipTimeline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link MembershipTimeline}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@SuppressWarnings("all")
+public class MembershipTimelineTest {
+
+	private ResearchOrganization orga0;
+
+	private ResearchOrganization orga1;
+
+	@BeforeEach
+	public void setUp() {
+		this.orga0 = mock(ResearchOrganization.class);
+		this.orga1 = mock(ResearchOrganization.class);
+	}
+
+	private static Membership createMembership(MemberStatus status, ResearchOrganization orga, Integer since, Integer to) {
+		final var membership = new Membership();
+		membership.setMemberStatus(status);
+		membership.setDirectResearchOrganization(orga);
+		membership.setMemberSinceWhen(since == null ? null : LocalDate.of(since.intValue(), 9, 1));
+		membership.setMemberToWhen(to == null ? null : LocalDate.of(to.intValue(), 8, 31));
+		return membership;
+	}
+
+	@Test
+	public void getStatus_noMembership() {
+		final var test = new MembershipTimeline(Collections.emptyList(), null);
+		assertSame(ExportedAuthorStatus.OTHER, test.getStatus(2022));
+	}
+
+	@Test
+	public void getStatus_career() {
+		final var phd = createMembership(MemberStatus.PHD_STUDENT, this.orga0, 2010, 2013);
+		final var postdoc = createMembership(MemberStatus.POSTDOC, this.orga0, 2013, 2015);
+		final var professor = createMembership(MemberStatus.ASSOCIATE_PROFESSOR, this.orga0, 2015, null);
+		final var test = new MembershipTimeline(Arrays.asList(professor, postdoc, phd), null);
+		assertSame(ExportedAuthorStatus.OTHER, test.getStatus(2009));
+		assertSame(ExportedAuthorStatus.PHD_STUDENT, test.getStatus(2010));
+		assertSame(ExportedAuthorStatus.PHD_STUDENT, test.getStatus(2012));
+		assertSame(ExportedAuthorStatus.PHD_STUDENT, test.getStatus(2013));
+		assertSame(ExportedAuthorStatus.POSTDOC_ENGINEER, test.getStatus(2014));
+		assertSame(ExportedAuthorStatus.RESEARCHER, test.getStatus(2015));
+		assertSame(ExportedAuthorStatus.RESEARCHER, test.getStatus(2050));
+	}
+
+	@Test
+	public void getStatus_unboundedStart() {
+		final var engineer = createMembership(MemberStatus.ENGINEER, this.orga0, null, 2005);
+		final var test = new MembershipTimeline(Arrays.asList(engineer), null);
+		assertSame(ExportedAuthorStatus.POSTDOC_ENGINEER, test.getStatus(1990));
+		assertSame(ExportedAuthorStatus.POSTDOC_ENGINEER, test.getStatus(2005));
+		assertSame(ExportedAuthorStatus.OTHER, test.getStatus(2006));
+	}
+
+	@Test
+	public void getStatus_organizationSelector() {
+		final var phd = createMembership(MemberStatus.PHD_STUDENT, this.orga0, 2010, 2013);
+		final var professor = createMembership(MemberStatus.FULL_PROFESSOR, this.orga1, 2011, null);
+		final var test = new MembershipTimeline(Arrays.asList(phd, professor), it -> it == this.orga0);
+		assertSame(ExportedAuthorStatus.PHD_STUDENT, test.getStatus(2012));
+		assertSame(ExportedAuthorStatus.OTHER, test.getStatus(2014));
+	}
+
+	@Test
+	public void getStatus_memoized() {
+		final var phd = spy(createMembership(MemberStatus.PHD_STUDENT, this.orga0, 2010, 2013));
+		final var test = new MembershipTimeline(Arrays.asList(phd), null);
+		assertSame(ExportedAuthorStatus.PHD_STUDENT, test.getStatus(2012));
+		assertSame(ExportedAuthorStatus.PHD_STUDENT, test.getStatus(2012));
+		verify(phd, times(1)).isActiveIn(any(), any());
+	}
+
+}
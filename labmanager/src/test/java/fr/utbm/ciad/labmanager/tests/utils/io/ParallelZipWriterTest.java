@@ -0,0 +1,277 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import fr.utbm.ciad.labmanager.utils.io.ParallelZipWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for {@link ParallelZipWriter}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@SuppressWarnings("all")
+public class ParallelZipWriterTest {
+
+	private static final String JSON_CONTENT = "{\"a\":1,\"b\":\"é\"}";
+
+	@TempDir
+	Path folder;
+
+	private Map<String, byte[]> files;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		final var random = new Random(1234);
+		this.files = new LinkedHashMap<>();
+		for (var i = 0; i < 30; ++i) {
+			final String name;
+			final byte[] content;
+			if (i % 2 == 0) {
+				name = "PDF" + i + ".pdf";
+				content = new byte[random.nextInt(100000)];
+				random.nextBytes(content);
+			} else {
+				name = "Logo" + i + ".svg";
+				final var builder = new StringBuilder();
+				final var lines = random.nextInt(5000);
+				for (var j = 0; j < lines; ++j) {
+					builder.append("<line id=\"").append(j).append("\"/>\n");
+				}
+				content = builder.toString().getBytes(StandardCharsets.UTF_8);
+			}
+			Files.write(this.folder.resolve(name), content);
+			this.files.put(name, content);
+		}
+	}
+
+	private byte[] createArchive(AtomicInteger written) throws IOException {
+		return createArchive(written, ParallelZipWriter.DEFAULT_MAX_PENDING_BYTES);
+	}
+
+	private byte[] createArchive(AtomicInteger written, long maxPendingBytes) throws IOException {
+		final var output = new ByteArrayOutputStream();
+		try (final var writer = new ParallelZipWriter(output, 3, Deflater.DEFAULT_COMPRESSION, maxPendingBytes)) {
+			try (final var entry = writer.putNextEntry("content.json")) {
+				entry.write(JSON_CONTENT.getBytes(StandardCharsets.UTF_8));
+			}
+			for (final var name : this.files.keySet()) {
+				writer.addFile("Downloadables/" + name, this.folder.resolve(name).toFile(), written::incrementAndGet);
+			}
+		}
+		return output.toByteArray();
+	}
+
+	@Test
+	public void isAlreadyCompressed() {
+		assertTrue(ParallelZipWriter.isAlreadyCompressed("a.pdf"));
+		assertTrue(ParallelZipWriter.isAlreadyCompressed("a/b.JPG"));
+		assertTrue(ParallelZipWriter.isAlreadyCompressed("slides.pptx"));
+		assertFalse(ParallelZipWriter.isAlreadyCompressed("logo.svg"));
+		assertFalse(ParallelZipWriter.isAlreadyCompressed("slides.ppt"));
+		assertFalse(ParallelZipWriter.isAlreadyCompressed("README"));
+	}
+
+	@Test
+	public void readWithZipInputStream() throws IOException {
+		final var written = new AtomicInteger();
+		final var archive = createArchive(written);
+		assertEquals(this.files.size(), written.get());
+		final var names = new ArrayList<String>();
+		try (final var stream = new ZipInputStream(new ByteArrayInputStream(archive))) {
+			ZipEntry entry;
+			while ((entry = stream.getNextEntry()) != null) {
+				names.add(entry.getName());
+				final var content = stream.readAllBytes();
+				if (entry.getName().equals("content.json")) {
+					assertEquals(JSON_CONTENT, new String(content, StandardCharsets.UTF_8));
+				} else {
+					assertArrayEquals(this.files.get(entry.getName().substring("Downloadables/".length())), content);
+				}
+			}
+		}
+		final var expected = new ArrayList<String>();
+		expected.add("content.json");
+		this.files.keySet().forEach(it -> expected.add("Downloadables/" + it));
+		assertEquals(expected, names);
+	}
+
+	@Test
+	public void readWithZipFile() throws IOException {
+		final var archive = this.folder.resolve("archive.zip");
+		Files.write(archive, createArchive(new AtomicInteger()));
+		try (final var zipFile = new ZipFile(archive.toFile())) {
+			assertEquals(this.files.size() + 1, zipFile.size());
+			for (final var file : this.files.entrySet()) {
+				final var entry = zipFile.getEntry("Downloadables/" + file.getKey());
+				assertNotNull(entry);
+				if (file.getKey().endsWith(".pdf")) {
+					assertEquals(ZipEntry.STORED, entry.getMethod());
+				} else {
+					assertEquals(ZipEntry.DEFLATED, entry.getMethod());
+				}
+				try (final var stream = zipFile.getInputStream(entry)) {
+					assertArrayEquals(file.getValue(), stream.readAllBytes());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void addFile_afterClose() throws IOException {
+		final var writer = new ParallelZipWriter(new ByteArrayOutputStream());
+		writer.close();
+		assertThrows(IOException.class, () -> writer.addFile("a.pdf", new File("a.pdf"), null));
+	}
+
+	@Test
+	public void addFile_entryNotClosed() throws IOException {
+		try (final var writer = new ParallelZipWriter(new ByteArrayOutputStream())) {
+			writer.putNextEntry("content.json");
+			assertThrows(IOException.class, () -> writer.addFile("a.pdf", new File("a.pdf"), null));
+		}
+	}
+
+	@Test
+	public void addFile_duplicateName() throws IOException {
+		final var file = this.folder.resolve(this.files.keySet().iterator().next()).toFile();
+		try (final var writer = new ParallelZipWriter(new ByteArrayOutputStream())) {
+			writer.addFile("a.pdf", file, null);
+			assertThrows(ZipException.class, () -> writer.addFile("a.pdf", file, null));
+			writer.putNextEntry("content.json").close();
+			assertThrows(ZipException.class, () -> writer.putNextEntry("content.json"));
+			assertThrows(ZipException.class, () -> writer.addFile("content.json", file, null));
+		}
+	}
+
+	private static long countTemporaryFiles() throws IOException {
+		try (final var files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+			return files.filter(it -> it.getFileName().toString().startsWith("labmanager-zip")).count();
+		}
+	}
+
+	@Test
+	public void smallPendingBudget() throws IOException {
+		final var temporaryFiles = countTemporaryFiles();
+		final var written = new AtomicInteger();
+		// The biggest files are buffered in temporary files
+		final var archive = createArchive(written, 10000);
+		assertEquals(this.files.size(), written.get());
+		assertEquals(temporaryFiles, countTemporaryFiles());
+		try (final var stream = new ZipInputStream(new ByteArrayInputStream(archive))) {
+			var count = 0;
+			ZipEntry entry;
+			while ((entry = stream.getNextEntry()) != null) {
+				final var content = stream.readAllBytes();
+				if (!entry.getName().equals("content.json")) {
+					assertArrayEquals(this.files.get(entry.getName().substring("Downloadables/".length())), content);
+				}
+				++count;
+			}
+			assertEquals(this.files.size() + 1, count);
+		}
+	}
+
+	@Test
+	public void close_writeFailure() throws IOException {
+		final var temporaryFiles = countTemporaryFiles();
+		final var output = new OutputStream() {
+			private int count;
+			@Override
+			public void write(int b) throws IOException {
+				if (++this.count > 1000) {
+					throw new IOException();
+				}
+			}
+		};
+		final var writer = new ParallelZipWriter(output, 3, Deflater.DEFAULT_COMPRESSION, 10000);
+		assertThrows(IOException.class, () -> {
+			try {
+				for (final var name : this.files.keySet()) {
+					writer.addFile(name, this.folder.resolve(name).toFile(), null);
+				}
+			} finally {
+				writer.close();
+			}
+		});
+		// The temporary files of the prepared entries that are not written are deleted
+		assertEquals(temporaryFiles, countTemporaryFiles());
+	}
+
+	@Test
+	public void zip64EntryCount() throws IOException {
+		final var count = 70000;
+		final var source = this.folder.resolve("entry.txt");
+		Files.write(source, "entry".getBytes(StandardCharsets.UTF_8));
+		final var archive = this.folder.resolve("archive64.zip");
+		try (final var writer = new ParallelZipWriter(Files.newOutputStream(archive))) {
+			for (var i = 0; i < count; ++i) {
+				writer.addFile("e" + i + ".txt", source.toFile(), null);
+			}
+		}
+		try (final var zipFile = new ZipFile(archive.toFile())) {
+			assertEquals(count, zipFile.size());
+			final var entry = zipFile.getEntry("e" + (count - 1) + ".txt");
+			assertNotNull(entry);
+			try (final var stream = zipFile.getInputStream(entry)) {
+				assertEquals("entry", new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+			}
+		}
+		try (final var stream = new ZipInputStream(Files.newInputStream(archive))) {
+			var read = 0;
+			ZipEntry entry;
+			while ((entry = stream.getNextEntry()) != null) {
+				assertEquals("e" + read + ".txt", entry.getName());
+				assertEquals("entry", new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+				++read;
+			}
+			assertEquals(count, read);
+		}
+	}
+
+}
@@ -446,6 +446,7 @@ public class JBibtexBibTeXTest {
 
 		lenient().when(pub.getAbstractText()).thenReturn("Abs 1");
 		lenient().when(pub.getAuthors()).thenReturn(Arrays.asList(p1, p0));
+		lenient().when(pub.getFormattedAuthors(any())).thenCallRealMethod();
 		lenient().when(pub.getCategory()).thenCallRealMethod();
 		lenient().when(pub.getCategoryWithSupplier(any())).thenCallRealMethod();
 		lenient().when(pub.getDblpURL()).thenReturn("DBLP/1");
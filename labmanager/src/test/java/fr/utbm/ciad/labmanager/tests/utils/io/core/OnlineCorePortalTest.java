@@ -26,6 +26,7 @@ import java.net.URL;
 import java.util.Map;
 
 import fr.utbm.ciad.labmanager.tests.utils.TestUtils;
+import fr.utbm.ciad.labmanager.utils.io.HeadlessBrowserPool;
 import fr.utbm.ciad.labmanager.utils.io.coreportal.OnlineCorePortal;
 import fr.utbm.ciad.labmanager.utils.io.coreportal.CorePortal.CorePortalConference;
 import fr.utbm.ciad.labmanager.utils.io.scopus.ScopusPlatform.ScopusPerson;
@@ -60,7 +61,7 @@ public class OnlineCorePortalTest {
 
 	@BeforeEach
 	public void setUp() {
-		this.test = new OnlineCorePortal();
+		this.test = new OnlineCorePortal(new HeadlessBrowserPool());
 	}
 
 	@Test
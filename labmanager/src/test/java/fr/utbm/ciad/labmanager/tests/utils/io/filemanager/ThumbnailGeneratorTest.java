@@ -0,0 +1,215 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.io.filemanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import fr.utbm.ciad.labmanager.utils.io.filemanager.ThumbnailGenerator;
+import fr.utbm.ciad.labmanager.utils.io.filemanager.ThumbnailManifest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for {@link ThumbnailGenerator}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@SuppressWarnings("all")
+public class ThumbnailGeneratorTest {
+
+	@TempDir
+	Path folder;
+
+	private AtomicInteger renderings;
+
+	private volatile CountDownLatch renderingBlocker;
+
+	private volatile IOException renderingFailure;
+
+	private File manifestFile;
+
+	private File source;
+
+	private File thumbnail;
+
+	private ThumbnailGenerator test;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		this.renderings = new AtomicInteger();
+		this.manifestFile = this.folder.resolve("thumbnails.properties").toFile();
+		this.source = this.folder.resolve("PDF1.pdf").toFile();
+		this.thumbnail = this.folder.resolve("PDF1.jpg").toFile();
+		Files.writeString(this.source.toPath(), "content1");
+		this.test = createGenerator();
+	}
+
+	private ThumbnailGenerator createGenerator() {
+		return new ThumbnailGenerator(new ThumbnailManifest(this.manifestFile), (src, output) -> {
+			final var blocker = this.renderingBlocker;
+			if (blocker != null) {
+				try {
+					blocker.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException ex) {
+					throw new IOException(ex);
+				}
+			}
+			if (this.renderingFailure != null) {
+				throw this.renderingFailure;
+			}
+			this.renderings.incrementAndGet();
+			output.write(Files.readAllBytes(src.toPath()));
+		}, 1);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.test.close();
+	}
+
+	@Test
+	public void generate_missingThumbnail() throws Exception {
+		assertTrue(this.test.generate(this.source, this.thumbnail));
+		assertEquals(1, this.renderings.get());
+		assertEquals("content1", Files.readString(this.thumbnail.toPath()));
+	}
+
+	@Test
+	public void generate_missingSource() throws Exception {
+		assertFalse(this.test.generate(this.folder.resolve("PDF2.pdf").toFile(), this.thumbnail));
+		assertEquals(0, this.renderings.get());
+		assertFalse(this.thumbnail.exists());
+	}
+
+	@Test
+	public void generate_unchangedSource() throws Exception {
+		this.test.generate(this.source, this.thumbnail);
+		assertFalse(this.test.generate(this.source, this.thumbnail));
+		assertEquals(1, this.renderings.get());
+	}
+
+	@Test
+	public void generate_changedSource() throws Exception {
+		this.test.generate(this.source, this.thumbnail);
+		Files.writeString(this.source.toPath(), "content-2");
+		assertTrue(this.test.generate(this.source, this.thumbnail));
+		assertEquals(2, this.renderings.get());
+		assertEquals("content-2", Files.readString(this.thumbnail.toPath()));
+	}
+
+	@Test
+	public void generate_touchedSource() throws Exception {
+		this.test.generate(this.source, this.thumbnail);
+		this.source.setLastModified(this.source.lastModified() - 10000);
+		assertFalse(this.test.generate(this.source, this.thumbnail));
+		assertEquals(1, this.renderings.get());
+	}
+
+	@Test
+	public void generate_deletedThumbnail() throws Exception {
+		this.test.generate(this.source, this.thumbnail);
+		this.thumbnail.delete();
+		assertTrue(this.test.generate(this.source, this.thumbnail));
+		assertEquals(2, this.renderings.get());
+	}
+
+	@Test
+	public void submit() throws Exception {
+		assertTrue(this.test.submit(this.source, this.thumbnail).get().booleanValue());
+		assertFalse(this.test.submit(this.source, this.thumbnail).get().booleanValue());
+		assertEquals(1, this.renderings.get());
+	}
+
+	@Test
+	public void generate_force() throws Exception {
+		this.test.generate(this.source, this.thumbnail);
+		assertTrue(this.test.generate(this.source, this.thumbnail, true));
+		assertEquals(2, this.renderings.get());
+	}
+
+	@Test
+	public void generate_renderingFailure() throws Exception {
+		this.renderingFailure = new IOException();
+		assertThrows(IOException.class, () -> this.test.generate(this.source, this.thumbnail));
+		assertFalse(this.thumbnail.exists());
+		// The source file is not registered as generated
+		this.renderingFailure = null;
+		assertTrue(this.test.generate(this.source, this.thumbnail));
+	}
+
+	@Test
+	public void submit_force() throws Exception {
+		this.test.submit(this.source, this.thumbnail).get();
+		assertTrue(this.test.submit(this.source, this.thumbnail, true).get().booleanValue());
+		assertEquals(2, this.renderings.get());
+	}
+
+	@Test
+	public void submit_forceMergedIntoPending() throws Exception {
+		this.test.submit(this.source, this.thumbnail).get();
+		// The single thread of the generator is busy with another thumbnail
+		final var other = this.folder.resolve("PDF2.pdf").toFile();
+		Files.writeString(other.toPath(), "content2");
+		this.renderingBlocker = new CountDownLatch(1);
+		final var busy = this.test.submit(other, this.folder.resolve("PDF2.jpg").toFile());
+		final var pending = this.test.submit(this.source, this.thumbnail);
+		final var forced = this.test.submit(this.source, this.thumbnail, true);
+		assertSame(pending, forced);
+		this.renderingBlocker.countDown();
+		busy.get();
+		assertTrue(forced.get().booleanValue());
+		assertEquals(3, this.renderings.get());
+	}
+
+	@Test
+	public void submit_renderingFailure() throws Exception {
+		this.renderingFailure = new IOException();
+		final var future = this.test.submit(this.source, this.thumbnail);
+		final var ex = assertThrows(ExecutionException.class, () -> future.get());
+		assertSame(this.renderingFailure, assertInstanceOf(IOException.class, ex.getCause()).getCause());
+	}
+
+	@Test
+	public void close_persistentManifest() throws Exception {
+		this.test.submit(this.source, this.thumbnail).get();
+		this.test.close();
+		assertTrue(this.manifestFile.isFile());
+		this.test = createGenerator();
+		assertFalse(this.test.generate(this.source, this.thumbnail));
+		assertEquals(1, this.renderings.get());
+	}
+
+}
@@ -23,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.net.URL;
 
 import fr.utbm.ciad.labmanager.tests.utils.TestUtils;
+import fr.utbm.ciad.labmanager.utils.io.HeadlessBrowserPool;
 import fr.utbm.ciad.labmanager.utils.io.gscholar.OnlineGoogleScholarPlatform;
 import fr.utbm.ciad.labmanager.utils.io.gscholar.GoogleScholarPlatform.GoogleScholarPerson;
 import org.junit.jupiter.api.BeforeEach;
@@ -50,7 +51,7 @@ public class OnlineGoogleScholarPlatformTest {
 
 	@BeforeEach
 	public void setUp() {
-		this.test = new OnlineGoogleScholarPlatform();
+		this.test = new OnlineGoogleScholarPlatform(new HeadlessBrowserPool());
 	}
 
 	@Test
@@ -0,0 +1,131 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.io.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import fr.utbm.ciad.labmanager.data.assostructure.AssociatedStructureRepository;
+import fr.utbm.ciad.labmanager.data.conference.ConferenceRepository;
+import fr.utbm.ciad.labmanager.data.indicator.GlobalIndicatorsRepository;
+import fr.utbm.ciad.labmanager.data.invitation.PersonInvitationRepository;
+import fr.utbm.ciad.labmanager.data.journal.JournalRepository;
+import fr.utbm.ciad.labmanager.data.jury.JuryMembershipRepository;
+import fr.utbm.ciad.labmanager.data.member.MembershipRepository;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.member.PersonRepository;
+import fr.utbm.ciad.labmanager.data.organization.OrganizationAddressRepository;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
+import fr.utbm.ciad.labmanager.data.project.ProjectRepository;
+import fr.utbm.ciad.labmanager.data.publication.PublicationRepository;
+import fr.utbm.ciad.labmanager.data.scientificaxis.ScientificAxisRepository;
+import fr.utbm.ciad.labmanager.data.supervision.SupervisionRepository;
+import fr.utbm.ciad.labmanager.data.teaching.TeachingActivityRepository;
+import fr.utbm.ciad.labmanager.data.user.UserRepository;
+import fr.utbm.ciad.labmanager.utils.io.json.DatabaseToJsonExporter;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonTool;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
+import org.arakhne.afc.progress.DefaultProgression;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.MessageSourceAccessor;
+
+/** Tests for {@link DatabaseToJsonExporter}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class DatabaseToJsonExporterTest {
+
+	private PersonRepository personRepository;
+
+	private DatabaseToJsonExporter test;
+
+	@BeforeEach
+	public void setUp() {
+		this.personRepository = mock(PersonRepository.class);
+		this.test = new DatabaseToJsonExporter(
+				mock(MessageSourceAccessor.class),
+				mock(OrganizationAddressRepository.class),
+				mock(ResearchOrganizationRepository.class),
+				this.personRepository,
+				mock(MembershipRepository.class),
+				mock(JournalRepository.class),
+				mock(ConferenceRepository.class),
+				mock(PublicationRepository.class),
+				mock(JuryMembershipRepository.class),
+				mock(SupervisionRepository.class),
+				mock(PersonInvitationRepository.class),
+				mock(GlobalIndicatorsRepository.class),
+				mock(ProjectRepository.class),
+				mock(AssociatedStructureRepository.class),
+				mock(TeachingActivityRepository.class),
+				mock(ScientificAxisRepository.class),
+				mock(UserRepository.class));
+	}
+
+	private static Person createPerson(long id, String firstName, String lastName) {
+		final var person = new Person();
+		person.setId(id);
+		person.setFirstName(firstName);
+		person.setLastName(lastName);
+		return person;
+	}
+
+	@Test
+	public void exportFromDatabaseToJsonGenerator_empty() throws Exception {
+		final var writer = new StringWriter();
+		try (var generator = JsonUtils.createMapper().getFactory().createGenerator(writer)) {
+			assertFalse(this.test.exportFromDatabaseToJsonGenerator(generator, Locale.US, new DefaultProgression(), null));
+		}
+		assertEquals("", writer.toString());
+		assertNull(this.test.exportFromDatabaseToJsonObject(JsonUtils.createMapper().getNodeFactory(), Locale.US, new DefaultProgression()));
+	}
+
+	@Test
+	public void exportFromDatabaseToJsonGenerator_sameAsJsonObject() throws Exception {
+		when(this.personRepository.findAll()).thenReturn(Arrays.asList(
+				createPerson(123, "Stephane", "Galland"),
+				createPerson(234, "Abderrafiaa", "Koukam")));
+		final var mapper = JsonUtils.createMapper();
+		final var expected = this.test.exportFromDatabaseToJsonObject(mapper.getNodeFactory(), Locale.US, new DefaultProgression());
+
+		final var writer = new StringWriter();
+		final List<String> sections = new ArrayList<>();
+		try (var generator = mapper.getFactory().createGenerator(writer)) {
+			assertTrue(this.test.exportFromDatabaseToJsonGenerator(generator, Locale.US, new DefaultProgression(),
+					(name, section) -> sections.add(name)));
+		}
+
+		assertEquals(Arrays.asList(JsonTool.PERSONS_SECTION), sections);
+		assertEquals(expected, mapper.readTree(writer.toString()));
+	}
+
+}
@@ -0,0 +1,147 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.io.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import fr.utbm.ciad.labmanager.utils.io.json.JsonPropertyAccessors;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link JsonPropertyAccessors}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@SuppressWarnings("all")
+public class JsonPropertyAccessorsTest {
+
+	@Test
+	public void getGetters() throws Exception {
+		final var getters = JsonPropertyAccessors.getGetters(Bean.class);
+		assertEquals(Set.of("title", "validated", "year"), getters.keySet());
+		final var bean = new Bean();
+		bean.setTitle("abc");
+		bean.setYear(2024);
+		bean.setValidated(Boolean.TRUE);
+		assertEquals("abc", getters.get("title").get(bean));
+		assertEquals(Integer.valueOf(2024), getters.get("year").get(bean));
+		assertEquals(Boolean.TRUE, getters.get("validated").get(bean));
+	}
+
+	@Test
+	public void getGetters_cached() {
+		assertSame(JsonPropertyAccessors.getGetters(Bean.class), JsonPropertyAccessors.getGetters(Bean.class));
+	}
+
+	@Test
+	public void findSetter() throws Exception {
+		final var bean = new Bean();
+		final var setter = JsonPropertyAccessors.findSetter(Bean.class, new TreeSet<>(Set.of("settitle", "setname")), String.class);
+		assertNotNull(setter);
+		setter.set(bean, "xyz");
+		assertEquals("xyz", bean.getTitle());
+		assertSame(setter, JsonPropertyAccessors.findSetter(Bean.class, Set.of("settitle", "setname"), String.class));
+	}
+
+	@Test
+	public void findSetter_notAssignable() {
+		assertNull(JsonPropertyAccessors.findSetter(Bean.class, Set.of("settitle"), Integer.class));
+	}
+
+	@Test
+	public void findSetter_unknown() {
+		assertNull(JsonPropertyAccessors.findSetter(Bean.class, Set.of("setunknown"), String.class));
+	}
+
+	@Test
+	public void findSetter_tooManyCandidates() {
+		assertNull(JsonPropertyAccessors.findSetter(Bean.class, Set.of("setyear"), Integer.class));
+	}
+
+	@Test
+	public void findSetter_boolean() throws Exception {
+		final var bean = new Bean();
+		JsonPropertyAccessors.findSetter(Bean.class, Set.of("setvalidated"), Boolean.class).set(bean, Boolean.TRUE);
+		assertTrue(bean.isValidated());
+		JsonPropertyAccessors.findSetter(Bean.class, Set.of("setvalidated"), Boolean.class).set(bean, Boolean.FALSE);
+		assertFalse(bean.isValidated());
+	}
+
+	public static class Bean {
+
+		private long id;
+
+		private String title;
+
+		private int year;
+
+		private boolean validated;
+
+		public long getId() {
+			return this.id;
+		}
+
+		public void setId(long id) {
+			this.id = id;
+		}
+
+		public String getTitle() {
+			return this.title;
+		}
+
+		public void setTitle(String title) {
+			this.title = title;
+		}
+
+		public int getYear() {
+			return this.year;
+		}
+
+		public void setYear(Number year) {
+			this.year = year == null ? 0 : year.intValue();
+		}
+
+		public void setYear(Integer year) {
+			this.year = year == null ? 0 : year.intValue();
+		}
+
+		public boolean isValidated() {
+			return this.validated;
+		}
+
+		public void setValidated(Boolean validated) {
+			this.validated = validated != null && validated.booleanValue();
+		}
+
+		public String getComputed() {
+			return "computed";
+		}
+
+	}
+
+}
@@ -0,0 +1,325 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.io.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import fr.utbm.ciad.labmanager.data.assostructure.AssociatedStructureRepository;
+import fr.utbm.ciad.labmanager.data.conference.ConferenceQualityAnnualIndicatorsRepository;
+import fr.utbm.ciad.labmanager.data.conference.ConferenceRepository;
+import fr.utbm.ciad.labmanager.data.invitation.PersonInvitationRepository;
+import fr.utbm.ciad.labmanager.data.journal.Journal;
+import fr.utbm.ciad.labmanager.data.journal.JournalQualityAnnualIndicatorsRepository;
+import fr.utbm.ciad.labmanager.data.journal.JournalRepository;
+import fr.utbm.ciad.labmanager.data.jury.JuryMembershipRepository;
+import fr.utbm.ciad.labmanager.data.member.MembershipRepository;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.member.PersonRepository;
+import fr.utbm.ciad.labmanager.data.organization.OrganizationAddressRepository;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
+import fr.utbm.ciad.labmanager.data.project.ProjectRepository;
+import fr.utbm.ciad.labmanager.data.publication.AuthorshipRepository;
+import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.data.publication.PublicationRepository;
+import fr.utbm.ciad.labmanager.data.scientificaxis.ScientificAxisRepository;
+import fr.utbm.ciad.labmanager.data.supervision.SupervisionRepository;
+import fr.utbm.ciad.labmanager.data.teaching.TeachingActivityRepository;
+import fr.utbm.ciad.labmanager.data.user.UserRepository;
+import fr.utbm.ciad.labmanager.services.indicator.GlobalIndicatorsService;
+import fr.utbm.ciad.labmanager.services.member.PersonService;
+import fr.utbm.ciad.labmanager.services.publication.PublicationService;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonToDatabaseImporter;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
+import fr.utbm.ciad.labmanager.utils.io.json.UnableToImportJsonException;
+import fr.utbm.ciad.labmanager.utils.names.PersonNameParser;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Tests for the import of the publications by {@link JsonToDatabaseImporter} on an embedded Derby database.
+ * The importer commits its own transactions; the test data are therefore committed and the
+ * database is discarded after the tests.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.1
+ */
+@SuppressWarnings("all")
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.DerbyDialect"})
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.DERBY, replace = Replace.ANY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+public class JsonToDatabaseImporterTest {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private PersonRepository realPersonRepository;
+
+	@Autowired
+	private JournalRepository realJournalRepository;
+
+	@Autowired
+	private PublicationRepository publicationRepository;
+
+	@Autowired
+	private AuthorshipRepository authorshipRepository;
+
+	@Autowired
+	private ConferenceRepository conferenceRepository;
+
+	@Autowired
+	private ScientificAxisRepository scientificAxisRepository;
+
+	private SessionFactory sessionFactory;
+
+	private PersonRepository personRepository;
+
+	private PersonService personService;
+
+	private JournalRepository journalRepository;
+
+	private PublicationService publicationService;
+
+	private Map<String, Long> objectIdRepository;
+
+	private TestImporter test;
+
+	@BeforeEach
+	public void setUp() {
+		this.sessionFactory = this.entityManagerFactory.unwrap(SessionFactory.class);
+		inTransaction(session -> {
+			session.createMutationQuery("DELETE FROM Authorship").executeUpdate();
+			session.createMutationQuery("DELETE FROM Publication").executeUpdate();
+			return null;
+		});
+		final var persons = inTransaction(session -> List.of(person(session, "P1"), person(session, "P2")));
+		final var journal = inTransaction(session -> {
+			final var entity = new Journal();
+			entity.setJournalName("Journal");
+			session.persist(entity);
+			return entity;
+		});
+
+		// The repositories are spied for counting the queries
+		this.personRepository = mock(PersonRepository.class, delegatesTo(this.realPersonRepository));
+		this.journalRepository = mock(JournalRepository.class, delegatesTo(this.realJournalRepository));
+		this.personService = mock(PersonService.class);
+		this.publicationService = mock(PublicationService.class);
+		when(this.publicationService.save(any(Publication.class))).thenAnswer(
+				it -> this.publicationRepository.save((Publication) it.getArgument(0)));
+
+		this.objectIdRepository = new TreeMap<>();
+		this.objectIdRepository.put("#p1", Long.valueOf(persons.get(0).getId()));
+		this.objectIdRepository.put("#p2", Long.valueOf(persons.get(1).getId()));
+		this.objectIdRepository.put("#j1", Long.valueOf(journal.getId()));
+
+		this.test = new TestImporter(
+				mock(MessageSourceAccessor.class),
+				this.sessionFactory,
+				this.transactionManager,
+				mock(OrganizationAddressRepository.class),
+				mock(ResearchOrganizationRepository.class),
+				this.personRepository,
+				this.personService,
+				mock(MembershipRepository.class),
+				this.journalRepository,
+				mock(JournalQualityAnnualIndicatorsRepository.class),
+				this.conferenceRepository,
+				mock(ConferenceQualityAnnualIndicatorsRepository.class),
+				this.publicationService,
+				this.authorshipRepository,
+				mock(PersonNameParser.class),
+				mock(JuryMembershipRepository.class),
+				mock(SupervisionRepository.class),
+				mock(PersonInvitationRepository.class),
+				mock(GlobalIndicatorsService.class),
+				mock(ProjectRepository.class),
+				mock(AssociatedStructureRepository.class),
+				mock(TeachingActivityRepository.class),
+				this.scientificAxisRepository,
+				mock(UserRepository.class));
+	}
+
+	private <T> T inTransaction(Function<Session, T> code) {
+		try (final var session = this.sessionFactory.openSession()) {
+			final var transaction = session.beginTransaction();
+			final var result = code.apply(session);
+			transaction.commit();
+			return result;
+		}
+	}
+
+	private static Person person(Session session, String name) {
+		final var person = new Person();
+		person.setFirstName(name);
+		person.setLastName(name);
+		session.persist(person);
+		return person;
+	}
+
+	private List<String> getPublicationTitles() {
+		return inTransaction(session -> session.createSelectionQuery(
+				"SELECT p.title FROM Publication p ORDER BY p.title", String.class).getResultList());
+	}
+
+	private long getAuthorshipCount() {
+		return inTransaction(session -> session.createSelectionQuery(
+				"SELECT COUNT(a) FROM Authorship a", Long.class).getSingleResult()).longValue();
+	}
+
+	private static ArrayNode createPublications(int count, int publicationWithoutAuthor) {
+		final var mapper = JsonUtils.createMapper();
+		final var publications = mapper.createArrayNode();
+		for (var i = 0; i < count; ++i) {
+			final var publication = publications.addObject();
+			publication.put("@id", "#pub" + i);
+			publication.put("type", "INTERNATIONAL_JOURNAL_PAPER");
+			publication.put("title", "Title " + i);
+			publication.put("publicationYear", 2020);
+			publication.putObject("journal").put("@id", "#j1");
+			final var authors = publication.putArray("authors");
+			if (i != publicationWithoutAuthor) {
+				authors.addObject().put("@id", "#p1");
+				authors.addObject().put("@id", "#p2");
+			}
+		}
+		return publications;
+	}
+
+	@Test
+	public void insertPublications_chunks() throws Exception {
+		final var added = this.test.insertPublications(createPublications(5, -1), this.objectIdRepository, 2);
+		assertEquals(5, added);
+		assertEquals(List.of("Title 0", "Title 1", "Title 2", "Title 3", "Title 4"), getPublicationTitles());
+		assertEquals(10l, getAuthorshipCount());
+		verify(this.publicationService, never()).resetTitleIndex();
+		verify(this.personService, never()).resetNameIndex();
+	}
+
+	@Test
+	public void insertPublications_singleTransactionPerPublication() throws Exception {
+		final var added = this.test.insertPublications(createPublications(3, -1), this.objectIdRepository, 0);
+		assertEquals(3, added);
+		assertEquals(List.of("Title 0", "Title 1", "Title 2"), getPublicationTitles());
+		assertEquals(6l, getAuthorshipCount());
+	}
+
+	@Test
+	public void insertPublications_preloadedReferences() throws Exception {
+		this.test.insertPublications(createPublications(3, -1), this.objectIdRepository, 2);
+		// One query per type of referenced entity
+		verify(this.personRepository, times(1)).findAllById(anyIterable());
+		verify(this.journalRepository, times(1)).findAllById(anyIterable());
+		verify(this.personService, never()).getPersonById(anyLong());
+		verify(this.journalRepository, never()).findById(any());
+		final var authors = inTransaction(session -> session.createSelectionQuery(
+				"SELECT a.person.firstName FROM Authorship a WHERE a.publication.title = :title ORDER BY a.authorRank", String.class)
+				.setParameter("title", "Title 1")
+				.getResultList());
+		assertEquals(List.of("P1", "P2"), authors);
+	}
+
+	@Test
+	public void insertPublications_failingChunk() throws Exception {
+		// The fourth publication has no author; it is in the second chunk [3, 4, 5]
+		assertThrows(UnableToImportJsonException.class,
+				() -> this.test.insertPublications(createPublications(6, 3), this.objectIdRepository, 3));
+		// The first chunk is committed; the fourth publication, which was saved before the failure, is rolled back
+		assertEquals(List.of("Title 0", "Title 1", "Title 2"), getPublicationTitles());
+		assertEquals(6l, getAuthorshipCount());
+		// The rolled back publications and authors were indexed
+		verify(this.publicationService).resetTitleIndex();
+		verify(this.personService).resetNameIndex();
+	}
+
+	/** Importer that exposes the import of the publications.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.1
+	 */
+	private static class TestImporter extends JsonToDatabaseImporter {
+
+		TestImporter(MessageSourceAccessor messages, SessionFactory sessionFactory, PlatformTransactionManager transactionManager,
+				OrganizationAddressRepository addressRepository, ResearchOrganizationRepository organizationRepository,
+				PersonRepository personRepository, PersonService personService,
+				MembershipRepository organizationMembershipRepository, JournalRepository journalRepository,
+				JournalQualityAnnualIndicatorsRepository journalIndicatorsRepository, ConferenceRepository conferenceRepository,
+				ConferenceQualityAnnualIndicatorsRepository conferenceIndicatorsRepository, PublicationService publicationService,
+				AuthorshipRepository authorshipRepository, PersonNameParser personNameParser,
+				JuryMembershipRepository juryMembershipRepository, SupervisionRepository supervisionRepository,
+				PersonInvitationRepository invitationRepository, GlobalIndicatorsService globalIndicatorsService,
+				ProjectRepository projectRepository, AssociatedStructureRepository structureRepository,
+				TeachingActivityRepository teachingRepository, ScientificAxisRepository scientificAxisRepository,
+				UserRepository userRepository) {
+			super(messages, sessionFactory, transactionManager, addressRepository, organizationRepository, personRepository, personService,
+					organizationMembershipRepository, journalRepository, journalIndicatorsRepository, conferenceRepository,
+					conferenceIndicatorsRepository, publicationService, authorshipRepository, personNameParser,
+					juryMembershipRepository, supervisionRepository, invitationRepository, globalIndicatorsService,
+					projectRepository, structureRepository, teachingRepository, scientificAxisRepository, userRepository);
+		}
+
+		int insertPublications(JsonNode publications, Map<String, Long> objectIdRepository,
+				int bulkChunkSize) throws Exception {
+			final var added = insertPublications(publications, null, objectIdRepository,
+					new HashMap<>(), null, bulkChunkSize);
+			return added.getLeft().intValue();
+		}
+
+	}
+
+}
@@ -0,0 +1,178 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.io.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import fr.utbm.ciad.labmanager.utils.io.network.DownloadEngine;
+import org.arakhne.afc.progress.DefaultProgression;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link DownloadEngine}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class DownloadEngineTest {
+
+	private static final List<Integer> ITEMS = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8);
+
+	private DownloadEngine test;
+
+	@BeforeEach
+	public void setUp() {
+		this.test = new DownloadEngine(4, 0, 2, 1);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.test.close();
+	}
+
+	@Test
+	public void download_allItems() throws Exception {
+		final var caller = Thread.currentThread();
+		final var results = new HashMap<Integer, Integer>();
+		final var progress = new DefaultProgression();
+		assertTrue(this.test.download("host", ITEMS, it -> Integer.valueOf(it.intValue() * 10), (item, value, error) -> {
+			assertSame(caller, Thread.currentThread());
+			assertNull(error);
+			results.put(item, value);
+		}, progress));
+		assertEquals(ITEMS.size(), results.size());
+		for (final var item : ITEMS) {
+			assertEquals(Integer.valueOf(item.intValue() * 10), results.get(item));
+		}
+		assertEquals(progress.getMaximum(), progress.getValue());
+	}
+
+	@Test
+	public void download_concurrent() throws Exception {
+		final var running = new AtomicInteger();
+		final var maxRunning = new AtomicInteger();
+		this.test.download("host", ITEMS, it -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			Thread.sleep(50);
+			running.decrementAndGet();
+			return it;
+		}, (item, value, error) -> {
+			//
+		}, null);
+		assertTrue(maxRunning.get() > 1);
+		assertTrue(maxRunning.get() <= this.test.getMaxConcurrency());
+	}
+
+	@Test
+	public void download_retry() throws Exception {
+		final var attempts = new ConcurrentHashMap<Integer, AtomicInteger>();
+		final var results = new HashMap<Integer, Integer>();
+		this.test.download("host", ITEMS, it -> {
+			if (attempts.computeIfAbsent(it, it0 -> new AtomicInteger()).incrementAndGet() < 2) {
+				throw new IOException();
+			}
+			return it;
+		}, (item, value, error) -> {
+			assertNull(error);
+			results.put(item, value);
+		}, null);
+		assertEquals(ITEMS.size(), results.size());
+		for (final var item : ITEMS) {
+			assertEquals(2, attempts.get(item).get());
+		}
+	}
+
+	@Test
+	public void download_failure() throws Exception {
+		final var attempts = new AtomicInteger();
+		final var errors = new ArrayList<Throwable>();
+		this.test.download("host", Collections.singletonList(1), it -> {
+			attempts.incrementAndGet();
+			throw new IOException();
+		}, (item, value, error) -> {
+			assertNull(value);
+			errors.add(error);
+		}, null);
+		assertEquals(1 + this.test.getMaxRetries(), attempts.get());
+		assertEquals(1, errors.size());
+		assertTrue(errors.get(0) instanceof IOException);
+	}
+
+	@Test
+	public void download_consumerFailure() throws Exception {
+		assertThrows(IllegalStateException.class, () -> {
+			this.test.download("host", ITEMS, it -> it, (item, value, error) -> {
+				throw new IllegalStateException();
+			}, null);
+		});
+	}
+
+	@Test
+	public void download_hostRateLimit() throws Exception {
+		try (final var engine = new DownloadEngine(4, 100, 0, 0)) {
+			final var starts = Collections.synchronizedList(new ArrayList<Long>());
+			engine.download("host", Arrays.asList(1, 2, 3), it -> {
+				starts.add(Long.valueOf(System.currentTimeMillis()));
+				return it;
+			}, (item, value, error) -> {
+				//
+			}, null);
+			final var sorted = new ArrayList<>(new TreeSet<>(starts));
+			assertEquals(3, sorted.size());
+			for (var i = 1; i < sorted.size(); ++i) {
+				// Tolerance for the granularity of the clock
+				assertTrue(sorted.get(i).longValue() - sorted.get(i - 1).longValue() >= 90);
+			}
+		}
+	}
+
+	@Test
+	public void download_interrupted() throws Exception {
+		final var delivered = new AtomicInteger();
+		Thread.currentThread().interrupt();
+		try {
+			assertFalse(this.test.download("host", ITEMS, it -> {
+				Thread.sleep(10000);
+				return it;
+			}, (item, value, error) -> delivered.incrementAndGet(), null));
+			assertTrue(Thread.interrupted());
+		} finally {
+			Thread.interrupted();
+		}
+		assertEquals(0, delivered.get());
+	}
+
+}
@@ -22,6 +22,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import java.net.URL;
 
 import fr.utbm.ciad.labmanager.tests.utils.TestUtils;
+import fr.utbm.ciad.labmanager.utils.io.HeadlessBrowserPool;
 import fr.utbm.ciad.labmanager.utils.io.scopus.OnlineScopusPlatform;
 import fr.utbm.ciad.labmanager.utils.io.scopus.ScopusPlatform.ScopusPerson;
 import org.junit.jupiter.api.BeforeEach;
@@ -50,7 +51,7 @@ public class OnlineScopusPlatformTest {
 
 	@BeforeEach
 	public void setUp() {
-		this.test = new OnlineScopusPlatform();
+		this.test = new OnlineScopusPlatform(new HeadlessBrowserPool());
 	}
 
 	@Test
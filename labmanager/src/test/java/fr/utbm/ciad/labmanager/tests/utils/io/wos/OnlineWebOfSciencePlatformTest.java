@@ -22,6 +22,7 @@ import java.net.URL;
 import java.util.Map;
 
 import fr.utbm.ciad.labmanager.tests.utils.TestUtils;
+import fr.utbm.ciad.labmanager.utils.io.HeadlessBrowserPool;
 import fr.utbm.ciad.labmanager.utils.io.scimago.ScimagoPlatform;
 import fr.utbm.ciad.labmanager.utils.io.wos.OnlineWebOfSciencePlatform;
 import fr.utbm.ciad.labmanager.utils.io.wos.WebOfSciencePlatform.WebOfScienceJournal;
@@ -59,7 +60,7 @@ public class OnlineWebOfSciencePlatformTest {
 
 	@BeforeEach
 	public void setUp() {
-		this.test = new OnlineWebOfSciencePlatform();
+		this.test = new OnlineWebOfSciencePlatform(new HeadlessBrowserPool());
 	}
 
 	private static void assertSimilar(float expected, float actual) {
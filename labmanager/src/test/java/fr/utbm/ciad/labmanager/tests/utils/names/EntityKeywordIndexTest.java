@@ -0,0 +1,127 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.names;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import fr.utbm.ciad.labmanager.utils.names.EntityKeywordIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link EntityKeywordIndex}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class EntityKeywordIndexTest {
+
+	private static final List<String> NAME = Collections.singletonList("name");
+
+	private static final List<String> PUBLISHER = Collections.singletonList("publisher");
+
+	private EntityKeywordIndex test;
+
+	@BeforeEach
+	public void setUp() {
+		this.test = new EntityKeywordIndex();
+		this.test.put(1, Map.of("name", "Stéphane Galland", "publisher", "Springer"));
+		this.test.put(2, Map.of("name", "Abderrafiaa Koukam", "publisher", "Elsevier"));
+		this.test.put(3, Map.of("name", "Nicolas Gaud", "publisher", "IEEE"));
+		this.test.put(4, Map.of("name", "Yazan Mualla"));
+	}
+
+	private static Set<Long> ids(long... ids) {
+		final var result = new HashSet<Long>();
+		for (final var id : ids) {
+			result.add(Long.valueOf(id));
+		}
+		return result;
+	}
+
+	@Test
+	public void size() {
+		assertEquals(4, this.test.size());
+	}
+
+	@Test
+	public void normalize() {
+		assertEquals("stephane galland", EntityKeywordIndex.normalize("Stéphane GALLAND"));
+		assertEquals("", EntityKeywordIndex.normalize(null));
+	}
+
+	@Test
+	public void search_substring() {
+		assertEquals(ids(1), this.test.search("gall", NAME));
+		assertEquals(ids(1, 3), this.test.search("ga", NAME));
+		assertEquals(ids(), this.test.search("xyz", NAME));
+	}
+
+	@Test
+	public void search_accents() {
+		assertEquals(ids(1), this.test.search("STEPH", NAME));
+		assertEquals(ids(1), this.test.search("stéph", NAME));
+	}
+
+	@Test
+	public void search_allKeywords() {
+		assertEquals(ids(1), this.test.search("gal steph", NAME));
+		assertEquals(ids(), this.test.search("galland koukam", NAME));
+	}
+
+	@Test
+	public void search_fields() {
+		assertEquals(ids(), this.test.search("springer", NAME));
+		assertEquals(ids(1), this.test.search("springer", PUBLISHER));
+		assertEquals(ids(1), this.test.search("springer galland", Arrays.asList("name", "publisher")));
+		assertEquals(ids(1), this.test.search("springer galland", null));
+		assertEquals(ids(), this.test.search("galland", Collections.emptyList()));
+	}
+
+	@Test
+	public void put_replace() {
+		this.test.put(1, Map.of("name", "Jocelyn Buisson"));
+		assertEquals(4, this.test.size());
+		assertTrue(this.test.search("galland", NAME).isEmpty());
+		assertEquals(ids(1), this.test.search("buisson", NAME));
+	}
+
+	@Test
+	public void remove() {
+		this.test.remove(3);
+		assertEquals(3, this.test.size());
+		assertEquals(ids(1), this.test.search("ga", NAME));
+	}
+
+	@Test
+	public void clear() {
+		this.test.clear();
+		assertEquals(0, this.test.size());
+		assertTrue(this.test.search("a", null).isEmpty());
+	}
+
+}
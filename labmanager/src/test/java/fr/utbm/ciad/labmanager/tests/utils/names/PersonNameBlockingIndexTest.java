@@ -0,0 +1,161 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.names;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import fr.utbm.ciad.labmanager.utils.names.DefaultPersonNameParser;
+import fr.utbm.ciad.labmanager.utils.names.NormalizedPersonName;
+import fr.utbm.ciad.labmanager.utils.names.PersonNameBlockingIndex;
+import fr.utbm.ciad.labmanager.utils.names.PersonNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.SorensenDice.SorensenDicePersonNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.jaccar.JaccarPersonNameComparator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link PersonNameBlockingIndex}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class PersonNameBlockingIndexTest {
+
+	private static final String[][] NAMES = {
+			{"Stephane", "Galland"},
+			{"S.", "Galland"},
+			{"Stéphane", "Gallant"},
+			{"Galland", "Stephane"},
+			{"Jean-Pierre", "Dupont"},
+			{"J. P.", "Dupont"},
+			{"J-P", "Dupond"},
+			{"Abderrafiaa", "Koukam"},
+			{"A.", "Koukam"},
+			{"Yazan", "Mualla"},
+			{"Y", "Mualla"},
+			{"Li", "Xu"},
+			{"Li", "Xue"},
+			{"Xu", "Li"},
+			{"Nicolas", "Gaud"},
+			{"Nicola", "Gaudin"},
+			{"", "Unknown"},
+			{"Anonymous", null},
+			{"Franck", "Gechter"},
+			{"F.", "Gechter"},
+	};
+
+	private DefaultPersonNameParser parser;
+
+	private List<NormalizedPersonName> names;
+
+	@BeforeEach
+	public void setUp() {
+		this.parser = new DefaultPersonNameParser();
+		this.names = new ArrayList<>();
+		for (final var name : NAMES) {
+			this.names.add(new NormalizedPersonName(this.parser, name[0], name[1]));
+		}
+	}
+
+	private List<String> bruteForce(PersonNameComparator comparator) {
+		final var result = new ArrayList<String>();
+		for (var i = 0; i < this.names.size(); ++i) {
+			for (var j = i + 1; j < this.names.size(); ++j) {
+				if (comparator.isSimilar(NAMES[i][0], NAMES[i][1], NAMES[j][0], NAMES[j][1])) {
+					result.add(i + "-" + j);
+				}
+			}
+		}
+		return result;
+	}
+
+	private List<String> blocked(PersonNameComparator comparator) {
+		final var index = new PersonNameBlockingIndex(this.names, comparator.getSimilarityLevel());
+		final var result = new ArrayList<String>();
+		for (var i = 0; i < index.size(); ++i) {
+			for (final var j : index.getCandidatesAfter(i)) {
+				if (comparator.isSimilar(index.get(i), index.get(j))) {
+					result.add(i + "-" + j);
+				}
+			}
+		}
+		return result;
+	}
+
+	@Test
+	public void getCandidatesAfter_sorensenDice() {
+		final var comparator = new SorensenDicePersonNameComparator(this.parser);
+		final var expected = bruteForce(comparator);
+		assertTrue(expected.size() > 0);
+		assertEquals(expected, blocked(comparator));
+	}
+
+	@Test
+	public void getCandidatesAfter_jaccard() {
+		final var comparator = new JaccarPersonNameComparator(this.parser);
+		final var expected = bruteForce(comparator);
+		assertTrue(expected.size() > 0);
+		assertEquals(expected, blocked(comparator));
+	}
+
+	@Test
+	public void getCandidatesAfter_pruning() {
+		final var index = new PersonNameBlockingIndex(this.names, 0.7);
+		// "Franck Gechter" shares blocks only with "F. Gechter"
+		assertArrayEquals(new int[] {19}, index.getCandidatesAfter(18));
+		// "Yazan Mualla" shares blocks with "Y Mualla" and the names without first name or last name
+		assertArrayEquals(new int[] {10, 16, 17}, index.getCandidatesAfter(9));
+	}
+
+	@Test
+	public void getCandidatesAfter_wildcard() {
+		final var index = new PersonNameBlockingIndex(this.names, 0.7);
+		// The name without first name is candidate for all the following names
+		assertArrayEquals(new int[] {17, 18, 19}, index.getCandidatesAfter(16));
+	}
+
+	@Test
+	public void getCandidatesAfter_lowSimilarityLevel() {
+		final var index = new PersonNameBlockingIndex(this.names, 0.5);
+		final var expected = new int[this.names.size() - 1];
+		Arrays.setAll(expected, it -> it + 1);
+		assertArrayEquals(expected, index.getCandidatesAfter(0));
+		assertEquals(0, index.getBlockCount());
+	}
+
+	@Test
+	public void getSimilarity_normalizedName() {
+		final var comparator = new SorensenDicePersonNameComparator(this.parser);
+		for (var i = 0; i < this.names.size(); ++i) {
+			for (var j = 0; j < this.names.size(); ++j) {
+				assertEquals(
+						comparator.getSimilarity(NAMES[i][0], NAMES[i][1], NAMES[j][0], NAMES[j][1]),
+						comparator.getSimilarity(this.names.get(i), this.names.get(j)),
+						0.0, NAMES[i][0] + " " + NAMES[i][1] + " / " + NAMES[j][0] + " " + NAMES[j][1]);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.names;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+
+import fr.utbm.ciad.labmanager.utils.names.DefaultPersonNameParser;
+import fr.utbm.ciad.labmanager.utils.names.PersonNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.PersonNameIndex;
+import fr.utbm.ciad.labmanager.utils.names.SorensenDice.SorensenDicePersonNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.jaccar.JaccarPersonNameComparator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link PersonNameIndex}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class PersonNameIndexTest {
+
+	private static final String[][] NAMES = {
+			{"Stephane", "Galland"},
+			{"Jean-Pierre", "Dupont"},
+			{"Abderrafiaa", "Koukam"},
+			{"Yazan", "Mualla"},
+			{"Li", "Xu"},
+			{"Nicolas", "Gaud"},
+			{"", "Unknown"},
+			{"Franck", "Gechter"},
+	};
+
+	private static final String[][] QUERIES = {
+			{"Stephane", "Galland"},
+			{"S.", "Galland"},
+			{"Stéphane", "Gallant"},
+			{"J. P.", "Dupont"},
+			{"A.", "Koukam"},
+			{"Y", "Mualla"},
+			{"Li", "Xue"},
+			{"Nicola", "Gaudin"},
+			{"X.", "Unknown"},
+			{"F.", "Gechter"},
+			{"Someone", "Else"},
+			{"", "Koukam"},
+	};
+
+	private DefaultPersonNameParser parser;
+
+	@BeforeEach
+	public void setUp() {
+		this.parser = new DefaultPersonNameParser();
+	}
+
+	private static PersonNameIndex createIndex(PersonNameComparator comparator) {
+		final var index = new PersonNameIndex(comparator);
+		for (var i = 0; i < NAMES.length; ++i) {
+			index.put(i + 1, NAMES[i][0], NAMES[i][1]);
+		}
+		return index;
+	}
+
+	private static long bruteForce(PersonNameComparator comparator, String firstName, String lastName) {
+		var bestId = 0l;
+		var bestSimilarity = 0.0;
+		for (var i = 0; i < NAMES.length; ++i) {
+			final var similarity = comparator.getSimilarity(firstName, lastName, NAMES[i][0], NAMES[i][1]);
+			if (similarity >= comparator.getSimilarityLevel() && (bestId == 0l || similarity > bestSimilarity)) {
+				bestId = i + 1;
+				bestSimilarity = similarity;
+			}
+		}
+		return bestId;
+	}
+
+	private static void assertSameAsBruteForce(PersonNameComparator comparator) {
+		final var index = createIndex(comparator);
+		for (final var query : QUERIES) {
+			assertEquals(bruteForce(comparator, query[0], query[1]), index.findMostSimilar(query[0], query[1]),
+					query[0] + " " + query[1]);
+		}
+	}
+
+	@Test
+	public void findMostSimilar_sorensenDice() {
+		assertSameAsBruteForce(new SorensenDicePersonNameComparator(this.parser));
+	}
+
+	@Test
+	public void findMostSimilar_jaccard() {
+		assertSameAsBruteForce(new JaccarPersonNameComparator(this.parser));
+	}
+
+	@Test
+	public void findMostSimilar_lowSimilarityLevel() {
+		final var comparator = new SorensenDicePersonNameComparator(this.parser);
+		comparator.setSimilarityLevel(0.3);
+		assertSameAsBruteForce(comparator);
+	}
+
+	@Test
+	public void findMostSimilar_batch() {
+		final var index = createIndex(new SorensenDicePersonNameComparator(this.parser));
+		final var result = index.findMostSimilar(Arrays.asList(QUERIES));
+		assertEquals(QUERIES.length, result.length);
+		for (var i = 0; i < QUERIES.length; ++i) {
+			assertEquals(index.findMostSimilar(QUERIES[i][0], QUERIES[i][1]), result[i]);
+		}
+	}
+
+	@Test
+	public void put_replace() {
+		final var index = createIndex(new SorensenDicePersonNameComparator(this.parser));
+		index.put(8, "Marie", "Curie");
+		assertEquals(NAMES.length, index.size());
+		assertEquals(8, index.findMostSimilar("M.", "Curie"));
+		assertEquals(0, index.findMostSimilar("Franck", "Gechter"));
+	}
+
+	@Test
+	public void remove() {
+		final var index = createIndex(new SorensenDicePersonNameComparator(this.parser));
+		index.remove(1);
+		assertEquals(NAMES.length - 1, index.size());
+		assertEquals(0, index.findMostSimilar("Stephane", "Galland"));
+		assertArrayEquals(new long[] {0, 2}, index.findMostSimilar(Arrays.asList(
+				new String[] {"S.", "Galland"}, new String[] {"Jean-Pierre", "Dupont"})));
+	}
+
+	@Test
+	public void clear() {
+		final var index = createIndex(new SorensenDicePersonNameComparator(this.parser));
+		index.clear();
+		assertEquals(0, index.size());
+		assertEquals(0, index.findMostSimilar("Stephane", "Galland"));
+	}
+
+}
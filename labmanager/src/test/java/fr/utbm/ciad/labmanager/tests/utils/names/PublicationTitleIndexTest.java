@@ -0,0 +1,138 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.names;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import fr.utbm.ciad.labmanager.utils.names.PublicationNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.PublicationTitleIndex;
+import fr.utbm.ciad.labmanager.utils.names.SorensenDice.SorensenDicePublicationNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.jaccar.JaccarPublicationNameComparator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link PublicationTitleIndex}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class PublicationTitleIndexTest {
+
+	private static final String[] TITLES = {
+			"Multiagent simulation of traffic",
+			"Multi-agent simulation of traffic",
+			"Multiagent simulation of the traffic",
+			"Agent-based simulation of pedestrians",
+			"Agent based simulation of pedestrian",
+			"A survey on deep learning",
+			"A survey of deep learning",
+			"Holonic multiagent systems",
+			"AI",
+			"Energy-aware   vehicle routing",
+			"Energy aware vehicle routing",
+	};
+
+	private PublicationTitleIndex test;
+
+	@BeforeEach
+	public void setUp() {
+		this.test = new PublicationTitleIndex();
+		for (var i = 0; i < TITLES.length; ++i) {
+			this.test.put(i + 1, TITLES[i]);
+		}
+	}
+
+	private static List<Long> bruteForce(String title, PublicationNameComparator comparator) {
+		final var result = new ArrayList<Long>();
+		for (var i = 0; i < TITLES.length; ++i) {
+			if (comparator.isSimilar(title, TITLES[i])) {
+				result.add(Long.valueOf(i + 1));
+			}
+		}
+		return result;
+	}
+
+	private void assertSameAsBruteForce(PublicationNameComparator comparator) {
+		final var queries = new ArrayList<>(Arrays.asList(TITLES));
+		queries.add("Multiagent simulations of traffic");
+		queries.add("Something completely different");
+		queries.add("AI");
+		for (final var query : queries) {
+			final var expected = new TreeSet<>(bruteForce(query, comparator));
+			final var actual = new TreeSet<>(this.test.findSimilar(query, comparator));
+			assertEquals(expected, actual, query);
+		}
+	}
+
+	@Test
+	public void findSimilar_sorensenDice() {
+		assertSameAsBruteForce(new SorensenDicePublicationNameComparator());
+	}
+
+	@Test
+	public void findSimilar_jaccard() {
+		assertSameAsBruteForce(new JaccarPublicationNameComparator());
+	}
+
+	@Test
+	public void findSimilar_order() {
+		final var result = this.test.findSimilar("Multiagent simulation of traffic", new SorensenDicePublicationNameComparator());
+		assertTrue(result.size() > 1);
+		assertEquals(Long.valueOf(1), result.get(0));
+	}
+
+	@Test
+	public void findSimilar_emptyTitle() {
+		assertTrue(this.test.findSimilar(null, new SorensenDicePublicationNameComparator()).isEmpty());
+		assertTrue(this.test.findSimilar("", new SorensenDicePublicationNameComparator()).isEmpty());
+	}
+
+	@Test
+	public void put_replace() {
+		final var comparator = new SorensenDicePublicationNameComparator();
+		this.test.put(8, "Quantum computing for dummies");
+		assertEquals(TITLES.length, this.test.size());
+		assertEquals(Arrays.asList(8l), this.test.findSimilar("Quantum computing for dummies", comparator));
+		assertTrue(this.test.findSimilar("Holonic multiagent systems", comparator).isEmpty());
+	}
+
+	@Test
+	public void remove() {
+		final var comparator = new SorensenDicePublicationNameComparator();
+		this.test.remove(6);
+		this.test.remove(7);
+		assertEquals(TITLES.length - 2, this.test.size());
+		assertTrue(this.test.findSimilar("A survey on deep learning", comparator).isEmpty());
+	}
+
+	@Test
+	public void clear() {
+		this.test.clear();
+		assertEquals(0, this.test.size());
+		assertTrue(this.test.findSimilar("A survey on deep learning", new SorensenDicePublicationNameComparator()).isEmpty());
+	}
+
+}
@@ -0,0 +1,229 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.ranking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import fr.utbm.ciad.labmanager.utils.ranking.JournalRankingStore;
+import fr.utbm.ciad.labmanager.utils.ranking.JournalRankingStore.StoredRanking;
+import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for {@link JournalRankingStore}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class JournalRankingStoreTest {
+
+	@TempDir
+	public File folder;
+
+	private static Map<String, StoredRanking> createRankings() {
+		final var rankings = new HashMap<String, StoredRanking>();
+		final var q0 = new TreeMap<String, QuartileRanking>();
+		q0.put("artificial intelligence", QuartileRanking.Q1);
+		q0.put("software", QuartileRanking.Q2);
+		rankings.put("123", new StoredRanking(q0, 4.5f));
+		final var q1 = new TreeMap<String, QuartileRanking>();
+		q1.put("software", QuartileRanking.Q4);
+		rankings.put("456", new StoredRanking(q1, 0f));
+		rankings.put("789", new StoredRanking(new TreeMap<>(), 1f));
+		return rankings;
+	}
+
+	private static InputStream emptyStream() {
+		return new ByteArrayInputStream(new byte[0]);
+	}
+
+	private URL source() throws Exception {
+		final var source = new File(this.folder, "source.csv");
+		source.createNewFile();
+		return source.toURI().toURL();
+	}
+
+	@Test
+	public void getRankings_persistent() throws Exception {
+		final var store0 = new JournalRankingStore(this.folder, 3, 60000);
+		final var parsed = new AtomicInteger();
+		final var rankings0 = store0.getRankings("test", 2021, source(), it -> {
+			parsed.incrementAndGet();
+			return createRankings();
+		});
+		assertEquals(createRankings(), rankings0);
+		assertTrue(store0.getStoreFile("test", 2021).isFile());
+
+		// A new store, e.g., after a restart, reads the saved file
+		final var store1 = new JournalRankingStore(this.folder, 3, 60000);
+		final var rankings1 = store1.getRankings("test", 2021, source(), it -> {
+			parsed.incrementAndGet();
+			return null;
+		});
+		assertEquals(1, parsed.get());
+		assertEquals(createRankings(), rankings1);
+	}
+
+	@Test
+	public void getRankings_memory() throws Exception {
+		final var store = new JournalRankingStore();
+		final var rankings0 = store.getRankings("test", 2021, source(), it -> createRankings());
+		final var rankings1 = store.getRankings("test", 2021, source(), it -> {
+			throw new IllegalStateException();
+		});
+		assertSame(rankings0, rankings1);
+	}
+
+	@Test
+	public void getRankings_refresh() throws Exception {
+		final var store0 = new JournalRankingStore(this.folder, 3, 60000);
+		store0.getRankings("test", 2021, source(), it -> createRankings());
+		final var file = store0.getStoreFile("test", 2021);
+		file.setLastModified(System.currentTimeMillis() - 120000);
+
+		final var store1 = new JournalRankingStore(this.folder, 3, 60000);
+		final var newRankings = new HashMap<String, StoredRanking>();
+		newRankings.put("abc", new StoredRanking(new TreeMap<>(), 2f));
+		assertEquals(newRankings, store1.getRankings("test", 2021, source(), it -> newRankings));
+
+		final var store2 = new JournalRankingStore(this.folder, 3, 60000);
+		assertEquals(newRankings, store2.getRankings("test", 2021, source(), it -> null));
+	}
+
+	@Test
+	public void getRankings_refreshFailure() throws Exception {
+		final var store0 = new JournalRankingStore(this.folder, 3, 60000);
+		store0.getRankings("test", 2021, source(), it -> createRankings());
+		store0.getStoreFile("test", 2021).setLastModified(System.currentTimeMillis() - 120000);
+
+		final var store1 = new JournalRankingStore(this.folder, 3, 60000);
+		assertEquals(createRankings(), store1.getRankings("test", 2021, source(), it -> {
+			throw new IOException();
+		}));
+	}
+
+	@Test
+	public void getRankings_failure() throws Exception {
+		final var store = new JournalRankingStore(this.folder, 3, 60000);
+		assertThrows(IOException.class, () -> store.getRankings("test", 2021, source(), it -> {
+			throw new IOException();
+		}));
+	}
+
+	@Test
+	public void getRankings_stream() throws Exception {
+		final var store0 = new JournalRankingStore(this.folder, 3, 60000);
+		store0.getRankings("test", 2021, source(), it -> createRankings());
+
+		// The uploaded rankings replace the rankings in memory and in the saved file
+		final var newRankings = new HashMap<String, StoredRanking>();
+		newRankings.put("abc", new StoredRanking(new TreeMap<>(), 2f));
+		final var parsed = new AtomicInteger();
+		assertEquals(newRankings, store0.getRankings("test", 2021, emptyStream(), it -> {
+			parsed.incrementAndGet();
+			return newRankings;
+		}));
+		assertEquals(1, parsed.get());
+		assertEquals(newRankings, store0.getRankings("test", 2021, source(), it -> null));
+
+		final var store1 = new JournalRankingStore(this.folder, 3, 60000);
+		assertEquals(newRankings, store1.getRankings("test", 2021, source(), it -> null));
+	}
+
+	@Test
+	public void getRankings_streamAlwaysParsed() throws Exception {
+		final var store = new JournalRankingStore(this.folder, 3, 60000);
+		final var parsed = new AtomicInteger();
+		store.getRankings("test", 2021, emptyStream(), it -> {
+			parsed.incrementAndGet();
+			return createRankings();
+		});
+		store.getRankings("test", 2021, emptyStream(), it -> {
+			parsed.incrementAndGet();
+			return createRankings();
+		});
+		assertEquals(2, parsed.get());
+	}
+
+	@Test
+	public void getRankings_streamFailure() throws Exception {
+		final var store0 = new JournalRankingStore(this.folder, 3, 60000);
+		store0.getRankings("test", 2021, emptyStream(), it -> createRankings());
+		assertThrows(IOException.class, () -> store0.getRankings("test", 2021, emptyStream(), it -> {
+			throw new IllegalStateException();
+		}));
+		// The stored rankings are not changed
+		assertEquals(createRankings(), store0.getRankings("test", 2021, source(), it -> null));
+		final var store1 = new JournalRankingStore(this.folder, 3, 60000);
+		assertEquals(createRankings(), store1.getRankings("test", 2021, source(), it -> null));
+	}
+
+	@Test
+	public void getRankings_url() throws Exception {
+		final var source = new File(this.folder, "source.csv");
+		source.createNewFile();
+		final var parsed = new AtomicInteger();
+		final var store0 = new JournalRankingStore(this.folder, 3, 0);
+		store0.getRankings("test", 2021, source.toURI().toURL(), it -> {
+			parsed.incrementAndGet();
+			return createRankings();
+		});
+		assertEquals(1, parsed.get());
+		// The source is not modified since the last download
+		source.setLastModified(System.currentTimeMillis() - 120000);
+		final var store1 = new JournalRankingStore(this.folder, 3, 0);
+		assertEquals(createRankings(), store1.getRankings("test", 2021, source.toURI().toURL(), it -> {
+			parsed.incrementAndGet();
+			return null;
+		}));
+		assertEquals(1, parsed.get());
+	}
+
+	@Test
+	public void getRankings_lruEviction() throws Exception {
+		final var store = new JournalRankingStore(this.folder, 2, 60000);
+		store.getRankings("test", 2019, source(), it -> createRankings());
+		store.getRankings("test", 2020, source(), it -> createRankings());
+		store.getRankings("test", 2019, source(), it -> null);
+		store.getRankings("test", 2021, source(), it -> createRankings());
+		assertEquals(2, store.getMemorySize());
+		// 2020 was evicted from the memory, it is read again from the saved file
+		final var parsed = new AtomicInteger();
+		assertEquals(createRankings(), store.getRankings("test", 2020, source(), it -> {
+			parsed.incrementAndGet();
+			return null;
+		}));
+		assertEquals(0, parsed.get());
+	}
+
+}